@@ -218,6 +218,10 @@ public class WsMasterModule extends AbstractModule {
         .asEagerSingleton();
     bind(org.eclipse.che.api.workspace.server.event.RuntimeLogJsonRpcMessenger.class)
         .asEagerSingleton();
+    bind(org.eclipse.che.api.workspace.server.event.RuntimeLogsCoalescer.class)
+        .asEagerSingleton();
+    bind(org.eclipse.che.api.workspace.server.event.RuntimeLogsJsonRpcMessenger.class)
+        .asEagerSingleton();
 
     bind(org.eclipse.che.security.oauth.OAuthAuthenticatorProvider.class)
         .to(org.eclipse.che.security.oauth.OAuthAuthenticatorProviderImpl.class);
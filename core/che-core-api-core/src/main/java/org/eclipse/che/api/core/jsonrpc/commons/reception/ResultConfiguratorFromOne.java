@@ -117,6 +117,28 @@ public class ResultConfiguratorFromOne<P> {
     return new PromiseConfigurationOneToOne<>(requestHandlerManager, method, pClass, rClass);
   }
 
+  public <R> PromiseConfigurationOneToMany<P, R> resultAsPromiseListOfDto(Class<R> rClass) {
+    checkNotNull(rClass, "Result class must not be null");
+
+    LOGGER.debug(
+        "Configuring incoming request result: "
+            + "method: "
+            + method
+            + ", "
+            + "result list items class: "
+            + rClass);
+
+    return new PromiseConfigurationOneToMany<>(requestHandlerManager, method, pClass, rClass);
+  }
+
+  public PromiseConfigurationOneToMany<P, String> resultAsPromiseListOfString() {
+    return resultAsPromiseListOfDto(String.class);
+  }
+
+  public PromiseConfigurationOneToOne<P, String> resultAsPromiseString() {
+    return resultAsPromiseDto(String.class);
+  }
+
   public FunctionConfiguratorOneToOne<P, String> resultAsString() {
     LOGGER.debug(
         "Configuring incoming request result: "
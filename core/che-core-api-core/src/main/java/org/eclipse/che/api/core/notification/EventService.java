@@ -14,16 +14,27 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +52,19 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>By default subscribers are invoked synchronously in the thread which publishes the event, so
+ * the publisher waits until all the subscribers process the event. Subscribers that don't need to
+ * block the publisher, e.g. the ones which send events to the remote clients, may opt in to
+ * asynchronous delivery with {@link #subscribe(EventSubscriber, Class, Function)}. Asynchronous
+ * subscribers are invoked by a fixed number of partitions, each one is a single thread with a
+ * bounded queue of events. Events with the same partition key (e.g. workspace id) are always
+ * delivered by the same partition, so they are processed in the order they are published. When the
+ * queue of a partition is full, the publisher waits for a limited time until there is a free space
+ * in it, so the order is kept. Partitions never wait for each other, as two partitions publishing
+ * to each other's full queues would wait forever, so the events published by the subscribers of a
+ * partition to a full queue are not delivered, as well as the events which don't get a free space
+ * in time. Such events are counted as overflows.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -51,8 +75,17 @@ public class EventService {
   private static final int CACHE_MASK = CACHE_NUM - 1;
   private static final int SEG_SIZE = 32;
 
+  private static final int ASYNC_PARTITIONS =
+      Math.max(2, Runtime.getRuntime().availableProcessors());
+  private static final int ASYNC_QUEUE_CAPACITY = 10_000;
+  private static final long ASYNC_QUEUE_WAIT_SEC = 10;
+
   private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
   private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+  private final AtomicLong asyncOverflows = new AtomicLong();
+
+  private volatile ThreadPoolExecutor[] asyncPartitions;
+  private volatile Thread[] asyncPartitionThreads;
 
   @SuppressWarnings("unchecked")
   public EventService() {
@@ -103,12 +136,7 @@ public class EventService {
       final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
       if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
         for (EventSubscriber eventSubscriber : eventSubscribers) {
-          try {
-            LOG.debug("Publish event {} for {}", event, eventSubscriber);
-            eventSubscriber.onEvent(event);
-          } catch (RuntimeException e) {
-            LOG.error(e.getMessage(), e);
-          }
+          deliver(eventSubscriber, event);
         }
       }
     }
@@ -137,6 +165,74 @@ public class EventService {
     doSubscribe(subscriber, eventType);
   }
 
+  /**
+   * Subscribe to an event with asynchronous delivery. The given subscriber will be called in one of
+   * the event service threads whenever an instance of the specified event is published, the
+   * publisher doesn't wait for the subscriber. Events with equal partition keys are delivered to
+   * the subscriber in the order they are published, events with different keys may be delivered
+   * concurrently.
+   *
+   * <p>Subscribers which must be completed before the publisher continues, e.g. the ones which
+   * cascade removal of entities, should use synchronous {@link #subscribe(EventSubscriber, Class)}
+   * instead.
+   *
+   * @param subscriber The subscriber to call when an event is published.
+   * @param eventType The event to subscribe to.
+   * @param partitionKey function which returns the key of an event to keep the order of delivery,
+   *     e.g. workspace id, null key is allowed
+   */
+  public <T> void subscribe(
+      EventSubscriber<? extends T> subscriber,
+      Class<T> eventType,
+      Function<? super T, ?> partitionKey) {
+    doSubscribe(new PartitionedSubscriber<>(subscriber, partitionKey), eventType);
+  }
+
+  /** Returns the number of events waiting for asynchronous delivery. */
+  public int getPendingAsyncEvents() {
+    final ThreadPoolExecutor[] partitions = asyncPartitions;
+    if (partitions == null) {
+      return 0;
+    }
+    int pending = 0;
+    for (ThreadPoolExecutor partition : partitions) {
+      pending += partition.getQueue().size();
+    }
+    return pending;
+  }
+
+  /**
+   * Returns the number of events which found the queue of asynchronous delivery full, so their
+   * publishers had to wait for a free space in it or the events were not delivered.
+   */
+  public long getAsyncOverflowCount() {
+    return asyncOverflows.get();
+  }
+
+  /** Stops asynchronous delivery, events waiting for delivery are processed before the stop. */
+  @PreDestroy
+  public void stop() {
+    final ThreadPoolExecutor[] partitions = asyncPartitions;
+    if (partitions == null) {
+      return;
+    }
+    for (ThreadPoolExecutor partition : partitions) {
+      partition.shutdown();
+    }
+    try {
+      for (ThreadPoolExecutor partition : partitions) {
+        if (!partition.awaitTermination(5, TimeUnit.SECONDS)) {
+          partition.shutdownNow();
+        }
+      }
+    } catch (InterruptedException ex) {
+      for (ThreadPoolExecutor partition : partitions) {
+        partition.shutdownNow();
+      }
+      Thread.currentThread().interrupt();
+    }
+  }
+
   private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
     Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries == null) {
@@ -166,7 +262,12 @@ public class EventService {
   private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
     final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries != null && !entries.isEmpty()) {
-      boolean changed = entries.remove(subscriber);
+      boolean changed =
+          entries.removeIf(
+              entry ->
+                  entry.equals(subscriber)
+                      || entry instanceof PartitionedSubscriber
+                          && ((PartitionedSubscriber) entry).delegate.equals(subscriber));
       if (changed) {
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
@@ -175,6 +276,117 @@ public class EventService {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private static void deliver(EventSubscriber eventSubscriber, Object event) {
+    try {
+      LOG.debug("Publish event {} for {}", event, eventSubscriber);
+      eventSubscriber.onEvent(event);
+    } catch (RuntimeException e) {
+      LOG.error(e.getMessage(), e);
+    }
+  }
+
+  private void deliverAsync(Object partitionKey, EventSubscriber<?> subscriber, Object event) {
+    final ThreadPoolExecutor[] partitions = getAsyncPartitions();
+    final int index = partitionKey == null ? 0 : (partitionKey.hashCode() & Integer.MAX_VALUE);
+    final ThreadPoolExecutor partition = partitions[index % partitions.length];
+    final Runnable task = ThreadLocalPropagateContext.wrap(() -> deliver(subscriber, event));
+    try {
+      partition.execute(task);
+    } catch (RejectedExecutionException ex) {
+      if (partition.isShutdown()) {
+        LOG.warn("Event {} is not delivered to {}, event service is stopped", event, subscriber);
+        return;
+      }
+      asyncOverflows.incrementAndGet();
+      if (isAsyncPartitionThread(Thread.currentThread())) {
+        // partitions waiting for each other would never get free space in their queues
+        LOG.warn("Queue of asynchronous events is full, event {} is not delivered", event);
+        return;
+      }
+      // the event must not overtake the queued events with the same key, so wait for the space
+      LOG.debug("Queue of asynchronous events is full, waiting to deliver {}", event);
+      try {
+        if (!partition.getQueue().offer(task, ASYNC_QUEUE_WAIT_SEC, TimeUnit.SECONDS)) {
+          LOG.warn(
+              "Queue of asynchronous events is full for {} seconds, event {} is not delivered",
+              ASYNC_QUEUE_WAIT_SEC,
+              event);
+        }
+      } catch (InterruptedException iex) {
+        Thread.currentThread().interrupt();
+        LOG.warn("Event {} is not delivered to {}, publisher is interrupted", event, subscriber);
+      }
+    }
+  }
+
+  private boolean isAsyncPartitionThread(Thread thread) {
+    for (Thread partitionThread : asyncPartitionThreads) {
+      if (partitionThread == thread) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private ThreadPoolExecutor[] getAsyncPartitions() {
+    ThreadPoolExecutor[] partitions = asyncPartitions;
+    if (partitions == null) {
+      synchronized (this) {
+        partitions = asyncPartitions;
+        if (partitions == null) {
+          final ThreadFactory factory =
+              new ThreadFactoryBuilder()
+                  .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                  .setNameFormat("EventService-%d")
+                  .setDaemon(true)
+                  .build();
+          partitions = new ThreadPoolExecutor[ASYNC_PARTITIONS];
+          final Thread[] threads = new Thread[ASYNC_PARTITIONS];
+          for (int i = 0; i < partitions.length; i++) {
+            final int partition = i;
+            partitions[i] =
+                new ThreadPoolExecutor(
+                    1,
+                    1,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(ASYNC_QUEUE_CAPACITY),
+                    r -> threads[partition] = factory.newThread(r));
+            // the queue may be filled directly by the publishers, so the thread must be running
+            partitions[i].prestartCoreThread();
+          }
+          asyncPartitionThreads = threads;
+          asyncPartitions = partitions;
+        }
+      }
+    }
+    return partitions;
+  }
+
+  /** Hands events over to the partition defined by the key of the event. */
+  private class PartitionedSubscriber<T> implements EventSubscriber<T> {
+
+    private final EventSubscriber<?> delegate;
+    private final Function<? super T, ?> partitionKey;
+
+    private PartitionedSubscriber(
+        EventSubscriber<?> delegate, Function<? super T, ?> partitionKey) {
+      this.delegate = delegate;
+      this.partitionKey = partitionKey;
+    }
+
+    @Override
+    public void onEvent(T event) {
+      deliverAsync(partitionKey.apply(event), delegate, event);
+    }
+
+    @Override
+    public String toString() {
+      return "PartitionedSubscriber{delegate=" + delegate + '}';
+    }
+  }
+
   private Class<?> getEventType(EventSubscriber<?> subscriber) {
     Class<?> eventType = null;
     Class<?> clazz = subscriber.getClass();
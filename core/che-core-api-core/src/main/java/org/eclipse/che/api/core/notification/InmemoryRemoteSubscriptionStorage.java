@@ -11,7 +11,9 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -21,6 +23,10 @@ import javax.inject.Singleton;
 /**
  * Imnemory implementation of {@link RemoteSubscriptionStorage}
  *
+ * <p>Besides the subscriptions of each method, the storage keeps the index of subscriptions by
+ * their scope entries (method -> scope key -> scope value -> subscriptions), so subscriptions
+ * limited by a scope are found without iterating over all the subscriptions for the method.
+ *
  * @author Max Shaposhnik (mshaposh@redhat.com)
  */
 @Singleton
@@ -28,25 +34,87 @@ public class InmemoryRemoteSubscriptionStorage implements RemoteSubscriptionStor
 
   private final Map<String, Set<RemoteSubscriptionContext>> subscriptions =
       new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Map<String, Set<RemoteSubscriptionContext>>>> scopeIndex =
+      new ConcurrentHashMap<>();
 
   @Override
   public Set<RemoteSubscriptionContext> getByMethod(String method) {
     return subscriptions.getOrDefault(method, Collections.emptySet());
   }
 
+  @Override
+  public Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    if (scopeValue == null) {
+      return Collections.emptySet();
+    }
+    return scopeIndex
+        .getOrDefault(method, Collections.emptyMap())
+        .getOrDefault(scopeKey, Collections.emptyMap())
+        .getOrDefault(scopeValue, Collections.emptySet());
+  }
+
   @Override
   public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
     subscriptions
         .computeIfAbsent(method, k -> ConcurrentHashMap.newKeySet(1))
         .add(remoteSubscriptionContext);
+    if (remoteSubscriptionContext.getScope() == null) {
+      return;
+    }
+    for (Map.Entry<String, String> entry : remoteSubscriptionContext.getScope().entrySet()) {
+      if (entry.getValue() != null) {
+        scopeIndex
+            .computeIfAbsent(method, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(entry.getKey(), k -> new ConcurrentHashMap<>())
+            .compute(
+                entry.getValue(),
+                (value, contexts) -> {
+                  // modified inside compute, so the set can't be concurrently dropped as empty
+                  if (contexts == null) {
+                    contexts = ConcurrentHashMap.newKeySet(1);
+                  }
+                  contexts.add(remoteSubscriptionContext);
+                  return contexts;
+                });
+      }
+    }
   }
 
   @Override
   public void removeSubscription(String method, String endpointId) {
+    final List<RemoteSubscriptionContext> removed = new ArrayList<>();
     subscriptions
         .getOrDefault(method, Collections.emptySet())
         .removeIf(
-            remoteSubscriptionContext ->
-                Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId));
+            remoteSubscriptionContext -> {
+              if (Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId)) {
+                removed.add(remoteSubscriptionContext);
+                return true;
+              }
+              return false;
+            });
+    final Map<String, Map<String, Set<RemoteSubscriptionContext>>> methodIndex =
+        scopeIndex.get(method);
+    if (methodIndex == null) {
+      return;
+    }
+    for (RemoteSubscriptionContext context : removed) {
+      if (context.getScope() == null) {
+        continue;
+      }
+      for (Map.Entry<String, String> entry : context.getScope().entrySet()) {
+        final Map<String, Set<RemoteSubscriptionContext>> keyIndex =
+            methodIndex.get(entry.getKey());
+        if (keyIndex != null && entry.getValue() != null) {
+          keyIndex.computeIfPresent(
+              entry.getValue(),
+              (value, contexts) -> {
+                contexts.remove(context);
+                return contexts.isEmpty() ? null : contexts;
+              });
+        }
+      }
+    }
   }
 }
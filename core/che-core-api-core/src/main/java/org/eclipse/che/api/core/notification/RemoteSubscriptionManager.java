@@ -11,14 +11,35 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
-import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.dto.EventSubscription;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 
+/**
+ * Resends events published in {@link EventService} to the remote subscribers via JSON-RPC.
+ *
+ * <p>An event is serialized to a JSON-RPC notification only once, and the same message is sent to
+ * every matching subscriber. Events are sent asynchronously, so the publisher doesn't wait for the
+ * websocket transmission. The events limited by a scope are sent in the order they are published
+ * for each scope value, the rest of the events are sent in the order they are published for each
+ * method.
+ */
 @Singleton
 public class RemoteSubscriptionManager {
 
@@ -26,16 +47,21 @@ public class RemoteSubscriptionManager {
   public static final String UNSUBSCRIBE_JSON_RPC_METHOD = "unSubscribe";
 
   private final EventService eventService;
-  private final RequestTransmitter requestTransmitter;
+  private final JsonRpcMarshaller marshaller;
+  private final WebSocketMessageTransmitter transmitter;
   private final RemoteSubscriptionStorage remoteSubscriptionStorage;
+  private final Map<String, List<BiConsumer<String, Map<String, String>>>> subscriptionListeners =
+      new ConcurrentHashMap<>();
 
   @Inject
   public RemoteSubscriptionManager(
       EventService eventService,
-      RequestTransmitter requestTransmitter,
+      JsonRpcMarshaller marshaller,
+      WebSocketMessageTransmitter transmitter,
       RemoteSubscriptionStorage remoteSubscriptionStorage) {
     this.eventService = eventService;
-    this.requestTransmitter = requestTransmitter;
+    this.marshaller = marshaller;
+    this.transmitter = transmitter;
     this.remoteSubscriptionStorage = remoteSubscriptionStorage;
   }
 
@@ -56,22 +82,79 @@ public class RemoteSubscriptionManager {
         .withBiConsumer(this::consumeUnSubscriptionRequest);
   }
 
+  /**
+   * Resends events of the given type to the subscribers of the given method whose scope matches
+   * the given predicate. The predicate is evaluated for each subscriber of the method, so when the
+   * events are limited by a single scope entry {@link #register(String, Class, String, Function)}
+   * should be preferred.
+   *
+   * @param method JSON-RPC method name
+   * @param eventType type of events to resend
+   * @param biPredicate predicate that checks whether an event matches a subscription scope
+   */
   public <T> void register(
       String method, Class<T> eventType, BiPredicate<T, Map<String, String>> biPredicate) {
     eventService.subscribe(
         event ->
-            remoteSubscriptionStorage
-                .getByMethod(method)
-                .stream()
-                .filter(context -> biPredicate.test(event, context.getScope()))
-                .forEach(context -> transmit(context.getEndpointId(), method, event)),
-        eventType);
+            transmit(
+                remoteSubscriptionStorage
+                    .getByMethod(method)
+                    .stream()
+                    .filter(context -> biPredicate.test(event, context.getScope()))
+                    .collect(toList()),
+                method,
+                event),
+        eventType,
+        event -> method);
+  }
+
+  /**
+   * Resends events of the given type to the subscribers of the given method whose scope contains
+   * the entry with the given key and the value extracted from the event, e.g. {@code
+   * workspaceId}. Matching subscriptions are looked up by the scope index of {@link
+   * RemoteSubscriptionStorage}, so the cost of an event doesn't depend on the number of
+   * subscribers limited by other scopes.
+   *
+   * @param method JSON-RPC method name
+   * @param eventType type of events to resend
+   * @param scopeKey key of the scope entry
+   * @param scopeValue function that extracts the value of the scope entry from an event, if it
+   *     returns null the event is not sent
+   */
+  public <T> void register(
+      String method, Class<T> eventType, String scopeKey, Function<T, String> scopeValue) {
+    eventService.subscribe(
+        event -> {
+          final String value = scopeValue.apply(event);
+          if (value != null) {
+            transmit(remoteSubscriptionStorage.getByScope(method, scopeKey, value), method, event);
+          }
+        },
+        eventType,
+        scopeValue);
+  }
+
+  /**
+   * Registers a listener which is called each time a remote client subscribes to the given method,
+   * after the subscription is stored. May be used to send the client the recent events which were
+   * published before the subscription.
+   *
+   * @param method JSON-RPC method name
+   * @param listener consumer of the endpoint id and the scope of the new subscription
+   */
+  public void registerSubscriptionListener(
+      String method, BiConsumer<String, Map<String, String>> listener) {
+    subscriptionListeners.computeIfAbsent(method, k -> new CopyOnWriteArrayList<>()).add(listener);
   }
 
   private void consumeSubscriptionRequest(String endpointId, EventSubscription eventSubscription) {
     remoteSubscriptionStorage.addSubscription(
         eventSubscription.getMethod(),
         new RemoteSubscriptionContext(endpointId, eventSubscription.getScope()));
+    for (BiConsumer<String, Map<String, String>> listener :
+        subscriptionListeners.getOrDefault(eventSubscription.getMethod(), emptyList())) {
+      listener.accept(endpointId, eventSubscription.getScope());
+    }
   }
 
   private void consumeUnSubscriptionRequest(
@@ -79,12 +162,15 @@ public class RemoteSubscriptionManager {
     remoteSubscriptionStorage.removeSubscription(eventSubscription.getMethod(), endpointId);
   }
 
-  private <T> void transmit(String endpointId, String method, T event) {
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpointId)
-        .methodName(method)
-        .paramsAsDto(event)
-        .sendAndSkipResult();
+  private <T> void transmit(
+      Collection<RemoteSubscriptionContext> contexts, String method, T event) {
+    if (contexts.isEmpty()) {
+      return;
+    }
+    final String message =
+        marshaller.marshall(new JsonRpcRequest(null, method, new JsonRpcParams(event)));
+    for (RemoteSubscriptionContext context : contexts) {
+      transmitter.transmit(context.getEndpointId(), message);
+    }
   }
 }
@@ -11,6 +11,9 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.stream.Collectors.toSet;
+
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -29,6 +32,29 @@ public interface RemoteSubscriptionStorage {
    */
   Set<RemoteSubscriptionContext> getByMethod(String method);
 
+  /**
+   * Returns active subscriptions for the given method whose scope contains the given key-value
+   * pair. Implementations are encouraged to index subscriptions by scope entries, so that the
+   * lookup cost depends on the number of matching subscriptions rather than on the number of all
+   * subscriptions for the method. Default implementation filters the result of {@link
+   * #getByMethod(String)}.
+   *
+   * @param method Method name
+   * @param scopeKey key of the scope entry, e.g. {@code workspaceId}
+   * @param scopeValue value of the scope entry
+   * @return active subscriptions to this method limited by the given scope entry
+   */
+  default Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return getByMethod(method)
+        .stream()
+        .filter(
+            context ->
+                context.getScope() != null
+                    && Objects.equals(context.getScope().get(scopeKey), scopeValue))
+        .collect(toSet());
+  }
+
   /**
    * Adds new subscription to the given method subscriptions list
    *
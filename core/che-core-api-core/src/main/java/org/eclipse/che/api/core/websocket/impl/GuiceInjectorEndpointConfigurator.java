@@ -21,11 +21,17 @@ import javax.websocket.server.ServerEndpointConfig;
 /**
  * Allows inject Guice instances on WEB SOCKET endpoint creation.
  *
+ * <p>The subject of the connection is resolved by the bound {@link WebSocketSubjectResolver}, if
+ * there is one, or taken from the HTTP session of the handshake request otherwise.
+ *
  * @author Dmitry Kuleshov
  */
 public class GuiceInjectorEndpointConfigurator extends ServerEndpointConfig.Configurator {
   @Inject private static Injector injector;
 
+  @com.google.inject.Inject(optional = true)
+  private static WebSocketSubjectResolver subjectResolver;
+
   public <T> T getEndpointInstance(Class<T> endpointClass) {
     return injector.getInstance(endpointClass);
   }
@@ -33,12 +39,15 @@ public class GuiceInjectorEndpointConfigurator extends ServerEndpointConfig.Conf
   @Override
   public void modifyHandshake(
       ServerEndpointConfig sec, HandshakeRequest request, HandshakeResponse response) {
-    HttpSession httpSession = (HttpSession) request.getHttpSession();
-    if (httpSession != null) {
-      Object sessionSubject = httpSession.getAttribute("che_subject");
-      if (sessionSubject != null) {
-        sec.getUserProperties().put("che_subject", sessionSubject);
+    Object subject = subjectResolver == null ? null : subjectResolver.resolve(request);
+    if (subject == null) {
+      HttpSession httpSession = (HttpSession) request.getHttpSession();
+      if (httpSession != null) {
+        subject = httpSession.getAttribute("che_subject");
       }
     }
+    if (subject != null) {
+      sec.getUserProperties().put("che_subject", subject);
+    }
   }
 }
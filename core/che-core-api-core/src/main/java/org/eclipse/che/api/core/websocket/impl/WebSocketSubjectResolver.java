@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import javax.websocket.server.HandshakeRequest;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.subject.Subject;
+
+/**
+ * Resolves the subject of a web socket connection from its handshake request, so the subject
+ * doesn't have to be kept in an HTTP session.
+ *
+ * @see GuiceInjectorEndpointConfigurator
+ */
+public interface WebSocketSubjectResolver {
+
+  /**
+   * Returns the subject the handshake request is authenticated as.
+   *
+   * @param request handshake request
+   * @return subject or null if it can't be resolved from the request
+   */
+  @Nullable
+  Subject resolve(HandshakeRequest request);
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.commons;
+
+import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+import java.util.List;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link RequestHandlerManager} */
+@Listeners(MockitoTestNGListener.class)
+public class RequestHandlerManagerTest {
+  static final String ENDPOINT_ID = "endpoint-id";
+  static final String REQUEST_ID = "request-id";
+  static final String REQUEST_METHOD = "request-method";
+  static final String MESSAGE = "message";
+
+  @Mock WebSocketMessageTransmitter transmitter;
+  @Mock JsonRpcComposer composer;
+  @Mock JsonRpcMarshaller marshaller;
+  @InjectMocks RequestHandlerManager requestHandlerManager;
+
+  @Mock JsonRpcParams params;
+
+  @Captor ArgumentCaptor<JsonRpcResponse> response;
+
+  @Test
+  public void shouldTransmitResultsOfPromiseManyWhenPromiseIsResolved() throws Exception {
+    JsonRpcPromise<List<String>> promise = new JsonRpcPromise<>();
+    when(composer.composeOne(params, String.class)).thenReturn("param");
+    when(marshaller.marshall(any(JsonRpcResponse.class))).thenReturn(MESSAGE);
+    requestHandlerManager.registerOneToPromiseMany(
+        REQUEST_METHOD,
+        String.class,
+        String.class,
+        (endpointId, param) -> {
+          assertEquals(endpointId, ENDPOINT_ID);
+          assertEquals(param, "param");
+          return promise;
+        });
+
+    requestHandlerManager.handle(ENDPOINT_ID, REQUEST_ID, REQUEST_METHOD, params);
+    verify(transmitter, never()).transmit(anyString(), anyString());
+    promise.getSuccessConsumer().get().accept(ENDPOINT_ID, asList("a", "b"));
+
+    verify(marshaller).marshall(response.capture());
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    assertEquals(response.getValue().getId(), REQUEST_ID);
+    assertFalse(response.getValue().getResult().isSingle());
+    assertEquals(response.getValue().getResult().getMany(), asList("a", "b"));
+    assertNull(response.getValue().getError());
+  }
+
+  @Test
+  public void shouldTransmitErrorWhenPromiseManyIsRejected() throws Exception {
+    JsonRpcPromise<List<String>> promise = new JsonRpcPromise<>();
+    JsonRpcError error = new JsonRpcError(-27000, "failed");
+    when(composer.composeOne(params, String.class)).thenReturn("param");
+    when(marshaller.marshall(any(JsonRpcResponse.class))).thenReturn(MESSAGE);
+    requestHandlerManager.registerOneToPromiseMany(
+        REQUEST_METHOD, String.class, String.class, (endpointId, param) -> promise);
+
+    requestHandlerManager.handle(ENDPOINT_ID, REQUEST_ID, REQUEST_METHOD, params);
+    promise.getFailureConsumer().get().accept(ENDPOINT_ID, error);
+
+    verify(marshaller).marshall(response.capture());
+    verify(transmitter).transmit(ENDPOINT_ID, MESSAGE);
+    assertEquals(response.getValue().getId(), REQUEST_ID);
+    assertEquals(response.getValue().getError(), error);
+  }
+
+  @Test
+  public void shouldDeregisterPromiseManyHandler() throws Exception {
+    requestHandlerManager.registerOneToPromiseMany(
+        REQUEST_METHOD, String.class, String.class, (endpointId, param) -> new JsonRpcPromise<>());
+
+    requestHandlerManager.deregister(REQUEST_METHOD);
+
+    assertFalse(requestHandlerManager.isRegistered(REQUEST_METHOD));
+  }
+}
@@ -11,10 +11,18 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -27,6 +35,11 @@ public class EventServiceTest {
     bus = new EventService();
   }
 
+  @AfterMethod
+  public void tearDown() {
+    bus.stop();
+  }
+
   @Test
   public void testSimpleEvent() {
     final List<Object> events = new ArrayList<>();
@@ -193,6 +206,179 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldNotBlockPublisherWhenSubscriberIsAsynchronous() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch delivered = new CountDownLatch(1);
+    bus.subscribe(
+        (Event event) -> {
+          try {
+            release.await();
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+          delivered.countDown();
+        },
+        Event.class,
+        event -> event.data);
+
+    bus.publish(new Event());
+    Assert.assertEquals(delivered.getCount(), 1);
+
+    release.countDown();
+    Assert.assertTrue(delivered.await(5, SECONDS));
+  }
+
+  @Test
+  public void shouldDeliverAsynchronousEventsInOrderOfPublishingForEachPartitionKey()
+      throws Exception {
+    final int keys = 8;
+    final int eventsPerKey = 1000;
+    final Map<String, List<String>> received = new ConcurrentHashMap<>();
+    final CountDownLatch delivered = new CountDownLatch(keys * eventsPerKey);
+    bus.subscribe(
+        (KeyedEvent event) -> {
+          received
+              .computeIfAbsent(event.key, k -> Collections.synchronizedList(new ArrayList<>()))
+              .add(event.data);
+          delivered.countDown();
+        },
+        KeyedEvent.class,
+        event -> event.key);
+
+    for (int i = 0; i < eventsPerKey; i++) {
+      for (int k = 0; k < keys; k++) {
+        bus.publish(new KeyedEvent("key" + k, Integer.toString(i)));
+      }
+    }
+
+    Assert.assertTrue(delivered.await(10, SECONDS));
+    Assert.assertEquals(received.size(), keys);
+    for (List<String> events : received.values()) {
+      for (int i = 0; i < eventsPerKey; i++) {
+        Assert.assertEquals(events.get(i), Integer.toString(i));
+      }
+    }
+  }
+
+  @Test(timeOut = 30_000)
+  public void shouldWaitForSpaceInFullPartitionAndKeepOrderOfEvents() throws Exception {
+    final int queueCapacity = 10_000;
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> received = new CopyOnWriteArrayList<>();
+    final List<Thread> threads = new CopyOnWriteArrayList<>();
+    bus.subscribe(
+        (KeyedEvent event) -> {
+          threads.add(Thread.currentThread());
+          if ("block".equals(event.data)) {
+            try {
+              release.await();
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+          }
+          received.add(event.data);
+        },
+        KeyedEvent.class,
+        event -> event.key);
+    bus.publish(new KeyedEvent("key", "block"));
+    // wait until the partition thread takes the blocking event from the queue
+    while (threads.isEmpty()) {
+      Thread.yield();
+    }
+    // fill the whole queue of the partition
+    for (int i = 0; i < queueCapacity; i++) {
+      bus.publish(new KeyedEvent("key", Integer.toString(i)));
+    }
+
+    final Thread publisher =
+        new Thread(() -> bus.publish(new KeyedEvent("key", Integer.toString(queueCapacity))));
+    publisher.start();
+    while (publisher.getState() != Thread.State.TIMED_WAITING) {
+      Assert.assertTrue(publisher.isAlive(), "Publisher is expected to wait for the queue");
+      Thread.yield();
+    }
+    Assert.assertEquals(bus.getAsyncOverflowCount(), 1);
+    Assert.assertEquals(received.size(), 0);
+
+    release.countDown();
+    publisher.join(SECONDS.toMillis(10));
+    bus.stop();
+
+    Assert.assertFalse(threads.contains(publisher));
+    Assert.assertEquals(received.size(), queueCapacity + 2);
+    Assert.assertEquals(received.get(0), "block");
+    for (int i = 0; i <= queueCapacity; i++) {
+      Assert.assertEquals(received.get(i + 1), Integer.toString(i));
+    }
+  }
+
+  @Test(timeOut = 30_000)
+  public void shouldNotWaitForSpaceInFullPartitionWhenPublishingFromOtherPartition()
+      throws Exception {
+    final int queueCapacity = 10_000;
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch published = new CountDownLatch(1);
+    final List<String> received = new CopyOnWriteArrayList<>();
+    // integer keys are their own hashes, so the keys 0 and 1 are delivered by different partitions
+    bus.subscribe(
+        (KeyedEvent event) -> {
+          if ("block".equals(event.data)) {
+            blocked.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+          } else if ("publish".equals(event.data)) {
+            bus.publish(new KeyedEvent("0", "dropped"));
+            published.countDown();
+          }
+          received.add(event.data);
+        },
+        KeyedEvent.class,
+        event -> Integer.valueOf(event.key));
+    bus.publish(new KeyedEvent("0", "block"));
+    Assert.assertTrue(blocked.await(10, SECONDS));
+    // fill the whole queue of the partition of key 0
+    for (int i = 0; i < queueCapacity; i++) {
+      bus.publish(new KeyedEvent("0", Integer.toString(i)));
+    }
+
+    bus.publish(new KeyedEvent("1", "publish"));
+
+    Assert.assertTrue(published.await(10, SECONDS), "Partition is expected not to wait");
+    Assert.assertEquals(bus.getAsyncOverflowCount(), 1);
+    release.countDown();
+    bus.stop();
+    Assert.assertEquals(received.size(), queueCapacity + 2);
+    Assert.assertFalse(received.contains("dropped"));
+  }
+
+  @Test
+  public void shouldUnsubscribeAsynchronousSubscriber() throws Exception {
+    final List<String> events = new CopyOnWriteArrayList<>();
+    final EventSubscriber<Event> subscriber = event -> events.add(event.data);
+    bus.subscribe(subscriber, Event.class, event -> event.data);
+
+    bus.unsubscribe(subscriber, Event.class);
+    bus.publish(new Event());
+    bus.stop();
+
+    Assert.assertTrue(events.isEmpty());
+  }
+
+  static class KeyedEvent {
+    final String key;
+    final String data;
+
+    KeyedEvent(String key, String data) {
+      this.key = key;
+      this.data = data;
+    }
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Collections.singletonMap;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link RemoteSubscriptionManager}. */
+@Listeners(MockitoTestNGListener.class)
+public class RemoteSubscriptionManagerTest {
+
+  private static final String METHOD = "test/event";
+  private static final String MESSAGE = "{\"jsonrpc\":\"2.0\",\"method\":\"test/event\"}";
+
+  @Mock private EventService eventService;
+  @Mock private JsonRpcMarshaller marshaller;
+  @Mock private WebSocketMessageTransmitter transmitter;
+
+  private InmemoryRemoteSubscriptionStorage storage;
+  private RemoteSubscriptionManager subscriptionManager;
+
+  @BeforeMethod
+  public void setUp() {
+    storage = new InmemoryRemoteSubscriptionStorage();
+    subscriptionManager =
+        new RemoteSubscriptionManager(eventService, marshaller, transmitter, storage);
+    lenient().when(marshaller.marshall(any(JsonRpcRequest.class))).thenReturn(MESSAGE);
+  }
+
+  @Test
+  public void shouldSendEventToSubscribersOfMatchingScopeOnly() {
+    // given
+    subscribe("endpoint1", "ws1");
+    subscribe("endpoint2", "ws2");
+    subscriptionManager.register(METHOD, TestEvent.class, "workspaceId", TestEvent::getWorkspaceId);
+    final EventSubscriber<TestEvent> subscriber = captureSubscriber(eventService);
+
+    // when
+    subscriber.onEvent(new TestEvent("ws1"));
+
+    // then
+    verify(transmitter).transmit("endpoint1", MESSAGE);
+    verify(transmitter, never()).transmit("endpoint2", MESSAGE);
+  }
+
+  @Test
+  public void shouldSerializeEventOnceForAllMatchingSubscribers() {
+    // given
+    subscribe("endpoint1", "ws1");
+    subscribe("endpoint2", "ws1");
+    subscribe("endpoint3", "ws1");
+    subscriptionManager.register(METHOD, TestEvent.class, "workspaceId", TestEvent::getWorkspaceId);
+    final EventSubscriber<TestEvent> subscriber = captureSubscriber(eventService);
+    final TestEvent event = new TestEvent("ws1");
+
+    // when
+    subscriber.onEvent(event);
+
+    // then
+    final ArgumentCaptor<JsonRpcRequest> captor = ArgumentCaptor.forClass(JsonRpcRequest.class);
+    verify(marshaller).marshall(captor.capture());
+    assertEquals(captor.getValue().getMethod(), METHOD);
+    assertEquals(captor.getValue().getParams().getOne(), event);
+    verify(transmitter).transmit("endpoint1", MESSAGE);
+    verify(transmitter).transmit("endpoint2", MESSAGE);
+    verify(transmitter).transmit("endpoint3", MESSAGE);
+  }
+
+  @Test
+  public void shouldNotSerializeEventWhenThereAreNoMatchingSubscribers() {
+    // given
+    subscribe("endpoint1", "ws1");
+    subscriptionManager.register(METHOD, TestEvent.class, "workspaceId", TestEvent::getWorkspaceId);
+    final EventSubscriber<TestEvent> subscriber = captureSubscriber(eventService);
+
+    // when
+    subscriber.onEvent(new TestEvent("ws2"));
+
+    // then
+    verifyZeroInteractions(marshaller, transmitter);
+  }
+
+  @Test
+  public void shouldNotSendEventWhenScopeValueOfEventIsNull() {
+    // given
+    subscribe("endpoint1", "ws1");
+    subscriptionManager.register(METHOD, TestEvent.class, "workspaceId", event -> null);
+    final EventSubscriber<TestEvent> subscriber = captureSubscriber(eventService);
+
+    // when
+    subscriber.onEvent(new TestEvent("ws1"));
+
+    // then
+    verifyZeroInteractions(marshaller, transmitter);
+  }
+
+  @Test
+  public void shouldNotSendEventToUnsubscribedEndpoint() {
+    // given
+    subscribe("endpoint1", "ws1");
+    subscribe("endpoint2", "ws1");
+    subscriptionManager.register(METHOD, TestEvent.class, "workspaceId", TestEvent::getWorkspaceId);
+    final EventSubscriber<TestEvent> subscriber = captureSubscriber(eventService);
+    storage.removeSubscription(METHOD, "endpoint1");
+
+    // when
+    subscriber.onEvent(new TestEvent("ws1"));
+
+    // then
+    verify(transmitter, never()).transmit("endpoint1", MESSAGE);
+    verify(transmitter).transmit("endpoint2", MESSAGE);
+    assertEquals(storage.getByScope(METHOD, "workspaceId", "ws1").size(), 1);
+  }
+
+  @Test
+  public void shouldSendEventToSubscribersMatchingPredicate() {
+    // given
+    subscribe("endpoint1", "ws1");
+    subscribe("endpoint2", "ws2");
+    subscribe("endpoint3", "ws1");
+    subscriptionManager.register(
+        METHOD,
+        TestEvent.class,
+        (event, scope) -> event.getWorkspaceId().equals(scope.get("workspaceId")));
+    final EventSubscriber<TestEvent> subscriber = captureSubscriber(eventService);
+
+    // when
+    subscriber.onEvent(new TestEvent("ws1"));
+
+    // then
+    verify(marshaller).marshall(any(JsonRpcRequest.class));
+    verify(transmitter).transmit("endpoint1", MESSAGE);
+    verify(transmitter).transmit("endpoint3", MESSAGE);
+    verify(transmitter, times(2)).transmit(anyString(), anyString());
+  }
+
+  @Test
+  public void shouldSendSameEventsWhenSubscribersAreIndexedByScope() {
+    // given
+    final List<String> indexedSent = new ArrayList<>();
+    final List<String> predicateSent = new ArrayList<>();
+    final EventService indexedEvents = mock(EventService.class);
+    final EventService predicateEvents = mock(EventService.class);
+    new RemoteSubscriptionManager(
+            indexedEvents, marshaller, (endpoint, message) -> indexedSent.add(endpoint), storage)
+        .register(METHOD, TestEvent.class, "workspaceId", TestEvent::getWorkspaceId);
+    new RemoteSubscriptionManager(
+            predicateEvents,
+            marshaller,
+            (endpoint, message) -> predicateSent.add(endpoint),
+            storage)
+        .register(
+            METHOD,
+            TestEvent.class,
+            (event, scope) -> event.getWorkspaceId().equals(scope.get("workspaceId")));
+    // two dashboard sessions per workspace
+    for (int i = 0; i < 20; i++) {
+      subscribe("endpoint" + i, "ws" + i / 2);
+    }
+
+    // when
+    publish(captureSubscriber(indexedEvents), 30, 15);
+    publish(captureSubscriber(predicateEvents), 30, 15);
+
+    // then
+    assertEquals(indexedSent.size(), 40);
+    assertEquals(predicateSent.size(), 40);
+    assertEquals(new HashSet<>(indexedSent), new HashSet<>(predicateSent));
+  }
+
+  private void publish(EventSubscriber<TestEvent> subscriber, int events, int workspaces) {
+    for (int i = 0; i < events; i++) {
+      subscriber.onEvent(new TestEvent("ws" + i % workspaces));
+    }
+  }
+
+  /** Returns the subscriber which is registered by the manager to send events asynchronously. */
+  @SuppressWarnings("unchecked")
+  private static EventSubscriber<TestEvent> captureSubscriber(EventService eventService) {
+    final ArgumentCaptor<EventSubscriber> captor = ArgumentCaptor.forClass(EventSubscriber.class);
+    verify(eventService).subscribe(captor.capture(), eq(TestEvent.class), any());
+    return captor.getValue();
+  }
+
+  private void subscribe(String endpointId, String workspaceId) {
+    storage.addSubscription(
+        METHOD,
+        new RemoteSubscriptionContext(endpointId, singletonMap("workspaceId", workspaceId)));
+  }
+
+  public static class TestEvent {
+    private final String workspaceId;
+
+    TestEvent(String workspaceId) {
+      this.workspaceId = workspaceId;
+    }
+
+    public String getWorkspaceId() {
+      return workspaceId;
+    }
+  }
+}
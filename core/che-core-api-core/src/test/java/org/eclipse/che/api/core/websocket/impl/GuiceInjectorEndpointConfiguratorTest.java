@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import java.util.HashMap;
+import java.util.Map;
+import javax.servlet.http.HttpSession;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerEndpointConfig;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link GuiceInjectorEndpointConfigurator}. */
+@Listeners(MockitoTestNGListener.class)
+public class GuiceInjectorEndpointConfiguratorTest {
+
+  @Mock private WebSocketSubjectResolver subjectResolver;
+  @Mock private ServerEndpointConfig endpointConfig;
+  @Mock private HandshakeRequest request;
+  @Mock private HandshakeResponse response;
+  @Mock private HttpSession httpSession;
+
+  private Map<String, Object> userProperties;
+  private GuiceInjectorEndpointConfigurator configurator;
+
+  @BeforeMethod
+  public void setUp() {
+    Guice.createInjector(
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            requestStaticInjection(GuiceInjectorEndpointConfigurator.class);
+            bind(WebSocketSubjectResolver.class).toInstance(subjectResolver);
+          }
+        });
+    userProperties = new HashMap<>();
+    lenient().when(endpointConfig.getUserProperties()).thenReturn(userProperties);
+    configurator = new GuiceInjectorEndpointConfigurator();
+  }
+
+  @Test
+  public void shouldPutSubjectResolvedFromHandshakeRequestIntoUserProperties() {
+    Subject subject = new SubjectImpl("name", "id", "token", false);
+    when(subjectResolver.resolve(request)).thenReturn(subject);
+
+    configurator.modifyHandshake(endpointConfig, request, response);
+
+    assertEquals(userProperties.get("che_subject"), subject);
+    verifyZeroInteractions(httpSession);
+  }
+
+  @Test
+  public void shouldTakeSubjectFromHttpSessionWhenItIsNotResolved() {
+    Subject subject = new SubjectImpl("name", "id", "token", false);
+    when(request.getHttpSession()).thenReturn(httpSession);
+    when(httpSession.getAttribute("che_subject")).thenReturn(subject);
+
+    configurator.modifyHandshake(endpointConfig, request, response);
+
+    verify(subjectResolver).resolve(request);
+    assertEquals(userProperties.get("che_subject"), subject);
+  }
+
+  @Test
+  public void shouldNotPutSubjectWhenThereIsNoOne() {
+    configurator.modifyHandshake(endpointConfig, request, response);
+
+    assertFalse(userProperties.containsKey("che_subject"));
+  }
+}
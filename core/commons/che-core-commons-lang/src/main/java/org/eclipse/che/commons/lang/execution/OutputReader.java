@@ -12,38 +12,60 @@
 package org.eclipse.che.commons.lang.execution;
 
 import java.io.IOException;
-import java.io.Reader;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Asynchronously non blocking read process output. Class use external executor to run read thread
+ * Asynchronously reads process output. Class use external executor to run read thread.
+ *
+ * <p>The reading thread blocks on the stream until the process writes something, so an idle
+ * process costs no CPU. Read bytes are decoded with the given charset straight into the line
+ * buffer, complete lines are passed to the consumer as soon as they are decoded and an incomplete
+ * line is passed once the stream has nothing more to read at the moment.
  *
  * @author Evgen Vidolob
  */
 public class OutputReader {
   private static final Logger LOG = LoggerFactory.getLogger(OutputReader.class);
 
-  private static final int SLEEP_WHEN_WAS_ACTIVE = 1;
-  private static final int SLEEP_WHEN_IDLE = 5;
+  private static final int BUFFER_SIZE = 8192;
+  private static final long STOP_TIMEOUT_SECONDS = 5;
 
   private final Executor executor;
   private final Consumer<String> textConsumer;
-  private final Reader reader;
+  private final InputStream stream;
+  private final CharsetDecoder decoder;
 
-  private final char[] buffer = new char[8192];
+  private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+  private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
   private final StringBuilder lineBuilder = new StringBuilder();
 
   private Future<?> readingFuture;
 
   private volatile boolean isStopped;
 
-  public OutputReader(Reader reader, Executor executor, Consumer<String> textConsumer) {
+  public OutputReader(
+      InputStream stream, Charset charset, Executor executor, Consumer<String> textConsumer) {
     this.executor = executor;
     this.textConsumer = textConsumer;
-    this.reader = reader;
+    this.stream = stream;
+    this.decoder =
+        charset
+            .newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
   }
 
   /** Start reading thread */
@@ -53,31 +75,50 @@ public class OutputReader {
     }
   }
 
+  /**
+   * Tells the reader that the process is terminated. The reader consumes the rest of the output
+   * and stops at the end of the stream.
+   */
   public void stop() {
     isStopped = true;
   }
 
+  /**
+   * Waits until the reader consumes the whole output. If the stream is not closed in a few seconds
+   * after the reader is stopped, e.g. it is inherited by a child of the process which is still
+   * alive, the stream is closed forcibly.
+   */
   public void waitFor() throws InterruptedException {
     try {
-      readingFuture.get();
-    } catch (java.util.concurrent.ExecutionException e) {
+      if (isStopped) {
+        readingFuture.get(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      } else {
+        readingFuture.get();
+      }
+    } catch (TimeoutException e) {
+      LOG.warn("Process output is not closed after the process is terminated, closing it");
+      close();
+    } catch (ExecutionException e) {
       LOG.error(e.getMessage(), e);
     }
   }
 
   private void doStart() {
     try {
-      while (true) {
-        boolean active = readIfAvailable();
-        if (isStopped) {
-          break;
-        }
-
-        try {
-          Thread.sleep(getTimeToSleep(active));
-        } catch (InterruptedException ignored) {
+      int count;
+      while ((count = stream.read(bytes.array(), bytes.position(), bytes.remaining())) != -1) {
+        bytes.position(bytes.position() + count);
+        decode(false);
+        if (stream.available() == 0) {
+          consumeIncompleteLine();
         }
       }
+      decode(true);
+      consumeIncompleteLine();
+    } catch (IOException e) {
+      if (!isStopped) {
+        LOG.error(e.getMessage(), e);
+      }
     } catch (Exception e) {
       LOG.error(e.getMessage(), e);
     } finally {
@@ -87,42 +128,51 @@ public class OutputReader {
 
   private void close() {
     try {
-      reader.close();
+      stream.close();
     } catch (IOException e) {
       LOG.error("Can't close stream", e);
     }
   }
 
-  private int getTimeToSleep(boolean active) {
-    return active ? SLEEP_WHEN_WAS_ACTIVE : SLEEP_WHEN_IDLE;
+  private void decode(boolean endOfInput) {
+    bytes.flip();
+    CoderResult result;
+    do {
+      result = decoder.decode(bytes, chars, endOfInput);
+      processRead();
+    } while (result.isOverflow());
+    if (endOfInput) {
+      while (decoder.flush(chars).isOverflow()) {
+        processRead();
+      }
+      processRead();
+    }
+    bytes.compact();
   }
 
-  private boolean readIfAvailable() throws IOException {
-    boolean read = false;
-    int charCount;
-    while (reader.ready() && (charCount = reader.read(buffer)) > 1) {
-      read = true;
-      processRead(lineBuilder, buffer, charCount);
+  private void processRead() {
+    chars.flip();
+    char[] buffer = chars.array();
+    int start = 0;
+    for (int i = 0, end = chars.limit(); i < end; i++) {
+      if (buffer[i] == '\n') {
+        lineBuilder.append(buffer, start, i + 1 - start);
+        consumeLine();
+        start = i + 1;
+      }
     }
+    lineBuilder.append(buffer, start, chars.limit() - start);
+    chars.clear();
+  }
 
+  private void consumeIncompleteLine() {
     if (lineBuilder.length() > 0) {
-      consumeLine(lineBuilder);
+      consumeLine();
     }
-    return read;
   }
 
-  private void consumeLine(StringBuilder lineBuilder) {
+  private void consumeLine() {
     textConsumer.accept(lineBuilder.toString());
     lineBuilder.setLength(0);
   }
-
-  private void processRead(StringBuilder lineBuilder, char[] buffer, int charCount) {
-    for (int i = 0; i < charCount; i++) {
-      char c = buffer[i];
-      lineBuilder.append(c);
-      if (c == '\n') {
-        consumeLine(lineBuilder);
-      }
-    }
-  }
 }
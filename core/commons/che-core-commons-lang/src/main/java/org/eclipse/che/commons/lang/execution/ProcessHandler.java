@@ -11,10 +11,11 @@
  */
 package org.eclipse.che.commons.lang.execution;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -30,14 +31,29 @@ import org.slf4j.LoggerFactory;
 /**
  * Handler for native OS process
  *
+ * <p>Output of the process is read by the threads of a pool shared by all the handlers. The threads
+ * are created on demand and are discarded after being idle for a minute.
+ *
  * @author Evgen Vidolob
  */
 public class ProcessHandler implements Executor {
   private static final Logger LOG = LoggerFactory.getLogger(ProcessHandler.class);
 
+  private static final ExecutorService EXECUTOR =
+      new ThreadPoolExecutor(
+          0,
+          Integer.MAX_VALUE,
+          1,
+          TimeUnit.MINUTES,
+          new SynchronousQueue<>(),
+          new ThreadFactoryBuilder()
+              .setNameFormat("Native process thread-%d")
+              .setDaemon(true)
+              .build());
+
   private final Process process;
   private final WaitForProcessEnd waitForProcess;
-  private final ExecutorService executorService;
+  private final Charset charset;
   private final ProcessListener listenerNotifier;
   private final TerminatingTaskRunner terminatingListener;
   private final CountDownLatch latch;
@@ -47,8 +63,18 @@ public class ProcessHandler implements Executor {
   private volatile ProcessState state = ProcessState.INITIAL;
 
   public ProcessHandler(Process process) {
-    executorService = createExecutorService();
+    this(process, Charset.defaultCharset());
+  }
+
+  /**
+   * Creates handler of the process.
+   *
+   * @param process process to handle
+   * @param charset charset of the output of the process
+   */
+  public ProcessHandler(Process process, Charset charset) {
     this.process = process;
+    this.charset = charset;
     waitForProcess = new WaitForProcessEnd(process, this);
     listenerNotifier = createNotifier();
     terminatingListener = new TerminatingTaskRunner();
@@ -73,16 +99,6 @@ public class ProcessHandler implements Executor {
             invocationHandler);
   }
 
-  private ExecutorService createExecutorService() {
-    return new ThreadPoolExecutor(
-        10,
-        Integer.MAX_VALUE,
-        1,
-        TimeUnit.MINUTES,
-        new SynchronousQueue<>(),
-        (r -> new Thread(r, "Native process polled Thread")));
-  }
-
   public boolean isProcessTerminating() {
     return false;
   }
@@ -161,7 +177,8 @@ public class ProcessHandler implements Executor {
 
   private OutputReader createStdErrReader() {
     return new OutputReader(
-        new InputStreamReader(process.getErrorStream()),
+        process.getErrorStream(),
+        charset,
         this,
         (s -> notifyOnText(s, ProcessOutputType.STDERR)));
   }
@@ -176,7 +193,8 @@ public class ProcessHandler implements Executor {
 
   private OutputReader createStdOutReader() {
     return new OutputReader(
-        new InputStreamReader(process.getInputStream()),
+        process.getInputStream(),
+        charset,
         this,
         (s -> {
           notifyOnText(s, ProcessOutputType.STDOUT);
@@ -185,7 +203,7 @@ public class ProcessHandler implements Executor {
 
   @Override
   public Future<?> execute(Runnable runnable) {
-    return executorService.submit(runnable);
+    return EXECUTOR.submit(runnable);
   }
 
   public boolean isStarted() {
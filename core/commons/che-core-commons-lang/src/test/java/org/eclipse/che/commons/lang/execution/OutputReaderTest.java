@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.execution;
+
+import static java.nio.charset.StandardCharsets.UTF_16LE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link OutputReader}. */
+public class OutputReaderTest {
+
+  private ExecutorService pool;
+  private Executor executor;
+
+  @BeforeMethod
+  public void setUp() {
+    pool = Executors.newCachedThreadPool();
+    executor = pool::submit;
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void shouldSplitOutputIntoLines() throws Exception {
+    List<String> lines = read(new ByteArrayInputStream("a\nbc\n\nd".getBytes(UTF_8)), UTF_8);
+
+    assertEquals(lines, asList("a\n", "bc\n", "\n", "d"));
+  }
+
+  @Test
+  public void shouldDecodeOutputWithGivenCharset() throws Exception {
+    byte[] output = "привет\nмир".getBytes(UTF_16LE);
+
+    List<String> lines = read(new ByteArrayInputStream(output), UTF_16LE);
+
+    assertEquals(lines, asList("привет\n", "мир"));
+  }
+
+  @Test
+  public void shouldNotBreakCharactersSplitBetweenReads() throws Exception {
+    String text = "héllo wörld €\n";
+
+    List<String> lines = read(new ByteByByteInputStream(text.getBytes(UTF_8)), UTF_8);
+
+    assertEquals(String.join("", lines), text);
+    for (String line : lines) {
+      assertFalse(line.contains("�"), line);
+    }
+  }
+
+  @Test
+  public void shouldConsumeIncompleteLineWhenNothingMoreToRead() throws Exception {
+    BlockingInputStream stream = new BlockingInputStream("prompt> ".getBytes(UTF_8));
+    List<String> lines = new CopyOnWriteArrayList<>();
+    OutputReader reader = new OutputReader(stream, UTF_8, executor, lines::add);
+    reader.start();
+
+    stream.awaitBlocked();
+    assertEquals(lines, asList("prompt> "));
+
+    stream.close();
+    reader.stop();
+    reader.waitFor();
+  }
+
+  @Test(timeOut = 60_000)
+  public void shouldBlockReaderThreadsWhileProcessesAreIdle() throws Exception {
+    // given
+    int processes = 20;
+    List<BlockingInputStream> streams = new ArrayList<>();
+    List<OutputReader> readers = new ArrayList<>();
+    for (int i = 0; i < processes * 2; i++) {
+      BlockingInputStream stream = new BlockingInputStream(new byte[0]);
+      OutputReader reader = new OutputReader(stream, UTF_8, executor, line -> {});
+      reader.start();
+      streams.add(stream);
+      readers.add(reader);
+    }
+
+    // when
+    for (BlockingInputStream stream : streams) {
+      stream.awaitBlocked();
+    }
+
+    // then every reader waits in a single read instead of polling the stream
+    for (BlockingInputStream stream : streams) {
+      Thread reader = stream.readingThread;
+      while (reader.getState() != Thread.State.WAITING) {
+        Thread.yield();
+      }
+      assertEquals(stream.reads.get(), 1);
+      assertEquals(stream.availableCalls.get(), 0);
+    }
+
+    for (int i = 0; i < readers.size(); i++) {
+      streams.get(i).close();
+      readers.get(i).stop();
+      readers.get(i).waitFor();
+    }
+  }
+
+  @Test(timeOut = 60_000)
+  public void shouldReadFloodingOutput() throws Exception {
+    // given
+    byte[] line = "[INFO] Building module 42 of 100, compiling 1234 source files\n".getBytes(UTF_8);
+    int lineCount = 100_000;
+    InputStream stream = new RepeatingInputStream(line, lineCount);
+    AtomicLong consumed = new AtomicLong();
+    OutputReader reader =
+        new OutputReader(stream, UTF_8, executor, text -> consumed.incrementAndGet());
+
+    // when
+    reader.start();
+    reader.waitFor();
+
+    // then
+    assertEquals(consumed.get(), lineCount);
+  }
+
+  private List<String> read(InputStream stream, Charset charset)
+      throws InterruptedException {
+    List<String> lines = new CopyOnWriteArrayList<>();
+    OutputReader reader = new OutputReader(stream, charset, executor, lines::add);
+    reader.start();
+    reader.waitFor();
+    return lines;
+  }
+
+  /** Returns the content byte by byte, like a process which writes slowly. */
+  private static class ByteByByteInputStream extends ByteArrayInputStream {
+    ByteByByteInputStream(byte[] content) {
+      super(content);
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      return super.read(b, off, Math.min(len, 1));
+    }
+
+    @Override
+    public synchronized int available() {
+      return 0;
+    }
+  }
+
+  /** Returns the content and then blocks until closed, like an idle process. */
+  private static class BlockingInputStream extends InputStream {
+    private final ByteArrayInputStream content;
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final AtomicInteger reads = new AtomicInteger();
+    private final AtomicInteger availableCalls = new AtomicInteger();
+    private volatile Thread readingThread;
+
+    BlockingInputStream(byte[] content) {
+      this.content = new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public int read() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      reads.incrementAndGet();
+      if (content.available() > 0) {
+        return content.read(b, off, len);
+      }
+      readingThread = Thread.currentThread();
+      blocked.countDown();
+      try {
+        closed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return -1;
+    }
+
+    @Override
+    public int available() {
+      availableCalls.incrementAndGet();
+      return content.available();
+    }
+
+    @Override
+    public void close() {
+      closed.countDown();
+    }
+
+    void awaitBlocked() throws InterruptedException {
+      blocked.await();
+    }
+  }
+
+  /** Returns the same line the given number of times in chunks of a pipe buffer size. */
+  private static class RepeatingInputStream extends InputStream {
+    private final byte[] line;
+    private long remaining;
+    private int linePosition;
+
+    RepeatingInputStream(byte[] line, int times) {
+      this.line = line;
+      this.remaining = (long) line.length * times;
+    }
+
+    @Override
+    public int read() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (remaining == 0) {
+        return -1;
+      }
+      int count = (int) Math.min(Math.min(len, 65536), remaining);
+      for (int i = 0; i < count; i++) {
+        b[off + i] = line[linePosition];
+        linePosition = (linePosition + 1) % line.length;
+      }
+      remaining -= count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return (int) Math.min(remaining, 65536);
+    }
+  }
+}
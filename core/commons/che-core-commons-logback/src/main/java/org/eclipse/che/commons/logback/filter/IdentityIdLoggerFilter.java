@@ -21,6 +21,7 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
+import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.Subject;
 import org.slf4j.MDC;
 
@@ -42,8 +43,11 @@ public class IdentityIdLoggerFilter implements Filter {
       ServletRequest request, ServletResponse response, FilterChain filterChain)
       throws IOException, ServletException {
     final HttpServletRequest httpRequest = (HttpServletRequest) request;
-    final HttpSession session = httpRequest.getSession();
-    Subject subject = (Subject) session.getAttribute("che_subject");
+    final HttpSession session = httpRequest.getSession(false);
+    Subject subject =
+        session != null
+            ? (Subject) session.getAttribute("che_subject")
+            : EnvironmentContext.getCurrent().getSubject();
 
     if (subject != null && subject.getUserId() != null) {
       MDC.put(IDENTITY_ID_MDC_KEY, subject.getUserId());
@@ -14,7 +14,7 @@ import {CheJsonRpcApiClient} from './che-json-rpc-api-service';
 import {ICommunicationClient} from './json-rpc-client';
 
 enum MasterChannels {
-  ENVIRONMENT_OUTPUT = <any>'runtime/log',
+  ENVIRONMENT_OUTPUT = <any>'runtime/logs',
   ENVIRONMENT_STATUS = <any>'machine/statusChanged',
   WS_AGENT_OUTPUT = <any>'installer/log',
   WORKSPACE_STATUS = <any>'workspace/statusChanged',
@@ -51,6 +51,7 @@ export class CheJsonRpcMasterApi {
   private reconnectionDelay = 30000;
   private checkingDelay = 10000;
   private fetchingClientIdTimeout = 5000;
+  private environmentOutputHandlers = new Map<Function, Function>();
 
   constructor(client: ICommunicationClient,
               entrypoint: string,
@@ -170,13 +171,20 @@ export class CheJsonRpcMasterApi {
 
   /**
    * Subscribes the environment output.
+   * The logs come in batches, the callback is called for each log of a batch in their order.
    *
    * @param workspaceId workspace's id
    * @param machineName machine's name
    * @param callback callback to process event
    */
   subscribeEnvironmentOutput(workspaceId: string, callback: Function): void {
-    this.subscribe(MasterChannels.ENVIRONMENT_OUTPUT, MasterScopes.WORKSPACE, workspaceId, callback);
+    let logsHandler = (message: any) => {
+      if (message && angular.isArray(message.logs)) {
+        message.logs.forEach((log: any) => callback(log));
+      }
+    };
+    this.environmentOutputHandlers.set(callback, logsHandler);
+    this.subscribe(MasterChannels.ENVIRONMENT_OUTPUT, MasterScopes.WORKSPACE, workspaceId, logsHandler);
   }
 
   /**
@@ -187,7 +195,12 @@ export class CheJsonRpcMasterApi {
    * @param callback callback to process event
    */
   unSubscribeEnvironmentOutput(workspaceId: string, callback: Function): void {
-    this.unsubscribe(MasterChannels.ENVIRONMENT_OUTPUT, MasterScopes.WORKSPACE, workspaceId, callback);
+    let logsHandler = this.environmentOutputHandlers.get(callback);
+    if (!logsHandler) {
+      return;
+    }
+    this.environmentOutputHandlers.delete(callback);
+    this.unsubscribe(MasterChannels.ENVIRONMENT_OUTPUT, MasterScopes.WORKSPACE, workspaceId, logsHandler);
   }
 
   /**
@@ -122,6 +122,23 @@ public interface DebuggerServiceClient {
    */
   Promise<List<ThreadStateDto>> getThreadDump(String id);
 
+  /**
+   * Gets states of all threads without frames.
+   *
+   * @param id debug session id
+   */
+  Promise<List<ThreadStateDto>> getThreads(String id);
+
+  /**
+   * Gets a page of frames of the thread.
+   *
+   * @param id debug session id
+   * @param threadId the unique thread id {@link ThreadState#getId()}
+   * @param start the index of the first frame to return
+   * @param count the maximum number of frames to return
+   */
+  Promise<List<StackFrameDumpDto>> getStackFrames(String id, long threadId, int start, int count);
+
   /**
    * Resumes application.
    *
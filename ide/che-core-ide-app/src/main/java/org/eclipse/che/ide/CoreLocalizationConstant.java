@@ -1282,6 +1282,12 @@ public interface CoreLocalizationConstant extends Messages {
   @Key("consoles.clearOutputsButton.tooltip")
   String consolesClearOutputsButtonTooltip();
 
+  @Key("consoles.findButton.tooltip")
+  String consolesFindButtonTooltip();
+
+  @Key("consoles.findField.placeholder")
+  String consolesFindFieldPlaceholder();
+
   @Key("consoles.wrapTextButton.tooltip")
   String consolesWrapTextButtonTooltip();
 
@@ -274,6 +274,11 @@ public class CommandOutputConsolePresenter
     view.toggleScrollToEndButton(bottomReached);
   }
 
+  @Override
+  public void onFindInOutput(String text, boolean forward) {
+    view.find(text, forward);
+  }
+
   /**
    * Returns the console text.
    *
@@ -185,6 +185,11 @@ public class DefaultOutputConsole implements OutputConsole, OutputConsoleView.Ac
     view.toggleScrollToEndButton(bottomReached);
   }
 
+  @Override
+  public void onFindInOutput(String text, boolean forward) {
+    view.find(text, forward);
+  }
+
   @Override
   public OutputCustomizer getCustomizer() {
     return customizer;
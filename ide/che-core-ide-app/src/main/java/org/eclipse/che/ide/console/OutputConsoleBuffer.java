@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.console;
+
+/**
+ * Bounded buffer of output console lines.
+ *
+ * <p>Lines are kept in a ring, so once the buffer is full each new line evicts the oldest one in
+ * constant time. Lines are addressed by their index in the buffer, where {@code 0} is the oldest
+ * line which is still kept.
+ *
+ * @see OutputConsoleViewImpl
+ */
+public class OutputConsoleBuffer {
+
+  private final String[] texts;
+  private final String[] colors;
+
+  /** Index of the oldest line in the ring. */
+  private int head;
+
+  private int size;
+
+  /** Number of lines evicted since the buffer was created. */
+  private int evicted;
+
+  /**
+   * Creates a buffer.
+   *
+   * @param capacity maximum number of lines to keep
+   * @throws IllegalArgumentException if capacity is not positive
+   */
+  public OutputConsoleBuffer(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+    }
+    this.texts = new String[capacity];
+    this.colors = new String[capacity];
+  }
+
+  /**
+   * Appends a line, evicting the oldest one if the buffer is full.
+   *
+   * @param text text of the line
+   * @param color color of the line or {@code null} to use the default one
+   */
+  public void add(String text, String color) {
+    final int index;
+    if (size == texts.length) {
+      index = head;
+      head = (head + 1) % texts.length;
+      evicted++;
+    } else {
+      index = (head + size) % texts.length;
+      size++;
+    }
+    texts[index] = text;
+    colors[index] = color;
+  }
+
+  /**
+   * Replaces the last line, or appends a line if the buffer is empty.
+   *
+   * @param text text of the line
+   * @param color color of the line or {@code null} to use the default one
+   */
+  public void replaceLast(String text, String color) {
+    if (size == 0) {
+      add(text, color);
+      return;
+    }
+    final int index = (head + size - 1) % texts.length;
+    texts[index] = text;
+    colors[index] = color;
+  }
+
+  /** Removes all the lines. */
+  public void clear() {
+    for (int i = 0; i < texts.length; i++) {
+      texts[i] = null;
+      colors[i] = null;
+    }
+    head = 0;
+    size = 0;
+  }
+
+  /** Returns the number of lines in the buffer. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns the maximum number of lines the buffer keeps. */
+  public int capacity() {
+    return texts.length;
+  }
+
+  /**
+   * Returns the number of lines evicted since the buffer was created. Lines which are removed with
+   * {@link #clear()} are not counted.
+   */
+  public int getEvicted() {
+    return evicted;
+  }
+
+  /**
+   * Returns the text of the line.
+   *
+   * @param index index of the line, {@code 0} is the oldest one
+   * @throws IndexOutOfBoundsException if there is no line with the given index
+   */
+  public String getText(int index) {
+    return texts[toRingIndex(index)];
+  }
+
+  /**
+   * Returns the color of the line or {@code null} if the line has the default color.
+   *
+   * @param index index of the line, {@code 0} is the oldest one
+   * @throws IndexOutOfBoundsException if there is no line with the given index
+   */
+  public String getColor(int index) {
+    return colors[toRingIndex(index)];
+  }
+
+  /** Returns all the lines, each one followed by a line separator. */
+  public String getText() {
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      final String line = texts[(head + i) % texts.length];
+      if (line != null) {
+        text.append(line);
+      }
+      text.append("\r\n");
+    }
+    return text.toString();
+  }
+
+  /**
+   * Finds the line which contains the given text, ignoring case. Lines are searched starting from
+   * the given one towards the newest line when searching forward or towards the oldest one
+   * otherwise.
+   *
+   * @param query text to search for
+   * @param fromIndex index of the line to start the search from, may be out of the bounds
+   * @param forward whether to search towards the newest line
+   * @return index of the found line or {@code -1} if there is no line containing the text
+   */
+  public int find(String query, int fromIndex, boolean forward) {
+    if (query == null || query.isEmpty()) {
+      return -1;
+    }
+    final String lowerCaseQuery = query.toLowerCase();
+    final int step = forward ? 1 : -1;
+    final int start = forward ? Math.max(0, fromIndex) : Math.min(size - 1, fromIndex);
+    for (int i = start; i >= 0 && i < size; i += step) {
+      final String line = texts[(head + i) % texts.length];
+      if (line != null && line.toLowerCase().contains(lowerCaseQuery)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private int toRingIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    return (head + index) % texts.length;
+  }
+}
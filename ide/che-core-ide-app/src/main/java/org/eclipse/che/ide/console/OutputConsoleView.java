@@ -60,6 +60,16 @@ public interface OutputConsoleView extends View<OutputConsoleView.ActionDelegate
    */
   String getText();
 
+  /**
+   * Finds the next line which contains the given text, ignoring case, scrolls to it and highlights
+   * it. The search starts next to the previously found line and wraps around the console text.
+   *
+   * @param text text to search for
+   * @param forward set <code>true</code> to search towards the end of the console text
+   * @return <code>true</code> if a line containing the text is found
+   */
+  boolean find(String text, boolean forward);
+
   /** Hides command title and command label. */
   void hideCommand();
 
@@ -138,6 +148,14 @@ public interface OutputConsoleView extends View<OutputConsoleView.ActionDelegate
     /** Handle scrolling the output. */
     void onOutputScrolled(boolean bottomReached);
 
+    /**
+     * Handle search of the text typed into the find field.
+     *
+     * @param text text to search for
+     * @param forward <code>true</code> to search towards the end of the console text
+     */
+    void onFindInOutput(String text, boolean forward);
+
     /** Returns the customizer for the console output */
     OutputCustomizer getCustomizer();
   }
@@ -17,34 +17,35 @@ import static org.eclipse.che.ide.ui.menu.PositionController.HorizontalAlign.MID
 import static org.eclipse.che.ide.ui.menu.PositionController.VerticalAlign.BOTTOM;
 
 import com.google.common.base.Strings;
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Element;
-import com.google.gwt.dom.client.Node;
-import com.google.gwt.dom.client.NodeList;
-import com.google.gwt.dom.client.PreElement;
+import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.event.dom.client.KeyCodes;
+import com.google.gwt.event.dom.client.KeyDownEvent;
 import com.google.gwt.event.dom.client.ScrollEvent;
 import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.regexp.shared.MatchResult;
 import com.google.gwt.regexp.shared.RegExp;
-import com.google.gwt.safehtml.shared.SafeHtml;
 import com.google.gwt.safehtml.shared.SafeHtmlUtils;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
-import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.ui.Anchor;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.DockLayoutPanel;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.ScrollPanel;
+import com.google.gwt.user.client.ui.TextBox;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
 import java.util.List;
 import org.eclipse.che.ide.CoreLocalizationConstant;
 import org.eclipse.che.ide.FontAwesome;
+import org.eclipse.che.ide.api.preferences.PreferencesManager;
 import org.eclipse.che.ide.machine.MachineResources;
 import org.eclipse.che.ide.ui.Tooltip;
 import org.eclipse.che.ide.util.Pair;
@@ -53,6 +54,14 @@ import org.vectomatic.dom.svg.ui.SVGImage;
 /**
  * View representation of output console.
  *
+ * <p>Printed lines are kept in a bounded {@link OutputConsoleBuffer}, the limit is defined by the
+ * {@link #MAX_LINES_PREFERENCE} preference. Only the lines visible in the scroll area are rendered,
+ * at most once per animation frame, so the view stays responsive regardless of how much output a
+ * process produces.
+ *
+ * <p>Ctrl+F or the find button opens the find field, which searches the whole buffer including the
+ * lines which are not rendered. Enter finds the next line, Shift+Enter the previous one.
+ *
  * @author Artem Zatsarynnyi
  * @author Vitaliy Guliy
  */
@@ -66,6 +75,17 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
           new Pair<>(compile("\\[\\s*(STDOUT)\\s*\\]"), "#8ED72B"),
           new Pair<>(compile("\\[\\s*(STDERR)\\s*\\]"), "#FF4343"));
 
+  /** Preference which limits the number of lines kept by a console. */
+  public static final String MAX_LINES_PREFERENCE = "consoleMaxLines";
+
+  static final int DEFAULT_MAX_LINES = 10_000;
+
+  /** Line height defined by the console style, used until the actual one is measured. */
+  private static final int DEFAULT_LINE_HEIGHT = 13;
+
+  /** Number of lines rendered above and below the visible ones to make scrolling smooth. */
+  private static final int WINDOW_MARGIN = 20;
+
   interface OutputConsoleViewUiBinder extends UiBinder<Widget, OutputConsoleViewImpl> {}
 
   private static final OutputConsoleViewUiBinder UI_BINDER =
@@ -97,33 +117,110 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
   @UiField protected FlowPanel downloadOutputsButton;
 
+  @UiField FlowPanel findButton;
+
+  @UiField FlowPanel findPanel;
+
+  @UiField TextBox findField;
+
   @UiField FlowPanel wrapTextButton;
 
   @UiField FlowPanel scrollToBottomButton;
 
+  /** Lines of the output, only the visible ones are rendered. */
+  private final OutputConsoleBuffer buffer;
+
   /** If true - next printed line should replace the previous one. */
   private boolean carriageReturn;
 
   /** Follow the output. Scroll to the bottom automatically when <b>true</b>. */
   private boolean followOutput = true;
 
-  /** Scroll to the bottom immediately when view become visible. */
-  private boolean followScheduled = false;
+  /** Render the view as soon as it becomes visible. */
+  private boolean visibilityCheckScheduled = false;
+
+  /** Whether rendering is requested for the next animation frame. */
+  private boolean renderScheduled = false;
+
+  /** Height of a line in pixels, measured once the first line is rendered. */
+  private int lineHeight = DEFAULT_LINE_HEIGHT;
+
+  private boolean lineHeightMeasured = false;
+
+  /** Number of lines evicted from the buffer when the view was rendered last time. */
+  private int renderedEvicted = 0;
+
+  /** Scroll position set by the last rendering. */
+  private int renderedScrollTop = -1;
+
+  /** Number of the found line, counting the evicted lines, or -1 if there is no one. */
+  private int foundLine = -1;
+
+  /** Number of the line to scroll to on the next rendering or -1 if there is no one. */
+  private int revealLine = -1;
 
   @Inject
-  public OutputConsoleViewImpl(MachineResources resources, CoreLocalizationConstant localization) {
+  public OutputConsoleViewImpl(
+      MachineResources resources,
+      CoreLocalizationConstant localization,
+      PreferencesManager preferencesManager) {
     initWidget(UI_BINDER.createAndBindUi(this));
 
+    buffer = new OutputConsoleBuffer(getMaxLines(preferencesManager));
+
     reRunProcessButton.add(new SVGImage(resources.reRunIcon()));
     stopProcessButton.add(new SVGImage(resources.stopIcon()));
     clearOutputsButton.add(new SVGImage(resources.clearOutputsIcon()));
     downloadOutputsButton.getElement().setInnerHTML(FontAwesome.DOWNLOAD);
+    findButton.getElement().setInnerHTML(FontAwesome.SEARCH);
 
     wrapTextButton.add(new SVGImage(resources.lineWrapIcon()));
     scrollToBottomButton.add(new SVGImage(resources.scrollToBottomIcon()));
 
     scrollPanel.addDomHandler(this, ScrollEvent.getType());
 
+    // let the output take the keyboard focus, so Ctrl+F can be pressed in it
+    scrollPanel.getElement().setTabIndex(0);
+    consolePanel.setWidgetHidden(findPanel, true);
+    findField.getElement().setAttribute("placeholder", localization.consolesFindFieldPlaceholder());
+
+    addDomHandler(
+        event -> {
+          if ((event.isControlKeyDown() || event.isMetaKeyDown())
+              && event.getNativeKeyCode() == 'F') {
+            event.preventDefault();
+            event.stopPropagation();
+            showFindPanel();
+          }
+        },
+        KeyDownEvent.getType());
+
+    findField.addKeyDownHandler(
+        event -> {
+          if (event.getNativeKeyCode() == KeyCodes.KEY_ENTER) {
+            event.preventDefault();
+            if (delegate != null) {
+              delegate.onFindInOutput(findField.getValue(), !event.isShiftKeyDown());
+            }
+          } else if (event.getNativeKeyCode() == KeyCodes.KEY_ESCAPE) {
+            event.preventDefault();
+            hideFindPanel();
+          }
+        });
+
+    findButton.addDomHandler(
+        new ClickHandler() {
+          @Override
+          public void onClick(ClickEvent event) {
+            if (findButton.getElement().hasAttribute("toggled")) {
+              hideFindPanel();
+            } else {
+              showFindPanel();
+            }
+          }
+        },
+        ClickEvent.getType());
+
     reRunProcessButton.addDomHandler(
         new ClickHandler() {
           @Override
@@ -208,6 +305,12 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
         MIDDLE,
         localization.consolesClearOutputsButtonTooltip());
 
+    Tooltip.create(
+        (elemental.dom.Element) findButton.getElement(),
+        BOTTOM,
+        MIDDLE,
+        localization.consolesFindButtonTooltip());
+
     Tooltip.create(
         (elemental.dom.Element) wrapTextButton.getElement(),
         BOTTOM,
@@ -223,6 +326,21 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     toggleScrollToEndButton(followOutput);
   }
 
+  private static int getMaxLines(PreferencesManager preferencesManager) {
+    final String maxLines = preferencesManager.getValue(MAX_LINES_PREFERENCE);
+    if (!Strings.isNullOrEmpty(maxLines)) {
+      try {
+        final int value = Integer.parseInt(maxLines.trim());
+        if (value > 0) {
+          return value;
+        }
+      } catch (NumberFormatException ignored) {
+        // use the default limit
+      }
+    }
+    return DEFAULT_MAX_LINES;
+  }
+
   @Override
   public void setDelegate(ActionDelegate delegate) {
     this.delegate = delegate;
@@ -245,17 +363,23 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     } else {
       consoleLines.getElement().removeAttribute("wrap");
     }
+    scheduleRender();
   }
 
   @Override
   public void enableAutoScroll(boolean enable) {
     followOutput = enable;
-    followOutput();
+    if (enable) {
+      scheduleRender();
+    }
   }
 
   @Override
   public void clearConsole() {
-    consoleLines.getElement().setInnerHTML("");
+    buffer.clear();
+    foundLine = -1;
+    revealLine = -1;
+    scheduleRender();
   }
 
   @Override
@@ -320,84 +444,84 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
   @Override
   public void print(final String text, boolean carriageReturn, String color) {
-
-    if (consoleLines.getElement().getChildCount() > 500) {
-      consoleLines.getElement().getFirstChild().removeFromParent();
-    }
-
     if (this.carriageReturn) {
-      Node lastChild = consoleLines.getElement().getLastChild();
-      if (lastChild != null) {
-        lastChild.removeFromParent();
-      }
+      buffer.replaceLast(text, color);
+    } else {
+      buffer.add(text, color);
     }
 
     this.carriageReturn = carriageReturn;
 
-    final SafeHtml colorOutput =
-        new SafeHtml() {
-          @Override
-          public String asString() {
-
-            if (Strings.isNullOrEmpty(text)) {
-              return " ";
-            }
-
-            String encoded = SafeHtmlUtils.htmlEscape(text);
-            if (delegate != null) {
-              if (delegate.getCustomizer() != null) {
-                if (delegate.getCustomizer().canCustomize(encoded)) {
-                  encoded = delegate.getCustomizer().customize(encoded);
-                }
-              }
-            }
+    scheduleRender();
+  }
 
-            for (final Pair<RegExp, String> pair : output2Color) {
-              final MatchResult matcher = pair.first.exec(encoded);
-
-              if (matcher != null) {
-                return encoded.replaceAll(
-                    matcher.getGroup(1),
-                    "<span style=\"color: "
-                        + pair.second
-                        + "\">"
-                        + matcher.getGroup(1)
-                        + "</span>");
-              }
-            }
+  @Override
+  public String getText() {
+    return buffer.getText();
+  }
 
-            return encoded;
-          }
-        };
+  @Override
+  public boolean find(String text, boolean forward) {
+    final int previous = foundLine - buffer.getEvicted();
+    int index;
+    if (forward) {
+      index = buffer.find(text, previous + 1, true);
+      if (index < 0) {
+        index = buffer.find(text, 0, true);
+      }
+    } else {
+      index = buffer.find(text, previous < 0 ? buffer.size() - 1 : previous - 1, false);
+      if (index < 0) {
+        index = buffer.find(text, buffer.size() - 1, false);
+      }
+    }
 
-    PreElement pre = DOM.createElement("pre").cast();
-    pre.setInnerSafeHtml(colorOutput);
-    if (color != null) {
-      pre.getStyle().setColor(color);
+    if (index < 0) {
+      foundLine = -1;
+      findField.getElement().setAttribute("notFound", "");
+    } else {
+      findField.getElement().removeAttribute("notFound");
+      foundLine = buffer.getEvicted() + index;
+      revealLine = foundLine;
+      followOutput = false;
+      if (delegate != null) {
+        delegate.onOutputScrolled(false);
+      }
     }
-    consoleLines.getElement().appendChild(pre);
 
-    followOutput();
+    scheduleRender();
+    return index >= 0;
   }
 
-  @Override
-  public String getText() {
-    String text = "";
-    NodeList<Node> nodes = consoleLines.getElement().getChildNodes();
-
-    for (int i = 0; i < nodes.getLength(); i++) {
-      Node node = nodes.getItem(i);
-      Element element = node.cast();
-      text += element.getInnerText() + "\r\n";
-    }
+  /** Shows the find field and moves the keyboard focus to it. */
+  private void showFindPanel() {
+    consolePanel.setWidgetHidden(findPanel, false);
+    findButton.getElement().setAttribute("toggled", "");
+    findField.setFocus(true);
+    findField.selectAll();
+  }
 
-    return text;
+  /** Hides the find field, removes the highlighting and returns the focus to the output. */
+  private void hideFindPanel() {
+    consolePanel.setWidgetHidden(findPanel, true);
+    findButton.getElement().removeAttribute("toggled");
+    findField.getElement().removeAttribute("notFound");
+    foundLine = -1;
+    scheduleRender();
+    scrollPanel.getElement().focus();
   }
 
   @Override
   public void onScroll(ScrollEvent event) {
+    final Element scroller = scrollPanel.getElement();
+
+    // Render the lines which became visible, skip scrolling caused by rendering itself
+    if (scroller.getScrollTop() != renderedScrollTop) {
+      scheduleRender();
+    }
+
     // Do nothing if content height less scroll area height
-    if (scrollPanel.getElement().getScrollHeight() < scrollPanel.getElement().getOffsetHeight()) {
+    if (scroller.getScrollHeight() < scroller.getOffsetHeight()) {
       followOutput = true;
       if (delegate != null) {
         delegate.onOutputScrolled(followOutput);
@@ -406,8 +530,7 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     }
 
     // Follow output if scroll area is scrolled to the end
-    if (scrollPanel.getElement().getScrollTop() + scrollPanel.getElement().getOffsetHeight()
-        >= scrollPanel.getElement().getScrollHeight()) {
+    if (scroller.getScrollTop() + scroller.getOffsetHeight() >= scroller.getScrollHeight()) {
       followOutput = true;
     } else {
       followOutput = false;
@@ -418,44 +541,149 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     }
   }
 
-  /** Scrolls to the bottom if following the output is enabled. */
-  private void followOutput() {
-    if (!followOutput) {
+  /** Renders the visible lines on the next animation frame, once per frame. */
+  private void scheduleRender() {
+    if (renderScheduled) {
       return;
     }
+    renderScheduled = true;
+
+    AnimationScheduler.get()
+        .requestAnimationFrame(
+            new AnimationScheduler.AnimationCallback() {
+              @Override
+              public void execute(double timestamp) {
+                renderScheduled = false;
+                render();
+              }
+            },
+            scrollPanel.getElement());
+  }
 
-    /** Scroll bottom immediately if view is visible */
-    if (scrollPanel.getElement().getOffsetParent() != null) {
+  /**
+   * Replaces the rendered lines with the lines of the buffer which are visible in the scroll area,
+   * plus a few lines above and below it. The lines out of the window are represented by the top
+   * padding and the minimal height of the lines container, so the scroll bar reflects the whole
+   * buffer. When the text is wrapped, lines may be higher than a single line, so the window is
+   * positioned approximately.
+   */
+  private void render() {
+    final Element scroller = scrollPanel.getElement();
+
+    /* The scroll area has no geometry while the view is hidden, render it once it's visible */
+    if (scroller.getOffsetParent() == null) {
+      renderWhenVisible();
+      return;
+    }
+
+    final int total = buffer.size();
+    final int windowSize = scroller.getClientHeight() / lineHeight + 1;
+    final int evicted = buffer.getEvicted() - renderedEvicted;
+    renderedEvicted = buffer.getEvicted();
+
+    int scrollTop = scroller.getScrollTop();
+    if (revealLine >= 0) {
+      final int index = revealLine - buffer.getEvicted();
+      scrollTop = Math.max(0, (index - windowSize / 2) * lineHeight);
+      revealLine = -1;
+    } else if (!followOutput) {
+      // keep the same lines in the scroll area when the oldest ones are evicted
+      scrollTop = Math.max(0, scrollTop - evicted * lineHeight);
+    }
+
+    final int firstVisible =
+        followOutput
+            ? Math.max(0, total - windowSize)
+            : Math.min(scrollTop / lineHeight, Math.max(0, total - windowSize));
+    final int first = Math.max(0, firstVisible - WINDOW_MARGIN);
+    final int last = Math.min(total, firstVisible + windowSize + WINDOW_MARGIN);
+
+    final StringBuilder html = new StringBuilder();
+    for (int i = first; i < last; i++) {
+      html.append("<pre");
+      if (buffer.getEvicted() + i == foundLine) {
+        html.append(" found");
+      }
+      final String color = buffer.getColor(i);
+      if (color != null) {
+        html.append(" style=\"color: ").append(SafeHtmlUtils.htmlEscape(color)).append("\"");
+      }
+      html.append('>').append(toHtml(buffer.getText(i))).append("</pre>");
+    }
+
+    final Element lines = consoleLines.getElement();
+    lines.getStyle().setPaddingTop(first * lineHeight, Unit.PX);
+    lines.getStyle().setProperty("minHeight", total * lineHeight + "px");
+    lines.setInnerSafeHtml(SafeHtmlUtils.fromTrustedString(html.toString()));
+
+    final Element firstLine = lines.getFirstChildElement();
+    if (!lineHeightMeasured && !lines.hasAttribute("wrap") && firstLine != null) {
+      lineHeightMeasured = true;
+      final int measured = firstLine.getOffsetHeight();
+      if (measured > 0 && measured != lineHeight) {
+        lineHeight = measured;
+        scheduleRender();
+      }
+    }
+
+    if (followOutput) {
       scrollPanel.scrollToBottom();
       scrollPanel.scrollToLeft();
-      return;
+    } else if (scrollTop != scroller.getScrollTop()) {
+      scroller.setScrollTop(scrollTop);
     }
+    renderedScrollTop = scroller.getScrollTop();
+  }
 
-    /** Otherwise, check the visibility periodically and scroll the view when it's visible */
-    if (!followScheduled) {
-      followScheduled = true;
-
-      Scheduler.get()
-          .scheduleFixedPeriod(
-              new Scheduler.RepeatingCommand() {
-                @Override
-                public boolean execute() {
-                  if (!followOutput) {
-                    followScheduled = false;
-                    return false;
-                  }
-
-                  if (scrollPanel.getElement().getOffsetParent() != null) {
-                    scrollPanel.scrollToBottom();
-                    scrollPanel.scrollToLeft();
-                    followScheduled = false;
-                    return false;
-                  }
-
-                  return true;
+  /** Checks the visibility of the view periodically and renders it when it becomes visible. */
+  private void renderWhenVisible() {
+    if (visibilityCheckScheduled) {
+      return;
+    }
+    visibilityCheckScheduled = true;
+
+    Scheduler.get()
+        .scheduleFixedPeriod(
+            new Scheduler.RepeatingCommand() {
+              @Override
+              public boolean execute() {
+                if (scrollPanel.getElement().getOffsetParent() != null) {
+                  visibilityCheckScheduled = false;
+                  scheduleRender();
+                  return false;
                 }
-              },
-              500);
+
+                return true;
+              }
+            },
+            500);
+  }
+
+  /** Returns HTML representation of the line, customized and colored. */
+  private String toHtml(String text) {
+    if (Strings.isNullOrEmpty(text)) {
+      return " ";
     }
+
+    String encoded = SafeHtmlUtils.htmlEscape(text);
+    if (delegate != null) {
+      if (delegate.getCustomizer() != null) {
+        if (delegate.getCustomizer().canCustomize(encoded)) {
+          encoded = delegate.getCustomizer().customize(encoded);
+        }
+      }
+    }
+
+    for (final Pair<RegExp, String> pair : output2Color) {
+      final MatchResult matcher = pair.first.exec(encoded);
+
+      if (matcher != null) {
+        return encoded.replaceAll(
+            matcher.getGroup(1),
+            "<span style=\"color: " + pair.second + "\">" + matcher.getGroup(1) + "</span>");
+      }
+    }
+
+    return encoded;
   }
 }
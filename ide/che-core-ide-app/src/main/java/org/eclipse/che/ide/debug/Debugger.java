@@ -13,6 +13,7 @@ package org.eclipse.che.ide.debug;
 
 import java.util.List;
 import java.util.Map;
+import org.eclipse.che.api.debug.shared.dto.StackFrameDumpDto;
 import org.eclipse.che.api.debug.shared.dto.ThreadStateDto;
 import org.eclipse.che.api.debug.shared.model.Breakpoint;
 import org.eclipse.che.api.debug.shared.model.Location;
@@ -117,6 +118,19 @@ public interface Debugger extends DebuggerObservable {
   /** Gets thread dump. */
   Promise<List<ThreadStateDto>> getThreadDump();
 
+  /** Gets states of all threads without frames. */
+  Promise<List<ThreadStateDto>> getThreads();
+
+  /**
+   * Gets a page of frames of the thread. Frames contain locations only, variables are provided by
+   * {@link #getStackFrameDump(long, int)}.
+   *
+   * @param threadId the unique thread id {@link ThreadState#getId()}
+   * @param start the index of the first frame to return
+   * @param count the maximum number of frames to return
+   */
+  Promise<List<StackFrameDumpDto>> getStackFrames(long threadId, int start, int count);
+
   /**
    * Sets a new value in the variable inside a specific frame.
    *
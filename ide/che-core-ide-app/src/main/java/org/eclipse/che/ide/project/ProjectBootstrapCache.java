@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.project;
+
+import static org.eclipse.che.api.promises.client.callback.CallbackPromiseHelper.createFromCallback;
+import static org.eclipse.che.ide.MimeType.APPLICATION_JSON;
+import static org.eclipse.che.ide.rest.HTTPHeader.ACCEPT;
+import static org.eclipse.che.ide.rest.HTTPHeader.ETAG;
+import static org.eclipse.che.ide.rest.HTTPHeader.IF_NONE_MATCH;
+import static org.eclipse.che.ide.rest.HTTPStatus.NOT_MODIFIED;
+import static org.eclipse.che.ide.rest.HTTPStatus.OK;
+
+import com.google.gwt.http.client.Response;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.eclipse.che.api.project.shared.dto.ProjectBootstrapDto;
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.rest.AsyncRequest;
+import org.eclipse.che.ide.rest.AsyncRequestCallback;
+import org.eclipse.che.ide.rest.AsyncRequestFactory;
+import org.eclipse.che.ide.rest.Unmarshallable;
+import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.util.storage.LocalStorage;
+import org.eclipse.che.ide.util.storage.LocalStorageProvider;
+
+/**
+ * Keeps the projects and the project types of the current workspace, which are fetched from the
+ * workspace agent with a single request, in the browser local storage.
+ *
+ * <p>The cached payload allows the IDE to show the projects right after it is loaded, while the
+ * payload is revalidated in the background with a conditional request, which costs a {@code 304
+ * Not Modified} response while nothing has changed in the workspace.
+ *
+ * @see ProjectBootstrapDto
+ */
+@Singleton
+public class ProjectBootstrapCache {
+
+  /** Prefix of the storage keys, the version has to be changed when the payload format changes. */
+  static final String STORAGE_KEY_PREFIX = "che-project-bootstrap-v1-";
+
+  static final String ETAG_KEY_SUFFIX = "-etag";
+
+  private static final String PROJECT_BOOTSTRAP = "/project-bootstrap";
+
+  private final AsyncRequestFactory reqFactory;
+  private final DtoFactory dtoFactory;
+  private final AppContext appContext;
+  private final LocalStorage storage;
+
+  private ProjectBootstrapDto bootstrap;
+  private String etag;
+  private String workspaceId;
+
+  @Inject
+  public ProjectBootstrapCache(
+      AsyncRequestFactory reqFactory,
+      DtoFactory dtoFactory,
+      AppContext appContext,
+      LocalStorageProvider localStorageProvider) {
+    this.reqFactory = reqFactory;
+    this.dtoFactory = dtoFactory;
+    this.appContext = appContext;
+    this.storage = localStorageProvider.get();
+  }
+
+  /**
+   * Returns the last known projects and project types of the current workspace, which may be
+   * outdated until {@link #revalidate()} completes.
+   *
+   * @return cached payload or {@code null} if nothing is cached for the current workspace
+   */
+  @Nullable
+  public ProjectBootstrapDto getCached() {
+    final String currentWorkspaceId = appContext.getWorkspaceId();
+    if (!currentWorkspaceId.equals(workspaceId)) {
+      workspaceId = currentWorkspaceId;
+      bootstrap = null;
+      etag = null;
+      read();
+    }
+    return bootstrap;
+  }
+
+  /**
+   * Fetches the projects and the project types of the current workspace, unless the cached ones
+   * are still up to date, and caches them.
+   *
+   * @return promise which is resolved with the same instance that {@link #getCached()} returned
+   *     when the cached payload is up to date or with a new one otherwise
+   */
+  public Promise<ProjectBootstrapDto> revalidate() {
+    final ProjectBootstrapDto cached = getCached();
+    final AsyncRequest request =
+        reqFactory
+            .createGetRequest(appContext.getWsAgentServerApiEndpoint() + PROJECT_BOOTSTRAP)
+            .header(ACCEPT, APPLICATION_JSON);
+    if (cached != null && etag != null) {
+      request.header(IF_NONE_MATCH, etag);
+    }
+
+    return createFromCallback(
+        callback -> {
+          final AsyncRequestCallback<ProjectBootstrapDto> requestCallback =
+              new AsyncRequestCallback<ProjectBootstrapDto>(newUnmarshaller()) {
+                @Override
+                protected void onSuccess(ProjectBootstrapDto result) {
+                  callback.onSuccess(result);
+                }
+
+                @Override
+                protected void onFailure(Throwable exception) {
+                  callback.onFailure(exception);
+                }
+              };
+          requestCallback.setSuccessCodes(new int[] {OK, NOT_MODIFIED});
+          request.send(requestCallback);
+        });
+  }
+
+  /** Returns unmarshaller which keeps the cached payload on 304 and caches the new one on 200. */
+  Unmarshallable<ProjectBootstrapDto> newUnmarshaller() {
+    return new Unmarshallable<ProjectBootstrapDto>() {
+      private ProjectBootstrapDto payload;
+
+      @Override
+      public void unmarshal(Response response) {
+        if (response.getStatusCode() == NOT_MODIFIED && bootstrap != null) {
+          payload = bootstrap;
+          return;
+        }
+        payload = dtoFactory.createDtoFromJson(response.getText(), ProjectBootstrapDto.class);
+        bootstrap = payload;
+        etag = response.getHeader(ETAG);
+        write(response.getText());
+      }
+
+      @Override
+      public ProjectBootstrapDto getPayload() {
+        return payload;
+      }
+    };
+  }
+
+  private void read() {
+    if (storage == null) {
+      return;
+    }
+
+    final String json = storage.getItem(STORAGE_KEY_PREFIX + workspaceId);
+    final String storedEtag = storage.getItem(STORAGE_KEY_PREFIX + workspaceId + ETAG_KEY_SUFFIX);
+    if (json == null || storedEtag == null) {
+      return;
+    }
+
+    try {
+      bootstrap = dtoFactory.createDtoFromJson(json, ProjectBootstrapDto.class);
+      etag = storedEtag;
+    } catch (RuntimeException e) {
+      Log.warn(getClass(), "Dropping unreadable project bootstrap cache: " + e.getMessage());
+      remove();
+    }
+  }
+
+  private void write(String json) {
+    if (storage == null || workspaceId == null) {
+      return;
+    }
+
+    try {
+      if (etag == null) {
+        remove();
+      } else {
+        storage.setItem(STORAGE_KEY_PREFIX + workspaceId, json);
+        storage.setItem(STORAGE_KEY_PREFIX + workspaceId + ETAG_KEY_SUFFIX, etag);
+      }
+    } catch (RuntimeException e) {
+      // most likely the storage quota is exceeded, the payload is just not cached then
+      Log.warn(getClass(), "Can't cache project bootstrap: " + e.getMessage());
+      remove();
+    }
+  }
+
+  private void remove() {
+    storage.removeItem(STORAGE_KEY_PREFIX + workspaceId + ETAG_KEY_SUFFIX);
+    storage.removeItem(STORAGE_KEY_PREFIX + workspaceId);
+  }
+}
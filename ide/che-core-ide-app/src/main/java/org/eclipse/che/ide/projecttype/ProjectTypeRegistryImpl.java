@@ -12,8 +12,6 @@
 package org.eclipse.che.ide.projecttype;
 
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
-import static org.eclipse.che.ide.MimeType.APPLICATION_JSON;
-import static org.eclipse.che.ide.rest.HTTPHeader.ACCEPT;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -22,8 +20,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.eclipse.che.api.project.shared.dto.ProjectBootstrapDto;
 import org.eclipse.che.api.project.shared.dto.ProjectTypeDto;
-import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.project.type.ProjectTypeRegistry;
@@ -31,15 +29,13 @@ import org.eclipse.che.ide.api.project.type.ProjectTypesLoadedEvent;
 import org.eclipse.che.ide.api.workspace.event.WsAgentServerRunningEvent;
 import org.eclipse.che.ide.api.workspace.event.WsAgentServerStoppedEvent;
 import org.eclipse.che.ide.bootstrap.BasicIDEInitializedEvent;
-import org.eclipse.che.ide.rest.AsyncRequestFactory;
-import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
+import org.eclipse.che.ide.project.ProjectBootstrapCache;
 import org.eclipse.che.ide.util.loging.Log;
 
 @Singleton
 public class ProjectTypeRegistryImpl implements ProjectTypeRegistry {
 
-  private final AsyncRequestFactory asyncRequestFactory;
-  private final DtoUnmarshallerFactory dtoUnmarshallerFactory;
+  private final ProjectBootstrapCache bootstrapCache;
   private final AppContext appContext;
   private final EventBus eventBus;
 
@@ -47,12 +43,8 @@ public class ProjectTypeRegistryImpl implements ProjectTypeRegistry {
 
   @Inject
   public ProjectTypeRegistryImpl(
-      AsyncRequestFactory asyncRequestFactory,
-      DtoUnmarshallerFactory dtoUnmarshallerFactory,
-      AppContext appContext,
-      EventBus eventBus) {
-    this.asyncRequestFactory = asyncRequestFactory;
-    this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
+      ProjectBootstrapCache bootstrapCache, AppContext appContext, EventBus eventBus) {
+    this.bootstrapCache = bootstrapCache;
     this.appContext = appContext;
     this.eventBus = eventBus;
 
@@ -81,14 +73,30 @@ public class ProjectTypeRegistryImpl implements ProjectTypeRegistry {
     return projectTypes.get(id);
   }
 
+  /**
+   * Registers the project types from the cached bootstrap payload, so the projects are shown
+   * without waiting for the workspace agent, and revalidates the payload in the background. When
+   * the cached payload turns out to be outdated, the project types are replaced and the workspace
+   * root is synchronized with the workspace agent.
+   */
   private void registerProjectTypes() {
-    fetchProjectTypes()
-        .then(
-            typeDescriptors -> {
-              typeDescriptors.forEach(
-                  projectTypeDto -> projectTypes.put(projectTypeDto.getId(), projectTypeDto));
+    final ProjectBootstrapDto cached = bootstrapCache.getCached();
+    if (cached != null) {
+      register(cached.getProjectTypes());
+      eventBus.fireEvent(new ProjectTypesLoadedEvent());
+    }
 
-              eventBus.fireEvent(new ProjectTypesLoadedEvent());
+    bootstrapCache
+        .revalidate()
+        .then(
+            bootstrap -> {
+              if (cached == null) {
+                register(bootstrap.getProjectTypes());
+                eventBus.fireEvent(new ProjectTypesLoadedEvent());
+              } else if (bootstrap != cached) {
+                register(bootstrap.getProjectTypes());
+                appContext.getWorkspaceRoot().synchronize();
+              }
             })
         .catchError(
             error -> {
@@ -98,12 +106,9 @@ public class ProjectTypeRegistryImpl implements ProjectTypeRegistry {
             });
   }
 
-  private Promise<List<ProjectTypeDto>> fetchProjectTypes() {
-    final String url = appContext.getWsAgentServerApiEndpoint() + "/project-type";
-
-    return asyncRequestFactory
-        .createGetRequest(url)
-        .header(ACCEPT, APPLICATION_JSON)
-        .send(dtoUnmarshallerFactory.newListUnmarshaller(ProjectTypeDto.class));
+  private void register(List<ProjectTypeDto> typeDescriptors) {
+    projectTypes.clear();
+    typeDescriptors.forEach(
+        projectTypeDto -> projectTypes.put(projectTypeDto.getId(), projectTypeDto));
   }
 }
@@ -14,18 +14,16 @@ package org.eclipse.che.ide.resources.impl;
 import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Optional.of;
 import static com.google.common.base.Preconditions.checkArgument;
-import static java.lang.System.arraycopy;
-import static java.util.Arrays.binarySearch;
-import static java.util.Arrays.copyOf;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Optional;
-import com.google.common.collect.Maps;
 import com.google.inject.Inject;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.eclipse.che.ide.api.resources.Container;
+import java.util.TreeMap;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.api.resources.ResourceInterceptor;
 import org.eclipse.che.ide.resource.Path;
@@ -33,6 +31,11 @@ import org.eclipse.che.ide.resource.Path;
 /**
  * In memory implementation of {@link ResourceStore}.
  *
+ * <p>Resources are kept in a trie of paths, each node holds the children of a container sorted by
+ * name. So registering and disposing a resource costs logarithmic time of the number of its
+ * siblings, and enumerating descendants of a container is proportional to the size of its subtree
+ * rather than to the number of all the registered resources.
+ *
  * @author Vlad Zhukovskiy
  * @see ResourceStore
  * @since 4.4.0
@@ -42,22 +45,14 @@ class InMemoryResourceStore implements ResourceStore {
 
   private static final Resource[] EMPTY_RESOURCES = new Resource[0];
 
-  private static final Comparator<Resource> NAME_COMPARATOR =
-      new Comparator<Resource>() {
-        @Override
-        public int compare(Resource o1, Resource o2) {
-          return o1.getName().compareTo(o2.getName());
-        }
-      };
-
-  private Map<Path, Resource[]> memoryCache;
+  private Node root;
   private Set<ResourceInterceptor> resourceInterceptors;
 
   @Inject
   public InMemoryResourceStore(Set<ResourceInterceptor> resourceInterceptors) {
     this.resourceInterceptors = resourceInterceptors;
 
-    memoryCache = Maps.newHashMap();
+    root = new Node();
   }
 
   /** {@inheritDoc} */
@@ -65,46 +60,18 @@ class InMemoryResourceStore implements ResourceStore {
   public boolean register(Resource resource) {
     checkArgument(resource != null, "Null resource occurred");
 
-    final Path parent =
-        resource.getLocation().segmentCount() == 1 ? Path.ROOT : resource.getLocation().parent();
-
-    if (!memoryCache.containsKey(parent)) {
-      memoryCache.put(parent, new Resource[] {resource});
-
-      intercept(resource);
-
-      return true;
-    } else {
-      Resource[] container = memoryCache.get(parent);
-
-      final int index = binarySearch(container, resource, NAME_COMPARATOR);
+    final Node parent = root.find(resource.getLocation().parent(), true);
 
-      if (index >= 0) { // update existing resource with new one
-        container[index] = resource;
-
-        intercept(resource);
-
-        return false;
-      } else { // such resource doesn't exist, then simply add it
-        final int posIndex = -index - 1; // negate inverted index into positive one
-        final int size = container.length;
-        final Resource[] tmpContainer = copyOf(container, size + 1);
-        arraycopy(
-            tmpContainer,
-            posIndex,
-            tmpContainer,
-            posIndex + 1,
-            size - posIndex); // prepare cell to insert
-        tmpContainer[posIndex] = resource;
-        container = tmpContainer;
+    if (parent.children == null) {
+      parent.children = new TreeMap<>();
+    }
 
-        memoryCache.put(parent, container);
+    final boolean added = parent.children.put(resource.getName(), resource) == null;
+    parent.snapshot = null;
 
-        intercept(resource);
+    intercept(resource);
 
-        return true;
-      }
-    }
+    return added;
   }
 
   /** {@inheritDoc} */
@@ -112,41 +79,32 @@ class InMemoryResourceStore implements ResourceStore {
   public void dispose(Path path, boolean withChildren) {
     checkArgument(path != null, "Null path occurred");
 
-    final Path parent = path.segmentCount() == 1 ? Path.ROOT : path.parent();
+    if (path.segmentCount() == 0) {
+      return;
+    }
 
-    Resource[] container = memoryCache.get(parent);
+    final Node parent = root.find(path.parent(), false);
 
-    if (container != null) {
-      int index = -1;
+    if (parent == null) {
+      return;
+    }
 
-      for (int i = 0; i < container.length; i++) {
-        if (container[i].getName().equals(path.lastSegment())) {
-          index = i;
-          break;
-        }
-      }
+    if (parent.children != null && parent.children.remove(path.lastSegment()) != null) {
+      parent.snapshot = null;
+    }
 
-      if (index != -1) {
-        int size = container.length;
-        int numMoved = container.length - index - 1;
-        if (numMoved > 0) {
-          System.arraycopy(container, index + 1, container, index, numMoved);
-        }
-        container = copyOf(container, --size);
+    final Node node = parent.nodes == null ? null : parent.nodes.get(path.lastSegment());
 
-        memoryCache.put(parent, container);
-      }
-    }
+    if (node != null && node.children != null) {
+      node.children = null;
+      node.snapshot = null;
 
-    if (memoryCache.containsKey(path)) {
-      container = memoryCache.remove(path);
+      if (withChildren) {
+        node.nodes = null;
+      }
 
-      if (container != null && withChildren) {
-        for (Resource resource : container) {
-          if (resource instanceof Container) {
-            dispose(resource.getLocation(), true);
-          }
-        }
+      if (node.nodes == null || node.nodes.isEmpty()) {
+        parent.nodes.remove(path.lastSegment());
       }
     }
   }
@@ -156,25 +114,17 @@ class InMemoryResourceStore implements ResourceStore {
   public Optional<Resource> getResource(Path path) {
     checkArgument(path != null, "Null path occurred");
 
-    final Path parent = path.parent();
-
-    if (!memoryCache.containsKey(parent)) {
+    if (path.segmentCount() == 0) {
       return absent();
     }
 
-    final Resource[] container = memoryCache.get(parent);
+    final Node parent = root.find(path.parent(), false);
 
-    if (container == null) {
+    if (parent == null || parent.children == null) {
       return absent();
     }
 
-    for (Resource resource : container) {
-      if (resource.getLocation().equals(path)) {
-        return Optional.of(resource);
-      }
-    }
-
-    return absent();
+    return Optional.fromNullable(parent.children.get(path.lastSegment()));
   }
 
   /** {@inheritDoc} */
@@ -182,11 +132,13 @@ class InMemoryResourceStore implements ResourceStore {
   public Optional<Resource[]> get(Path parent) {
     checkArgument(parent != null, "Null path occurred");
 
-    if (!memoryCache.containsKey(parent)) {
+    final Node node = root.find(parent, false);
+
+    if (node == null || node.children == null) {
       return absent();
     }
 
-    return of(memoryCache.get(parent));
+    return of(node.getChildren());
   }
 
   /** {@inheritDoc} */
@@ -194,44 +146,26 @@ class InMemoryResourceStore implements ResourceStore {
   public Optional<Resource[]> getAll(Path parent) {
     checkArgument(parent != null, "Null path occurred");
 
-    if (!memoryCache.containsKey(parent)) {
+    final Node node = root.find(parent, false);
+
+    if (node == null || node.children == null) {
       return absent();
     }
 
-    Resource[] all = new Resource[0];
-
-    for (Map.Entry<Path, Resource[]> setEntry : memoryCache.entrySet()) {
-
-      /* There is no need to check compared path if its segment count is less then given one. */
-
-      final Path comparedPath = setEntry.getKey();
-
-      if (!parent.isPrefixOf(comparedPath)) {
-        continue;
-      }
-
-      final Resource[] resources = setEntry.getValue();
-
-      if (resources == null || resources.length == 0) {
-        continue;
-      }
+    final List<Resource> all = new ArrayList<>();
+    node.collect(all);
 
-      final Resource[] tmpResourcesArr = copyOf(all, all.length + resources.length);
-      arraycopy(resources, 0, tmpResourcesArr, all.length, resources.length);
-      all = tmpResourcesArr;
-    }
-
-    if (all.length == 0) {
+    if (all.isEmpty()) {
       return of(EMPTY_RESOURCES);
     }
 
-    return of(all);
+    return of(all.toArray(new Resource[all.size()]));
   }
 
   /** {@inheritDoc} */
   @Override
   public void clear() {
-    memoryCache.clear();
+    root = new Node();
   }
 
   private <R extends Resource> void intercept(R resource) {
@@ -243,4 +177,66 @@ class InMemoryResourceStore implements ResourceStore {
       interceptor.intercept(resource);
     }
   }
+
+  /**
+   * Node of the trie which corresponds to a path. Children of the path are known once they are
+   * registered, nodes of the nested paths exist as long as some of their children are known.
+   */
+  private static class Node {
+
+    /** Children sorted by name or {@code null} if children of the path are not known. */
+    private TreeMap<String, Resource> children;
+
+    /** Nodes of the nested paths by name or {@code null} if there are no ones. */
+    private Map<String, Node> nodes;
+
+    /** Children in the array form, built lazily and reset when children are changed. */
+    private Resource[] snapshot;
+
+    /**
+     * Returns the node of the given path relative to this one.
+     *
+     * @param path the path to find node for
+     * @param create whether to create the missing nodes
+     * @return the node or {@code null} if there is no such node and it should not be created
+     */
+    private Node find(Path path, boolean create) {
+      Node node = this;
+      for (int i = 0; i < path.segmentCount(); i++) {
+        final String segment = path.segment(i);
+        Node next = node.nodes == null ? null : node.nodes.get(segment);
+        if (next == null) {
+          if (!create) {
+            return null;
+          }
+          if (node.nodes == null) {
+            node.nodes = new HashMap<>();
+          }
+          next = new Node();
+          node.nodes.put(segment, next);
+        }
+        node = next;
+      }
+      return node;
+    }
+
+    private Resource[] getChildren() {
+      if (snapshot == null) {
+        snapshot = children.values().toArray(new Resource[children.size()]);
+      }
+      return snapshot;
+    }
+
+    /** Adds the known children of this node and of all the nested nodes to the given list. */
+    private void collect(List<Resource> all) {
+      if (children != null) {
+        all.addAll(children.values());
+      }
+      if (nodes != null) {
+        for (Node node : nodes.values()) {
+          node.collect(all);
+        }
+      }
+    }
+  }
 }
@@ -50,6 +50,7 @@ import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.project.shared.NewProjectConfig;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.NewProjectConfigDto;
+import org.eclipse.che.api.project.shared.dto.ProjectBootstrapDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.promises.client.Function;
@@ -83,6 +84,7 @@ import org.eclipse.che.ide.api.vcs.VcsStatus;
 import org.eclipse.che.ide.context.AppContextImpl;
 import org.eclipse.che.ide.core.AgentURLModifier;
 import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.project.ProjectBootstrapCache;
 import org.eclipse.che.ide.project.ProjectServiceClient;
 import org.eclipse.che.ide.resource.Path;
 import org.eclipse.che.ide.util.Arrays;
@@ -127,6 +129,7 @@ public final class ResourceManager {
   private static final Resource[] NO_RESOURCES = new Resource[0];
 
   private final ProjectServiceClient ps;
+  private final ProjectBootstrapCache bootstrapCache;
   private final EventBus eventBus;
   private final EditorAgent editorAgent;
   private final DeletedFilesController deletedFilesController;
@@ -147,6 +150,7 @@ public final class ResourceManager {
   @Inject
   public ResourceManager(
       ProjectServiceClient ps,
+      ProjectBootstrapCache bootstrapCache,
       EventBus eventBus,
       EditorAgent editorAgent,
       DeletedFilesController deletedFilesController,
@@ -160,6 +164,7 @@ public final class ResourceManager {
       ClientServerEventService clientServerEventService,
       AppContext appContext) {
     this.ps = ps;
+    this.bootstrapCache = bootstrapCache;
     this.eventBus = eventBus;
     this.editorAgent = editorAgent;
     this.deletedFilesController = deletedFilesController;
@@ -177,54 +182,59 @@ public final class ResourceManager {
   }
 
   /**
-   * Returns the workspace registered projects.
+   * Returns the workspace registered projects. Projects are taken from the cached bootstrap payload
+   * when there is one, which is revalidated by the project type registry, and are requested from
+   * the server otherwise.
    *
    * @return the {@link Promise} with registered projects
    * @see Project
+   * @see ProjectBootstrapCache
    * @since 4.4.0
    */
   public Promise<Project[]> getWorkspaceProjects() {
-    return ps.getProjects()
-        .then(
-            (Function<List<ProjectConfigDto>, Project[]>)
-                dtoConfigs -> {
-                  store.clear();
+    final ProjectBootstrapDto bootstrap = bootstrapCache.getCached();
+    final Promise<List<ProjectConfigDto>> configs =
+        bootstrap != null ? promises.resolve(bootstrap.getProjects()) : ps.getProjects();
 
-                  if (dtoConfigs.isEmpty()) {
-                    return NO_PROJECTS;
-                  }
+    return configs.then(
+        (Function<List<ProjectConfigDto>, Project[]>)
+            dtoConfigs -> {
+              store.clear();
 
-                  Project[] projects = NO_PROJECTS;
+              if (dtoConfigs.isEmpty()) {
+                return NO_PROJECTS;
+              }
 
-                  for (ProjectConfigDto config : dtoConfigs) {
-                    if (Path.valueOf(config.getPath()).segmentCount() == 1) {
-                      final Project project =
-                          resourceFactory.newProjectImpl(config, ResourceManager.this);
-                      store.register(project);
+              Project[] projects = NO_PROJECTS;
 
-                      final Optional<ProblemProjectMarker> optionalMarker =
-                          getProblemMarker(config);
+              for (ProjectConfigDto config : dtoConfigs) {
+                if (Path.valueOf(config.getPath()).segmentCount() == 1) {
+                  final Project project =
+                      resourceFactory.newProjectImpl(config, ResourceManager.this);
+                  store.register(project);
 
-                      if (optionalMarker.isPresent()) {
-                        project.addMarker(optionalMarker.get());
-                      }
+                  final Optional<ProblemProjectMarker> optionalMarker = getProblemMarker(config);
 
-                      Project[] tmpProjects = copyOf(projects, projects.length + 1);
-                      tmpProjects[projects.length] = project;
-                      projects = tmpProjects;
-                    }
+                  if (optionalMarker.isPresent()) {
+                    project.addMarker(optionalMarker.get());
                   }
 
-                  /* We need to guarantee that list of projects would be sorted by the logic provided in compareTo method implementation. */
-                  java.util.Arrays.sort(projects);
+                  Project[] tmpProjects = copyOf(projects, projects.length + 1);
+                  tmpProjects[projects.length] = project;
+                  projects = tmpProjects;
+                }
+              }
 
-                  for (Project project : projects) {
-                    eventBus.fireEvent(
-                        new ResourceChangedEvent(new ResourceDeltaImpl(project, ADDED | DERIVED)));
-                  }
+              /* We need to guarantee that list of projects would be sorted by the logic provided in compareTo method implementation. */
+              java.util.Arrays.sort(projects);
 
-                  return projects;
-                });
+              for (Project project : projects) {
+                eventBus.fireEvent(
+                    new ResourceChangedEvent(new ResourceDeltaImpl(project, ADDED | DERIVED)));
+              }
+
+              return projects;
+            });
   }
 
   /**
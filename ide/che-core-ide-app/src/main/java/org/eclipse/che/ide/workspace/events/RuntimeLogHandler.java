@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.ide.workspace.events;
 
+import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOGS_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOG_METHOD;
 
 import com.google.inject.Inject;
@@ -18,6 +19,7 @@ import com.google.inject.Singleton;
 import com.google.web.bindery.event.shared.EventBus;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogsEvent;
 import org.eclipse.che.ide.processes.panel.EnvironmentOutputEvent;
 
 @Singleton
@@ -34,5 +36,17 @@ class RuntimeLogHandler {
             (endpointId, log) ->
                 eventBus.fireEvent(
                     new EnvironmentOutputEvent(log.getText(), log.getMachineName())));
+
+    configurator
+        .newConfiguration()
+        .methodName(RUNTIME_LOGS_METHOD)
+        .paramsAsDto(RuntimeLogsEvent.class)
+        .noResult()
+        .withBiConsumer(
+            (endpointId, logs) -> {
+              for (RuntimeLogEvent log : logs.getLogs()) {
+                eventBus.fireEvent(new EnvironmentOutputEvent(log.getText(), log.getMachineName()));
+              }
+            });
   }
 }
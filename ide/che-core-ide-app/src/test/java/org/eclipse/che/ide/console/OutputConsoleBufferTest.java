@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.console;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** JUnit test for {@link OutputConsoleBuffer}. */
+public class OutputConsoleBufferTest {
+
+  private OutputConsoleBuffer buffer;
+
+  @Before
+  public void setUp() {
+    buffer = new OutputConsoleBuffer(3);
+  }
+
+  @Test
+  public void shouldKeepLinesInOrderTheyAreAdded() {
+    buffer.add("line 0", null);
+    buffer.add("line 1", "red");
+
+    assertEquals(2, buffer.size());
+    assertEquals("line 0", buffer.getText(0));
+    assertNull(buffer.getColor(0));
+    assertEquals("line 1", buffer.getText(1));
+    assertEquals("red", buffer.getColor(1));
+    assertEquals("line 0\r\nline 1\r\n", buffer.getText());
+  }
+
+  @Test
+  public void shouldEvictOldestLinesWhenCapacityIsReached() {
+    addLines(5);
+
+    assertEquals(3, buffer.size());
+    assertEquals(2, buffer.getEvicted());
+    assertEquals("line 2", buffer.getText(0));
+    assertEquals("line 4", buffer.getText(2));
+    assertEquals("line 2\r\nline 3\r\nline 4\r\n", buffer.getText());
+  }
+
+  @Test
+  public void shouldReplaceLastLine() {
+    addLines(4);
+
+    buffer.replaceLast("progress 100%", "green");
+
+    assertEquals(3, buffer.size());
+    assertEquals("line 2", buffer.getText(1));
+    assertEquals("progress 100%", buffer.getText(2));
+    assertEquals("green", buffer.getColor(2));
+  }
+
+  @Test
+  public void shouldAddLineWhenReplacingLastLineOfEmptyBuffer() {
+    buffer.replaceLast("line", null);
+
+    assertEquals(1, buffer.size());
+    assertEquals("line", buffer.getText(0));
+  }
+
+  @Test
+  public void shouldRemoveAllLinesOnClear() {
+    addLines(5);
+
+    buffer.clear();
+    buffer.add("line", null);
+
+    assertEquals(1, buffer.size());
+    assertEquals("line", buffer.getText(0));
+    assertEquals("line\r\n", buffer.getText());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void shouldNotReturnLineOutOfBuffer() {
+    addLines(2);
+
+    buffer.getText(2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldNotCreateBufferWithoutCapacity() {
+    new OutputConsoleBuffer(0);
+  }
+
+  @Test
+  public void shouldFindLinesIgnoringCase() {
+    buffer = new OutputConsoleBuffer(10);
+    buffer.add("[INFO] Building", null);
+    buffer.add("[ERROR] Compilation failure", null);
+    buffer.add("[INFO] Done", null);
+    buffer.add("[error] Tests failed", null);
+
+    assertEquals(1, buffer.find("error", 0, true));
+    assertEquals(3, buffer.find("error", 2, true));
+    assertEquals(-1, buffer.find("error", 4, true));
+    assertEquals(3, buffer.find("error", 10, false));
+    assertEquals(1, buffer.find("error", 2, false));
+    assertEquals(-1, buffer.find("error", 0, false));
+    assertEquals(0, buffer.find("info", -5, true));
+    assertEquals(-1, buffer.find("warning", 0, true));
+    assertEquals(-1, buffer.find("", 0, true));
+  }
+
+  @Test
+  public void shouldFindLinesAfterEviction() {
+    addLines(10);
+
+    assertEquals(0, buffer.find("line 7", 0, true));
+    assertEquals(-1, buffer.find("line 6", 0, true));
+  }
+
+  private void addLines(int count) {
+    for (int i = 0; i < count; i++) {
+      buffer.add("line " + i, null);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.project;
+
+import static org.eclipse.che.ide.project.ProjectBootstrapCache.ETAG_KEY_SUFFIX;
+import static org.eclipse.che.ide.project.ProjectBootstrapCache.STORAGE_KEY_PREFIX;
+import static org.eclipse.che.ide.rest.HTTPHeader.ETAG;
+import static org.eclipse.che.ide.rest.HTTPStatus.NOT_MODIFIED;
+import static org.eclipse.che.ide.rest.HTTPStatus.OK;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.gwt.http.client.Response;
+import com.google.gwtmockito.GwtMockitoTestRunner;
+import org.eclipse.che.api.project.shared.dto.ProjectBootstrapDto;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.rest.AsyncRequestFactory;
+import org.eclipse.che.ide.rest.Unmarshallable;
+import org.eclipse.che.ide.util.storage.LocalStorage;
+import org.eclipse.che.ide.util.storage.LocalStorageProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+/** Unit test for {@link ProjectBootstrapCache}. */
+@RunWith(GwtMockitoTestRunner.class)
+public class ProjectBootstrapCacheTest {
+
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final String PAYLOAD_KEY = STORAGE_KEY_PREFIX + WORKSPACE_ID;
+  private static final String ETAG_KEY = PAYLOAD_KEY + ETAG_KEY_SUFFIX;
+  private static final String JSON = "{\"projects\":[],\"projectTypes\":[]}";
+
+  @Mock private AsyncRequestFactory requestFactory;
+  @Mock private DtoFactory dtoFactory;
+  @Mock private AppContext appContext;
+  @Mock private LocalStorageProvider localStorageProvider;
+  @Mock private LocalStorage storage;
+  @Mock private ProjectBootstrapDto cachedBootstrap;
+  @Mock private ProjectBootstrapDto fetchedBootstrap;
+  @Mock private Response response;
+
+  private ProjectBootstrapCache cache;
+
+  @Before
+  public void setUp() {
+    when(appContext.getWorkspaceId()).thenReturn(WORKSPACE_ID);
+    when(localStorageProvider.get()).thenReturn(storage);
+
+    cache = new ProjectBootstrapCache(requestFactory, dtoFactory, appContext, localStorageProvider);
+  }
+
+  @Test
+  public void shouldReturnNothingWhenNothingIsCached() {
+    assertNull(cache.getCached());
+  }
+
+  @Test
+  public void shouldReadCachedPayloadFromLocalStorage() {
+    givenCachedPayload();
+
+    assertSame(cachedBootstrap, cache.getCached());
+    assertSame(cachedBootstrap, cache.getCached());
+    verify(dtoFactory).createDtoFromJson(JSON, ProjectBootstrapDto.class);
+  }
+
+  @Test
+  public void shouldDropUnreadableCachedPayload() {
+    when(storage.getItem(PAYLOAD_KEY)).thenReturn("{");
+    when(storage.getItem(ETAG_KEY)).thenReturn("\"1\"");
+    when(dtoFactory.createDtoFromJson("{", ProjectBootstrapDto.class))
+        .thenThrow(new IllegalArgumentException("malformed"));
+
+    assertNull(cache.getCached());
+    verify(storage).removeItem(PAYLOAD_KEY);
+    verify(storage).removeItem(ETAG_KEY);
+  }
+
+  @Test
+  public void shouldKeepCachedPayloadWhenItIsNotModified() throws Exception {
+    givenCachedPayload();
+    cache.getCached();
+    when(response.getStatusCode()).thenReturn(NOT_MODIFIED);
+
+    final Unmarshallable<ProjectBootstrapDto> unmarshaller = cache.newUnmarshaller();
+    unmarshaller.unmarshal(response);
+
+    assertSame(cachedBootstrap, unmarshaller.getPayload());
+    verify(storage, never()).setItem(anyString(), anyString());
+  }
+
+  @Test
+  public void shouldCacheFetchedPayload() throws Exception {
+    givenCachedPayload();
+    cache.getCached();
+    when(response.getStatusCode()).thenReturn(OK);
+    when(response.getText()).thenReturn("{\"projects\":[]}");
+    when(response.getHeader(ETAG)).thenReturn("\"2\"");
+    when(dtoFactory.createDtoFromJson("{\"projects\":[]}", ProjectBootstrapDto.class))
+        .thenReturn(fetchedBootstrap);
+
+    final Unmarshallable<ProjectBootstrapDto> unmarshaller = cache.newUnmarshaller();
+    unmarshaller.unmarshal(response);
+
+    assertSame(fetchedBootstrap, unmarshaller.getPayload());
+    assertSame(fetchedBootstrap, cache.getCached());
+    verify(storage).setItem(PAYLOAD_KEY, "{\"projects\":[]}");
+    verify(storage).setItem(ETAG_KEY, "\"2\"");
+  }
+
+  private void givenCachedPayload() {
+    when(storage.getItem(PAYLOAD_KEY)).thenReturn(JSON);
+    when(storage.getItem(ETAG_KEY)).thenReturn("\"1\"");
+    when(dtoFactory.createDtoFromJson(JSON, ProjectBootstrapDto.class)).thenReturn(cachedBootstrap);
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.resources.impl;
+
+import static java.util.Collections.emptySet;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.resource.Path;
+import org.junit.Before;
+import org.junit.Test;
+
+/** JUnit test for {@link InMemoryResourceStore}. */
+public class InMemoryResourceStoreTest {
+
+  private InMemoryResourceStore store;
+
+  @Before
+  public void setUp() {
+    store = new InMemoryResourceStore(emptySet());
+  }
+
+  @Test
+  public void shouldKeepChildrenSortedByName() {
+    final Resource c = resource("/project/c");
+    final Resource a = resource("/project/a");
+    final Resource b = resource("/project/b");
+
+    assertTrue(store.register(c));
+    assertTrue(store.register(a));
+    assertTrue(store.register(b));
+
+    assertArrayEquals(new Resource[] {a, b, c}, store.get(Path.valueOf("/project")).get());
+  }
+
+  @Test
+  public void shouldReplaceResourceWithSameName() {
+    final Resource old = resource("/project/a");
+    final Resource updated = resource("/project/a");
+    store.register(old);
+
+    assertFalse(store.register(updated));
+
+    assertArrayEquals(new Resource[] {updated}, store.get(Path.valueOf("/project")).get());
+    assertSame(updated, store.getResource(Path.valueOf("/project/a")).get());
+  }
+
+  @Test
+  public void shouldReturnResourceByPath() {
+    final Resource project = resource("/project");
+    final Resource file = resource("/project/src/file");
+    store.register(project);
+    store.register(file);
+
+    assertSame(project, store.getResource(Path.valueOf("/project")).get());
+    assertSame(file, store.getResource(Path.valueOf("/project/src/file")).get());
+    assertFalse(store.getResource(Path.valueOf("/project/src")).isPresent());
+    assertFalse(store.getResource(Path.valueOf("/other/file")).isPresent());
+    assertFalse(store.getResource(Path.ROOT).isPresent());
+  }
+
+  @Test
+  public void shouldNotReturnChildrenOfPathWhichChildrenAreNotKnown() {
+    store.register(resource("/project/src/file"));
+
+    assertFalse(store.get(Path.valueOf("/project")).isPresent());
+    assertFalse(store.getAll(Path.valueOf("/project")).isPresent());
+    assertTrue(store.get(Path.valueOf("/project/src")).isPresent());
+  }
+
+  @Test
+  public void shouldReturnAllDescendants() {
+    final Resource project = resource("/project");
+    final Resource src = resource("/project/src");
+    final Resource pom = resource("/project/pom.xml");
+    final Resource main = resource("/project/src/Main.java");
+    final Resource other = resource("/other");
+    final Resource readme = resource("/other/README.md");
+    register(project, src, pom, main, other, readme);
+
+    assertEquals(
+        new HashSet<>(Arrays.asList(src, pom, main)),
+        asSet(store.getAll(Path.valueOf("/project")).get()));
+    assertEquals(
+        new HashSet<>(Arrays.asList(project, src, pom, main, other, readme)),
+        asSet(store.getAll(Path.ROOT).get()));
+  }
+
+  @Test
+  public void shouldDisposeResourceWithChildren() {
+    final Resource project = resource("/project");
+    final Resource src = resource("/project/src");
+    final Resource pom = resource("/project/pom.xml");
+    register(project, src, pom, resource("/project/src/Main.java"));
+
+    store.dispose(Path.valueOf("/project/src"), true);
+
+    assertArrayEquals(new Resource[] {pom}, store.get(Path.valueOf("/project")).get());
+    assertFalse(store.get(Path.valueOf("/project/src")).isPresent());
+    assertEquals(
+        new HashSet<>(Arrays.asList(project, pom)), asSet(store.getAll(Path.ROOT).get()));
+  }
+
+  @Test
+  public void shouldDisposeResourceAndItsChildrenButKeepDeeperDescendants() {
+    final Resource main = resource("/project/src/main/Main.java");
+    register(resource("/project/src"), resource("/project/src/main"), main);
+
+    store.dispose(Path.valueOf("/project/src"), false);
+
+    assertFalse(store.get(Path.valueOf("/project/src")).isPresent());
+    assertArrayEquals(new Resource[] {main}, store.get(Path.valueOf("/project/src/main")).get());
+  }
+
+  @Test
+  public void shouldReturnEmptyChildrenWhenAllChildrenAreDisposed() {
+    store.register(resource("/project/a"));
+
+    store.dispose(Path.valueOf("/project/a"), true);
+
+    assertEquals(0, store.get(Path.valueOf("/project")).get().length);
+    assertEquals(0, store.getAll(Path.valueOf("/project")).get().length);
+  }
+
+  @Test
+  public void shouldRemoveAllResourcesOnClear() {
+    register(resource("/project"), resource("/project/a"));
+
+    store.clear();
+
+    assertFalse(store.get(Path.ROOT).isPresent());
+    assertFalse(store.getResource(Path.valueOf("/project")).isPresent());
+  }
+
+  private void register(Resource... resources) {
+    for (Resource resource : resources) {
+      store.register(resource);
+    }
+  }
+
+  private static Set<Resource> asSet(Resource[] resources) {
+    return new HashSet<>(Arrays.asList(resources));
+  }
+
+  /** Returns a lightweight resource which knows only its location. */
+  private static Resource resource(String path) {
+    final Path location = Path.valueOf(path);
+    return (Resource)
+        Proxy.newProxyInstance(
+            Resource.class.getClassLoader(),
+            new Class<?>[] {Resource.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "getLocation":
+                  return location;
+                case "getName":
+                  return location.lastSegment();
+                case "equals":
+                  return proxy == args[0];
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                case "toString":
+                  return path;
+                default:
+                  return null;
+              }
+            });
+  }
+}
@@ -17,13 +17,11 @@ import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.POD_
 
 import com.google.common.collect.ImmutableMap;
 import com.google.inject.assistedinject.Assisted;
-import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.PodTemplateSpec;
-import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.extensions.Ingress;
@@ -75,8 +73,11 @@ import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentPro
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.annotation.Traced;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.commons.tracing.OptionalTracer;
 import org.eclipse.che.commons.tracing.TracingTags;
+import org.eclipse.che.workspace.infrastructure.kubernetes.StartPlan.Call;
+import org.eclipse.che.workspace.infrastructure.kubernetes.StartPlan.Step;
 import org.eclipse.che.workspace.infrastructure.kubernetes.bootstrapper.KubernetesBootstrapperFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.cache.KubernetesMachineCache;
 import org.eclipse.che.workspace.infrastructure.kubernetes.cache.KubernetesRuntimeStateCache;
@@ -123,6 +124,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
   private final KubernetesEnvironmentProvisioner<E> kubernetesEnvironmentProvisioner;
   private final SidecarToolingProvisioner<E> toolingProvisioner;
   private final RuntimeHangingDetector runtimeHangingDetector;
+  private final StartPlanner startPlanner;
   @Nullable protected final Tracer tracer;
   private Map<String, Span> machineStartupTraces;
 
@@ -139,6 +141,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
       WorkspaceProbesFactory probesFactory,
       RuntimeEventsPublisher eventPublisher,
       KubernetesSharedPool sharedPool,
+      StartPlanner startPlanner,
       KubernetesRuntimeStateCache runtimeStates,
       KubernetesMachineCache machines,
       StartSynchronizerFactory startSynchronizerFactory,
@@ -161,6 +164,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     this.namespace = namespace;
     this.eventPublisher = eventPublisher;
     this.executor = sharedPool.getExecutor();
+    this.startPlanner = startPlanner;
     this.runtimeStates = runtimeStates;
     this.machines = machines;
     this.toolingProvisioner = toolingProvisioner;
@@ -627,20 +631,17 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
   /**
    * Create all machine related objects and start machines.
    *
+   * <p>Objects are created according to the {@link StartPlan}, so the ones which do not depend on
+   * each other are created concurrently and pods are deployed while ingresses become ready. Pods
+   * are deployed after the services are created, as Kubernetes sets the environment variables of
+   * the services only into the containers started after them.
+   *
    * @throws InfrastructureException when any error occurs while creating Kubernetes objects
    */
   protected void startMachines() throws InfrastructureException {
     KubernetesEnvironment k8sEnv = getContext().getEnvironment();
     String workspaceId = getContext().getIdentity().getWorkspaceId();
 
-    createSecrets(k8sEnv, workspaceId);
-    createConfigMaps(k8sEnv, workspaceId);
-    List<Service> createdServices = createServices(k8sEnv, workspaceId);
-
-    // needed for resolution later on, even though n routes are actually created by ingress
-    // /workspace{wsid}/server-{port} => service({wsid}):server-port => pod({wsid}):{port}
-    List<Ingress> readyIngresses = createIngresses(k8sEnv, workspaceId);
-
     // TODO https://github.com/eclipse/che/issues/7653
     // namespace.pods().watch(new AbnormalStopHandler());
     namespace.deployments().watchEvents(new MachineLogsPublisher());
@@ -659,88 +660,133 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
               unrecoverableEventListenerFactory.create(toWatch, this::handleUnrecoverableEvent));
     }
 
-    final KubernetesServerResolver serverResolver =
-        new KubernetesServerResolver(createdServices, readyIngresses);
-
-    doStartMachine(serverResolver);
+    StartPlan plan = startPlanner.plan(workspaceId);
+    Step<?> secrets = createSecrets(plan, k8sEnv);
+    Step<?> configMaps = createConfigMaps(plan, k8sEnv);
+    Step<List<Service>> services = createServices(plan, k8sEnv);
+    // needed for resolution later on, even though n routes are actually created by ingress
+    // /workspace{wsid}/server-{port} => service({wsid}):server-port => pod({wsid}):{port}
+    Step<List<Ingress>> readyIngresses = createIngresses(plan, k8sEnv);
+    // pods need the secrets and config maps they mount and the services they get the environment
+    // variables of, ingresses are only needed to resolve the servers of the machines
+    Step<List<Pair<Pod, ObjectMeta>>> pods = deployPods(plan, secrets, configMaps, services);
+    awaitPlan(plan);
+
+    storeStartingMachines(
+        pods.get(), new KubernetesServerResolver(services.get(), readyIngresses.get()));
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createSecrets(KubernetesEnvironment env, String workspaceId) throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (Secret secret : env.getSecrets().values()) {
-      namespace.secrets().create(secret);
-    }
+  protected Step<?> createSecrets(StartPlan plan, KubernetesEnvironment env) {
+    return plan.forEach(
+        "createSecrets",
+        () -> env.getSecrets().values(),
+        secret -> {
+          namespace.secrets().create(secret);
+          return secret;
+        });
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createConfigMaps(KubernetesEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (ConfigMap configMap : env.getConfigMaps().values()) {
-      namespace.configMaps().create(configMap);
-    }
+  protected Step<?> createConfigMaps(StartPlan plan, KubernetesEnvironment env) {
+    return plan.forEach(
+        "createConfigMaps",
+        () -> env.getConfigMaps().values(),
+        configMap -> {
+          namespace.configMaps().create(configMap);
+          return configMap;
+        });
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Service> createServices(KubernetesEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-
-    Collection<Service> servicesToCreate = env.getServices().values();
-    List<Service> createdServices = new ArrayList<>(servicesToCreate.size());
-    for (Service service : servicesToCreate) {
-      createdServices.add(namespace.services().create(service));
-    }
-
-    return createdServices;
+  protected Step<List<Service>> createServices(StartPlan plan, KubernetesEnvironment env) {
+    return plan.forEach(
+        "createServices",
+        () -> env.getServices().values(),
+        service -> namespace.services().create(service));
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Ingress> createIngresses(KubernetesEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    return createAndWaitReady(env.getIngresses().values());
+  protected Step<List<Ingress>> createIngresses(StartPlan plan, KubernetesEnvironment env) {
+    Step<List<Ingress>> createdIngresses =
+        plan.forEach(
+            "createIngresses",
+            () -> env.getIngresses().values(),
+            ingress -> namespace.ingresses().create(ingress));
+    // wait for LB ip
+    return plan.waitForEach(
+        "waitIngresses",
+        createdIngresses::get,
+        ingress ->
+            namespace
+                .ingresses()
+                .wait(
+                    ingress.getMetadata().getName(),
+                    // Smaller value of ingress and start timeout should be used
+                    Math.min(ingressStartTimeoutMillis, startSynchronizer.getStartTimeoutMillis()),
+                    TimeUnit.MILLISECONDS,
+                    p -> (!p.getStatus().getLoadBalancer().getIngress().isEmpty())),
+        createdIngresses);
   }
 
   /**
-   * Creates Kubernetes pods and resolves servers using the specified serverResolver.
+   * Adds the steps which deploy the pods and the deployments of the environment to the plan.
    *
-   * @param serverResolver server resolver that provide servers by container
-   * @throws InfrastructureException when any error occurs while creating Kubernetes pods
+   * @param plan plan of the start
+   * @param dependencies steps which create the objects needed by the pods
+   * @return the step, the result of which contains the created pods along with the metadata the
+   *     names of their machines are based on
    */
-  protected void doStartMachine(KubernetesServerResolver serverResolver)
-      throws InfrastructureException {
+  protected Step<List<Pair<Pod, ObjectMeta>>> deployPods(StartPlan plan, Step<?>... dependencies) {
     machineStartupTraces =
         new ConcurrentHashMap<>(getContext().getEnvironment().getMachines().size());
 
     final KubernetesEnvironment environment = getContext().getEnvironment();
-    final Map<String, InternalMachineConfig> machineConfigs = environment.getMachines();
     final String workspaceId = getContext().getIdentity().getWorkspaceId();
     LOG.debug("Begin pods creation for workspace '{}'", workspaceId);
+    List<Call<Pair<Pod, ObjectMeta>>> toDeploy = new ArrayList<>();
     for (Pod toCreate : environment.getPodsCopy().values()) {
       startTracingContainersStartup(toCreate.getMetadata(), toCreate.getSpec());
-      ObjectMeta toCreateMeta = toCreate.getMetadata();
-      final Pod createdPod = namespace.deployments().deploy(toCreate);
-      LOG.debug("Creating pod '{}' in workspace '{}'", toCreateMeta.getName(), workspaceId);
-      storeStartingMachine(createdPod, toCreateMeta, machineConfigs, serverResolver);
+      toDeploy.add(
+          () -> {
+            ObjectMeta toCreateMeta = toCreate.getMetadata();
+            final Pod createdPod = namespace.deployments().deploy(toCreate);
+            LOG.debug("Creating pod '{}' in workspace '{}'", toCreateMeta.getName(), workspaceId);
+            return Pair.of(createdPod, toCreateMeta);
+          });
     }
     for (Deployment toCreate : environment.getDeploymentsCopy().values()) {
       PodTemplateSpec template = toCreate.getSpec().getTemplate();
       startTracingContainersStartup(template.getMetadata(), template.getSpec());
-      ObjectMeta toCreateMeta = toCreate.getMetadata();
-      final Pod createdPod = namespace.deployments().deploy(toCreate);
-      LOG.debug("Creating deployment '{}' in workspace '{}'", toCreateMeta.getName(), workspaceId);
-      // We need to pass the meta from the pod in the deployment as that is what matches
-      // machine name
-      final ObjectMeta templateMeta = toCreate.getSpec().getTemplate().getMetadata();
-      storeStartingMachine(createdPod, templateMeta, machineConfigs, serverResolver);
+      toDeploy.add(
+          () -> {
+            ObjectMeta toCreateMeta = toCreate.getMetadata();
+            final Pod createdPod = namespace.deployments().deploy(toCreate);
+            LOG.debug(
+                "Creating deployment '{}' in workspace '{}'", toCreateMeta.getName(), workspaceId);
+            // We need to pass the meta from the pod in the deployment as that is what matches
+            // machine name
+            return Pair.of(createdPod, template.getMetadata());
+          });
+    }
+    return plan.forEach("deployPods", () -> toDeploy, Call::call, dependencies);
+  }
+
+  /**
+   * Waits until all the steps of the plan are completed, the start failure and the start timeout
+   * abort the wait.
+   */
+  protected void awaitPlan(StartPlan plan) throws InfrastructureException {
+    plan.await(startSynchronizer.getStartFailure(), startSynchronizer.getStartTimeoutMillis());
+  }
+
+  /** Stores the machines of the created pods and sends the starting events for them. */
+  protected void storeStartingMachines(
+      List<Pair<Pod, ObjectMeta>> createdPods, KubernetesServerResolver serverResolver)
+      throws InfrastructureException {
+    final Map<String, InternalMachineConfig> machineConfigs =
+        getContext().getEnvironment().getMachines();
+    for (Pair<Pod, ObjectMeta> createdPod : createdPods) {
+      storeStartingMachine(createdPod.first, createdPod.second, machineConfigs, serverResolver);
     }
-    LOG.debug("Pods creation finished in workspace '{}'", workspaceId);
+    LOG.debug(
+        "Pods creation finished in workspace '{}'", getContext().getIdentity().getWorkspaceId());
   }
 
   /** Puts createdPod in the {@code machines} map and sends the starting event for this machine */
@@ -835,35 +881,6 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     runtimeStates.remove(getContext().getIdentity());
   }
 
-  private List<Ingress> createAndWaitReady(Collection<Ingress> ingresses)
-      throws InfrastructureException {
-    List<Ingress> createdIngresses = new ArrayList<>();
-    for (Ingress ingress : ingresses) {
-      createdIngresses.add(namespace.ingresses().create(ingress));
-    }
-    LOG.debug(
-        "Ingresses created for workspace '{}'. Wait them to be ready.",
-        getContext().getIdentity().getWorkspaceId());
-
-    // wait for LB ip
-    List<Ingress> readyIngresses = new ArrayList<>();
-    for (Ingress ingress : createdIngresses) {
-      Ingress actualIngress =
-          namespace
-              .ingresses()
-              .wait(
-                  ingress.getMetadata().getName(),
-                  // Smaller value of ingress and start timeout should be used
-                  Math.min(ingressStartTimeoutMillis, startSynchronizer.getStartTimeoutMillis()),
-                  TimeUnit.MILLISECONDS,
-                  p -> (!p.getStatus().getLoadBalancer().getIngress().isEmpty()));
-      readyIngresses.add(actualIngress);
-    }
-    LOG.debug(
-        "Ingresses creation for workspace '{}' done.", getContext().getIdentity().getWorkspaceId());
-    return readyIngresses;
-  }
-
   /**
    * When origin exception is not instance of infrastructure exception then it would be wrapped and
    * rethrown.
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes;
+
+import static java.util.stream.Collectors.toList;
+
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.tracing.TracingTags;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plan of the creation of the Kubernetes objects of a workspace.
+ *
+ * <p>The plan is a DAG of steps. A step is started as soon as all the steps it depends on are
+ * completed, so the objects which do not depend on each other are created concurrently. The
+ * Kubernetes API calls of all the steps share the bounded number of permits, so a workspace with
+ * many objects does not flood the API server. Readiness waits do not take permits, they only wait
+ * for the watched objects and are overlapped with the creation of unrelated objects.
+ *
+ * <p>Each step is traced as a child span of the span which is active when the plan is created and
+ * its duration is recorded by {@link StartPhaseTimer}.
+ *
+ * <p>The calls and waits run on the threads of the executor with the {@link EnvironmentContext}
+ * of the thread which creates the plan, so the clients they use are configured for the subject
+ * who starts the workspace.
+ *
+ * <p>If any step fails, the API calls which are not started yet are cancelled and the failure is
+ * rethrown by {@link #await(CompletableFuture, long)} once the started calls are completed.
+ *
+ * <p>Instances are created by {@link StartPlanner}.
+ */
+public class StartPlan {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StartPlan.class);
+
+  private static final long STARTED_CALLS_TIMEOUT_SECONDS = 30;
+
+  private final String workspaceId;
+  private final Executor executor;
+  private final EnvironmentContext context;
+  private final int parallelism;
+  private final Tracer tracer;
+  private final Span parentSpan;
+  private final StartPhaseTimer phaseTimer;
+  private final List<Step<?>> steps;
+  private final Queue<Runnable> pendingCalls;
+  private final Queue<CompletableFuture<?>> calls;
+  private final AtomicInteger runningCalls;
+  private final CompletableFuture<Void> failure;
+
+  StartPlan(
+      String workspaceId,
+      Executor executor,
+      EnvironmentContext context,
+      int parallelism,
+      @Nullable Tracer tracer,
+      StartPhaseTimer phaseTimer) {
+    this.workspaceId = workspaceId;
+    this.executor = executor;
+    this.context = context;
+    this.parallelism = parallelism;
+    this.tracer = tracer;
+    this.parentSpan = tracer == null ? null : tracer.activeSpan();
+    this.phaseTimer = phaseTimer;
+    this.steps = new ArrayList<>();
+    this.pendingCalls = new ConcurrentLinkedQueue<>();
+    this.calls = new ConcurrentLinkedQueue<>();
+    this.runningCalls = new AtomicInteger();
+    this.failure = new CompletableFuture<>();
+  }
+
+  /**
+   * Adds the step which performs a single Kubernetes API call.
+   *
+   * @param name name of the step, used as a name of the span and the phase tag of the metric
+   * @param call API call to perform
+   * @param dependencies steps which must be completed before this step is started
+   * @return the added step
+   */
+  public <T> Step<T> step(String name, Call<T> call, Step<?>... dependencies) {
+    return addStep(name, dependencies, () -> submit(call));
+  }
+
+  /**
+   * Adds the step which performs an API call per item concurrently.
+   *
+   * @param name name of the step, used as a name of the span and the phase tag of the metric
+   * @param items supplier of the items, called when the dependencies are completed, so it may use
+   *     the results of the dependencies
+   * @param call API call to perform for each item
+   * @param dependencies steps which must be completed before this step is started
+   * @return the added step, its result contains results of the calls in the order of the items
+   */
+  public <I, T> Step<List<T>> forEach(
+      String name,
+      Supplier<? extends Collection<I>> items,
+      ItemCall<I, T> call,
+      Step<?>... dependencies) {
+    return addStep(
+        name, dependencies, () -> allOf(items.get(), item -> submit(() -> call.call(item))));
+  }
+
+  /**
+   * Adds the step which waits for each item concurrently. Unlike {@link #forEach} the waits do not
+   * take the permits of the plan, so they don't delay the API calls of other steps.
+   *
+   * @param name name of the step, used as a name of the span and the phase tag of the metric
+   * @param items supplier of the items, called when the dependencies are completed, so it may use
+   *     the results of the dependencies
+   * @param wait wait to perform for each item
+   * @param dependencies steps which must be completed before this step is started
+   * @return the added step, its result contains results of the waits in the order of the items
+   */
+  public <I, T> Step<List<T>> waitForEach(
+      String name,
+      Supplier<? extends Collection<I>> items,
+      ItemCall<I, T> wait,
+      Step<?>... dependencies) {
+    return addStep(
+        name, dependencies, () -> allOf(items.get(), item -> runAsync(() -> wait.call(item))));
+  }
+
+  /**
+   * Waits until all the steps of the plan are completed.
+   *
+   * @param startFailure future which is completed exceptionally when the runtime start fails, the
+   *     wait is aborted in this case
+   * @param timeoutMillis maximum time to wait
+   * @throws InfrastructureException when any step fails, the start fails, the timeout is reached or
+   *     the thread is interrupted, the interrupted flag of the thread is kept in the latter case
+   */
+  public void await(CompletableFuture<Void> startFailure, long timeoutMillis)
+      throws InfrastructureException {
+    CompletableFuture<?>[] stepsFutures =
+        steps.stream().map(s -> s.future).toArray(CompletableFuture[]::new);
+    CompletableFuture<Void> allDone = CompletableFuture.allOf(stepsFutures);
+    try {
+      CompletableFuture.anyOf(allDone, failure, startFailure)
+          .get(timeoutMillis, TimeUnit.MILLISECONDS);
+      if (!allDone.isDone()) {
+        // start is completed while objects are still being created
+        throw abort(new InfrastructureException("Workspace start is completed"));
+      }
+    } catch (TimeoutException e) {
+      throw abort(
+          new InfrastructureException(
+              "Creation of Kubernetes objects of the workspace '"
+                  + workspaceId
+                  + "' reached timeout"));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw abort(
+          new InfrastructureException(
+              "Creation of Kubernetes objects of the workspace '"
+                  + workspaceId
+                  + "' was interrupted"));
+    } catch (ExecutionException e) {
+      throw abort(asInfrastructureException(e.getCause()));
+    }
+  }
+
+  private <T> Step<T> addStep(
+      String name, Step<?>[] dependencies, Supplier<CompletableFuture<T>> action) {
+    Step<T> step = new Step<>(name);
+    steps.add(step);
+    CompletableFuture<?>[] awaited =
+        Arrays.stream(dependencies).map(d -> d.future).toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(awaited)
+        .thenCompose(
+            ignored -> {
+              step.start();
+              return action.get();
+            })
+        .whenComplete(step::complete);
+    return step;
+  }
+
+  private <I, T> CompletableFuture<List<T>> allOf(
+      Collection<I> items, Function<I, CompletableFuture<T>> action) {
+    List<CompletableFuture<T>> results = items.stream().map(action).collect(toList());
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture[results.size()]))
+        .thenApply(ignored -> results.stream().map(CompletableFuture::join).collect(toList()));
+  }
+
+  /** Queues the API call and runs it as soon as a permit is available. */
+  private <T> CompletableFuture<T> submit(Call<T> call) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    calls.add(result);
+    pendingCalls.add(
+        () -> {
+          if (failure.isDone()) {
+            result.completeExceptionally(new CancellationException("Workspace start failed"));
+            return;
+          }
+          try {
+            result.complete(callWithContext(call));
+          } catch (Exception | Error e) {
+            // cancel the queued calls right away, without waiting for the other calls of the step
+            failure.completeExceptionally(asInfrastructureException(e));
+            result.completeExceptionally(e);
+          }
+        });
+    dispatch();
+    return result;
+  }
+
+  private void dispatch() {
+    while (!pendingCalls.isEmpty()) {
+      int running = runningCalls.get();
+      if (running >= parallelism) {
+        // the call which releases the permit dispatches the queued calls
+        return;
+      }
+      if (!runningCalls.compareAndSet(running, running + 1)) {
+        continue;
+      }
+      Runnable next = pendingCalls.poll();
+      if (next == null) {
+        runningCalls.decrementAndGet();
+        continue;
+      }
+      try {
+        executor.execute(
+            () -> {
+              try {
+                next.run();
+              } finally {
+                runningCalls.decrementAndGet();
+                dispatch();
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        runningCalls.decrementAndGet();
+        next.run();
+      }
+    }
+  }
+
+  private <T> CompletableFuture<T> runAsync(Call<T> call) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    executor.execute(
+        () -> {
+          try {
+            result.complete(callWithContext(call));
+          } catch (Exception | Error e) {
+            result.completeExceptionally(e);
+          }
+        });
+    return result;
+  }
+
+  private <T> T callWithContext(Call<T> call) throws InfrastructureException {
+    if (EnvironmentContext.getCurrent() == context) {
+      // rejected call which is run by the thread that already has the context
+      return call.call();
+    }
+    try {
+      EnvironmentContext.setCurrent(context);
+      return call.call();
+    } finally {
+      EnvironmentContext.reset();
+    }
+  }
+
+  private InfrastructureException abort(InfrastructureException cause) {
+    failure.completeExceptionally(cause);
+    awaitStartedCalls();
+    return cause;
+  }
+
+  /**
+   * Waits for the calls which are already started, so the objects they create are not left behind
+   * by the clean up which follows the failure. The queued calls are cancelled by the failure.
+   */
+  private void awaitStartedCalls() {
+    boolean interrupted = Thread.interrupted();
+    try {
+      CompletableFuture.allOf(calls.toArray(new CompletableFuture[0]))
+          .get(STARTED_CALLS_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      interrupted = true;
+    } catch (ExecutionException e) {
+      // all the calls are completed, the failures are already reported
+    } catch (TimeoutException e) {
+      LOG.warn(
+          "Kubernetes API calls of the workspace '{}' are not completed in {} seconds",
+          workspaceId,
+          STARTED_CALLS_TIMEOUT_SECONDS);
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static InfrastructureException asInfrastructureException(Throwable e) {
+    while (e instanceof CompletionException && e.getCause() != null) {
+      e = e.getCause();
+    }
+    if (e instanceof InfrastructureException) {
+      return (InfrastructureException) e;
+    }
+    return new InternalInfrastructureException(e.getMessage(), e);
+  }
+
+  /** Kubernetes API call or wait performed by a step. */
+  @FunctionalInterface
+  public interface Call<T> {
+    T call() throws InfrastructureException;
+  }
+
+  /** Kubernetes API call or wait performed by a step for each item. */
+  @FunctionalInterface
+  public interface ItemCall<I, T> {
+    T call(I item) throws InfrastructureException;
+  }
+
+  /** Step of a {@link StartPlan}, allows other steps to depend on it and to use its result. */
+  public class Step<T> {
+    private final String name;
+    private final CompletableFuture<T> future;
+
+    private boolean started;
+    private long startNanos;
+    private Span span;
+
+    private Step(String name) {
+      this.name = name;
+      this.future = new CompletableFuture<>();
+    }
+
+    /**
+     * Returns the result of the step.
+     *
+     * <p>Must be called only when the step is completed, that is by the steps which depend on it or
+     * after {@link StartPlan#await(CompletableFuture, long)} returns.
+     */
+    public T get() {
+      return future.join();
+    }
+
+    private void start() {
+      started = true;
+      startNanos = System.nanoTime();
+      if (tracer != null) {
+        span = tracer.buildSpan(name).asChildOf(parentSpan).start();
+        TracingTags.WORKSPACE_ID.set(span, workspaceId);
+      }
+      LOG.debug("Step '{}' of workspace '{}' start is started", name, workspaceId);
+    }
+
+    private void complete(T result, Throwable error) {
+      if (started) {
+        long duration = System.nanoTime() - startNanos;
+        phaseTimer.record(name, duration, error == null);
+        if (span != null) {
+          if (error != null) {
+            TracingTags.ERROR.set(span, true);
+            TracingTags.ERROR_REASON.set(span, String.valueOf(error.getMessage()));
+          }
+          span.finish();
+        }
+        LOG.debug(
+            "Step '{}' of workspace '{}' start is completed in {}ms",
+            name,
+            workspaceId,
+            TimeUnit.NANOSECONDS.toMillis(duration));
+      }
+      if (error != null) {
+        failure.completeExceptionally(asInfrastructureException(error));
+        future.completeExceptionally(error);
+      } else {
+        future.complete(result);
+      }
+    }
+  }
+}
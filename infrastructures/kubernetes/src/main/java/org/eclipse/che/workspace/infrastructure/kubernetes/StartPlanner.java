@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes;
+
+import io.opentracing.Tracer;
+import java.util.concurrent.Executor;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.tracing.OptionalTracer;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseTimer;
+
+/** Creates {@link StartPlan} instances for the Kubernetes runtimes start. */
+@Singleton
+public class StartPlanner {
+
+  private final int parallelism;
+  private final Executor executor;
+  private final StartPhaseTimer phaseTimer;
+  private final Tracer tracer;
+
+  @Inject
+  public StartPlanner(
+      @Named("che.infra.kubernetes.workspace_start_parallelism") int parallelism,
+      KubernetesSharedPool sharedPool,
+      StartPhaseTimer phaseTimer,
+      @Nullable OptionalTracer tracer) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException(
+          "Workspace start parallelism must be positive, but was " + parallelism);
+    }
+    this.parallelism = parallelism;
+    this.executor = sharedPool.getExecutor();
+    this.phaseTimer = phaseTimer;
+    this.tracer = OptionalTracer.fromNullable(tracer);
+  }
+
+  /**
+   * Creates the plan of the start of the workspace. Must be called by the thread which starts the
+   * workspace, so the steps of the plan are traced as children of its active span and run with its
+   * {@link EnvironmentContext}.
+   *
+   * @param workspaceId ID of the workspace
+   */
+  public StartPlan plan(String workspaceId) {
+    return new StartPlan(
+        workspaceId, executor, EnvironmentContext.getCurrent(), parallelism, tracer, phaseTimer);
+  }
+}
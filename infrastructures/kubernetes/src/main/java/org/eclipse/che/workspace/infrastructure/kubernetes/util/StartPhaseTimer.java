@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Singleton;
+
+/**
+ * Records the duration of the phases of the Kubernetes runtimes start.
+ *
+ * <p>Durations are dropped until the binder is bound to a registry, so it costs nothing when
+ * metrics are disabled.
+ */
+@Singleton
+public class StartPhaseTimer implements MeterBinder {
+
+  private volatile MeterRegistry registry;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Records the duration of the start phase.
+   *
+   * @param phase name of the phase
+   * @param durationNanos duration of the phase in nanoseconds
+   * @param success whether the phase completed successfully
+   */
+  public void record(String phase, long durationNanos, boolean success) {
+    MeterRegistry registry = this.registry;
+    if (registry == null) {
+      return;
+    }
+    Timer.builder("che.workspace.start.phase")
+        .tags("area", "workspace", "phase", phase, "result", success ? "ok" : "fail")
+        .description("The duration of the phases of the Kubernetes workspace start")
+        .publishPercentileHistogram()
+        .register(registry)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+}
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -126,15 +127,16 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesS
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesServices;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.PodEvent;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.WorkspaceVolumesStrategy;
-import org.eclipse.che.workspace.infrastructure.kubernetes.server.KubernetesServerResolver;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.PodEvents;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseTimer;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.UnrecoverablePodEventListenerFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins.SidecarToolingProvisioner;
 import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.stubbing.Answer;
@@ -194,7 +196,6 @@ public class KubernetesInternalRuntimeTest {
   @Mock private WorkspaceProbesFactory workspaceProbesFactory;
   @Mock private ProbeScheduler probesScheduler;
   @Mock private WorkspaceProbes workspaceProbes;
-  @Mock private KubernetesServerResolver kubernetesServerResolver;
   @Mock private InternalEnvironmentProvisioner internalEnvironmentProvisioner;
   @Mock private RuntimeHangingDetector runtimeHangingDetector;
 
@@ -253,6 +254,7 @@ public class KubernetesInternalRuntimeTest {
             workspaceProbesFactory,
             new RuntimeEventsPublisher(eventService),
             new KubernetesSharedPool(),
+            new StartPlanner(4, new KubernetesSharedPool(), new StartPhaseTimer(), null),
             runtimeStatesCache,
             machinesCache,
             startSynchronizerFactory,
@@ -569,7 +571,6 @@ public class KubernetesInternalRuntimeTest {
     } catch (Exception rethrow) {
       verify(namespace).cleanUp();
       verify(namespace, never()).services();
-      verify(namespace, never()).ingresses();
       throw rethrow;
     } finally {
       verify(namespace.deployments(), times(2)).stopWatch();
@@ -611,7 +612,6 @@ public class KubernetesInternalRuntimeTest {
     } catch (Exception rethrow) {
       verify(namespace).cleanUp();
       verify(namespace).services();
-      verify(namespace, never()).ingresses();
       throw rethrow;
     } finally {
       verify(namespace.deployments(), times(2)).stopWatch();
@@ -650,6 +650,15 @@ public class KubernetesInternalRuntimeTest {
     internalRuntime.internalStop(emptyMap());
   }
 
+  @Test
+  public void shouldDeployPodsAfterServicesAreCreated() throws Exception {
+    internalRuntime.startMachines();
+
+    InOrder order = inOrder(services, deployments);
+    order.verify(services).create(any());
+    order.verify(deployments).deploy(any(Pod.class));
+  }
+
   @Test
   public void testRepublishContainerOutputAsMachineLogEvents() throws Exception {
     final MachineLogsPublisher logsPublisher = internalRuntime.new MachineLogsPublisher();
@@ -669,7 +678,7 @@ public class KubernetesInternalRuntimeTest {
             getCurrentTimestampWithOneHourShiftAhead());
     final ArgumentCaptor<RuntimeLogEvent> captor = ArgumentCaptor.forClass(RuntimeLogEvent.class);
 
-    internalRuntime.doStartMachine(kubernetesServerResolver);
+    internalRuntime.startMachines();
     logsPublisher.handle(out1);
     logsPublisher.handle(out2);
 
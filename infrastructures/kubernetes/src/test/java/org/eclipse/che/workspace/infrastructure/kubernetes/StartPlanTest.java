@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.eclipse.che.workspace.infrastructure.kubernetes.StartPlan.Step;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseTimer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link StartPlan}. */
+public class StartPlanTest {
+
+  private ExecutorService executor;
+  private StartPhaseTimer phaseTimer;
+  private SimpleMeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    registry = new SimpleMeterRegistry();
+    phaseTimer = new StartPhaseTimer();
+    phaseTimer.bindTo(registry);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldRunIndependentStepsConcurrently() throws Exception {
+    // given
+    StartPlan plan = plan(2);
+    CountDownLatch bothRunning = new CountDownLatch(2);
+
+    // when
+    Step<Boolean> first = plan.step("first", () -> awaitOther(bothRunning));
+    Step<Boolean> second = plan.step("second", () -> awaitOther(bothRunning));
+    plan.await(new CompletableFuture<>(), SECONDS.toMillis(5));
+
+    // then
+    assertTrue(first.get());
+    assertTrue(second.get());
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldStartStepWhenItsDependenciesAreCompleted() throws Exception {
+    // given
+    StartPlan plan = plan(4);
+
+    // when
+    Step<List<String>> created = plan.forEach("create", () -> asList("a", "b"), s -> s + "!");
+    Step<List<Integer>> dependent =
+        plan.forEach("dependent", created::get, String::length, created);
+    plan.await(new CompletableFuture<>(), SECONDS.toMillis(5));
+
+    // then
+    assertEquals(created.get(), asList("a!", "b!"));
+    assertEquals(dependent.get(), asList(2, 2));
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldNotRunMoreCallsThanParallelismAtOnce() throws Exception {
+    // given
+    StartPlan plan = plan(3);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    // when
+    plan.forEach(
+        "create",
+        () -> nCopies(30, "item"),
+        item -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          apiCall(5).call(item);
+          running.decrementAndGet();
+          return item;
+        });
+    plan.forEach("other", () -> nCopies(10, "item"), item -> item);
+    plan.await(new CompletableFuture<>(), SECONDS.toMillis(5));
+
+    // then
+    assertTrue(maxRunning.get() <= 3, "Max running calls " + maxRunning.get());
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldNotTakePermitsForWaits() throws Exception {
+    // given
+    StartPlan plan = plan(1);
+    CountDownLatch created = new CountDownLatch(1);
+
+    // when
+    Step<List<Boolean>> waited =
+        plan.waitForEach("wait", () -> singletonList(created), StartPlanTest::awaitReleased);
+    plan.step(
+        "create",
+        () -> {
+          created.countDown();
+          return null;
+        });
+    plan.await(new CompletableFuture<>(), SECONDS.toMillis(5));
+
+    // then
+    assertEquals(waited.get(), singletonList(true));
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldRethrowFailureAndCancelCallsWhichAreNotStarted() throws Exception {
+    // given
+    StartPlan plan = plan(1);
+    InfrastructureException failure = new InfrastructureException("creation failed");
+    AtomicInteger calls = new AtomicInteger();
+    AtomicInteger dependentCalls = new AtomicInteger();
+
+    // when
+    Step<List<Object>> failed =
+        plan.forEach(
+            "create",
+            () -> nCopies(10, "item"),
+            item -> {
+              calls.incrementAndGet();
+              throw failure;
+            });
+    plan.step("dependent", dependentCalls::incrementAndGet, failed);
+    try {
+      plan.await(new CompletableFuture<>(), SECONDS.toMillis(5));
+      fail("Failure is expected to be rethrown");
+    } catch (InfrastructureException e) {
+      // then
+      assertSame(e, failure);
+    }
+    assertEquals(calls.get(), 1);
+    assertEquals(dependentCalls.get(), 0);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldAbortWhenStartFails() throws Exception {
+    // given
+    StartPlan plan = plan(2);
+    CountDownLatch neverReleased = new CountDownLatch(1);
+    CompletableFuture<Void> startFailure = new CompletableFuture<>();
+    InfrastructureException failure = new InfrastructureException("start is stopped");
+    plan.waitForEach("wait", () -> singletonList(neverReleased), StartPlanTest::awaitReleased);
+
+    // when
+    startFailure.completeExceptionally(failure);
+    try {
+      plan.await(startFailure, SECONDS.toMillis(5));
+      fail("Start failure is expected to be rethrown");
+    } catch (InfrastructureException e) {
+      // then
+      assertSame(e, failure);
+    }
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldFailWhenTimeoutIsReached() throws Exception {
+    // given
+    StartPlan plan = plan(2);
+    CountDownLatch neverReleased = new CountDownLatch(1);
+    plan.waitForEach("wait", () -> singletonList(neverReleased), StartPlanTest::awaitReleased);
+
+    // when
+    try {
+      plan.await(new CompletableFuture<>(), 50);
+      fail("Timeout is expected");
+    } catch (InfrastructureException e) {
+      // then
+      assertTrue(e.getMessage().contains("reached timeout"), e.getMessage());
+    }
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldRecordDurationOfSteps() throws Exception {
+    // given
+    StartPlan plan = plan(2);
+
+    // when
+    plan.step("createSecrets", () -> null);
+    plan.await(new CompletableFuture<>(), SECONDS.toMillis(5));
+
+    // then
+    Timer timer =
+        registry
+            .find("che.workspace.start.phase")
+            .tags("phase", "createSecrets", "result", "ok")
+            .timer();
+    assertNotNull(timer);
+    assertEquals(timer.count(), 1);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldDeployPodsWhileIngressesAreAwaited() throws Exception {
+    // given
+    StartPlan plan = plan(8);
+    Queue<String> events = new ConcurrentLinkedQueue<>();
+    CountDownLatch ingressesAwaited = new CountDownLatch(1);
+    CountDownLatch podsDeployed = new CountDownLatch(1);
+
+    // when
+    Step<List<String>> createdSecrets =
+        plan.forEach("secrets", () -> nCopies(3, "secret"), record(events));
+    Step<List<String>> createdConfigMaps =
+        plan.forEach("configMaps", () -> nCopies(2, "configMap"), record(events));
+    plan.forEach("services", () -> nCopies(6, "service"), record(events));
+    Step<List<String>> createdIngresses =
+        plan.forEach("ingresses", () -> nCopies(4, "ingress"), record(events));
+    Step<List<Boolean>> readyIngresses =
+        plan.waitForEach(
+            "waitIngresses",
+            createdIngresses::get,
+            ingress -> {
+              ingressesAwaited.countDown();
+              // ingress gets ready only once the pods are deployed
+              return awaitReleased(podsDeployed);
+            },
+            createdIngresses);
+    Step<List<Boolean>> pods =
+        plan.forEach(
+            "pods",
+            () -> nCopies(5, "pod"),
+            pod -> {
+              events.add(pod);
+              boolean overlapped = awaitReleased(ingressesAwaited);
+              podsDeployed.countDown();
+              return overlapped;
+            },
+            createdSecrets,
+            createdConfigMaps);
+    plan.await(new CompletableFuture<>(), SECONDS.toMillis(5));
+
+    // then
+    assertEquals(pods.get(), nCopies(5, true));
+    assertEquals(readyIngresses.get(), nCopies(4, true));
+    List<String> order = new ArrayList<>(events);
+    int firstPod = order.indexOf("pod");
+    assertTrue(order.lastIndexOf("secret") < firstPod, order.toString());
+    assertTrue(order.lastIndexOf("configMap") < firstPod, order.toString());
+    assertFalse(registry.find("che.workspace.start.phase").timers().isEmpty());
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldRunCallsAndWaitsWithContextOfThreadWhichCreatesPlan() throws Exception {
+    // given
+    ExecutorService singleThread = Executors.newSingleThreadExecutor();
+    Subject subject = new SubjectImpl("user", "user123", "token", false);
+    EnvironmentContext context = new EnvironmentContext();
+    context.setSubject(subject);
+    StartPlan plan;
+    EnvironmentContext.setCurrent(context);
+    try {
+      plan = new StartPlan("workspace123", singleThread, context, 2, null, phaseTimer);
+    } finally {
+      EnvironmentContext.reset();
+    }
+
+    try {
+      // when
+      Step<Subject> called =
+          plan.step("create", () -> EnvironmentContext.getCurrent().getSubject());
+      Step<List<Subject>> awaited =
+          plan.waitForEach(
+              "wait",
+              () -> singletonList("item"),
+              item -> EnvironmentContext.getCurrent().getSubject(),
+              called);
+      plan.await(new CompletableFuture<>(), SECONDS.toMillis(5));
+
+      // then
+      assertSame(called.get(), subject);
+      assertEquals(awaited.get(), singletonList(subject));
+      assertSame(
+          singleThread.submit(() -> EnvironmentContext.getCurrent().getSubject()).get(),
+          Subject.ANONYMOUS);
+    } finally {
+      singleThread.shutdownNow();
+    }
+  }
+
+  private StartPlan plan(int parallelism) {
+    return new StartPlan(
+        "workspace123", executor, new EnvironmentContext(), parallelism, null, phaseTimer);
+  }
+
+  private static boolean awaitOther(CountDownLatch bothRunning) throws InfrastructureException {
+    bothRunning.countDown();
+    return awaitReleased(bothRunning);
+  }
+
+  private static boolean awaitReleased(CountDownLatch latch) throws InfrastructureException {
+    try {
+      return latch.await(5, SECONDS);
+    } catch (InterruptedException e) {
+      throw new InfrastructureException(e.getMessage());
+    }
+  }
+
+  private static StartPlan.ItemCall<String, String> record(Queue<String> events) {
+    return item -> {
+      events.add(item);
+      return item;
+    };
+  }
+
+  private static StartPlan.ItemCall<String, String> apiCall(int millis) {
+    return item -> {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        throw new InfrastructureException(e.getMessage());
+      }
+      return item;
+    };
+  }
+}
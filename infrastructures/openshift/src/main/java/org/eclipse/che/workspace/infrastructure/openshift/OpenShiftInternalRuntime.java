@@ -12,12 +12,10 @@
 package org.eclipse.che.workspace.infrastructure.openshift;
 
 import com.google.inject.assistedinject.Assisted;
-import io.fabric8.kubernetes.api.model.ConfigMap;
-import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.openshift.api.model.Route;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,11 +28,13 @@ import org.eclipse.che.api.workspace.server.hc.probe.WorkspaceProbesFactory;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentProvisioner;
 import org.eclipse.che.commons.annotation.Nullable;
-import org.eclipse.che.commons.annotation.Traced;
+import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.commons.tracing.OptionalTracer;
-import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInternalRuntime;
 import org.eclipse.che.workspace.infrastructure.kubernetes.RuntimeHangingDetector;
+import org.eclipse.che.workspace.infrastructure.kubernetes.StartPlan;
+import org.eclipse.che.workspace.infrastructure.kubernetes.StartPlan.Step;
+import org.eclipse.che.workspace.infrastructure.kubernetes.StartPlanner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.StartSynchronizerFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.bootstrapper.KubernetesBootstrapperFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.cache.KubernetesMachineCache;
@@ -56,6 +56,7 @@ import org.eclipse.che.workspace.infrastructure.openshift.server.OpenShiftServer
 public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShiftEnvironment> {
 
   private final OpenShiftProject project;
+  private final StartPlanner startPlanner;
   private final UnrecoverablePodEventListenerFactory unrecoverablePodEventListenerFactory;
 
   @Inject
@@ -71,6 +72,7 @@ public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShif
       WorkspaceProbesFactory probesFactory,
       RuntimeEventsPublisher eventPublisher,
       KubernetesSharedPool sharedPool,
+      StartPlanner startPlanner,
       KubernetesRuntimeStateCache runtimesStatusesCache,
       KubernetesMachineCache machinesCache,
       StartSynchronizerFactory startSynchronizerFactory,
@@ -93,6 +95,7 @@ public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShif
         probesFactory,
         eventPublisher,
         sharedPool,
+        startPlanner,
         runtimesStatusesCache,
         machinesCache,
         startSynchronizerFactory,
@@ -104,6 +107,7 @@ public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShif
         context,
         project);
     this.project = project;
+    this.startPlanner = startPlanner;
     this.unrecoverablePodEventListenerFactory = unrecoverablePodEventListenerFactory;
   }
 
@@ -112,11 +116,6 @@ public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShif
     OpenShiftEnvironment osEnv = getContext().getEnvironment();
     String workspaceId = getContext().getIdentity().getWorkspaceId();
 
-    createSecrets(osEnv, workspaceId);
-    createConfigMaps(osEnv, workspaceId);
-    List<Service> createdServices = createServices(osEnv, workspaceId);
-    List<Route> createdRoutes = createRoutes(osEnv, workspaceId);
-
     // TODO https://github.com/eclipse/che/issues/7653
     // project.pods().watch(new AbnormalStopHandler());
 
@@ -135,53 +134,20 @@ public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShif
       project.deployments().watchEvents(handler);
     }
 
-    doStartMachine(new OpenShiftServerResolver(createdServices, createdRoutes));
-  }
-
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createSecrets(OpenShiftEnvironment env, String workspaceId) throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (Secret secret : env.getSecrets().values()) {
-      project.secrets().create(secret);
-    }
-  }
-
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createConfigMaps(OpenShiftEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (ConfigMap configMap : env.getConfigMaps().values()) {
-      project.configMaps().create(configMap);
-    }
-  }
-
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Service> createServices(OpenShiftEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    Collection<Service> servicesToCreate = env.getServices().values();
-    List<Service> createdServices = new ArrayList<>(servicesToCreate.size());
-    for (Service service : servicesToCreate) {
-      createdServices.add(project.services().create(service));
-    }
+    StartPlan plan = startPlanner.plan(workspaceId);
+    Step<?> secrets = createSecrets(plan, osEnv);
+    Step<?> configMaps = createConfigMaps(plan, osEnv);
+    Step<List<Service>> services = createServices(plan, osEnv);
+    Step<List<Route>> routes = createRoutes(plan, osEnv);
+    // pods are deployed after the services to get their environment variables
+    Step<List<Pair<Pod, ObjectMeta>>> pods = deployPods(plan, secrets, configMaps, services);
+    awaitPlan(plan);
 
-    return createdServices;
+    storeStartingMachines(pods.get(), new OpenShiftServerResolver(services.get(), routes.get()));
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Route> createRoutes(OpenShiftEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    Collection<Route> routesToCreate = env.getRoutes().values();
-    List<Route> createdRoutes = new ArrayList<>(routesToCreate.size());
-    for (Route route : routesToCreate) {
-      createdRoutes.add(project.routes().create(route));
-    }
-
-    return createdRoutes;
+  private Step<List<Route>> createRoutes(StartPlan plan, OpenShiftEnvironment env) {
+    return plan.forEach(
+        "createRoutes", () -> env.getRoutes().values(), route -> project.routes().create(route));
   }
 }
@@ -53,6 +53,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.core.model.workspace.runtime.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.core.notification.EventService;
@@ -69,6 +71,7 @@ import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentPro
 import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.commons.tracing.OptionalTracer;
 import org.eclipse.che.workspace.infrastructure.kubernetes.RuntimeHangingDetector;
+import org.eclipse.che.workspace.infrastructure.kubernetes.StartPlanner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.StartSynchronizer;
 import org.eclipse.che.workspace.infrastructure.kubernetes.StartSynchronizerFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.bootstrapper.KubernetesBootstrapper;
@@ -82,6 +85,7 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesS
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.WorkspaceVolumesStrategy;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseTimer;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.UnrecoverablePodEventListenerFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins.SidecarToolingProvisioner;
 import org.eclipse.che.workspace.infrastructure.openshift.environment.OpenShiftEnvironment;
@@ -162,6 +166,8 @@ public class OpenShiftInternalRuntimeTest {
     MockitoAnnotations.initMocks(this);
 
     when(startSynchronizerFactory.create(any())).thenReturn(startSynchronizer);
+    when(startSynchronizer.getStartFailure()).thenReturn(new CompletableFuture<>());
+    when(startSynchronizer.getStartTimeoutMillis()).thenReturn(TimeUnit.MINUTES.toMillis(1));
 
     internalRuntime =
         new OpenShiftInternalRuntime(
@@ -176,6 +182,7 @@ public class OpenShiftInternalRuntimeTest {
             workspaceProbesFactory,
             new RuntimeEventsPublisher(eventService),
             mock(KubernetesSharedPool.class),
+            new StartPlanner(4, new KubernetesSharedPool(), new StartPhaseTimer(), null),
             runtimeStateCache,
             machinesCache,
             startSynchronizerFactory,
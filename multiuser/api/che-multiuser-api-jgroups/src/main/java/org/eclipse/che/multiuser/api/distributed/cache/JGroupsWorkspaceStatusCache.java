@@ -11,40 +11,75 @@
  */
 package org.eclipse.che.multiuser.api.distributed.cache;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.jgroups.JChannel;
-import org.jgroups.blocks.ReplicatedHashMap;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * JGroups based implementation of {@link WorkspaceStatusCache}.
  *
+ * <p>Each node keeps its own copy of the statuses. Changes are applied to the local copy first, so
+ * the node that changed the status always reads its own write, and then are multicast to the
+ * other nodes as versioned deltas without waiting for their acknowledgement. Receivers apply a
+ * delta only if it is newer than the entry they have, so the delivery order of concurrent changes
+ * doesn't matter.
+ *
+ * <p>A joining node fetches a snapshot of the statuses from the coordinator. The snapshot is
+ * streamed entry by entry, without locking the cache of the coordinator, so that the state can be
+ * transferred in chunks (see {@code pbcast.STATE}) while the cluster keeps changing the statuses.
+ * Deltas which are received during the transfer are merged with the snapshot by their versions.
+ *
  * @author Anton Korneta
  */
 @Singleton
 public class JGroupsWorkspaceStatusCache implements WorkspaceStatusCache {
 
-  private static final String CHANNEL_NAME = "WorkspaceStateCache";
+  private static final String CHANNEL_NAME = "WorkspaceStatusCache";
   private static final Logger LOG = LoggerFactory.getLogger(JGroupsWorkspaceStatusCache.class);
 
-  private final ReplicatedHashMap<String, WorkspaceStatus> delegate;
+  private static final long STATE_TRANSFER_TIMEOUT_MS = 30_000;
+  private static final long TOMBSTONE_TTL_MS = 60_000;
+  private static final int STATE_BUFFER_SIZE = 64 * 1024;
+
+  private final ConcurrentMap<String, StatusEntry> entries = new ConcurrentHashMap<>();
+  private final Queue<StatusEntry> tombstones = new ConcurrentLinkedQueue<>();
+  private final List<StatusChangeListener> listeners = new CopyOnWriteArrayList<>();
+  private final JChannel channel;
+  private final String origin;
 
   @Inject
   public JGroupsWorkspaceStatusCache(@Named("jgroups.config.file") String confFile) {
     try {
-      JChannel channel = new JChannel(confFile);
+      channel = new JChannel(confFile);
+      channel.setReceiver(new StatusReceiver());
       channel.connect(CHANNEL_NAME);
-      delegate = new ReplicatedHashMap<>(channel);
-      delegate.setBlockingUpdates(true);
-      delegate.start(5000);
+      origin = channel.getAddressAsString();
+      channel.getState(null, STATE_TRANSFER_TIMEOUT_MS);
     } catch (Exception ex) {
       throw new RuntimeException("Jgroups cache creation failed. Cause :" + ex.getMessage());
     }
@@ -52,33 +87,39 @@ public class JGroupsWorkspaceStatusCache implements WorkspaceStatusCache {
 
   @Override
   public WorkspaceStatus get(String workspaceId) {
-    return delegate.get(workspaceId);
+    return statusOf(entries.get(workspaceId));
   }
 
   @Override
   public WorkspaceStatus replace(String workspaceId, WorkspaceStatus newStatus) {
-    return delegate.replace(workspaceId, newStatus);
+    return update(workspaceId, current -> current != null, newStatus);
   }
 
   @Override
   public boolean replace(
       String workspaceId, WorkspaceStatus prevStatus, WorkspaceStatus newStatus) {
-    return delegate.replace(workspaceId, prevStatus, newStatus);
+    return update(workspaceId, current -> current == prevStatus, newStatus) == prevStatus;
   }
 
   @Override
   public WorkspaceStatus remove(String workspaceId) {
-    return delegate.remove(workspaceId);
+    return update(workspaceId, current -> current != null, null);
   }
 
   @Override
   public WorkspaceStatus putIfAbsent(String workspaceId, WorkspaceStatus status) {
-    return delegate.putIfAbsent(workspaceId, status);
+    return update(workspaceId, current -> current == null, status);
   }
 
   @Override
   public Map<String, WorkspaceStatus> asMap() {
-    return new HashMap<>(delegate);
+    final Map<String, WorkspaceStatus> copy = new HashMap<>();
+    for (StatusEntry entry : entries.values()) {
+      if (!entry.isRemoved()) {
+        copy.put(entry.getWorkspaceId(), entry.getStatus());
+      }
+    }
+    return copy;
   }
 
   /**
@@ -87,26 +128,148 @@ public class JGroupsWorkspaceStatusCache implements WorkspaceStatusCache {
    * @param listener listener instance that will receive status changed events
    */
   public void subscribe(StatusChangeListener listener) {
-    delegate.addNotifier(
-        new ReplicatedMapNotificationAdapter() {
-          @Override
-          public void entrySet(Object workspaceId, Object workspaceStatus) {
-            listener.statusChanged((String) workspaceId, (WorkspaceStatus) workspaceStatus);
-          }
-
-          @Override
-          public void entryRemoved(Object workspaceId) {
-            listener.statusChanged((String) workspaceId, WorkspaceStatus.STOPPED);
-          }
-        });
+    listeners.add(listener);
   }
 
   /** Stops workspace status cache. */
   public void shutdown() {
     try {
-      delegate.close();
-    } catch (IOException | RuntimeException ex) {
+      channel.close();
+    } catch (RuntimeException ex) {
       LOG.error("Failed to stop workspace status cache. Cause: " + ex.getMessage());
     }
   }
+
+  /**
+   * Atomically changes the local status of the workspace if the current status matches the given
+   * condition and propagates the change to the other nodes.
+   *
+   * @param workspaceId workspace identifier
+   * @param condition condition the current status must match, null is passed when there is no
+   *     status for the workspace
+   * @param newStatus new workspace status or null to remove the status
+   * @return workspace status which was observed when the condition was checked
+   */
+  private WorkspaceStatus update(
+      String workspaceId,
+      Predicate<WorkspaceStatus> condition,
+      @Nullable WorkspaceStatus newStatus) {
+    purgeTombstones();
+    while (true) {
+      final StatusEntry current = entries.get(workspaceId);
+      final WorkspaceStatus currentStatus = statusOf(current);
+      if (!condition.test(currentStatus)) {
+        return currentStatus;
+      }
+      final long version = current == null ? 1 : current.getVersion() + 1;
+      final StatusEntry updated = new StatusEntry(workspaceId, newStatus, version, origin);
+      final boolean swapped =
+          current == null
+              ? entries.putIfAbsent(workspaceId, updated) == null
+              : entries.replace(workspaceId, current, updated);
+      if (swapped) {
+        if (updated.isRemoved()) {
+          tombstones.add(updated);
+        }
+        send(updated);
+        return currentStatus;
+      }
+    }
+  }
+
+  /** Applies the entry received from another node, returns true if the entry is applied. */
+  private boolean apply(StatusEntry received) {
+    purgeTombstones();
+    final StatusEntry result =
+        entries.merge(
+            received.getWorkspaceId(),
+            received,
+            (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+    if (result != received) {
+      return false;
+    }
+    if (received.isRemoved()) {
+      tombstones.add(received);
+    }
+    return true;
+  }
+
+  private void send(StatusEntry entry) {
+    try {
+      channel.send(new Message(null, entry.toBytes()));
+    } catch (Exception ex) {
+      LOG.error("Failed to propagate workspace status change '{}'", entry, ex);
+    }
+  }
+
+  private void notifyListeners(StatusEntry entry) {
+    final WorkspaceStatus status = entry.isRemoved() ? WorkspaceStatus.STOPPED : entry.getStatus();
+    for (StatusChangeListener listener : listeners) {
+      try {
+        listener.statusChanged(entry.getWorkspaceId(), status);
+      } catch (RuntimeException ex) {
+        LOG.error(ex.getMessage(), ex);
+      }
+    }
+  }
+
+  /**
+   * Tombstones are kept long enough to discard the changes delayed in the network and are removed
+   * in the order they were created.
+   */
+  private void purgeTombstones() {
+    final long expiredBefore = System.currentTimeMillis() - TOMBSTONE_TTL_MS;
+    StatusEntry tombstone;
+    while ((tombstone = tombstones.peek()) != null && tombstone.getCreatedAt() < expiredBefore) {
+      if (tombstones.remove(tombstone)) {
+        entries.remove(tombstone.getWorkspaceId(), tombstone);
+      }
+    }
+  }
+
+  private static WorkspaceStatus statusOf(@Nullable StatusEntry entry) {
+    return entry == null ? null : entry.getStatus();
+  }
+
+  private class StatusReceiver extends ReceiverAdapter {
+
+    @Override
+    public void receive(Message msg) {
+      final StatusEntry entry;
+      try {
+        entry = StatusEntry.fromBytes(msg.getBuffer());
+      } catch (IOException | RuntimeException ex) {
+        LOG.error("Failed to read workspace status change from '{}'", msg.getSrc(), ex);
+        return;
+      }
+      // own changes are already applied, they are delivered back only to notify listeners
+      // in the same order as changes of the other nodes
+      if (msg.getSrc().equals(channel.getAddress()) || apply(entry)) {
+        notifyListeners(entry);
+      }
+    }
+
+    @Override
+    public void getState(OutputStream output) throws Exception {
+      final List<StatusEntry> snapshot = new ArrayList<>(entries.values());
+      final DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(output, STATE_BUFFER_SIZE));
+      out.writeInt(snapshot.size());
+      for (StatusEntry entry : snapshot) {
+        entry.writeTo(out);
+      }
+      out.flush();
+    }
+
+    @Override
+    public void setState(InputStream input) throws Exception {
+      final DataInputStream in =
+          new DataInputStream(new BufferedInputStream(input, STATE_BUFFER_SIZE));
+      final int size = in.readInt();
+      for (int i = 0; i < size; i++) {
+        apply(StatusEntry.readFrom(in));
+      }
+      LOG.debug("Received {} workspace statuses from the cluster", size);
+    }
+  }
 }
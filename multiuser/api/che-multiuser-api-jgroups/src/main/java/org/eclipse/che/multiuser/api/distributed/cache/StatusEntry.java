@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Versioned workspace status which is replicated by {@link JGroupsWorkspaceStatusCache}.
+ *
+ * <p>Removal of the status is represented by entry without status (tombstone), so the removal can
+ * be ordered against concurrent updates in the same way as any other change. When two entries with
+ * the same version are produced concurrently by different nodes the one with the greater origin
+ * wins, so all the nodes converge to the same value regardless of the order of delivery.
+ */
+final class StatusEntry {
+
+  private final String workspaceId;
+  private final WorkspaceStatus status;
+  private final long version;
+  private final String origin;
+  private final long createdAt;
+
+  StatusEntry(String workspaceId, @Nullable WorkspaceStatus status, long version, String origin) {
+    this.workspaceId = workspaceId;
+    this.status = status;
+    this.version = version;
+    this.origin = origin;
+    this.createdAt = System.currentTimeMillis();
+  }
+
+  /** Reads entry written by {@link #writeTo(DataOutput)}. */
+  static StatusEntry readFrom(DataInput in) throws IOException {
+    final String workspaceId = in.readUTF();
+    final WorkspaceStatus status = in.readBoolean() ? WorkspaceStatus.valueOf(in.readUTF()) : null;
+    final long version = in.readLong();
+    final String origin = in.readUTF();
+    return new StatusEntry(workspaceId, status, version, origin);
+  }
+
+  /** Deserializes entry from the content of a delta message. */
+  static StatusEntry fromBytes(byte[] bytes) throws IOException {
+    return readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+  }
+
+  String getWorkspaceId() {
+    return workspaceId;
+  }
+
+  /** Returns workspace status or null if the status is removed. */
+  @Nullable
+  WorkspaceStatus getStatus() {
+    return status;
+  }
+
+  long getVersion() {
+    return version;
+  }
+
+  /** Returns the time in milliseconds when this entry was created on the current node. */
+  long getCreatedAt() {
+    return createdAt;
+  }
+
+  boolean isRemoved() {
+    return status == null;
+  }
+
+  /** Returns true if this entry supersedes the given one. */
+  boolean isNewerThan(StatusEntry other) {
+    if (version != other.version) {
+      return version > other.version;
+    }
+    return origin.compareTo(other.origin) > 0;
+  }
+
+  void writeTo(DataOutput out) throws IOException {
+    out.writeUTF(workspaceId);
+    out.writeBoolean(status != null);
+    if (status != null) {
+      out.writeUTF(status.name());
+    }
+    out.writeLong(version);
+    out.writeUTF(origin);
+  }
+
+  /** Serializes entry to the content of a delta message. */
+  byte[] toBytes() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    writeTo(new DataOutputStream(bytes));
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public String toString() {
+    return "StatusEntry{"
+        + "workspaceId='"
+        + workspaceId
+        + '\''
+        + ", status="
+        + status
+        + ", version="
+        + version
+        + ", origin='"
+        + origin
+        + '\''
+        + '}';
+  }
+}
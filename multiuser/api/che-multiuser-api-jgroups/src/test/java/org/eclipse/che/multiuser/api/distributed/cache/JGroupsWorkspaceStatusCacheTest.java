@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.cache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertEqualsNoOrder;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link JGroupsWorkspaceStatusCache} with several nodes running in the same JVM. */
+public class JGroupsWorkspaceStatusCacheTest {
+
+  private static final String CONF_FILE = "jgroups/che-test.xml";
+  private static final long AWAIT_TIMEOUT_MS = 10_000;
+  private static final long RECHECK_INTERVAL_MS = 100;
+
+  private final List<JGroupsWorkspaceStatusCache> nodes = new ArrayList<>();
+  private final Object changes = new Object();
+
+  @AfterMethod
+  public void tearDown() {
+    nodes.forEach(JGroupsWorkspaceStatusCache::shutdown);
+    nodes.clear();
+  }
+
+  @Test
+  public void shouldReadOwnWritesWithoutWaitingForOtherNodes() {
+    final JGroupsWorkspaceStatusCache node1 = startNode();
+    final JGroupsWorkspaceStatusCache node2 = startNode();
+
+    assertNull(node1.putIfAbsent("ws1", STARTING));
+    assertEquals(node1.get("ws1"), STARTING);
+    assertEquals(node1.replace("ws1", RUNNING), STARTING);
+    assertEquals(node1.get("ws1"), RUNNING);
+    assertTrue(node1.replace("ws1", RUNNING, STOPPING));
+    assertEquals(node1.get("ws1"), STOPPING);
+    assertEquals(node1.remove("ws1"), STOPPING);
+    assertNull(node1.get("ws1"));
+
+    await(() -> node2.get("ws1") == null && node2.asMap().isEmpty());
+  }
+
+  @Test
+  public void shouldNotChangeStatusWhenConditionDoesNotMatch() {
+    final JGroupsWorkspaceStatusCache node1 = startNode();
+
+    assertNull(node1.replace("ws1", RUNNING));
+    assertNull(node1.remove("ws1"));
+    assertNull(node1.putIfAbsent("ws1", STARTING));
+    assertEquals(node1.putIfAbsent("ws1", RUNNING), STARTING);
+    assertFalse(node1.replace("ws1", RUNNING, STOPPING));
+
+    assertEquals(node1.get("ws1"), STARTING);
+  }
+
+  @Test
+  public void shouldPropagateStatusChangesToAllNodes() {
+    final JGroupsWorkspaceStatusCache node1 = startNode();
+    final JGroupsWorkspaceStatusCache node2 = startNode();
+    final JGroupsWorkspaceStatusCache node3 = startNode();
+
+    for (int i = 0; i < 10; i++) {
+      final String workspaceId = "ws" + i;
+      node1.putIfAbsent(workspaceId, STARTING);
+      await(() -> node2.get(workspaceId) == STARTING && node3.get(workspaceId) == STARTING);
+    }
+
+    assertEquals(node2.asMap(), node1.asMap());
+    assertEquals(node3.asMap(), node1.asMap());
+  }
+
+  @Test
+  public void shouldTransferStateToJoiningNode() {
+    final JGroupsWorkspaceStatusCache node1 = startNode();
+    final JGroupsWorkspaceStatusCache node2 = startNode();
+    final int workspaces = 100;
+    for (int i = 0; i < workspaces; i++) {
+      node1.putIfAbsent("ws" + i, i % 2 == 0 ? RUNNING : STARTING);
+    }
+    for (int i = 0; i < workspaces; i += 10) {
+      node1.remove("ws" + i);
+    }
+    await(() -> node2.asMap().size() == node1.asMap().size());
+
+    final JGroupsWorkspaceStatusCache joined = startNode();
+
+    assertEquals(joined.asMap(), node1.asMap());
+    assertNull(joined.get("ws0"));
+    assertEquals(joined.get("ws1"), STARTING);
+    assertEquals(joined.get("ws2"), RUNNING);
+  }
+
+  @Test
+  public void shouldNotifyListenersAboutChangesOfAllNodes() throws Exception {
+    final JGroupsWorkspaceStatusCache node1 = startNode();
+    final JGroupsWorkspaceStatusCache node2 = startNode();
+    final List<String> received = new CopyOnWriteArrayList<>();
+    final CountDownLatch latch = new CountDownLatch(4);
+    node2.subscribe(
+        (workspaceId, status) -> {
+          received.add(workspaceId + ':' + status);
+          latch.countDown();
+        });
+
+    node1.putIfAbsent("ws1", STARTING);
+    node1.replace("ws1", RUNNING);
+    await(() -> node2.get("ws1") == RUNNING);
+    node2.replace("ws1", STOPPING);
+    await(() -> node1.get("ws1") == STOPPING);
+    node1.remove("ws1");
+
+    assertTrue(latch.await(AWAIT_TIMEOUT_MS, MILLISECONDS));
+    assertEqualsNoOrder(
+        received.toArray(),
+        new String[] {"ws1:STARTING", "ws1:RUNNING", "ws1:STOPPING", "ws1:STOPPED"});
+  }
+
+  @Test
+  public void shouldConvergeWhenSameStatusIsChangedConcurrently() throws Exception {
+    final JGroupsWorkspaceStatusCache node1 = startNode();
+    final JGroupsWorkspaceStatusCache node2 = startNode();
+    final CountDownLatch start = new CountDownLatch(1);
+    final Thread writer1 = startWriter(start, () -> node1.putIfAbsent("ws1", STARTING));
+    final Thread writer2 = startWriter(start, () -> node2.putIfAbsent("ws1", RUNNING));
+
+    start.countDown();
+    writer1.join();
+    writer2.join();
+
+    await(() -> node1.get("ws1") != null && node1.get("ws1") == node2.get("ws1"));
+    final WorkspaceStatus converged = node1.get("ws1");
+    assertTrue(converged == STARTING || converged == RUNNING);
+    assertEquals(node1.asMap(), node2.asMap());
+    assertEquals(startNode().get("ws1"), converged);
+  }
+
+  private JGroupsWorkspaceStatusCache startNode() {
+    final JGroupsWorkspaceStatusCache node = new JGroupsWorkspaceStatusCache(CONF_FILE);
+    node.subscribe(
+        (workspaceId, status) -> {
+          synchronized (changes) {
+            changes.notifyAll();
+          }
+        });
+    nodes.add(node);
+    return node;
+  }
+
+  private static Thread startWriter(CountDownLatch start, Runnable write) {
+    final Thread thread =
+        new Thread(
+            () -> {
+              try {
+                start.await();
+                write.run();
+              } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * Waits until the condition is met. Re-checks it whenever any node notifies its listeners about
+   * a change, and at least every {@link #RECHECK_INTERVAL_MS} as listeners may be notified before
+   * the change becomes visible.
+   */
+  private void await(BooleanSupplier condition) {
+    final long deadline = System.currentTimeMillis() + AWAIT_TIMEOUT_MS;
+    synchronized (changes) {
+      while (!condition.getAsBoolean()) {
+        final long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          fail("Condition is not met in " + AWAIT_TIMEOUT_MS + "ms");
+        }
+        try {
+          changes.wait(Math.min(remaining, RECHECK_INTERVAL_MS));
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          fail("Interrupted while waiting for the condition");
+        }
+      }
+    }
+  }
+}
@@ -233,6 +233,19 @@ public class OrganizationManager {
     return organizationDao.getSuborganizations(parentQualifiedName, maxItems, skipCount);
   }
 
+  /**
+   * Gets all parent organizations of organization with specified qualified name.
+   *
+   * @param qualifiedName qualified name of organization
+   * @return list of parent organizations ordered from the root to the direct parent
+   * @throws NullPointerException when {@code qualifiedName} is null
+   * @throws ServerException when any other error occurs during organizations fetching
+   */
+  public List<? extends Organization> getParents(String qualifiedName) throws ServerException {
+    requireNonNull(qualifiedName, "Required non-null qualified name");
+    return organizationDao.getParents(qualifiedName);
+  }
+
   /**
    * Gets list organizations where user is member.
    *
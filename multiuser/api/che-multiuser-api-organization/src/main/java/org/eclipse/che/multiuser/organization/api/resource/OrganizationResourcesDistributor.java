@@ -16,6 +16,8 @@ import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -55,6 +57,7 @@ public class OrganizationResourcesDistributor {
   private final ResourcesLocks resourcesLocks;
   private final ResourceManager resourceManager;
   private final ResourceAggregator resourceAggregator;
+  private final SuborganizationResourcesProvider suborganizationResourcesProvider;
 
   @Inject
   public OrganizationResourcesDistributor(
@@ -62,12 +65,14 @@ public class OrganizationResourcesDistributor {
       OrganizationManager organizationManager,
       ResourcesLocks resourcesLocks,
       ResourceManager resourceManager,
-      ResourceAggregator resourceAggregator) {
+      ResourceAggregator resourceAggregator,
+      SuborganizationResourcesProvider suborganizationResourcesProvider) {
     this.organizationDistributedResourcesDao = organizationDistributedResourcesDao;
     this.organizationManager = organizationManager;
     this.resourcesLocks = resourcesLocks;
     this.resourceManager = resourceManager;
     this.resourceAggregator = resourceAggregator;
+    this.suborganizationResourcesProvider = suborganizationResourcesProvider;
   }
 
   @Inject
@@ -112,6 +117,7 @@ public class OrganizationResourcesDistributor {
         organizationDistributedResourcesDao.store(
             new OrganizationDistributedResourcesImpl(suborganizationId, resourcesCaps));
       }
+      suborganizationResourcesProvider.invalidateCache();
     }
   }
 
@@ -135,6 +141,25 @@ public class OrganizationResourcesDistributor {
     }
   }
 
+  /**
+   * Returns resources caps of all specified suborganizations at once.
+   *
+   * @param suborganizationIds suborganizations ids to fetch resources caps
+   * @return resources caps mapped to suborganization id, suborganizations without caps are omitted
+   * @throws ServerException when any error occurs
+   */
+  public Map<String, List<? extends Resource>> getResourcesCapsByOrganizations(
+      Collection<String> suborganizationIds) throws ServerException {
+    requireNonNull(suborganizationIds, "Required non-null suborganizations ids");
+    final Map<String, List<? extends Resource>> resourcesCaps = new HashMap<>();
+    for (OrganizationDistributedResources distributedResources :
+        organizationDistributedResourcesDao.getByOrganizations(suborganizationIds)) {
+      resourcesCaps.put(
+          distributedResources.getOrganizationId(), distributedResources.getResourcesCap());
+    }
+    return resourcesCaps;
+  }
+
   /**
    * Returns distributed resources for specified suborganization.
    *
@@ -15,9 +15,14 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toMap;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -25,12 +30,15 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
-import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.multiuser.organization.api.OrganizationManager;
+import org.eclipse.che.multiuser.organization.api.event.BeforeOrganizationRemovedEvent;
+import org.eclipse.che.multiuser.organization.shared.model.Organization;
 import org.eclipse.che.multiuser.organization.spi.impl.OrganizationImpl;
 import org.eclipse.che.multiuser.resource.api.ResourcesProvider;
+import org.eclipse.che.multiuser.resource.api.event.FreeResourcesLimitChangedEvent;
 import org.eclipse.che.multiuser.resource.api.usage.ResourceManager;
 import org.eclipse.che.multiuser.resource.model.ProvidedResources;
 import org.eclipse.che.multiuser.resource.model.Resource;
@@ -43,16 +51,27 @@ import org.eclipse.che.multiuser.resource.spi.impl.ResourceImpl;
  * <p>By default suborganizations are able to use parent's resources. Parent organization can limit
  * usage of resources by suborganization by setting resources caps.
  *
+ * <p>Resources provided to suborganization depend on the resources of all its parents, so they are
+ * calculated for the whole parents chain at once, starting from the root organization, and are
+ * cached. The cache is invalidated when organization is removed, resources caps are changed or
+ * free resources limit is changed, changes of other resources providers, e.g. of the default
+ * resources configured for the accounts, are picked up when cached entries expire.
+ *
  * @author Sergii Leschenko
  */
 @Singleton
 public class SuborganizationResourcesProvider implements ResourcesProvider {
   public static final String PARENT_RESOURCES_PROVIDER = "parentOrganization";
 
+  private static final long CACHE_MAX_SIZE = 10_000;
+  private static final long CACHE_EXPIRATION_SEC = 60;
+
   private final AccountManager accountManager;
   private final OrganizationManager organizationManager;
   private final Provider<OrganizationResourcesDistributor> distributorProvider;
   private final Provider<ResourceManager> resourceManagerProvider;
+  private final Cache<String, List<ProvidedResources>> providedResources;
+  private final AtomicLong cacheGeneration;
 
   @Inject
   public SuborganizationResourcesProvider(
@@ -64,42 +83,109 @@ public class SuborganizationResourcesProvider implements ResourcesProvider {
     this.organizationManager = organizationManager;
     this.distributorProvider = distributorProvider;
     this.resourceManagerProvider = resourceManagerProvider;
+    this.providedResources =
+        CacheBuilder.newBuilder()
+            .maximumSize(CACHE_MAX_SIZE)
+            .expireAfterWrite(CACHE_EXPIRATION_SEC, TimeUnit.SECONDS)
+            .build();
+    this.cacheGeneration = new AtomicLong();
+  }
+
+  @Inject
+  public void subscribe(EventService eventService) {
+    eventService.subscribe(event -> invalidateCache(), BeforeOrganizationRemovedEvent.class);
+    eventService.subscribe(event -> invalidateCache(), FreeResourcesLimitChangedEvent.class);
   }
 
   @Override
   public List<ProvidedResources> getResources(String accountId)
       throws NotFoundException, ServerException {
+    final List<ProvidedResources> cached = providedResources.getIfPresent(accountId);
+    if (cached != null) {
+      return cached;
+    }
+    final long generation = cacheGeneration.get();
+
     final Account account = accountManager.getById(accountId);
-    String parent;
+    if (!OrganizationImpl.ORGANIZATIONAL_ACCOUNT.equals(account.getType())) {
+      return cache(accountId, emptyList(), generation);
+    }
+    final Organization organization = organizationManager.getById(accountId);
+    if (organization.getParent() == null) {
+      return cache(accountId, emptyList(), generation);
+    }
 
-    if (!OrganizationImpl.ORGANIZATIONAL_ACCOUNT.equals(account.getType())
-        || (parent = organizationManager.getById(accountId).getParent()) == null) {
-      return emptyList();
+    // given account is suborganization's account and can have resources provided by parent,
+    // which in turn can have resources provided by its parent and so on up to the root
+    final List<Organization> chain =
+        new ArrayList<>(organizationManager.getParents(organization.getQualifiedName()));
+    chain.add(organization);
+    final Map<String, List<? extends Resource>> resourcesCaps =
+        distributorProvider
+            .get()
+            .getResourcesCapsByOrganizations(
+                chain
+                    .stream()
+                    .filter(o -> o.getParent() != null)
+                    .map(Organization::getId)
+                    .collect(Collectors.toList()));
+
+    List<ProvidedResources> resources = emptyList();
+    for (Organization suborganization : chain) {
+      if (suborganization.getParent() == null) {
+        continue;
+      }
+      resources = providedResources.getIfPresent(suborganization.getId());
+      if (resources == null) {
+        // parent's provided resources are already cached, so no more lookups for the parents
+        resources =
+            cache(
+                suborganization.getId(),
+                provide(
+                    suborganization.getId(),
+                    suborganization.getParent(),
+                    resourcesCaps.getOrDefault(suborganization.getId(), emptyList())),
+                generation);
+      }
     }
+    return resources;
+  }
 
-    // given account is suborganization's account and can have resources provided by parent
+  /** Invalidates cached resources of all the suborganizations. */
+  public void invalidateCache() {
+    cacheGeneration.incrementAndGet();
+    providedResources.invalidateAll();
+  }
+
+  private List<ProvidedResources> provide(
+      String suborganizationId, String parentId, List<? extends Resource> resourcesCaps)
+      throws NotFoundException, ServerException {
     List<? extends Resource> parentTotalResources =
-        resourceManagerProvider.get().getTotalResources(parent);
-
-    if (!parentTotalResources.isEmpty()) {
-      try {
-        List<? extends Resource> resourcesCaps =
-            distributorProvider.get().getResourcesCaps(accountId);
-
-        return singletonList(
-            new ProvidedResourcesImpl(
-                PARENT_RESOURCES_PROVIDER,
-                null,
-                accountId,
-                -1L,
-                -1L,
-                cap(parentTotalResources, resourcesCaps)));
-      } catch (ConflictException e) {
-        throw new ServerException(e.getLocalizedMessage());
-      }
+        resourceManagerProvider.get().getTotalResources(parentId);
+
+    if (parentTotalResources.isEmpty()) {
+      return emptyList();
     }
+    return singletonList(
+        new ProvidedResourcesImpl(
+            PARENT_RESOURCES_PROVIDER,
+            null,
+            suborganizationId,
+            -1L,
+            -1L,
+            cap(parentTotalResources, resourcesCaps)));
+  }
 
-    return emptyList();
+  /**
+   * Caches resources unless the cache was invalidated after the calculation had been started, so
+   * that resources calculated with outdated data don't get into the cache.
+   */
+  private List<ProvidedResources> cache(
+      String accountId, List<ProvidedResources> resources, long generation) {
+    if (cacheGeneration.get() == generation) {
+      providedResources.put(accountId, resources);
+    }
+    return resources;
   }
 
   private List<ResourceImpl> cap(
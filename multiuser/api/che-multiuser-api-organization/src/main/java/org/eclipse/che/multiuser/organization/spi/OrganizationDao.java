@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.multiuser.organization.spi;
 
+import java.util.List;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
@@ -102,4 +103,18 @@ public interface OrganizationDao {
    */
   Page<OrganizationImpl> getSuborganizations(
       String parentQualifiedName, int maxItems, long skipCount) throws ServerException;
+
+  /**
+   * Gets all parent organizations of organization with specified qualified name.
+   *
+   * <p>Qualified name contains names of all the parents, so the whole parents chain is fetched at
+   * once regardless of the depth of the organization in the tree.
+   *
+   * @param qualifiedName qualified name of organization, e.g. 'rootName/parentName/suborgName'
+   * @return list of parent organizations ordered from the root to the direct parent, or empty
+   *     list when organization with specified qualified name is root organization
+   * @throws NullPointerException when {@code qualifiedName} is null
+   * @throws ServerException when any other error occurs during organizations fetching
+   */
+  List<OrganizationImpl> getParents(String qualifiedName) throws ServerException;
 }
@@ -11,6 +11,8 @@
  */
 package org.eclipse.che.multiuser.organization.spi;
 
+import java.util.Collection;
+import java.util.List;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
@@ -55,6 +57,18 @@ public interface OrganizationDistributedResourcesDao {
   Page<OrganizationDistributedResourcesImpl> getByParent(
       String organizationId, int maxItems, long skipCount) throws ServerException;
 
+  /**
+   * Returns distributed resources for all specified suborganizations at once.
+   *
+   * @param organizationIds organizations ids
+   * @return distributed resources of specified suborganizations, organizations which don't have
+   *     distributed resources are omitted
+   * @throws NullPointerException when either {@code organizationIds} is null
+   * @throws ServerException when any other error occurs
+   */
+  List<OrganizationDistributedResourcesImpl> getByOrganizations(Collection<String> organizationIds)
+      throws ServerException;
+
   /**
    * Remove distributed organization resources.
    *
@@ -43,6 +43,12 @@ import org.eclipse.che.multiuser.resource.spi.impl.ResourceImpl;
           "SELECT r "
               + "FROM OrganizationDistributedResources r "
               + "WHERE r.organizationId = :organizationId"),
+  @NamedQuery(
+      name = "OrganizationDistributedResources.getByOrganizations",
+      query =
+          "SELECT r "
+              + "FROM OrganizationDistributedResources r "
+              + "WHERE r.organizationId IN :organizationIds"),
   @NamedQuery(
       name = "OrganizationDistributedResources.getByParent",
       query =
@@ -47,7 +47,10 @@ import org.eclipse.che.multiuser.organization.shared.model.Organization;
   @NamedQuery(
       name = "Organization.getSuborganizationsCount",
       query =
-          "SELECT COUNT(o) " + "FROM Organization o " + "WHERE o.account.name LIKE :qualifiedName ")
+          "SELECT COUNT(o) " + "FROM Organization o " + "WHERE o.account.name LIKE :qualifiedName "),
+  @NamedQuery(
+      name = "Organization.getByQualifiedNames",
+      query = "SELECT o " + "FROM Organization o " + "WHERE o.account.name IN :qualifiedNames ")
 })
 @Table(name = "che_organization")
 public class OrganizationImpl implements Organization {
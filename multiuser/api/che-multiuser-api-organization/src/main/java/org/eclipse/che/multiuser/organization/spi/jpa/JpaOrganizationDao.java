@@ -13,9 +13,12 @@ package org.eclipse.che.multiuser.organization.spi.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparingInt;
 import static java.util.Objects.requireNonNull;
 
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
 import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -175,6 +178,32 @@ public class JpaOrganizationDao implements OrganizationDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<OrganizationImpl> getParents(String qualifiedName) throws ServerException {
+    requireNonNull(qualifiedName, "Required non-null qualified name");
+    final List<String> parentsQualifiedNames = new ArrayList<>();
+    for (int i = qualifiedName.indexOf('/'); i != -1; i = qualifiedName.indexOf('/', i + 1)) {
+      parentsQualifiedNames.add(qualifiedName.substring(0, i));
+    }
+    if (parentsQualifiedNames.isEmpty()) {
+      return emptyList();
+    }
+    try {
+      final List<OrganizationImpl> parents =
+          new ArrayList<>(
+              managerProvider
+                  .get()
+                  .createNamedQuery("Organization.getByQualifiedNames", OrganizationImpl.class)
+                  .setParameter("qualifiedNames", parentsQualifiedNames)
+                  .getResultList());
+      parents.sort(comparingInt(o -> o.getQualifiedName().length()));
+      return parents;
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getLocalizedMessage(), e);
+    }
+  }
+
   @Transactional
   protected void doCreate(OrganizationImpl organization) {
     EntityManager manager = managerProvider.get();
@@ -12,9 +12,11 @@
 package org.eclipse.che.multiuser.organization.spi.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 
 import com.google.inject.persist.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -105,6 +107,30 @@ public class JpaOrganizationDistributedResourcesDao implements OrganizationDistr
     }
   }
 
+  @Override
+  @Transactional
+  public List<OrganizationDistributedResourcesImpl> getByOrganizations(
+      Collection<String> organizationIds) throws ServerException {
+    requireNonNull(organizationIds, "Required non-null organizations ids");
+    if (organizationIds.isEmpty()) {
+      return emptyList();
+    }
+    try {
+      return managerProvider
+          .get()
+          .createNamedQuery(
+              "OrganizationDistributedResources.getByOrganizations",
+              OrganizationDistributedResourcesImpl.class)
+          .setParameter("organizationIds", organizationIds)
+          .getResultList()
+          .stream()
+          .map(OrganizationDistributedResourcesImpl::new)
+          .collect(Collectors.toList());
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
   @Override
   public void remove(String organizationId) throws ServerException {
     requireNonNull(organizationId, "Required non-null organization id");
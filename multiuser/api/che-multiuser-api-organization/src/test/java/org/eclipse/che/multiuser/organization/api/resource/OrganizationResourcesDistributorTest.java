@@ -28,8 +28,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
+import com.google.common.collect.ImmutableMap;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
@@ -68,6 +70,7 @@ public class OrganizationResourcesDistributorTest {
   @Mock private ResourceManager resourceManager;
   @Mock private ResourceAggregator resourceAggregator;
   @Mock private OrganizationManager organizationManager;
+  @Mock private SuborganizationResourcesProvider suborganizationResourcesProvider;
 
   @Spy @InjectMocks private OrganizationResourcesDistributor manager;
 
@@ -94,6 +97,7 @@ public class OrganizationResourcesDistributorTest {
     // then
     verify(manager).checkResourcesAvailability(ORG_ID, toCap);
     verify(distributedResourcesDao).store(new OrganizationDistributedResourcesImpl(ORG_ID, toCap));
+    verify(suborganizationResourcesProvider).invalidateCache();
     verify(resourcesLocks).lock(ORG_ID);
     verify(lock).close();
   }
@@ -123,6 +127,7 @@ public class OrganizationResourcesDistributorTest {
     // then
     verify(manager, never()).checkResourcesAvailability(anyString(), any());
     verify(distributedResourcesDao).remove(ORG_ID);
+    verify(suborganizationResourcesProvider).invalidateCache();
     verify(resourcesLocks).lock(ORG_ID);
     verify(lock).close();
   }
@@ -193,6 +198,25 @@ public class OrganizationResourcesDistributorTest {
     manager.getResourcesCaps(null);
   }
 
+  @Test
+  public void shouldGetResourcesCapsByOrganizations() throws Exception {
+    // given
+    final OrganizationDistributedResourcesImpl distributedResources =
+        createDistributedResources(1000);
+    doReturn(singletonList(distributedResources))
+        .when(distributedResourcesDao)
+        .getByOrganizations(any());
+
+    // when
+    final Map<String, List<? extends Resource>> fetchedResourcesCaps =
+        manager.getResourcesCapsByOrganizations(asList(ORG_ID, "organization234"));
+
+    // then
+    assertEquals(
+        fetchedResourcesCaps, ImmutableMap.of(ORG_ID, distributedResources.getResourcesCap()));
+    verify(distributedResourcesDao).getByOrganizations(asList(ORG_ID, "organization234"));
+  }
+
   @Test
   public void shouldResourceAvailabilityCappingResourcesWhenResourceCapIsLessThanUsedOne()
       throws Exception {
@@ -13,23 +13,30 @@ package org.eclipse.che.multiuser.organization.api.resource;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableMap;
 import java.util.List;
 import javax.inject.Provider;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.multiuser.organization.api.OrganizationManager;
 import org.eclipse.che.multiuser.organization.shared.model.Organization;
 import org.eclipse.che.multiuser.organization.spi.impl.OrganizationImpl;
+import org.eclipse.che.multiuser.resource.api.event.FreeResourcesLimitChangedEvent;
 import org.eclipse.che.multiuser.resource.api.usage.ResourceManager;
 import org.eclipse.che.multiuser.resource.model.ProvidedResources;
 import org.eclipse.che.multiuser.resource.spi.impl.ProvidedResourcesImpl;
@@ -108,7 +115,12 @@ public class SuborganizationResourcesProviderTest {
   public void shouldProvideResourcesForSuborganizationalAccount() throws Exception {
     // given
     when(account.getType()).thenReturn(OrganizationImpl.ORGANIZATIONAL_ACCOUNT);
+    when(organization.getId()).thenReturn("organization123");
     when(organization.getParent()).thenReturn("parentOrg");
+    when(organization.getQualifiedName()).thenReturn("parentOrgName/orgName");
+    doReturn(singletonList(new OrganizationImpl("parentOrg", "parentOrgName", null)))
+        .when(organizationManager)
+        .getParents(anyString());
     final ResourceImpl parentNotCapedResource = new ResourceImpl("test", 1234, "unit");
     final ResourceImpl parentCapedResource = new ResourceImpl("caped", 20, "unit");
     final ResourceImpl parentUnlimitedCapedResource = new ResourceImpl("unlimited", -1, "unit");
@@ -118,9 +130,11 @@ public class SuborganizationResourcesProviderTest {
 
     final ResourceImpl capedResourceCap = new ResourceImpl("caped", 10, "unit");
     final ResourceImpl unlimitedCapedResourceCap = new ResourceImpl("unlimited", 40, "unit");
-    doReturn(asList(capedResourceCap, unlimitedCapedResourceCap))
+    doReturn(
+            ImmutableMap.of(
+                "organization123", asList(capedResourceCap, unlimitedCapedResourceCap)))
         .when(resourcesDistributor)
-        .getResourcesCaps(any());
+        .getResourcesCapsByOrganizations(any());
 
     // when
     final List<ProvidedResources> providedResources =
@@ -139,18 +153,24 @@ public class SuborganizationResourcesProviderTest {
             asList(parentNotCapedResource, capedResourceCap, unlimitedCapedResourceCap)));
     verify(accountManager).getById("organization123");
     verify(organizationManager).getById("organization123");
-    verify(resourcesDistributor).getResourcesCaps("organization123");
+    verify(organizationManager).getParents("parentOrgName/orgName");
+    verify(resourcesDistributor).getResourcesCapsByOrganizations(singletonList("organization123"));
     verify(resourceManager).getTotalResources("parentOrg");
   }
 
   @Test
-  public void shouldNotProvideResourcesForOrganizationalAccountIfItDoesNotHaveDistributedResources()
+  public void shouldNotProvideResourcesForOrganizationalAccountIfParentDoesNotHaveResources()
       throws Exception {
     // given
     when(account.getType()).thenReturn(OrganizationImpl.ORGANIZATIONAL_ACCOUNT);
+    when(organization.getId()).thenReturn("organization123");
     when(organization.getParent()).thenReturn("parentOrg");
-    doReturn(emptyList()).when(resourcesDistributor).getResourcesCaps(any());
-    doReturn(emptyList()).when(resourceManager).getAvailableResources(anyString());
+    when(organization.getQualifiedName()).thenReturn("parentOrgName/orgName");
+    doReturn(singletonList(new OrganizationImpl("parentOrg", "parentOrgName", null)))
+        .when(organizationManager)
+        .getParents(anyString());
+    doReturn(emptyMap()).when(resourcesDistributor).getResourcesCapsByOrganizations(any());
+    doReturn(emptyList()).when(resourceManager).getTotalResources(anyString());
 
     // when
     final List<ProvidedResources> providedResources =
@@ -160,7 +180,104 @@ public class SuborganizationResourcesProviderTest {
     assertTrue(providedResources.isEmpty());
     verify(accountManager).getById("organization123");
     verify(organizationManager).getById("organization123");
-    verify(resourcesDistributor, never()).getResourcesCaps("organization123");
     verify(resourceManager).getTotalResources("parentOrg");
   }
+
+  @Test
+  public void shouldCalculateResourcesOfWholeParentsChainStartingFromRoot() throws Exception {
+    // given
+    when(account.getType()).thenReturn(OrganizationImpl.ORGANIZATIONAL_ACCOUNT);
+    when(organization.getId()).thenReturn("organization123");
+    when(organization.getParent()).thenReturn("middleOrg");
+    when(organization.getQualifiedName()).thenReturn("rootOrgName/middleOrgName/orgName");
+    doReturn(
+            asList(
+                new OrganizationImpl("rootOrg", "rootOrgName", null),
+                new OrganizationImpl("middleOrg", "rootOrgName/middleOrgName", "rootOrg")))
+        .when(organizationManager)
+        .getParents(anyString());
+    final ResourceImpl rootResource = new ResourceImpl("test", 1000, "unit");
+    final ResourceImpl middleResourceCap = new ResourceImpl("test", 100, "unit");
+    final ResourceImpl resourceCap = new ResourceImpl("test", 10, "unit");
+    doReturn(
+            ImmutableMap.of(
+                "middleOrg", singletonList(middleResourceCap),
+                "organization123", singletonList(resourceCap)))
+        .when(resourcesDistributor)
+        .getResourcesCapsByOrganizations(any());
+    doReturn(singletonList(rootResource)).when(resourceManager).getTotalResources("rootOrg");
+    // the middle organization total resources are calculated by resource manager
+    // with the help of the cached resources provided by the root organization
+    doAnswer(
+            invocation ->
+                suborganizationResourcesProvider
+                    .getResources("middleOrg")
+                    .get(0)
+                    .getResources())
+        .when(resourceManager)
+        .getTotalResources("middleOrg");
+
+    // when
+    final List<ProvidedResources> providedResources =
+        suborganizationResourcesProvider.getResources("organization123");
+
+    // then
+    assertEquals(providedResources.size(), 1);
+    assertEquals(providedResources.get(0).getResources(), singletonList(resourceCap));
+    verify(resourcesDistributor)
+        .getResourcesCapsByOrganizations(asList("middleOrg", "organization123"));
+    verify(organizationManager, never()).getById("middleOrg");
+    verify(accountManager, never()).getById("middleOrg");
+  }
+
+  @Test
+  public void shouldReturnCachedResources() throws Exception {
+    // given
+    when(account.getType()).thenReturn(OrganizationImpl.ORGANIZATIONAL_ACCOUNT);
+    when(organization.getParent()).thenReturn(null);
+    suborganizationResourcesProvider.getResources("organization123");
+
+    // when
+    final List<ProvidedResources> providedResources =
+        suborganizationResourcesProvider.getResources("organization123");
+
+    // then
+    assertTrue(providedResources.isEmpty());
+    verify(accountManager).getById("organization123");
+    verify(organizationManager).getById("organization123");
+  }
+
+  @Test
+  public void shouldRecalculateResourcesAfterCacheInvalidation() throws Exception {
+    // given
+    when(account.getType()).thenReturn(OrganizationImpl.ORGANIZATIONAL_ACCOUNT);
+    when(organization.getParent()).thenReturn(null);
+    suborganizationResourcesProvider.getResources("organization123");
+
+    // when
+    suborganizationResourcesProvider.invalidateCache();
+    suborganizationResourcesProvider.getResources("organization123");
+
+    // then
+    verify(accountManager, times(2)).getById("organization123");
+    verify(organizationManager, times(2)).getById("organization123");
+  }
+
+  @Test
+  public void shouldRecalculateResourcesAfterFreeResourcesLimitChange() throws Exception {
+    // given
+    final EventService eventService = new EventService();
+    suborganizationResourcesProvider.subscribe(eventService);
+    when(account.getType()).thenReturn(OrganizationImpl.ORGANIZATIONAL_ACCOUNT);
+    when(organization.getParent()).thenReturn(null);
+    suborganizationResourcesProvider.getResources("organization123");
+
+    // when
+    eventService.publish(new FreeResourcesLimitChangedEvent("parentOrg"));
+    suborganizationResourcesProvider.getResources("organization123");
+
+    // then
+    verify(accountManager, times(2)).getById("organization123");
+    verify(organizationManager, times(2)).getById("organization123");
+  }
 }
@@ -251,6 +251,33 @@ public class OrganizationDaoTest {
     assertEquals(suborganizations.size(), 3);
   }
 
+  @Test
+  public void shouldGetParentsOrderedFromRoot() throws Exception {
+    final OrganizationImpl root = organizations[0];
+    final OrganizationImpl child1 =
+        new OrganizationImpl("child1", root.getQualifiedName() + "/childTest1", root.getId());
+    final OrganizationImpl child2 =
+        new OrganizationImpl("child2", child1.getQualifiedName() + "/childTest2", child1.getId());
+    final OrganizationImpl child3 =
+        new OrganizationImpl("child3", root.getQualifiedName() + "/childTest3", root.getId());
+    tckRepository.createAll(asList(child1, child2, child3));
+
+    final List<OrganizationImpl> parents =
+        organizationDao.getParents(child2.getQualifiedName() + "/childTest4");
+
+    assertEquals(parents, asList(root, child1, child2));
+  }
+
+  @Test
+  public void shouldReturnEmptyListWhenGettingParentsOfRootOrganization() throws Exception {
+    assertTrue(organizationDao.getParents(organizations[0].getQualifiedName()).isEmpty());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNpeOnGettingParentsByNullQualifiedName() throws Exception {
+    organizationDao.getParents(null);
+  }
+
   private static <T> T notFoundToNull(Callable<T> action) throws Exception {
     try {
       return action.call();
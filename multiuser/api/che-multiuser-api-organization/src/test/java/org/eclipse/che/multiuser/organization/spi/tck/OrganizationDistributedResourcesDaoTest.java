@@ -17,6 +17,7 @@ import static org.testng.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import javax.inject.Inject;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
@@ -154,6 +155,31 @@ public class OrganizationDistributedResourcesDaoTest {
             ^ children.getItems().contains(copy(distributedResources[2])));
   }
 
+  @Test
+  public void shouldGetDistributedResourcesByOrganizations() throws Exception {
+    final List<OrganizationDistributedResourcesImpl> fetched =
+        distributedResourcesDao.getByOrganizations(
+            Arrays.asList(
+                distributedResources[0].getOrganizationId(),
+                distributedResources[2].getOrganizationId(),
+                parentOrganization.getId()));
+
+    assertEquals(fetched.size(), 2);
+    assertTrue(fetched.contains(copy(distributedResources[0])));
+    assertTrue(fetched.contains(copy(distributedResources[2])));
+  }
+
+  @Test
+  public void shouldReturnEmptyListWhenGettingDistributedResourcesByEmptyOrganizations()
+      throws Exception {
+    assertTrue(distributedResourcesDao.getByOrganizations(Collections.emptyList()).isEmpty());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNpeWhenGettingDistributedResourcesByNullOrganizations() throws Exception {
+    distributedResourcesDao.getByOrganizations(null);
+  }
+
   @Test(expectedExceptions = NullPointerException.class)
   public void shouldThrowNpeWhenGettingDistributedResourcesByNullParentId() throws Exception {
     // when
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.event;
+
+/** Published after free resources limit of account is stored or removed. */
+public class FreeResourcesLimitChangedEvent {
+
+  private final String accountId;
+
+  public FreeResourcesLimitChangedEvent(String accountId) {
+    this.accountId = accountId;
+  }
+
+  /** Returns id of account whose free resources limit is changed. */
+  public String getAccountId() {
+    return accountId;
+  }
+}
@@ -19,6 +19,8 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.multiuser.resource.api.event.FreeResourcesLimitChangedEvent;
 import org.eclipse.che.multiuser.resource.model.FreeResourcesLimit;
 import org.eclipse.che.multiuser.resource.spi.FreeResourcesLimitDao;
 import org.eclipse.che.multiuser.resource.spi.impl.FreeResourcesLimitImpl;
@@ -32,10 +34,13 @@ import org.eclipse.che.multiuser.resource.spi.impl.FreeResourcesLimitImpl;
 @Singleton
 public class FreeResourcesLimitManager {
   private final FreeResourcesLimitDao freeResourcesLimitDao;
+  private final EventService eventService;
 
   @Inject
-  public FreeResourcesLimitManager(FreeResourcesLimitDao freeResourcesLimitDao) {
+  public FreeResourcesLimitManager(
+      FreeResourcesLimitDao freeResourcesLimitDao, EventService eventService) {
     this.freeResourcesLimitDao = freeResourcesLimitDao;
+    this.eventService = eventService;
   }
 
   /**
@@ -53,6 +58,7 @@ public class FreeResourcesLimitManager {
     requireNonNull(freeResourcesLimit, "Required non-null free resources limit");
     final FreeResourcesLimitImpl toStore = new FreeResourcesLimitImpl(freeResourcesLimit);
     freeResourcesLimitDao.store(toStore);
+    eventService.publish(new FreeResourcesLimitChangedEvent(toStore.getAccountId()));
     return toStore;
   }
 
@@ -85,6 +91,7 @@ public class FreeResourcesLimitManager {
   public void remove(String accountId) throws ServerException {
     requireNonNull(accountId, "Required non-null account id");
     freeResourcesLimitDao.remove(accountId);
+    eventService.publish(new FreeResourcesLimitChangedEvent(accountId));
   }
 
   /**
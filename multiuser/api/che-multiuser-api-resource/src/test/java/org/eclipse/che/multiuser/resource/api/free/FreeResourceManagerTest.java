@@ -19,7 +19,9 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.multiuser.resource.api.event.FreeResourcesLimitChangedEvent;
 import org.eclipse.che.multiuser.resource.model.FreeResourcesLimit;
 import org.eclipse.che.multiuser.resource.shared.dto.FreeResourcesLimitDto;
 import org.eclipse.che.multiuser.resource.shared.dto.ResourceDto;
@@ -42,6 +44,7 @@ public class FreeResourceManagerTest {
   private static final String TEST_RESOURCE_TYPE = "Test";
 
   @Mock private FreeResourcesLimitDao freeResourcesLimitDao;
+  @Mock private EventService eventService;
 
   @InjectMocks private FreeResourcesLimitManager manager;
 
@@ -68,6 +71,7 @@ public class FreeResourceManagerTest {
     // then
     assertEquals(storedLimit, resourcesLimitImpl);
     verify(freeResourcesLimitDao).store(resourcesLimitImpl);
+    verify(eventService).publish(any(FreeResourcesLimitChangedEvent.class));
   }
 
   @Test(
@@ -110,6 +114,7 @@ public class FreeResourceManagerTest {
 
     // then
     verify(freeResourcesLimitDao).remove("account123");
+    verify(eventService).publish(any(FreeResourcesLimitChangedEvent.class));
   }
 
   @Test(
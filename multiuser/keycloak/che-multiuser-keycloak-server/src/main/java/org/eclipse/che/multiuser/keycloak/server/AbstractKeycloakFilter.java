@@ -11,7 +11,6 @@
  */
 package org.eclipse.che.multiuser.keycloak.server;
 
-import io.jsonwebtoken.JwtParser;
 import java.io.IOException;
 import javax.inject.Inject;
 import javax.servlet.Filter;
@@ -27,12 +26,12 @@ import javax.servlet.http.HttpServletResponse;
  */
 public abstract class AbstractKeycloakFilter implements Filter {
 
-  @Inject protected JwtParser jwtParser;
+  @Inject protected KeycloakJwtVerifier jwtVerifier;
 
   /** when a request came from a machine with valid token then auth is not required */
   boolean shouldSkipAuthentication(String token) {
     try {
-      jwtParser.parse(token);
+      jwtVerifier.verify(token);
       return false;
     } catch (MachineTokenJwtException e) {
       return true;
@@ -56,7 +56,7 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
         chain.doFilter(req, res);
         return;
       }
-      jwt = jwtParser.parseClaimsJws(token);
+      jwt = jwtVerifier.verify(token);
       LOG.debug("JWT = ", jwt);
       // OK, we can trust this JWT
     } catch (ExpiredJwtException e) {
@@ -42,6 +42,13 @@ import org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants;
 /**
  * Sets subject attribute into session based on keycloak authentication data.
  *
+ * <p>Sessions are never created by this filter. If the caller already has a session then the
+ * subject is kept in it, otherwise the subject is resolved through {@link KeycloakSubjectCache} so
+ * that stateless clients (e.g. API clients or workspace agents using bearer tokens) neither bloat
+ * the session store nor trigger a user lookup on each request. Web socket connections find the
+ * subject of their handshake request in the same cache, see {@link
+ * KeycloakWebSocketSubjectResolver}.
+ *
  * @author Max Shaposhnik (mshaposhnik@redhat.com)
  */
 @Singleton
@@ -52,6 +59,7 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
   private final PermissionChecker permissionChecker;
   private final KeycloakSettings keycloakSettings;
   private final KeycloakProfileRetriever keycloakProfileRetriever;
+  private final KeycloakSubjectCache subjectCache;
 
   @Inject
   public KeycloakEnvironmentInitalizationFilter(
@@ -59,12 +67,14 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
       KeycloakProfileRetriever keycloakProfileRetriever,
       RequestTokenExtractor tokenExtractor,
       PermissionChecker permissionChecker,
-      KeycloakSettings settings) {
+      KeycloakSettings settings,
+      KeycloakSubjectCache subjectCache) {
     this.userManager = userManager;
     this.tokenExtractor = tokenExtractor;
     this.permissionChecker = permissionChecker;
     this.keycloakSettings = settings;
     this.keycloakProfileRetriever = keycloakProfileRetriever;
+    this.subjectCache = subjectCache;
   }
 
   @Override
@@ -78,12 +88,18 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
       return;
     }
 
-    final HttpSession session = httpRequest.getSession();
-    Subject subject = (Subject) session.getAttribute("che_subject");
+    final HttpSession session = httpRequest.getSession(false);
+    final Subject sessionSubject =
+        session == null ? null : (Subject) session.getAttribute("che_subject");
+    Subject subject = sessionSubject;
     if (subject == null || !subject.getToken().equals(token)) {
+      subject = subjectCache.get(token);
+    }
+    if (subject == null) {
       Jwt jwtToken = (Jwt) httpRequest.getAttribute("token");
       if (jwtToken == null) {
         sendError(response, 401, "Cannot detect or instantiate user.");
+        return;
       }
       Claims claims = (Claims) jwtToken.getBody();
 
@@ -129,12 +145,15 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
         subject =
             new AuthorizedSubject(
                 new SubjectImpl(user.getName(), user.getId(), token, false), permissionChecker);
-        session.setAttribute("che_subject", subject);
+        subjectCache.put(token, subject, claims.getExpiration());
       } catch (ServerException | ConflictException e) {
         throw new ServletException(
             "Unable to identify user " + claims.getSubject() + " in Che database", e);
       }
     }
+    if (session != null && subject != sessionSubject) {
+      session.setAttribute("che_subject", subject);
+    }
 
     try {
       EnvironmentContext.getCurrent().setSubject(subject);
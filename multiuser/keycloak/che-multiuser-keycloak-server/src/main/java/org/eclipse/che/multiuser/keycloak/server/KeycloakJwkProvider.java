@@ -11,32 +11,58 @@
  */
 package org.eclipse.che.multiuser.keycloak.server;
 
-import com.auth0.jwk.GuavaCachedJwkProvider;
+import com.auth0.jwk.JwkException;
 import com.auth0.jwk.JwkProvider;
 import com.auth0.jwk.UrlJwkProvider;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.eclipse.che.inject.ConfigurationException;
 import org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-/** Constructs {@link UrlJwkProvider} based on Jwk endpoint from keycloak settings */
+/**
+ * Constructs {@link KeycloakJwksCache} based on Jwk endpoint from keycloak settings and refreshes
+ * it periodically in background.
+ */
+@Singleton
 public class KeycloakJwkProvider implements Provider<JwkProvider> {
 
-  private final JwkProvider jwkProvider;
+  private static final Logger LOG = LoggerFactory.getLogger(KeycloakJwkProvider.class);
+
+  private final KeycloakJwksCache jwkProvider;
 
   @Inject
-  public KeycloakJwkProvider(KeycloakSettings keycloakSettings) throws MalformedURLException {
+  public KeycloakJwkProvider(
+      KeycloakSettings keycloakSettings,
+      @Named("che.keycloak.jwks.min_refresh_interval_sec") long minRefreshIntervalSec)
+      throws MalformedURLException {
     final String jwksUrl = keycloakSettings.get().get(KeycloakConstants.JWKS_ENDPOINT_SETTING);
     if (jwksUrl == null) {
       throw new ConfigurationException("Jwks endpoint url not found in keycloak settings");
     }
-    this.jwkProvider = new GuavaCachedJwkProvider(new UrlJwkProvider(new URL(jwksUrl)));
+    this.jwkProvider =
+        new KeycloakJwksCache(
+            new UrlJwkProvider(new URL(jwksUrl)), minRefreshIntervalSec, TimeUnit.SECONDS);
   }
 
   @Override
   public JwkProvider get() {
     return jwkProvider;
   }
+
+  @ScheduleDelay(delayParameterName = "che.keycloak.jwks.refresh_period_sec")
+  void refresh() {
+    try {
+      jwkProvider.refresh();
+    } catch (JwkException e) {
+      LOG.warn("Unable to refresh JWKS: {}", e.getMessage());
+    }
+  }
 }
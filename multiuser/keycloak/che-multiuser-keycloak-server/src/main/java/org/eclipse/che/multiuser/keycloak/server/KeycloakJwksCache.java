@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkException;
+import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwk.UrlJwkProvider;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link JwkProvider} that keeps all the keys of the JWKS endpoint in memory.
+ *
+ * <p>Lookups of known keys never block and never go to the endpoint. The key set is refreshed
+ * periodically by {@link #refresh()} and on demand when a key with unknown id is requested, e.g.
+ * right after the keys rotation on the OIDC provider side. On demand refreshes are rate limited so
+ * that tokens signed with unknown keys can't be used to flood the JWKS endpoint.
+ */
+public class KeycloakJwksCache implements JwkProvider {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KeycloakJwksCache.class);
+
+  private final UrlJwkProvider source;
+  private final long minRefreshIntervalMillis;
+  private final Object refreshLock = new Object();
+
+  private volatile Map<String, Jwk> keys = emptyMap();
+  private volatile long lastRefreshMillis;
+
+  /**
+   * Creates JWKS cache.
+   *
+   * @param source provider of the whole key set of the JWKS endpoint
+   * @param minRefreshInterval minimal time between two refreshes triggered by unknown key id
+   * @param unit time unit of the {@code minRefreshInterval}
+   */
+  public KeycloakJwksCache(UrlJwkProvider source, long minRefreshInterval, TimeUnit unit) {
+    this.source = source;
+    this.minRefreshIntervalMillis = unit.toMillis(minRefreshInterval);
+  }
+
+  @Override
+  public Jwk get(String keyId) throws JwkException {
+    Jwk jwk = keys.get(keyId);
+    if (jwk != null) {
+      return jwk;
+    }
+    synchronized (refreshLock) {
+      // the key set might have been refreshed while waiting for the lock
+      jwk = keys.get(keyId);
+      if (jwk == null
+          && System.currentTimeMillis() - lastRefreshMillis >= minRefreshIntervalMillis) {
+        LOG.debug("Refreshing JWKS since key with id '{}' is not found", keyId);
+        doRefresh();
+        jwk = keys.get(keyId);
+      }
+    }
+    if (jwk == null) {
+      throw new SigningKeyNotFoundException("No key found with kid " + keyId, null);
+    }
+    return jwk;
+  }
+
+  /**
+   * Fetches the key set from the JWKS endpoint and replaces the cached one.
+   *
+   * @throws JwkException when the key set can't be fetched
+   */
+  public void refresh() throws JwkException {
+    synchronized (refreshLock) {
+      doRefresh();
+    }
+  }
+
+  private void doRefresh() throws JwkException {
+    lastRefreshMillis = System.currentTimeMillis();
+    final List<Jwk> fetched = source.getAll();
+    final Map<String, Jwk> refreshed = new HashMap<>();
+    for (Jwk jwk : fetched) {
+      if (jwk.getId() != null) {
+        refreshed.put(jwk.getId(), jwk);
+      }
+    }
+    keys = unmodifiableMap(refreshed);
+  }
+}
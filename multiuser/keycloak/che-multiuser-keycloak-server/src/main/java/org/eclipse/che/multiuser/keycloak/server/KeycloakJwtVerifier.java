@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import java.util.Date;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Verifies Keycloak tokens and caches the verified ones.
+ *
+ * <p>The same token is usually checked several times per request (by each of the Keycloak filters)
+ * and is reused by the client for many requests, so the signature verification result is cached
+ * by the SHA-256 digest of the token until the token expires. Tokens without expiration time are
+ * never cached. The cache is lock free for readers, so tokens can be verified in parallel.
+ */
+@Singleton
+public class KeycloakJwtVerifier {
+
+  private final JwtParser jwtParser;
+  private final Cache<String, Jws<Claims>> verified;
+
+  @Inject
+  public KeycloakJwtVerifier(
+      JwtParser jwtParser, @Named("che.keycloak.verified_token_cache.max_size") long maxSize) {
+    this.jwtParser = jwtParser;
+    this.verified = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * Verifies the signature and claims of the given token.
+   *
+   * @param token token to verify
+   * @return verified token
+   * @throws MachineTokenJwtException when the given token is a machine token
+   * @throws JwtException when the given token is not valid
+   * @throws IllegalArgumentException when the given token is null or empty
+   */
+  public Jws<Claims> verify(String token) throws JwtException {
+    checkArgument(!isNullOrEmpty(token), "JWT String argument cannot be null or empty.");
+    final String key = Hashing.sha256().hashString(token, UTF_8).toString();
+    Jws<Claims> jws = verified.getIfPresent(key);
+    if (jws != null) {
+      if (isCacheable(jws)) {
+        return jws;
+      }
+      verified.invalidate(key);
+    }
+
+    jws = jwtParser.parseClaimsJws(token);
+    if (isCacheable(jws)) {
+      verified.put(key, jws);
+    }
+    return jws;
+  }
+
+  private static boolean isCacheable(Jws<Claims> jws) {
+    final Date expiration = jws.getBody().getExpiration();
+    return expiration != null && expiration.getTime() > System.currentTimeMillis();
+  }
+}
@@ -55,7 +55,7 @@ public class KeycloakSigningKeyResolver extends SigningKeyResolverAdapter {
     return getJwtPublicKey(header);
   }
 
-  private synchronized PublicKey getJwtPublicKey(JwsHeader<?> header) {
+  private PublicKey getJwtPublicKey(JwsHeader<?> header) {
     String kid = header.getKeyId();
     if (header.getKeyId() == null) {
       LOG.warn(
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.subject.Subject;
+
+/**
+ * Bounded cache of the subjects resolved from Keycloak tokens.
+ *
+ * <p>Allows to identify stateless callers (which don't keep an HTTP session) without creating a
+ * session per request and without looking up the user on every call. Entries are keyed by the
+ * SHA-256 digest of the token, so raw tokens are never kept as keys, and are evicted as soon as the
+ * token expires or the configured time to live is reached, whichever comes first.
+ */
+@Singleton
+public class KeycloakSubjectCache {
+
+  private final Cache<String, CachedSubject> subjects;
+
+  @Inject
+  public KeycloakSubjectCache(
+      @Named("che.keycloak.subject_cache.max_size") long maxSize,
+      @Named("che.keycloak.subject_cache.max_ttl_sec") long maxTtlSec) {
+    this.subjects =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(maxTtlSec, TimeUnit.SECONDS)
+            .build();
+  }
+
+  /**
+   * Returns the subject cached for the given token or null if there is no subject for the token or
+   * the token has already expired.
+   */
+  @Nullable
+  public Subject get(String token) {
+    final String key = digest(token);
+    final CachedSubject cached = subjects.getIfPresent(key);
+    if (cached == null) {
+      return null;
+    }
+    if (cached.isExpired(System.currentTimeMillis())) {
+      subjects.invalidate(key);
+      return null;
+    }
+    return cached.subject;
+  }
+
+  /**
+   * Caches the subject for the given token.
+   *
+   * @param token token the subject is resolved from
+   * @param subject subject to cache
+   * @param expiration expiration time of the token, if null then the entry lives until the
+   *     configured time to live is reached
+   */
+  public void put(String token, Subject subject, @Nullable Date expiration) {
+    final long expiresAt = expiration == null ? Long.MAX_VALUE : expiration.getTime();
+    if (expiresAt <= System.currentTimeMillis()) {
+      return;
+    }
+    subjects.put(digest(token), new CachedSubject(subject, expiresAt));
+  }
+
+  /** Removes all the cached subjects. */
+  public void invalidateAll() {
+    subjects.invalidateAll();
+  }
+
+  @VisibleForTesting
+  long size() {
+    return subjects.size();
+  }
+
+  private static String digest(String token) {
+    return Hashing.sha256().hashString(token, UTF_8).toString();
+  }
+
+  private static class CachedSubject {
+    private final Subject subject;
+    private final long expiresAt;
+
+    private CachedSubject(Subject subject, long expiresAt) {
+      this.subject = subject;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired(long now) {
+      return expiresAt <= now;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.websocket.server.HandshakeRequest;
+import javax.ws.rs.core.HttpHeaders;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSubjectResolver;
+import org.eclipse.che.commons.subject.Subject;
+
+/**
+ * Resolves the subject of a web socket connection from the token of its handshake request.
+ *
+ * <p>The handshake request passes {@link KeycloakEnvironmentInitalizationFilter} like any other
+ * request, so the subject of its token is already in {@link KeycloakSubjectCache} and no HTTP
+ * session is needed to keep it. The token is taken from the {@code token} query parameter, which
+ * is used by browsers, or from the {@code Authorization} header.
+ */
+@Singleton
+public class KeycloakWebSocketSubjectResolver implements WebSocketSubjectResolver {
+
+  private final KeycloakSubjectCache subjectCache;
+
+  @Inject
+  public KeycloakWebSocketSubjectResolver(KeycloakSubjectCache subjectCache) {
+    this.subjectCache = subjectCache;
+  }
+
+  @Override
+  public Subject resolve(HandshakeRequest request) {
+    final String token = getToken(request);
+    return token == null ? null : subjectCache.get(token);
+  }
+
+  private String getToken(HandshakeRequest request) {
+    final List<String> tokens = request.getParameterMap().get("token");
+    if (tokens != null && !tokens.isEmpty() && !tokens.get(0).isEmpty()) {
+      return tokens.get(0);
+    }
+    final List<String> authorization = request.getHeaders().get(HttpHeaders.AUTHORIZATION);
+    if (authorization == null || authorization.isEmpty()) {
+      return null;
+    }
+    final String header = authorization.get(0);
+    return header.toLowerCase().startsWith("bearer ") ? header.substring(7) : header;
+  }
+}
@@ -15,6 +15,7 @@ import com.auth0.jwk.JwkProvider;
 import com.google.inject.AbstractModule;
 import io.jsonwebtoken.JwtParser;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSubjectResolver;
 import org.eclipse.che.api.user.server.TokenValidator;
 import org.eclipse.che.api.user.server.spi.ProfileDao;
 import org.eclipse.che.multiuser.api.account.personal.PersonalAccountUserManager;
@@ -23,6 +24,7 @@ import org.eclipse.che.multiuser.keycloak.server.KeycloakJwkProvider;
 import org.eclipse.che.multiuser.keycloak.server.KeycloakJwtParserProvider;
 import org.eclipse.che.multiuser.keycloak.server.KeycloakTokenValidator;
 import org.eclipse.che.multiuser.keycloak.server.KeycloakUserManager;
+import org.eclipse.che.multiuser.keycloak.server.KeycloakWebSocketSubjectResolver;
 import org.eclipse.che.multiuser.keycloak.server.dao.KeycloakProfileDao;
 import org.eclipse.che.security.oauth.OAuthAPI;
 
@@ -39,6 +41,7 @@ public class KeycloakModule extends AbstractModule {
     bind(JwkProvider.class).toProvider(KeycloakJwkProvider.class);
     bind(JwtParser.class).toProvider(KeycloakJwtParserProvider.class);
     bind(PersonalAccountUserManager.class).to(KeycloakUserManager.class);
+    bind(WebSocketSubjectResolver.class).to(KeycloakWebSocketSubjectResolver.class);
 
     bind(OAuthAPI.class).toProvider(OAuthAPIProvider.class);
   }
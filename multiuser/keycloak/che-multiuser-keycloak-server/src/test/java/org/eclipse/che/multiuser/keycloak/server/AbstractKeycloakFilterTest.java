@@ -18,8 +18,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
-import io.jsonwebtoken.Jwt;
-import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jws;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
@@ -41,7 +40,7 @@ import org.testng.annotations.Test;
 public class AbstractKeycloakFilterTest {
 
   @Mock private HttpServletRequest request;
-  @Mock private JwtParser jwtParser;
+  @Mock private KeycloakJwtVerifier jwtVerifier;
 
   @InjectMocks private TestLoginFilter abstractKeycloakFilter;
 
@@ -57,14 +56,14 @@ public class AbstractKeycloakFilterTest {
 
   @Test
   public void testShouldNotSkipAuthWhenProvidedTokenIsNotMachine() {
-    Jwt mock = Mockito.mock(Jwt.class);
-    doReturn(mock).when(jwtParser).parse(anyString());
+    Jws mock = Mockito.mock(Jws.class);
+    doReturn(mock).when(jwtVerifier).verify(anyString());
     assertFalse(abstractKeycloakFilter.shouldSkipAuthentication("token"));
   }
 
   @Test
   public void testAuthIsNotNeededWhenMachineTokenProvided() {
-    when(jwtParser.parse(anyString())).thenThrow(MachineTokenJwtException.class);
+    when(jwtVerifier.verify(anyString())).thenThrow(MachineTokenJwtException.class);
     assertTrue(abstractKeycloakFilter.shouldSkipAuthentication("token"));
   }
 
@@ -20,7 +20,6 @@ import static org.mockito.Mockito.when;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.JwtParser;
 import java.lang.reflect.Field;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletOutputStream;
@@ -38,7 +37,7 @@ import org.testng.annotations.Test;
 public class KeycloakAuthenticationFilterTest {
 
   @Mock private RequestTokenExtractor tokenExtractor;
-  @Mock private JwtParser jwtParser;
+  @Mock private KeycloakJwtVerifier jwtVerifier;
   @Mock private ServletOutputStream servletOutputStream;
   @Mock private HttpServletRequest request;
   @Mock private HttpServletResponse response;
@@ -51,9 +50,9 @@ public class KeycloakAuthenticationFilterTest {
     MockitoAnnotations.initMocks(this);
 
     authenticationFilter = new KeycloakAuthenticationFilter(tokenExtractor);
-    Field parser = authenticationFilter.getClass().getSuperclass().getDeclaredField("jwtParser");
+    Field parser = authenticationFilter.getClass().getSuperclass().getDeclaredField("jwtVerifier");
     parser.setAccessible(true);
-    parser.set(authenticationFilter, jwtParser);
+    parser.set(authenticationFilter, jwtVerifier);
     when(response.getOutputStream()).thenReturn(servletOutputStream);
   }
 
@@ -71,7 +70,7 @@ public class KeycloakAuthenticationFilterTest {
   @Test
   public void shouldSend401IfTokenIsExpired() throws Exception {
     when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token");
-    when(jwtParser.parse(anyString())).thenThrow(ExpiredJwtException.class);
+    when(jwtVerifier.verify(anyString())).thenThrow(ExpiredJwtException.class);
 
     authenticationFilter.doFilter(request, response, chain);
 
@@ -83,7 +82,7 @@ public class KeycloakAuthenticationFilterTest {
   @Test
   public void shouldSend401IfTokenIsCheckSignatureFailed() throws Exception {
     when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token");
-    when(jwtParser.parse(anyString())).thenThrow(new JwtException("bad signature"));
+    when(jwtVerifier.verify(anyString())).thenThrow(new JwtException("bad signature"));
 
     authenticationFilter.doFilter(request, response, chain);
 
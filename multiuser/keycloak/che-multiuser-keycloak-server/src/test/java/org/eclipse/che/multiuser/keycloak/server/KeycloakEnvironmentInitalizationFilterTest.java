@@ -16,14 +16,15 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.impl.DefaultClaims;
 import io.jsonwebtoken.impl.DefaultHeader;
 import io.jsonwebtoken.impl.DefaultJwt;
@@ -31,6 +32,7 @@ import java.lang.reflect.Field;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import javax.servlet.FilterChain;
@@ -70,7 +72,7 @@ public class KeycloakEnvironmentInitalizationFilterTest {
   @Mock private HttpServletResponse response;
   @Mock private ServletOutputStream servletOutputStream;
   @Mock private HttpSession session;
-  @Mock private JwtParser jwtParser;
+  @Mock private KeycloakJwtVerifier jwtVerifier;
 
   private KeycloakEnvironmentInitalizationFilter filter;
   private Map<String, String> keycloakAttributes = new HashMap<>();
@@ -80,7 +82,7 @@ public class KeycloakEnvironmentInitalizationFilterTest {
   public void setUp() throws Exception {
     MockitoAnnotations.initMocks(this);
     lenient().when(request.getScheme()).thenReturn("http");
-    when(request.getSession()).thenReturn(session);
+    lenient().when(request.getSession(false)).thenReturn(session);
     lenient().when(response.getOutputStream()).thenReturn(servletOutputStream);
     EnvironmentContext context = spy(EnvironmentContext.getCurrent());
     EnvironmentContext.setCurrent(context);
@@ -90,10 +92,11 @@ public class KeycloakEnvironmentInitalizationFilterTest {
             keycloakProfileRetriever,
             tokenExtractor,
             permissionChecker,
-            keycloakSettings);
-    Field parser = filter.getClass().getSuperclass().getDeclaredField("jwtParser");
+            keycloakSettings,
+            new KeycloakSubjectCache(100, 300));
+    Field parser = filter.getClass().getSuperclass().getDeclaredField("jwtVerifier");
     parser.setAccessible(true);
-    parser.set(filter, jwtParser);
+    parser.set(filter, jwtVerifier);
     final KeyPair kp = new KeyPair(mock(PublicKey.class), mock(PrivateKey.class));
     lenient().when(keyManager.getOrCreateKeyPair(anyString())).thenReturn(kp);
     keycloakAttributes.clear();
@@ -107,7 +110,7 @@ public class KeycloakEnvironmentInitalizationFilterTest {
   @Test
   public void shouldSkipRequestsWithMachineTokens() throws Exception {
     when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("not_null_token");
-    when(jwtParser.parse(anyString())).thenThrow(MachineTokenJwtException.class);
+    when(jwtVerifier.verify(anyString())).thenThrow(MachineTokenJwtException.class);
     // when
     filter.doFilter(request, response, chain);
 
@@ -198,6 +201,49 @@ public class KeycloakEnvironmentInitalizationFilterTest {
     assertEquals(expectedSubject.getUserName(), captor.getAllValues().get(1).getUserName());
   }
 
+  @Test
+  public void shouldNotCreateSessionAndReuseCachedSubjectForStatelessRequests() throws Exception {
+    UserImpl user = new UserImpl("id2", "test2@test.com", "username2");
+    DefaultJwt<Claims> jwt = createJwt();
+    jwt.getBody().setExpiration(new Date(System.currentTimeMillis() + 60_000));
+    keycloakSettingsMap.put(KeycloakConstants.USERNAME_CLAIM_SETTING, "preferred_username");
+    // given
+    when(request.getSession(false)).thenReturn(null);
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token2");
+    when(request.getAttribute("token")).thenReturn(jwt);
+    when(userManager.getOrCreateUser(anyString(), anyString(), anyString())).thenReturn(user);
+
+    // when
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(request, never()).getSession();
+    verify(request, never()).getSession(true);
+    verify(userManager).getOrCreateUser("id2", "test@test.com", "username");
+    verify(chain, times(2)).doFilter(any(HttpServletRequest.class), eq(response));
+  }
+
+  @Test
+  public void shouldNotCacheSubjectForExpiredToken() throws Exception {
+    UserImpl user = new UserImpl("id2", "test2@test.com", "username2");
+    DefaultJwt<Claims> jwt = createJwt();
+    jwt.getBody().setExpiration(new Date(System.currentTimeMillis() - 1_000));
+    keycloakSettingsMap.put(KeycloakConstants.USERNAME_CLAIM_SETTING, "preferred_username");
+    // given
+    when(request.getSession(false)).thenReturn(null);
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token2");
+    when(request.getAttribute("token")).thenReturn(jwt);
+    when(userManager.getOrCreateUser(anyString(), anyString(), anyString())).thenReturn(user);
+
+    // when
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(userManager, times(2)).getOrCreateUser("id2", "test@test.com", "username");
+  }
+
   private DefaultJwt<Claims> createJwt() {
     Map<String, Object> claimParams = new HashMap<>();
     claimParams.put("email", "test@test.com");
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwk.UrlJwkProvider;
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link KeycloakJwksCache} against a local stub of JWKS endpoint. */
+public class KeycloakJwksCacheTest {
+
+  private HttpServer jwksServer;
+  private AtomicInteger jwksRequests;
+  private RSAPublicKey firstKey;
+  private RSAPublicKey secondKey;
+  private volatile String jwks;
+  private UrlJwkProvider urlJwkProvider;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    final KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(1024);
+    firstKey = (RSAPublicKey) kpg.generateKeyPair().getPublic();
+    secondKey = (RSAPublicKey) kpg.generateKeyPair().getPublic();
+    jwks = jwks(jwk("first", firstKey));
+
+    jwksRequests = new AtomicInteger();
+    jwksServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    jwksServer.createContext(
+        "/certs",
+        exchange -> {
+          jwksRequests.incrementAndGet();
+          final byte[] body = jwks.getBytes(UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+          }
+        });
+    jwksServer.start();
+    urlJwkProvider =
+        new UrlJwkProvider(
+            new URL("http://localhost:" + jwksServer.getAddress().getPort() + "/certs"));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    jwksServer.stop(0);
+  }
+
+  @Test
+  public void shouldNotFetchKeySetForKnownKeys() throws Exception {
+    final KeycloakJwksCache cache = new KeycloakJwksCache(urlJwkProvider, 0, TimeUnit.SECONDS);
+    cache.refresh();
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(cache.get("first").getPublicKey(), firstKey);
+    }
+
+    assertEquals(jwksRequests.get(), 1);
+  }
+
+  @Test
+  public void shouldRefreshKeySetWhenUnknownKeyIsRequested() throws Exception {
+    final KeycloakJwksCache cache = new KeycloakJwksCache(urlJwkProvider, 0, TimeUnit.SECONDS);
+    cache.refresh();
+    jwks = jwks(jwk("first", firstKey), jwk("second", secondKey));
+
+    assertEquals(cache.get("second").getPublicKey(), secondKey);
+    assertEquals(jwksRequests.get(), 2);
+  }
+
+  @Test
+  public void shouldFetchKeySetOnFirstRequestWhenItIsNotRefreshedYet() throws Exception {
+    final KeycloakJwksCache cache = new KeycloakJwksCache(urlJwkProvider, 1, TimeUnit.HOURS);
+
+    assertEquals(cache.get("first").getPublicKey(), firstKey);
+    assertEquals(jwksRequests.get(), 1);
+  }
+
+  @Test
+  public void shouldNotRefreshKeySetMoreOftenThanMinimalInterval() throws Exception {
+    final KeycloakJwksCache cache = new KeycloakJwksCache(urlJwkProvider, 1, TimeUnit.HOURS);
+    cache.refresh();
+
+    for (int i = 0; i < 10; i++) {
+      try {
+        cache.get("unknown");
+      } catch (SigningKeyNotFoundException ignored) {
+      }
+    }
+
+    assertEquals(jwksRequests.get(), 1);
+  }
+
+  @Test(expectedExceptions = SigningKeyNotFoundException.class)
+  public void shouldThrowExceptionWhenKeyIsNotFoundAfterRefresh() throws Exception {
+    new KeycloakJwksCache(urlJwkProvider, 0, TimeUnit.SECONDS).get("unknown");
+  }
+
+  private static String jwks(String... keys) {
+    return "{\"keys\":[" + String.join(",", keys) + "]}";
+  }
+
+  private static String jwk(String kid, RSAPublicKey key) {
+    return "{\"kid\":\""
+        + kid
+        + "\",\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"n\":\""
+        + base64Url(key.getModulus())
+        + "\",\"e\":\""
+        + base64Url(key.getPublicExponent())
+        + "\"}";
+  }
+
+  private static String base64Url(BigInteger value) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toByteArray());
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.jsonwebtoken.impl.DefaultJws;
+import io.jsonwebtoken.impl.DefaultJwsHeader;
+import java.util.Date;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class KeycloakJwtVerifierTest {
+
+  @Mock private JwtParser jwtParser;
+
+  private KeycloakJwtVerifier verifier;
+
+  @BeforeMethod
+  public void setUp() {
+    verifier = new KeycloakJwtVerifier(jwtParser, 100);
+  }
+
+  @Test
+  public void shouldVerifyTokenOnlyOnceUntilItExpires() {
+    Jws<Claims> jws = createJws(new Date(System.currentTimeMillis() + 60_000));
+    when(jwtParser.parseClaimsJws("token")).thenReturn(jws);
+
+    assertEquals(verifier.verify("token"), jws);
+    assertEquals(verifier.verify("token"), jws);
+
+    verify(jwtParser).parseClaimsJws("token");
+  }
+
+  @Test
+  public void shouldVerifyTokenEachTimeWhenItHasNoExpiration() {
+    Jws<Claims> jws = createJws(null);
+    when(jwtParser.parseClaimsJws("token")).thenReturn(jws);
+
+    verifier.verify("token");
+    verifier.verify("token");
+
+    verify(jwtParser, times(2)).parseClaimsJws("token");
+  }
+
+  @Test
+  public void shouldVerifyTokensSeparately() {
+    Date expiration = new Date(System.currentTimeMillis() + 60_000);
+    Jws<Claims> first = createJws(expiration);
+    Jws<Claims> second = createJws(expiration);
+    when(jwtParser.parseClaimsJws("first")).thenReturn(first);
+    when(jwtParser.parseClaimsJws("second")).thenReturn(second);
+
+    assertEquals(verifier.verify("first"), first);
+    assertEquals(verifier.verify("second"), second);
+  }
+
+  @Test(expectedExceptions = MachineTokenJwtException.class)
+  public void shouldRethrowParserException() {
+    when(jwtParser.parseClaimsJws("token")).thenThrow(new MachineTokenJwtException());
+
+    verifier.verify("token");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowExceptionWhenTokenIsNull() {
+    verifier.verify(null);
+  }
+
+  private static Jws<Claims> createJws(Date expiration) {
+    return new DefaultJws<>(
+        new DefaultJwsHeader(), new DefaultClaims().setExpiration(expiration), "signature");
+  }
+}
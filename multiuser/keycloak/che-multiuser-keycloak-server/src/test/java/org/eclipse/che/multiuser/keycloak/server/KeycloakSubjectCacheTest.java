@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.Date;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class KeycloakSubjectCacheTest {
+
+  private KeycloakSubjectCache cache;
+
+  @BeforeMethod
+  public void setUp() {
+    cache = new KeycloakSubjectCache(2, 300);
+  }
+
+  @Test
+  public void shouldReturnCachedSubjectForToken() {
+    Subject subject = new SubjectImpl("name", "id", "token", false);
+
+    cache.put("token", subject, new Date(System.currentTimeMillis() + 60_000));
+
+    assertEquals(cache.get("token"), subject);
+    assertNull(cache.get("another-token"));
+  }
+
+  @Test
+  public void shouldNotCacheSubjectForExpiredToken() {
+    cache.put(
+        "token",
+        new SubjectImpl("name", "id", "token", false),
+        new Date(System.currentTimeMillis() - 1_000));
+
+    assertNull(cache.get("token"));
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  public void shouldCacheSubjectForTokenWithoutExpiration() {
+    Subject subject = new SubjectImpl("name", "id", "token", false);
+
+    cache.put("token", subject, null);
+
+    assertEquals(cache.get("token"), subject);
+  }
+
+  @Test
+  public void shouldNotExceedMaximumSize() {
+    for (int i = 0; i < 10; i++) {
+      cache.put("token" + i, new SubjectImpl("name", "id", "token" + i, false), null);
+    }
+
+    assertEquals(cache.size(), 2);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import javax.websocket.server.HandshakeRequest;
+import javax.ws.rs.core.HttpHeaders;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class KeycloakWebSocketSubjectResolverTest {
+
+  @Mock private HandshakeRequest request;
+
+  private Subject subject;
+  private KeycloakWebSocketSubjectResolver resolver;
+
+  @BeforeMethod
+  public void setUp() {
+    KeycloakSubjectCache subjectCache = new KeycloakSubjectCache(10, 300);
+    subject = new SubjectImpl("name", "id", "token", false);
+    subjectCache.put("token", subject, null);
+    resolver = new KeycloakWebSocketSubjectResolver(subjectCache);
+  }
+
+  @Test
+  public void shouldResolveSubjectByTokenFromQueryParameter() {
+    when(request.getParameterMap()).thenReturn(singletonMap("token", singletonList("token")));
+
+    assertEquals(resolver.resolve(request), subject);
+  }
+
+  @Test
+  public void shouldResolveSubjectByTokenFromAuthorizationHeader() {
+    when(request.getParameterMap()).thenReturn(emptyMap());
+    when(request.getHeaders())
+        .thenReturn(singletonMap(HttpHeaders.AUTHORIZATION, singletonList("Bearer token")));
+
+    assertEquals(resolver.resolve(request), subject);
+  }
+
+  @Test
+  public void shouldNotResolveSubjectOfUnknownToken() {
+    when(request.getParameterMap()).thenReturn(singletonMap("token", singletonList("unknown")));
+
+    assertNull(resolver.resolve(request));
+  }
+
+  @Test
+  public void shouldNotResolveSubjectWithoutToken() {
+    when(request.getParameterMap()).thenReturn(emptyMap());
+    lenient().when(request.getHeaders()).thenReturn(emptyMap());
+
+    assertNull(resolver.resolve(request));
+  }
+}
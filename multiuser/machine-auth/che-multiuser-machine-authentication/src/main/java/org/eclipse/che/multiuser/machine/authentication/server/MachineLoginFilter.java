@@ -88,12 +88,14 @@ public class MachineLoginFilter implements Filter {
     }
     // check token signature and verify is this token machine or not
     try {
-      HttpSession session = ((HttpServletRequest) request).getSession(true);
-      Subject sessionSubject = (Subject) session.getAttribute("che_subject");
+      // session is created only for machine tokens, see extractSubject
+      HttpSession session = httpRequest.getSession(false);
+      Subject sessionSubject =
+          session == null ? null : (Subject) session.getAttribute("che_subject");
       if (sessionSubject == null || !sessionSubject.getToken().equals(token)) {
         try {
           sessionSubject = extractSubject(token);
-          session.setAttribute("che_subject", sessionSubject);
+          httpRequest.getSession(true).setAttribute("che_subject", sessionSubject);
         } catch (NotFoundException e) {
           sendErr(
               response,
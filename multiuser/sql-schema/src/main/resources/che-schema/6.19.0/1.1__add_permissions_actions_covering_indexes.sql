@@ -0,0 +1,15 @@
+--
+-- Copyright (c) 2012-2018 Red Hat, Inc.
+-- This program and the accompanying materials are made
+-- available under the terms of the Eclipse Public License 2.0
+-- which is available at https://www.eclipse.org/legal/epl-2.0/
+--
+-- SPDX-License-Identifier: EPL-2.0
+--
+-- Contributors:
+--   Red Hat, Inc. - initial API and implementation
+--
+
+-- Covering indexes for the workspaces and stacks list queries, which join permissions by action
+CREATE INDEX che_index_worker_actions_worker_id_actions ON che_worker_actions (worker_id, actions);
+CREATE INDEX che_index_stack_perms_actions_stack_perms_id_actions ON che_stack_permissions_actions (stack_permissions_id, actions);
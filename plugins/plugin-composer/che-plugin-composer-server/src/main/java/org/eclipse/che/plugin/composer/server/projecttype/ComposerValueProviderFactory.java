@@ -22,6 +22,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import javax.inject.Inject;
 import org.eclipse.che.api.fs.server.PathTransformer;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
@@ -43,6 +44,11 @@ public class ComposerValueProviderFactory implements ValueProviderFactory {
     return new ComposerValueProvider(wsPath);
   }
 
+  @Override
+  public Set<String> getDependencies() {
+    return Collections.singleton("composer.json");
+  }
+
   protected class ComposerValueProvider extends ReadonlyValueProvider {
 
     protected Path projectFsPath;
@@ -80,6 +80,7 @@ public class DebuggerPresenter extends BasePresenter
         BreakpointManagerObserver,
         WorkspaceStoppedEvent.Handler {
   private static final String TITLE = "Debug";
+  private static final int FRAMES_PAGE_SIZE = 100;
 
   private final DebuggerResources debuggerResources;
   private final ToolbarPresenter debuggerToolbar;
@@ -96,6 +97,7 @@ public class DebuggerPresenter extends BasePresenter
   private List<Variable> variables;
   private List<WatchExpression> watchExpressions;
   private Map<Long, ? extends ThreadState> threadDump;
+  private Map<Long, List<StackFrameDump>> threadFrames;
   private Location executionPoint;
   private DebuggerDescriptor debuggerDescriptor;
 
@@ -134,6 +136,7 @@ public class DebuggerPresenter extends BasePresenter
 
     this.watchExpressions = new ArrayList<>();
     this.threadDump = new HashMap<>();
+    this.threadFrames = new HashMap<>();
 
     eventBus.addHandler(WorkspaceStoppedEvent.TYPE, this);
 
@@ -211,9 +214,8 @@ public class DebuggerPresenter extends BasePresenter
     refreshVariables(threadId, frameIndex);
     refreshWatchExpressions(threadId, frameIndex);
 
-    ThreadState threadState = threadDump.get(threadId);
-    if (threadState != null) {
-      List<? extends StackFrameDump> frames = threadState.getFrames();
+    List<StackFrameDump> frames = threadFrames.get(threadId);
+    if (frames != null) {
       if (frames.size() > frameIndex) {
 
         Debugger debugger = debuggerManager.getActiveDebugger();
@@ -307,11 +309,12 @@ public class DebuggerPresenter extends BasePresenter
     Debugger debugger = debuggerManager.getActiveDebugger();
     if (debugger != null && debugger.isSuspended()) {
       debugger
-          .getThreadDump()
+          .getThreads()
           .then(
               threadDump -> {
                 DebuggerPresenter.this.threadDump =
                     threadDump.stream().collect(Collectors.toMap(ThreadStateDto::getId, ts -> ts));
+                DebuggerPresenter.this.threadFrames = new HashMap<>();
 
                 if (executionPoint != null) {
                   view.setThreadDump(threadDump, executionPoint.getThreadId());
@@ -338,10 +341,15 @@ public class DebuggerPresenter extends BasePresenter
     view.setThreadNotSuspendPlaceHolderVisible(!threadState.isSuspended());
 
     if (threadState.isSuspended()) {
-      List<? extends StackFrameDump> frames = threadState.getFrames();
-      view.setFrames(frames);
-      refreshVariables(threadId, 0);
-      refreshWatchExpressions(threadId, 0);
+      List<StackFrameDump> frames = threadFrames.get(threadId);
+      if (frames == null) {
+        view.setFrames(Collections.emptyList());
+        loadFrames(threadId, new ArrayList<>(), threadFrames);
+      } else {
+        view.setFrames(frames);
+        refreshVariables(threadId, 0);
+        refreshWatchExpressions(threadId, 0);
+      }
     } else {
       view.setFrames(Collections.emptyList());
       view.removeAllVariables();
@@ -349,6 +357,54 @@ public class DebuggerPresenter extends BasePresenter
     }
   }
 
+  /**
+   * Loads frames of the suspended thread page by page. The first page is shown as soon as it
+   * arrives, the rest are appended while the thread stays selected. If another thread is selected
+   * in the meantime, loading stops and frames will be requested again on the next selection.
+   *
+   * @param frames frames loaded so far
+   * @param generation frames of the threads of the current suspend, loading stops on resume
+   */
+  private void loadFrames(
+      long threadId, List<StackFrameDump> frames, Map<Long, List<StackFrameDump>> generation) {
+    Debugger debugger = debuggerManager.getActiveDebugger();
+    if (debugger == null || !debugger.isSuspended()) {
+      return;
+    }
+
+    debugger
+        .getStackFrames(threadId, frames.size(), FRAMES_PAGE_SIZE)
+        .then(
+            page -> {
+              if (generation != threadFrames) {
+                return;
+              }
+              if (view.getSelectedThreadId() != threadId) {
+                generation.remove(threadId);
+                return;
+              }
+
+              boolean firstPage = frames.isEmpty();
+              frames.addAll(page);
+              if (firstPage) {
+                generation.put(threadId, frames);
+                view.setFrames(frames);
+                refreshVariables(threadId, 0);
+                refreshWatchExpressions(threadId, 0);
+              } else {
+                view.addFrames(page);
+              }
+
+              if (page.size() == FRAMES_PAGE_SIZE) {
+                loadFrames(threadId, frames, generation);
+              }
+            })
+        .catchError(
+            error -> {
+              Log.error(DebuggerPresenter.class, error.getCause());
+            });
+  }
+
   private void refreshWatchExpressions(long threadId, int frameIndex) {
     for (WatchExpression expression : watchExpressions) {
       expression.setResult("");
@@ -488,6 +544,7 @@ public class DebuggerPresenter extends BasePresenter
   private void clearExecutionPoint() {
     variables = new ArrayList<>();
     threadDump = new HashMap<>();
+    threadFrames = new HashMap<>();
     executionPoint = null;
     view.setExecutionPoint(null);
     view.setThreadDump(emptyList(), -1);
@@ -146,6 +146,9 @@ public interface DebuggerView extends View<DebuggerView.ActionDelegate> {
   /** Sets the list of frames for selected thread. */
   void setFrames(@NotNull List<? extends StackFrameDump> stackFrameDumps);
 
+  /** Appends frames to the list of frames for selected thread keeping the selection. */
+  void addFrames(@NotNull List<? extends StackFrameDump> stackFrameDumps);
+
   /**
    * Sets java virtual machine name and version.
    *
@@ -278,6 +278,22 @@ public class DebuggerViewImpl extends BaseView<DebuggerView.ActionDelegate>
     }
   }
 
+  @Override
+  public void addFrames(List<? extends StackFrameDump> stackFrameDumps) {
+    int selectedIndex = frames.getSelectionModel().getSelectedIndex();
+
+    List<StackFrameDump> items = new ArrayList<>(frames.size() + stackFrameDumps.size());
+    for (int i = 0; i < frames.size(); i++) {
+      items.add(frames.get(i));
+    }
+    items.addAll(stackFrameDumps);
+
+    frames.render(items);
+    if (selectedIndex >= 0) {
+      frames.getSelectionModel().setSelectedItem(selectedIndex);
+    }
+  }
+
   @Override
   public void setVMName(@Nullable String name) {
     vmName.setText(name == null ? "" : name);
@@ -12,6 +12,8 @@
 package org.eclipse.che.plugin.debugger.ide.debug;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
 import static org.eclipse.che.ide.api.notification.StatusNotification.DisplayMode.NOT_EMERGE_MODE;
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.SUCCESS;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,12 +26,14 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.web.bindery.event.shared.EventBus;
 import java.util.List;
 import org.eclipse.che.api.debug.shared.dto.SimpleValueDto;
+import org.eclipse.che.api.debug.shared.dto.ThreadStateDto;
 import org.eclipse.che.api.debug.shared.model.Location;
 import org.eclipse.che.api.debug.shared.model.MutableVariable;
 import org.eclipse.che.api.debug.shared.model.StackFrameDump;
@@ -95,12 +99,14 @@ public class DebuggerPresenterTest extends BaseTest {
   @Mock private Promise<SimpleValueDto> promiseValue;
   @Mock private Promise<List<ThreadState>> promiseThreadDump;
   @Mock private Promise<StackFrameDump> promiseStackFrame;
+  @Mock private Promise<List<StackFrameDump>> promiseFrames;
   @Mock private Promise<Void> promiseVoid;
   @Mock private EventBus eventBus;
 
   @Captor private ArgumentCaptor<Operation<Void>> operationVoidCaptor;
   @Captor private ArgumentCaptor<Operation<List<ThreadState>>> operationThreadDumpCaptor;
   @Captor private ArgumentCaptor<Operation<StackFrameDump>> operationStackFrameCaptor;
+  @Captor private ArgumentCaptor<Operation<List<StackFrameDump>>> operationFramesCaptor;
   @Captor private ArgumentCaptor<Operation<SimpleValueDto>> operationValueCaptor;
 
   private DebuggerPresenter presenter;
@@ -170,7 +176,7 @@ public class DebuggerPresenterTest extends BaseTest {
   public void whenDebuggerStoppedThenPresenterShouldUpdateFramesAndVariables() throws Exception {
     Location executionPoint = mock(Location.class);
     doReturn(THREAD_ID).when(executionPoint).getThreadId();
-    doReturn(promiseThreadDump).when(debugger).getThreadDump();
+    doReturn(promiseThreadDump).when(debugger).getThreads();
     doReturn(promiseThreadDump).when(promiseThreadDump).then((Operation<List<ThreadState>>) any());
 
     presenter.onBreakpointStopped(null, executionPoint);
@@ -181,6 +187,38 @@ public class DebuggerPresenterTest extends BaseTest {
     verify(view).setThreadDump(eq(threadDump), anyLong());
   }
 
+  @Test
+  public void shouldLoadFramesOfSuspendedThreadByPages() throws Exception {
+    ThreadStateDto threadState = mock(ThreadStateDto.class);
+    doReturn(THREAD_ID).when(threadState).getId();
+    doReturn(true).when(threadState).isSuspended();
+    Location executionPoint = mock(Location.class);
+    doReturn(THREAD_ID).when(executionPoint).getThreadId();
+    doReturn(promiseThreadDump).when(debugger).getThreads();
+    doReturn(promiseThreadDump).when(promiseThreadDump).then((Operation<List<ThreadState>>) any());
+    doReturn(promiseFrames).when(debugger).getStackFrames(eq(THREAD_ID), anyInt(), anyInt());
+    doReturn(promiseFrames).when(promiseFrames).then((Operation<List<StackFrameDump>>) any());
+    doNothing().when(presenter).refreshVariables(THREAD_ID, 0);
+
+    presenter.onBreakpointStopped(null, executionPoint);
+    verify(promiseThreadDump).then(operationThreadDumpCaptor.capture());
+    operationThreadDumpCaptor.getValue().apply(singletonList(threadState));
+
+    List<StackFrameDump> firstPage = nCopies(100, stackFrame);
+    verify(debugger).getStackFrames(THREAD_ID, 0, 100);
+    verify(promiseFrames).then(operationFramesCaptor.capture());
+    operationFramesCaptor.getValue().apply(firstPage);
+    verify(view).setFrames(eq(firstPage));
+    verify(presenter).refreshVariables(THREAD_ID, 0);
+
+    List<StackFrameDump> lastPage = singletonList(stackFrame);
+    verify(debugger).getStackFrames(THREAD_ID, 100, 100);
+    verify(promiseFrames, times(2)).then(operationFramesCaptor.capture());
+    operationFramesCaptor.getValue().apply(lastPage);
+    verify(view).addFrames(eq(lastPage));
+    verify(debugger, times(2)).getStackFrames(eq(THREAD_ID), anyInt(), anyInt());
+  }
+
   @Test
   public void updateVariablesShouldUpdateView() throws Exception {
     doReturn(promiseStackFrame).when(debugger).getStackFrameDump(THREAD_ID, FRAME_INDEX);
@@ -11,25 +11,27 @@
  */
 package org.eclipse.che.ide.ext.git.client.plugins;
 
+import static org.eclipse.che.ide.api.vcs.VcsStatus.ADDED;
+import static org.eclipse.che.ide.api.vcs.VcsStatus.MODIFIED;
+import static org.eclipse.che.ide.api.vcs.VcsStatus.NOT_MODIFIED;
+import static org.eclipse.che.ide.api.vcs.VcsStatus.UNTRACKED;
 import static org.eclipse.che.ide.ext.git.client.GitUtil.getRootPath;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import java.util.HashSet;
+import java.util.Set;
 import org.eclipse.che.api.git.shared.FileChangedEventDto;
+import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusChangedEventDto;
-import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
-import org.eclipse.che.api.project.shared.dto.event.ProjectTreeStateUpdateDto;
-import org.eclipse.che.ide.api.resources.Resource;
+import org.eclipse.che.ide.api.resources.File;
 import org.eclipse.che.ide.api.vcs.VcsStatus;
-import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.git.client.GitEventSubscribable;
 import org.eclipse.che.ide.ext.git.client.GitEventsSubscriber;
 import org.eclipse.che.ide.part.explorer.project.ProjectExplorerPresenter;
 import org.eclipse.che.ide.resource.Path;
-import org.eclipse.che.ide.resources.ProjectTreeChangeHandler;
 import org.eclipse.che.ide.resources.tree.FileNode;
-import org.eclipse.che.ide.resources.tree.ResourceNode;
 import org.eclipse.che.ide.ui.smartTree.Tree;
 
 /**
@@ -42,18 +44,12 @@ import org.eclipse.che.ide.ui.smartTree.Tree;
 public class ProjectExplorerTreeColorizer implements GitEventsSubscriber {
 
   private final Provider<ProjectExplorerPresenter> projectExplorerPresenterProvider;
-  private final ProjectTreeChangeHandler treeChangeHandler;
-  private final DtoFactory dtoFactory;
 
   @Inject
   public ProjectExplorerTreeColorizer(
       GitEventSubscribable subscribeToGitEvents,
-      Provider<ProjectExplorerPresenter> projectExplorerPresenterProvider,
-      ProjectTreeChangeHandler treeChangeHandler,
-      DtoFactory dtoFactory) {
+      Provider<ProjectExplorerPresenter> projectExplorerPresenterProvider) {
     this.projectExplorerPresenterProvider = projectExplorerPresenterProvider;
-    this.treeChangeHandler = treeChangeHandler;
-    this.dtoFactory = dtoFactory;
 
     subscribeToGitEvents.addSubscriber(this);
   }
@@ -83,6 +79,13 @@ public class ProjectExplorerTreeColorizer implements GitEventsSubscriber {
 
   @Override
   public void onGitStatusChanged(String endpointId, StatusChangedEventDto statusChangedEventDto) {
+    Status status = statusChangedEventDto.getStatus();
+    Set<String> untracked = new HashSet<>(status.getUntracked());
+    Set<String> added = new HashSet<>(status.getAdded());
+    Set<String> modified = new HashSet<>(status.getModified());
+    modified.addAll(status.getChanged());
+
+    // Only the loaded nodes are updated, the other ones receive statuses when they are loaded
     Tree tree = projectExplorerPresenterProvider.get().getTree();
     tree.getNodeStorage()
         .getAll()
@@ -94,15 +97,25 @@ public class ProjectExplorerTreeColorizer implements GitEventsSubscriber {
                         .getProjectName()
                         .equals(getRootPath(((FileNode) node).getData().getLocation())))
         .map(node -> (FileNode) node)
-        .map(ResourceNode::getData)
-        .map(Resource::getLocation)
-        .map(Path::toString)
         .forEach(
-            location ->
-                treeChangeHandler.handleFileChange(
-                    dtoFactory
-                        .createDto(ProjectTreeStateUpdateDto.class)
-                        .withPath(location)
-                        .withType(FileWatcherEventType.MODIFIED)));
+            node -> {
+              File file = node.getData().asFile();
+              String nodeLocation = file.getLocation().removeFirstSegments(1).toString();
+              VcsStatus vcsStatus;
+              if (untracked.contains(nodeLocation)) {
+                vcsStatus = UNTRACKED;
+              } else if (added.contains(nodeLocation)) {
+                vcsStatus = ADDED;
+              } else if (modified.contains(nodeLocation)) {
+                vcsStatus = MODIFIED;
+              } else {
+                vcsStatus = NOT_MODIFIED;
+              }
+
+              if (file.getVcsStatus() != vcsStatus) {
+                file.setVcsStatus(vcsStatus);
+                tree.refresh(node);
+              }
+            });
   }
 }
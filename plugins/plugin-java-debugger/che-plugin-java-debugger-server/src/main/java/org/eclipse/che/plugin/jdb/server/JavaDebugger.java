@@ -39,6 +39,7 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -78,7 +79,6 @@ import org.eclipse.che.plugin.jdb.server.expression.Evaluator;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionException;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionParser;
 import org.eclipse.che.plugin.jdb.server.model.JdbLocation;
-import org.eclipse.che.plugin.jdb.server.model.JdbMethod;
 import org.eclipse.che.plugin.jdb.server.model.JdbStackFrame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,6 +95,11 @@ import org.slf4j.LoggerFactory;
 public class JavaDebugger implements EventsHandler, Debugger {
   private static final Logger LOG = LoggerFactory.getLogger(JavaDebugger.class);
 
+  private static final String CONDITION_PROPERTY =
+      "org.eclipse.che.ide.java.debug.condition.expression.parser";
+  private static final String SUSPEND_POLICY_PROPERTY = "org.eclipse.che.ide.java.debug.suspend";
+  private static final int MAX_CACHED_EXPRESSIONS = 100;
+
   private final String host;
   private final int port;
   private final DebuggerCallback debuggerCallback;
@@ -111,6 +116,18 @@ public class JavaDebugger implements EventsHandler, Debugger {
   private final ConcurrentMap<String, ClassPrepareRequest> classPrepareRequests =
       new ConcurrentHashMap<>();
 
+  /**
+   * Parsed expressions by their text, since the same watch expressions are evaluated on every
+   * suspend. Access is guarded by {@link #lock}.
+   */
+  private final Map<String, ExpressionParser> expressionParsers =
+      new LinkedHashMap<String, ExpressionParser>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ExpressionParser> eldest) {
+          return size() > MAX_CACHED_EXPRESSIONS;
+        }
+      };
+
   /** Target Java VM representation. */
   private VirtualMachine vm;
 
@@ -120,6 +137,8 @@ public class JavaDebugger implements EventsHandler, Debugger {
   private ThreadReference thread;
   /** Current stack frame. Not <code>null</code> is thread suspended, e.g breakpoint reached. */
   private JdbStackFrame stackFrame;
+  /** Threads and frames loaded on demand while target Java VM is suspended. */
+  private ThreadDumpCache threadDumpCache;
   /** Lock for synchronization debug processes. */
   private Lock lock = new ReentrantLock();
 
@@ -265,18 +284,25 @@ public class JavaDebugger implements EventsHandler, Debugger {
       BreakpointRequest request = requestManager.createBreakpointRequest(location);
 
       BreakpointConfiguration conf = breakpoint.getBreakpointConfiguration();
-      if (conf != null && conf.getSuspendPolicy() != null) {
-        request.setSuspendPolicy(toSuspendEventRequest(conf.getSuspendPolicy()));
-      } else {
-        request.setSuspendPolicy(EventRequest.SUSPEND_ALL);
-      }
+      SuspendPolicy suspendPolicy =
+          conf != null && conf.getSuspendPolicy() != null
+              ? conf.getSuspendPolicy()
+              : SuspendPolicy.ALL;
+      request.setSuspendPolicy(toSuspendEventRequest(suspendPolicy));
 
       if (conf != null
           && conf.isConditionEnabled()
           && conf.getCondition() != null
           && !conf.getCondition().isEmpty()) {
         ExpressionParser parser = ExpressionParser.newInstance(conf.getCondition());
-        request.putProperty("org.eclipse.che.ide.java.debug.condition.expression.parser", parser);
+        request.putProperty(CONDITION_PROPERTY, parser);
+
+        if (suspendPolicy == SuspendPolicy.ALL) {
+          // Only the thread which hits the breakpoint is suspended while the condition is
+          // evaluated, the rest of VM is suspended once the condition is satisfied.
+          request.setSuspendPolicy(EventRequest.SUSPEND_EVENT_THREAD);
+          request.putProperty(SUSPEND_POLICY_PROPERTY, suspendPolicy);
+        }
       }
 
       if (conf != null && conf.isHitCountEnabled() && conf.getHitCount() > 0) {
@@ -409,7 +435,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
   public StackFrameDump getStackFrameDump(long threadId, int frameIndex) throws DebuggerException {
     lock.lock();
     try {
-      return new JdbStackFrame(languageServer, getJdiStackFrame(threadId, frameIndex));
+      return getThreadDumpCache().getStackFrameDump(threadId, frameIndex);
     } finally {
       lock.unlock();
     }
@@ -417,34 +443,71 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
   @Override
   public List<ThreadState> getThreadDump() throws DebuggerException {
-    List<ThreadState> threadStates = new LinkedList<>();
+    lock.lock();
+    try {
+      ThreadDumpCache cache = getThreadDumpCache();
+      List<ThreadState> threadStates = new LinkedList<>();
 
-    for (ThreadReference t : vm.allThreads()) {
-      List<JdbStackFrame> frames = new LinkedList<>();
-      try {
-        for (StackFrame f : t.frames()) {
-          frames.add(
-              new JdbStackFrame(
-                  f,
-                  emptyList(),
-                  emptyList(),
-                  new JdbLocation(languageServer, f, new JdbMethod(f))));
+      for (ThreadReference t : cache.getThreads()) {
+        List<StackFrameDump> frames = emptyList();
+        try {
+          frames = cache.getFrames(t);
+        } catch (IncompatibleThreadStateException ignored) {
+          // Thread isn't suspended. Information isn't available.
         }
-      } catch (IncompatibleThreadStateException ignored) {
-        // Thread isn't suspended. Information isn't available.
+        threadStates.add(toThreadState(t, frames));
       }
 
-      threadStates.add(
-          new ThreadStateImpl(
-              t.uniqueID(),
-              t.name(),
-              t.threadGroup().name(),
-              toThreadStatus(t.status()),
-              t.isSuspended(),
-              frames));
+      return threadStates;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public List<ThreadState> getThreads() throws DebuggerException {
+    lock.lock();
+    try {
+      List<ThreadState> threadStates = new LinkedList<>();
+      for (ThreadReference t : getThreadDumpCache().getThreads()) {
+        threadStates.add(toThreadState(t, emptyList()));
+      }
+      return threadStates;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public List<StackFrameDump> getStackFrames(long threadId, int start, int count)
+      throws DebuggerException {
+    lock.lock();
+    try {
+      ThreadDumpCache cache = getThreadDumpCache();
+      for (ThreadReference t : cache.getThreads()) {
+        if (t.uniqueID() == threadId) {
+          try {
+            return cache.getFrames(t, start, count);
+          } catch (IncompatibleThreadStateException e) {
+            // Thread isn't suspended. Information isn't available.
+            return emptyList();
+          }
+        }
+      }
+      return emptyList();
+    } finally {
+      lock.unlock();
     }
+  }
 
-    return threadStates;
+  private ThreadState toThreadState(ThreadReference t, List<StackFrameDump> frames) {
+    return new ThreadStateImpl(
+        t.uniqueID(),
+        t.name(),
+        t.threadGroup().name(),
+        toThreadStatus(t.status()),
+        t.isSuspended(),
+        frames);
   }
   /**
    * Get value of variable with specified path. Each item in path is name of variable.
@@ -506,8 +569,13 @@ public class JavaDebugger implements EventsHandler, Debugger {
   @Override
   public SimpleValue getValue(VariablePath variablePath, long threadId, int frameIndex)
       throws DebuggerException {
-    JdbStackFrame jdbStackFrame =
-        new JdbStackFrame(languageServer, getJdiStackFrame(threadId, frameIndex));
+    JdbStackFrame jdbStackFrame;
+    lock.lock();
+    try {
+      jdbStackFrame = getThreadDumpCache().getStackFrameDump(threadId, frameIndex);
+    } finally {
+      lock.unlock();
+    }
 
     Optional<? extends Variable> targetVar;
 
@@ -606,38 +674,52 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
   private boolean processBreakPointEvent(com.sun.jdi.event.BreakpointEvent event)
       throws DebuggerException {
-    setCurrentThread(event.thread());
-    boolean hitBreakpoint;
-    ExpressionParser parser =
-        (ExpressionParser)
-            event
-                .request()
-                .getProperty("org.eclipse.che.ide.java.debug.condition.expression.parser");
-    if (parser != null) {
-      com.sun.jdi.Value result = evaluate(parser, event.thread().uniqueID(), 0);
-      hitBreakpoint =
-          result instanceof com.sun.jdi.BooleanValue && ((com.sun.jdi.BooleanValue) result).value();
-    } else {
-      // If there is no expression.
-      hitBreakpoint = true;
+    ThreadReference eventThread = event.thread();
+    ExpressionParser parser = (ExpressionParser) event.request().getProperty(CONDITION_PROPERTY);
+    if (parser != null && !evaluateCondition(parser, eventThread)) {
+      // Resume target JVM if result of evaluation of expression isn't boolean value true.
+      return true;
     }
 
-    if (hitBreakpoint) {
-      try {
-
-        Location location = new JdbLocation(languageServer, event.thread().frame(0));
+    setCurrentThread(eventThread);
+    try {
+      Location location = new JdbLocation(languageServer, eventThread.frame(0));
 
-        SuspendPolicy suspendPolicy = toSuspendPolicy(event.request().suspendPolicy());
+      SuspendPolicy suspendPolicy =
+          (SuspendPolicy) event.request().getProperty(SUSPEND_POLICY_PROPERTY);
+      if (suspendPolicy == SuspendPolicy.ALL) {
+        // Condition was evaluated with the event thread suspended only. The whole VM is suspended
+        // now, so the event thread stays suspended after the event set is resumed.
+        vm.suspend();
         debuggerCallback.onEvent(new SuspendEventImpl(location, suspendPolicy));
-      } catch (IncompatibleThreadStateException e) {
         return true;
       }
+
+      suspendPolicy = toSuspendPolicy(event.request().suspendPolicy());
+      debuggerCallback.onEvent(new SuspendEventImpl(location, suspendPolicy));
+    } catch (IncompatibleThreadStateException e) {
+      return true;
     }
 
-    // Left target JVM in suspended state if result of evaluation of expression is boolean value and
-    // true
-    // or if condition expression is not set.
-    return !hitBreakpoint;
+    // Left target JVM in suspended state.
+    return false;
+  }
+
+  /**
+   * Evaluates breakpoint condition in the top frame of the thread which hits the breakpoint. The
+   * frame is taken directly from the thread, so no other threads are requested from target VM.
+   */
+  private boolean evaluateCondition(ExpressionParser parser, ThreadReference thread)
+      throws DebuggerException {
+    try {
+      com.sun.jdi.Value result = parser.evaluate(new Evaluator(vm, thread.frame(0)));
+      return result instanceof com.sun.jdi.BooleanValue
+          && ((com.sun.jdi.BooleanValue) result).value();
+    } catch (IncompatibleThreadStateException e) {
+      throw new DebuggerException("Thread is not suspended", e);
+    } catch (ExpressionException e) {
+      throw new DebuggerException(e.getMessage(), e);
+    }
   }
 
   private boolean processStepEvent(com.sun.jdi.event.StepEvent event) throws DebuggerException {
@@ -657,6 +739,12 @@ public class JavaDebugger implements EventsHandler, Debugger {
   }
 
   private boolean processDisconnectEvent() {
+    lock.lock();
+    try {
+      invalidateCurrentThread();
+    } finally {
+      lock.unlock();
+    }
     debuggerCallback.onEvent(new DisconnectEventImpl());
     eventsCollector.stop();
     return true;
@@ -729,48 +817,77 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
   @Override
   public String evaluate(String expression) throws DebuggerException {
+    long threadId;
     lock.lock();
     try {
-      return evaluate(expression, getCurrentThread().uniqueID(), 0);
+      threadId = getCurrentThread().uniqueID();
     } finally {
       lock.unlock();
     }
+    return evaluate(expression, threadId, 0);
   }
 
   @Override
   public String evaluate(String expression, long threadId, int frameIndex)
       throws DebuggerException {
-    com.sun.jdi.Value result =
-        evaluate(ExpressionParser.newInstance(expression), threadId, frameIndex);
+    com.sun.jdi.Value result = evaluate(getExpressionParser(expression), threadId, frameIndex);
     return result == null ? "null" : result.toString();
   }
 
+  private ExpressionParser getExpressionParser(String expression) {
+    lock.lock();
+    try {
+      ExpressionParser parser = expressionParsers.get(expression);
+      if (parser == null) {
+        parser = ExpressionParser.newInstance(expression);
+        expressionParsers.put(expression, parser);
+      }
+      return parser;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   private com.sun.jdi.Value evaluate(ExpressionParser parser, long threadId, int frameIndex)
       throws DebuggerException {
-    StackFrame jdiStackFrame = getJdiStackFrame(threadId, frameIndex);
+    StackFrame jdiStackFrame;
+    lock.lock();
+    try {
+      jdiStackFrame = getThreadDumpCache().getJdiStackFrame(threadId, frameIndex);
+    } finally {
+      lock.unlock();
+    }
+    // the lock is not held while evaluating, since invoked methods may hit breakpoints or steps
+    // and the events thread needs the lock to handle them and resume the target VM
     try {
       return parser.evaluate(new Evaluator(vm, jdiStackFrame));
     } catch (ExpressionException e) {
       throw new DebuggerException(e.getMessage(), e);
+    } finally {
+      // evaluation may invoke methods in target VM, that invalidates frames of the thread
+      lock.lock();
+      try {
+        invalidateThreadDumpCache();
+      } finally {
+        lock.unlock();
+      }
     }
   }
 
-  private StackFrame getJdiStackFrame(long threadId, int frameIndex) throws DebuggerException {
-    try {
-      for (ThreadReference t : vm.allThreads()) {
-        if (t.uniqueID() == threadId) {
-          return t.frame(frameIndex);
-        }
-      }
-
-      throw new DebuggerException(
-          format("Frame '%d' in thread '%d' not found.", frameIndex, threadId));
-    } catch (IncompatibleThreadStateException e) {
-      throw new DebuggerException("Thread is not suspended", e);
-    } catch (IndexOutOfBoundsException e) {
-      throw new DebuggerException(
-          format("Frame '%d' in thread '%d' not found.", frameIndex, threadId));
+  /** Returns threads and frames of current suspend, must be called under the lock. */
+  private ThreadDumpCache getThreadDumpCache() {
+    if (thread == null) {
+      // target VM is running, threads and their states may change at any moment
+      return new ThreadDumpCache(vm, languageServer);
     }
+    if (threadDumpCache == null) {
+      threadDumpCache = new ThreadDumpCache(vm, languageServer);
+    }
+    return threadDumpCache;
+  }
+
+  private void invalidateThreadDumpCache() {
+    threadDumpCache = null;
   }
 
   private ThreadReference getCurrentThread() throws DebuggerException {
@@ -795,6 +912,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
   private void setCurrentThread(ThreadReference t) {
     stackFrame = null;
     thread = t;
+    invalidateThreadDumpCache();
   }
 
   private void invalidateCurrentFrame() {
@@ -804,6 +922,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
   private void invalidateCurrentThread() {
     this.thread = null;
     invalidateCurrentFrame();
+    invalidateThreadDumpCache();
   }
 
   private EventRequestManager getEventManager() throws DebuggerException {
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+
+import com.sun.jdi.IncompatibleThreadStateException;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.VirtualMachine;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.api.debug.shared.model.Location;
+import org.eclipse.che.api.debug.shared.model.StackFrameDump;
+import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
+import org.eclipse.che.plugin.java.languageserver.JavaLanguageServerExtensionService;
+import org.eclipse.che.plugin.jdb.server.model.JdbLocation;
+import org.eclipse.che.plugin.jdb.server.model.JdbMethod;
+import org.eclipse.che.plugin.jdb.server.model.JdbStackFrame;
+
+/**
+ * Threads and frames of the target VM collected during one suspend. Everything is requested over
+ * JDWP on the first demand only: the thread list doesn't touch frames, frames of a thread are
+ * fetched by pages and variables are left to {@link JdbStackFrame}. Locations are resolved once
+ * per class and line, so threads of a pool standing at the same line share them.
+ *
+ * <p>JDI stack frames become invalid as soon as a thread is resumed, hence an instance must be
+ * dropped on resume and on any method invocation in the target VM. Instance is not thread-safe.
+ */
+class ThreadDumpCache {
+  private final VirtualMachine vm;
+  private final JavaLanguageServerExtensionService languageServer;
+
+  private final Map<Long, ThreadFrames> frames = new HashMap<>();
+  private final Map<String, Location> locations = new HashMap<>();
+  private Map<Long, ThreadReference> threads;
+
+  ThreadDumpCache(VirtualMachine vm, JavaLanguageServerExtensionService languageServer) {
+    this.vm = vm;
+    this.languageServer = languageServer;
+  }
+
+  /** Returns all threads of the target VM. */
+  List<ThreadReference> getThreads() {
+    return new ArrayList<>(threads().values());
+  }
+
+  /**
+   * Returns frames of the given thread in the range. Only locations and methods of the frames are
+   * available, variables of a frame are provided by {@link #getStackFrameDump(long, int)}.
+   *
+   * @throws IncompatibleThreadStateException if thread is not suspended
+   */
+  List<StackFrameDump> getFrames(ThreadReference thread, int start, int count)
+      throws IncompatibleThreadStateException {
+    ThreadFrames threadFrames = getThreadFrames(thread);
+    int from = Math.min(Math.max(start, 0), threadFrames.count());
+    int to = (int) Math.min((long) from + Math.max(count, 0), threadFrames.count());
+    if (from == to) {
+      return emptyList();
+    }
+
+    StackFrame[] jdiStackFrames = threadFrames.load(from, to);
+
+    List<StackFrameDump> result = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      if (threadFrames.summaries[i] == null) {
+        StackFrame f = jdiStackFrames[i];
+        threadFrames.summaries[i] =
+            new JdbStackFrame(
+                f,
+                emptyList(),
+                emptyList(),
+                new JdbLocation(f, new JdbMethod(f), resolve(f.location())));
+      }
+      result.add(threadFrames.summaries[i]);
+    }
+    return result;
+  }
+
+  /** Returns all frames of the given thread, see {@link #getFrames(ThreadReference, int, int)}. */
+  List<StackFrameDump> getFrames(ThreadReference thread) throws IncompatibleThreadStateException {
+    return getFrames(thread, 0, Integer.MAX_VALUE);
+  }
+
+  /** Returns frame with its fields and variables which are loaded on demand. */
+  JdbStackFrame getStackFrameDump(long threadId, int frameIndex) throws DebuggerException {
+    ThreadFrames threadFrames = getThreadFrames(threadId, frameIndex);
+    JdbStackFrame dump = threadFrames.dumps.get(frameIndex);
+    if (dump == null) {
+      StackFrame jdiStackFrame = threadFrames.get(frameIndex);
+      dump =
+          new JdbStackFrame(
+              jdiStackFrame,
+              null,
+              null,
+              new JdbLocation(
+                  jdiStackFrame, new JdbMethod(jdiStackFrame), resolve(jdiStackFrame.location())));
+      threadFrames.dumps.put(frameIndex, dump);
+    }
+    return dump;
+  }
+
+  /** Returns JDI stack frame of the given thread. */
+  StackFrame getJdiStackFrame(long threadId, int frameIndex) throws DebuggerException {
+    return getThreadFrames(threadId, frameIndex).get(frameIndex);
+  }
+
+  private ThreadFrames getThreadFrames(long threadId, int frameIndex) throws DebuggerException {
+    ThreadReference thread = threads().get(threadId);
+    if (thread == null) {
+      throw new DebuggerException(
+          format("Frame '%d' in thread '%d' not found.", frameIndex, threadId));
+    }
+
+    ThreadFrames threadFrames;
+    try {
+      threadFrames = getThreadFrames(thread);
+    } catch (IncompatibleThreadStateException e) {
+      throw new DebuggerException("Thread is not suspended", e);
+    }
+
+    if (frameIndex < 0 || frameIndex >= threadFrames.count()) {
+      throw new DebuggerException(
+          format("Frame '%d' in thread '%d' not found.", frameIndex, threadId));
+    }
+    return threadFrames;
+  }
+
+  private ThreadFrames getThreadFrames(ThreadReference thread)
+      throws IncompatibleThreadStateException {
+    ThreadFrames threadFrames = frames.get(thread.uniqueID());
+    if (threadFrames == null) {
+      threadFrames = new ThreadFrames(thread, thread.frameCount());
+      frames.put(thread.uniqueID(), threadFrames);
+    }
+    return threadFrames;
+  }
+
+  private Map<Long, ThreadReference> threads() {
+    if (threads == null) {
+      threads = new LinkedHashMap<>();
+      for (ThreadReference t : vm.allThreads()) {
+        threads.put(t.uniqueID(), t);
+      }
+    }
+    return threads;
+  }
+
+  private Location resolve(com.sun.jdi.Location jdiLocation) {
+    String key = jdiLocation.declaringType().name() + ':' + jdiLocation.lineNumber();
+    Location location = locations.get(key);
+    if (location == null) {
+      location = new JdbLocation(languageServer, jdiLocation);
+      locations.put(key, location);
+    }
+    return location;
+  }
+
+  /** Frames of a suspended thread loaded so far. */
+  private class ThreadFrames {
+    private final ThreadReference thread;
+    private final StackFrame[] jdiStackFrames;
+    private final StackFrameDump[] summaries;
+    private final Map<Integer, JdbStackFrame> dumps = new HashMap<>();
+
+    private ThreadFrames(ThreadReference thread, int count) {
+      this.thread = thread;
+      this.jdiStackFrames = new StackFrame[count];
+      this.summaries = new StackFrameDump[count];
+    }
+
+    private int count() {
+      return jdiStackFrames.length;
+    }
+
+    private StackFrame get(int frameIndex) throws DebuggerException {
+      try {
+        return load(frameIndex, frameIndex + 1)[frameIndex];
+      } catch (IncompatibleThreadStateException e) {
+        throw new DebuggerException("Thread is not suspended", e);
+      }
+    }
+
+    /** Fetches frames in the range which haven't been fetched yet with a single JDWP request. */
+    private StackFrame[] load(int from, int to) throws IncompatibleThreadStateException {
+      while (from < to && jdiStackFrames[from] != null) {
+        from++;
+      }
+      while (to > from && jdiStackFrames[to - 1] != null) {
+        to--;
+      }
+      if (from == to) {
+        return jdiStackFrames;
+      }
+
+      List<StackFrame> fetched = thread.frames(from, to - from);
+      for (int i = 0; i < fetched.size(); i++) {
+        jdiStackFrames[from + i] = fetched.get(i);
+      }
+      return jdiStackFrames;
+    }
+  }
+}
@@ -52,6 +52,17 @@ public class JdbLocation implements Location {
     this.internal = getLocation(jdiStackFrame.location());
   }
 
+  /**
+   * Creates location of the frame which resource is already resolved, e.g. by a location of
+   * another frame standing at the same line.
+   */
+  public JdbLocation(StackFrame jdiStackFrame, Method method, Location resolved) {
+    this.jdiStackFrame = jdiStackFrame;
+    this.languageServer = null;
+    this.method = method;
+    this.internal = resolved;
+  }
+
   @Override
   public String getTarget() {
     return internal.getTarget();
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.eclipse.che.plugin.jdb.server.util.JavaDebuggerTestUtils.ensureDebuggerSuspendAtLocation;
+import static org.eclipse.che.plugin.jdb.server.util.JavaDebuggerTestUtils.startJavaDebugger;
+import static org.eclipse.che.plugin.jdb.server.util.JavaDebuggerTestUtils.terminateVirtualMachineQuietly;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.eclipse.che.api.debug.shared.model.Location;
+import org.eclipse.che.api.debug.shared.model.SuspendPolicy;
+import org.eclipse.che.api.debug.shared.model.event.BreakpointActivatedEvent;
+import org.eclipse.che.api.debug.shared.model.event.DebuggerEvent;
+import org.eclipse.che.api.debug.shared.model.event.SuspendEvent;
+import org.eclipse.che.api.debug.shared.model.impl.BreakpointConfigurationImpl;
+import org.eclipse.che.api.debug.shared.model.impl.BreakpointImpl;
+import org.eclipse.che.api.debug.shared.model.impl.LocationImpl;
+import org.eclipse.che.api.debug.shared.model.impl.action.ResumeActionImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/** Measures how many hits per second a conditional breakpoint in a hot loop handles. */
+public class BreakpointConditionThroughputTest {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BreakpointConditionThroughputTest.class);
+
+  private static final String SOURCE =
+      "/test/src/org/eclipse/BreakpointConditionThroughputTest.java";
+  private static final int HITS = 5000;
+
+  private JavaDebugger debugger;
+  private BlockingQueue<DebuggerEvent> events = new ArrayBlockingQueue<>(10);
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    Location location = new LocationImpl(SOURCE, 18, "/test");
+    debugger = startJavaDebugger(new BreakpointImpl(location), events);
+    ensureDebuggerSuspendAtLocation(location, events);
+  }
+
+  @AfterClass
+  public void tearDown() throws Exception {
+    if (debugger != null) {
+      terminateVirtualMachineQuietly(debugger);
+    }
+  }
+
+  @Test
+  public void shouldStopByConditionInHotLoop() throws Exception {
+    debugger.addBreakpoint(
+        new BreakpointImpl(
+            new LocationImpl(SOURCE, 26, "/test"),
+            true,
+            new BreakpointConfigurationImpl("i==" + (HITS - 1))));
+    assertTrue(events.take() instanceof BreakpointActivatedEvent);
+
+    long start = System.nanoTime();
+    debugger.resume(new ResumeActionImpl());
+
+    DebuggerEvent debuggerEvent = events.take();
+    long time = System.nanoTime() - start;
+
+    assertTrue(debuggerEvent instanceof SuspendEvent);
+    assertEquals(((SuspendEvent) debuggerEvent).getSuspendPolicy(), SuspendPolicy.ALL);
+    assertEquals(debugger.evaluate("i"), String.valueOf(HITS - 1));
+
+    LOG.info(
+        "Conditional breakpoint: {} hits in {} ms, {} hits per second",
+        HITS,
+        NANOSECONDS.toMillis(time),
+        HITS * 1_000_000_000L / time);
+  }
+}
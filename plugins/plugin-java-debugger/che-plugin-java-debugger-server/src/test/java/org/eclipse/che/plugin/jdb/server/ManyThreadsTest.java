@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.jdb.server;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.eclipse.che.plugin.jdb.server.util.JavaDebuggerTestUtils.ensureDebuggerSuspendAtLocation;
+import static org.eclipse.che.plugin.jdb.server.util.JavaDebuggerTestUtils.startJavaDebugger;
+import static org.eclipse.che.plugin.jdb.server.util.JavaDebuggerTestUtils.terminateVirtualMachineQuietly;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.eclipse.che.api.debug.shared.model.Location;
+import org.eclipse.che.api.debug.shared.model.StackFrameDump;
+import org.eclipse.che.api.debug.shared.model.ThreadState;
+import org.eclipse.che.api.debug.shared.model.event.DebuggerEvent;
+import org.eclipse.che.api.debug.shared.model.impl.BreakpointImpl;
+import org.eclipse.che.api.debug.shared.model.impl.LocationImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Measures suspend-to-UI latency against the application with 2000 threads. The IDE needs the
+ * thread list, the frames of the suspended thread and variables of its top frame to render the
+ * debugger panel.
+ */
+public class ManyThreadsTest {
+  private static final Logger LOG = LoggerFactory.getLogger(ManyThreadsTest.class);
+
+  private static final int THREADS = 2000;
+  private static final int DEPTH = 20;
+
+  private JavaDebugger debugger;
+  private BlockingQueue<DebuggerEvent> events = new ArrayBlockingQueue<>(10);
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    Location location = new LocationImpl("/test/src/org/eclipse/ManyThreadsTest.java", 32, "/test");
+    debugger = startJavaDebugger(new BreakpointImpl(location), events);
+    ensureDebuggerSuspendAtLocation(location, events);
+  }
+
+  @AfterClass
+  public void tearDown() throws Exception {
+    if (debugger != null) {
+      terminateVirtualMachineQuietly(debugger);
+    }
+  }
+
+  @Test
+  public void shouldLoadThreadsAndFramesOnDemand() throws Exception {
+    long start = System.nanoTime();
+
+    List<ThreadState> threads = debugger.getThreads();
+    long threadsTime = System.nanoTime() - start;
+
+    ThreadState main =
+        threads.stream().filter(t -> t.getName().equals("main")).findAny().orElse(null);
+    List<StackFrameDump> frames = debugger.getStackFrames(main.getId(), 0, 100);
+    StackFrameDump top = debugger.getStackFrameDump(main.getId(), 0);
+    top.getVariables();
+    top.getFields();
+    long lazyTime = System.nanoTime() - start;
+
+    assertTrue(threads.size() > THREADS);
+    assertTrue(threads.stream().allMatch(t -> t.getFrames().isEmpty()));
+    assertEquals(frames.size(), 1);
+    assertEquals(top.getLocation().getLineNumber(), 32);
+
+    invalidateThreadDumpCache();
+    start = System.nanoTime();
+
+    List<ThreadState> threadDump = debugger.getThreadDump();
+    long eagerTime = System.nanoTime() - start;
+
+    int totalFrames = threadDump.stream().mapToInt(t -> t.getFrames().size()).sum();
+    assertTrue(totalFrames > THREADS * DEPTH);
+
+    LOG.info(
+        "Suspend-to-UI latency with {} threads and {} frames: thread list {} ms, "
+            + "thread list with frames of suspended thread {} ms, full thread dump {} ms",
+        threads.size(),
+        totalFrames,
+        NANOSECONDS.toMillis(threadsTime),
+        NANOSECONDS.toMillis(lazyTime),
+        NANOSECONDS.toMillis(eagerTime));
+  }
+
+  @Test
+  public void shouldPageFramesOfThread() throws Exception {
+    ThreadState worker =
+        debugger
+            .getThreads()
+            .stream()
+            .filter(t -> t.getName().equals("Worker-0"))
+            .findAny()
+            .orElse(null);
+
+    List<StackFrameDump> all = debugger.getStackFrames(worker.getId(), 0, Integer.MAX_VALUE);
+    assertTrue(all.size() > DEPTH);
+
+    List<StackFrameDump> page = debugger.getStackFrames(worker.getId(), 5, 10);
+    assertEquals(page.size(), 10);
+    for (int i = 0; i < page.size(); i++) {
+      assertEquals(page.get(i).getLocation().getMethod().getName(), "park");
+      assertEquals(
+          page.get(i).getLocation().getLineNumber(), all.get(i + 5).getLocation().getLineNumber());
+    }
+
+    assertTrue(debugger.getStackFrames(worker.getId(), all.size(), 10).isEmpty());
+  }
+
+  /** Drops threads and frames loaded during the current suspend as if the VM was resumed. */
+  private void invalidateThreadDumpCache() throws Exception {
+    Field cacheField = JavaDebugger.class.getDeclaredField("threadDumpCache");
+    cacheField.setAccessible(true);
+    cacheField.set(debugger, null);
+  }
+}
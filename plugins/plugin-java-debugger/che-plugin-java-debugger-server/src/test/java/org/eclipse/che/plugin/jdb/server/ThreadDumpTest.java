@@ -70,6 +70,46 @@ public class ThreadDumpTest {
     validateFinalizerThreadDump(threads);
   }
 
+  @Test
+  public void shouldGetThreadsWithoutFramesWhenApplicationIsStopped() throws Exception {
+    List<ThreadStateDto> threads =
+        debugger.getThreads().stream().map(DtoConverter::asDto).collect(toList());
+
+    validateSomeThreadDump(threads);
+    for (ThreadState t : threads) {
+      assertTrue(t.isSuspended());
+      assertTrue(t.getFrames().isEmpty());
+    }
+  }
+
+  @Test
+  public void shouldGetStackFramesByPages() throws Exception {
+    long finalizerId =
+        debugger
+            .getThreads()
+            .stream()
+            .filter(t -> t.getName().equals("Finalizer"))
+            .findAny()
+            .get()
+            .getId();
+
+    List<StackFrameDump> frames = debugger.getStackFrames(finalizerId, 0, 100);
+    assertEquals(frames.size(), 4);
+    assertEquals(frames.get(0).getLocation().getMethod().getName(), "wait");
+
+    List<StackFrameDump> page = debugger.getStackFrames(finalizerId, 1, 2);
+    assertEquals(page.size(), 2);
+    assertEquals(
+        page.get(0).getLocation().getMethod().getName(),
+        frames.get(1).getLocation().getMethod().getName());
+    assertEquals(
+        page.get(1).getLocation().getMethod().getName(),
+        frames.get(2).getLocation().getMethod().getName());
+
+    assertEquals(debugger.getStackFrames(finalizerId, 3, 100).size(), 1);
+    assertTrue(debugger.getStackFrames(finalizerId, 4, 100).isEmpty());
+  }
+
   @Test(priority = 1)
   public void shouldGetThreadDumpWhenApplicationIsRun() throws Exception {
     debugger.resume(new ResumeActionImpl());
@@ -21,6 +21,7 @@ import org.eclipse.che.api.debug.shared.model.impl.LocationImpl;
 import org.eclipse.che.api.languageserver.FindServer;
 import org.eclipse.che.api.languageserver.LanguageServerInitializer;
 import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.plugin.java.languageserver.ExternalLibrariesCache;
 import org.eclipse.che.plugin.java.languageserver.JavaLanguageServerExtensionService;
 import org.mockito.Mockito;
 
@@ -38,7 +39,8 @@ public class JavaLanguageServerExtensionStub extends JavaLanguageServerExtension
             RequestHandlerConfigurator.class,
             Mockito.withSettings().defaultAnswer(RETURNS_DEEP_STUBS)),
         mock(ProjectManager.class, Mockito.withSettings().defaultAnswer(RETURNS_DEEP_STUBS)),
-        mock(EventService.class, Mockito.withSettings().defaultAnswer(RETURNS_DEEP_STUBS)));
+        mock(EventService.class, Mockito.withSettings().defaultAnswer(RETURNS_DEEP_STUBS)),
+        mock(ExternalLibrariesCache.class));
   }
 
   @Override
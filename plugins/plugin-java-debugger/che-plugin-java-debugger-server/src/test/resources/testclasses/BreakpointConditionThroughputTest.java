@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse;
+
+public class BreakpointConditionThroughputTest {
+  private static final int HITS = 5000;
+
+  public static void main(String[] args) {
+    int sum = 0;
+    for (int i = 0; i < HITS; i++) {
+      sum = add(sum, i);
+    }
+    System.out.println(sum);
+  }
+
+  private static int add(int sum, int i) {
+    return sum + i;
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+public class ManyThreadsTest {
+  private static final int THREADS = 2000;
+  private static final int DEPTH = 20;
+
+  public static void main(String[] args) throws Exception {
+    CountDownLatch latch = new CountDownLatch(THREADS);
+
+    for (int i = 0; i < THREADS; i++) {
+      Thread thread = new Thread(() -> park(DEPTH, latch), "Worker-" + i);
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    latch.await();
+
+    System.out.println("Hello, world!");
+  }
+
+  private static void park(int depth, CountDownLatch latch) {
+    if (depth > 0) {
+      park(depth - 1, latch);
+      return;
+    }
+
+    latch.countDown();
+    for (; ; ) {
+      LockSupport.park();
+    }
+  }
+}
@@ -15,6 +15,7 @@ import static java.lang.String.valueOf;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.FileVisitResult.TERMINATE;
 import static java.nio.file.Files.walkFileTree;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.ide.ext.java.shared.Constants.CONTAINS_JAVA_FILES;
 
@@ -24,6 +25,7 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -56,6 +58,11 @@ public class JavaValueProviderFactory implements ValueProviderFactory {
     return new JavaValueProvider(pathTransformer.transform(wsPath));
   }
 
+  @Override
+  public Set<String> getDependencies() {
+    return singleton("*.java");
+  }
+
   private static class JavaValueProvider extends ReadonlyValueProvider {
 
     /** The root folder of this project. */
@@ -54,6 +54,8 @@ public final class Constants {
   public static final String GET_PREFERENCES = "java/getPreferences";
   public static final String UPDATE_PREFERENCES = "java/updatePreferences";
   public static final String RECOMPUTE_POM_DIAGNOSTICS = "java/recomputePomDiagnostics";
+  /** Method which returns the latency statistics of the jdt.ls extension commands */
+  public static final String COMMAND_STATISTICS = "java/commandStatistics";
 
   public static final String PROGRESS_REPORT_METHOD = "java/progressReport";
   public static final String PROGRESS_OUTPUT_UNSUBSCRIBE = "progressOutput/unsubscribe";
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.languageserver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.notification.ProjectDeletedEvent;
+import org.eclipse.che.jdt.ls.extension.api.dto.ClasspathEntry;
+import org.eclipse.che.jdt.ls.extension.api.dto.Jar;
+import org.eclipse.che.jdt.ls.extension.api.dto.JarEntry;
+
+/**
+ * Cache of the external libraries of java projects shown in the project explorer.
+ *
+ * <p>Children of the jar nodes are kept per project and per jar file which is identified by its
+ * path, size and modification time, so they are dropped as soon as the jar is replaced. They are
+ * not shared by the projects which use the same jar, as the URIs of the class files are bound to
+ * the project which loaded them. The number of cached entries is bounded, least recently used nodes
+ * are evicted first. The libraries, the classpath tree and the nodes of a project are cached until
+ * the classpath of the project is changed or the project is deleted.
+ */
+@Singleton
+public class ExternalLibrariesCache {
+  private final EventService eventService;
+  private final Cache<NodeKey, List<JarEntry>> children;
+  private final Map<String, ProjectLibraries> projects = new ConcurrentHashMap<>();
+  private final EventSubscriber<ProjectClassPathChangedEvent> classPathChangedSubscriber =
+      event -> invalidate(event.getPath());
+  private final EventSubscriber<ProjectDeletedEvent> projectDeletedSubscriber =
+      event -> invalidate(event.getProjectPath());
+
+  @Inject
+  public ExternalLibrariesCache(
+      EventService eventService,
+      @Named("che.java.external_libraries.cache.max_entries") long maxEntries) {
+    this.eventService = eventService;
+    this.children =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxEntries)
+            .weigher((NodeKey key, List<JarEntry> entries) -> Math.max(1, entries.size()))
+            .build();
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(classPathChangedSubscriber, ProjectClassPathChangedEvent.class);
+    eventService.subscribe(projectDeletedSubscriber, ProjectDeletedEvent.class);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(classPathChangedSubscriber, ProjectClassPathChangedEvent.class);
+    eventService.unsubscribe(projectDeletedSubscriber, ProjectDeletedEvent.class);
+  }
+
+  /** Returns the external libraries of the project if they are cached. */
+  public Optional<List<Jar>> getLibraries(String projectPath) {
+    ProjectLibraries libraries = projects.get(projectPath);
+    return libraries == null ? Optional.empty() : Optional.ofNullable(libraries.jars);
+  }
+
+  /**
+   * Caches the external libraries of the project. The libraries are matched with the jars of the
+   * resolved classpath of the project by file name, children of the libraries which have no single
+   * match are not cached.
+   *
+   * @param projectPath path of the project
+   * @param jars external libraries of the project
+   * @param classpath resolved classpath of the project
+   */
+  public void putLibraries(String projectPath, List<Jar> jars, List<String> classpath) {
+    Map<String, Path> byName = new HashMap<>();
+    Set<String> ambiguous = new HashSet<>();
+    for (String entry : classpath) {
+      Path path = Paths.get(entry);
+      Path fileName = path.getFileName();
+      if (fileName != null && byName.put(fileName.toString(), path) != null) {
+        ambiguous.add(fileName.toString());
+      }
+    }
+    Map<String, Path> jarPaths = new HashMap<>();
+    for (Jar jar : jars) {
+      Path path = byName.get(jar.getName());
+      if (path != null && !ambiguous.contains(jar.getName())) {
+        jarPaths.put(jar.getId(), path);
+      }
+    }
+    projects.compute(
+        projectPath, (key, libraries) -> new ProjectLibraries(jars, jarPaths, treeOf(libraries)));
+  }
+
+  /** Returns the classpath tree of the project if it is cached. */
+  public Optional<List<ClasspathEntry>> getClasspathTree(String projectPath) {
+    ProjectLibraries libraries = projects.get(projectPath);
+    return libraries == null ? Optional.empty() : Optional.ofNullable(libraries.classpathTree);
+  }
+
+  /** Caches the classpath tree of the project. */
+  public void putClasspathTree(String projectPath, List<ClasspathEntry> classpathTree) {
+    projects.compute(
+        projectPath,
+        (key, libraries) ->
+            libraries == null
+                ? new ProjectLibraries(null, new HashMap<>(), classpathTree)
+                : new ProjectLibraries(libraries.jars, libraries.jarPaths, classpathTree));
+  }
+
+  /**
+   * Returns the children of the library node if they are cached.
+   *
+   * @param projectPath path of the project
+   * @param libraryId id of the library
+   * @param nodePath path of the node inside the library or {@code null} for the library root
+   */
+  public Optional<List<JarEntry>> getChildren(
+      String projectPath, String libraryId, String nodePath) {
+    NodeKey key = nodeKey(projectPath, libraryId, nodePath);
+    if (key == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(children.getIfPresent(key));
+  }
+
+  /**
+   * Caches the children of the library node. Nothing is cached if the jar of the library is not
+   * known.
+   *
+   * @param projectPath path of the project
+   * @param libraryId id of the library
+   * @param nodePath path of the node inside the library or {@code null} for the library root
+   * @param entries children of the node
+   */
+  public void putChildren(
+      String projectPath, String libraryId, String nodePath, List<JarEntry> entries) {
+    NodeKey key = nodeKey(projectPath, libraryId, nodePath);
+    if (key != null) {
+      children.put(key, entries);
+    }
+  }
+
+  /** Drops the libraries, the classpath tree and the library nodes of the project. */
+  void invalidate(String projectPath) {
+    projects.remove(projectPath);
+    children.asMap().keySet().removeIf(key -> key.projectPath.equals(projectPath));
+  }
+
+  private NodeKey nodeKey(String projectPath, String libraryId, String nodePath) {
+    ProjectLibraries libraries = projects.get(projectPath);
+    Path jar = libraries == null ? null : libraries.jarPaths.get(libraryId);
+    if (jar == null) {
+      return null;
+    }
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+      return new NodeKey(
+          projectPath,
+          jar.toString(),
+          attributes.size(),
+          attributes.lastModifiedTime().toMillis(),
+          nodePath);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static List<ClasspathEntry> treeOf(ProjectLibraries libraries) {
+    return libraries == null ? null : libraries.classpathTree;
+  }
+
+  private static class ProjectLibraries {
+    final List<Jar> jars;
+    final Map<String, Path> jarPaths;
+    final List<ClasspathEntry> classpathTree;
+
+    ProjectLibraries(
+        List<Jar> jars, Map<String, Path> jarPaths, List<ClasspathEntry> classpathTree) {
+      this.jars = jars;
+      this.jarPaths = jarPaths;
+      this.classpathTree = classpathTree;
+    }
+  }
+
+  private static class NodeKey {
+    final String projectPath;
+    final String jar;
+    final long size;
+    final long lastModified;
+    final String nodePath;
+
+    NodeKey(String projectPath, String jar, long size, long lastModified, String nodePath) {
+      this.projectPath = projectPath;
+      this.jar = jar;
+      this.size = size;
+      this.lastModified = lastModified;
+      this.nodePath = nodePath;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof NodeKey)) {
+        return false;
+      }
+      NodeKey other = (NodeKey) obj;
+      return size == other.size
+          && lastModified == other.lastModified
+          && projectPath.equals(other.projectPath)
+          && jar.equals(other.jar)
+          && Objects.equals(nodePath, other.nodePath);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(projectPath, jar, size, lastModified, nodePath);
+    }
+  }
+}
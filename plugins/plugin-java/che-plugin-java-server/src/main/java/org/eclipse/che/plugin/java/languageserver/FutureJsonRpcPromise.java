@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.languageserver;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
+
+/**
+ * JSON-RPC promise which is resolved by a future. The consumers of the promise may be set before or
+ * after the future is completed, the result is passed to them once.
+ *
+ * @param <R> type of result
+ */
+class FutureJsonRpcPromise<R> extends JsonRpcPromise<R> {
+  private boolean done;
+  private boolean delivered;
+  private R result;
+  private JsonRpcError error;
+
+  FutureJsonRpcPromise(
+      CompletableFuture<R> future, Function<Throwable, JsonRpcError> errorConverter) {
+    future.whenComplete(
+        (result, e) -> complete(result, e == null ? null : errorConverter.apply(e)));
+  }
+
+  @Override
+  public synchronized JsonRpcPromise<R> onSuccess(BiConsumer<String, R> biConsumer) {
+    super.onSuccess(biConsumer);
+    deliver();
+    return this;
+  }
+
+  @Override
+  public synchronized JsonRpcPromise<R> onSuccess(Consumer<R> consumer) {
+    super.onSuccess(consumer);
+    deliver();
+    return this;
+  }
+
+  @Override
+  public synchronized JsonRpcPromise<R> onFailure(BiConsumer<String, JsonRpcError> biConsumer) {
+    super.onFailure(biConsumer);
+    deliver();
+    return this;
+  }
+
+  @Override
+  public synchronized JsonRpcPromise<R> onFailure(Consumer<JsonRpcError> consumer) {
+    super.onFailure(consumer);
+    deliver();
+    return this;
+  }
+
+  private synchronized void complete(R result, JsonRpcError error) {
+    this.result = result;
+    this.error = error;
+    this.done = true;
+    deliver();
+  }
+
+  private void deliver() {
+    if (!done || delivered) {
+      return;
+    }
+    if (error == null) {
+      getSuccessConsumer()
+          .ifPresent(
+              consumer -> {
+                delivered = true;
+                consumer.accept(null, result);
+              });
+    } else {
+      getFailureConsumer()
+          .ifPresent(
+              consumer -> {
+                delivered = true;
+                consumer.accept(null, error);
+              });
+    }
+  }
+}
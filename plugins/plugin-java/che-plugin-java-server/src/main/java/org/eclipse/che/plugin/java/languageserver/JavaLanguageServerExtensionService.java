@@ -18,6 +18,7 @@ import static org.eclipse.che.api.languageserver.LanguageServiceUtils.fixJdtUri;
 import static org.eclipse.che.api.languageserver.LanguageServiceUtils.prefixURI;
 import static org.eclipse.che.api.languageserver.LanguageServiceUtils.removePrefixUri;
 import static org.eclipse.che.ide.ext.java.shared.Constants.CLASS_PATH_TREE;
+import static org.eclipse.che.ide.ext.java.shared.Constants.COMMAND_STATISTICS;
 import static org.eclipse.che.ide.ext.java.shared.Constants.EFFECTIVE_POM;
 import static org.eclipse.che.ide.ext.java.shared.Constants.EFFECTIVE_POM_REQUEST_TIMEOUT;
 import static org.eclipse.che.ide.ext.java.shared.Constants.EXTERNAL_LIBRARIES;
@@ -63,28 +64,44 @@ import static org.eclipse.che.jdt.ls.extension.api.Commands.TEST_DETECT_COMMAND;
 import static org.eclipse.che.jdt.ls.extension.api.Commands.UPDATE_PROJECT_CLASSPATH;
 import static org.eclipse.che.jdt.ls.extension.api.Commands.USAGES_COMMAND;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import com.google.inject.Inject;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.debug.shared.model.Location;
@@ -152,7 +169,23 @@ import org.slf4j.LoggerFactory;
  * @author Thomas Mäder
  */
 public class JavaLanguageServerExtensionService {
-  private static final int TIMEOUT = 10;
+  private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+  /** Timeouts in milliseconds of the commands which may take longer than {@link #TIMEOUT}. */
+  private static final Map<String, Long> COMMAND_TIMEOUTS =
+      ImmutableMap.<String, Long>builder()
+          .put(GET_EFFECTIVE_POM_COMMAND, (long) EFFECTIVE_POM_REQUEST_TIMEOUT)
+          .put(REIMPORT_MAVEN_PROJECTS_COMMAND, (long) REIMPORT_MAVEN_PROJECTS_REQUEST_TIMEOUT)
+          .put(RENAME_COMMAND, TimeUnit.SECONDS.toMillis(30))
+          .put(Commands.UPDATE_WORKSPACE, TimeUnit.HOURS.toMillis(1))
+          .build();
+
+  private static final ScheduledExecutorService TIMEOUT_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("JavaLanguageServerExtensionTimeout-%d")
+              .setDaemon(true)
+              .build());
 
   private final Gson gson;
   private final FindServer registry;
@@ -163,6 +196,8 @@ public class JavaLanguageServerExtensionService {
   private final ProjectManager projectManager;
   private final EventService eventService;
   private final LanguageServerInitializer initializer;
+  private final ExternalLibrariesCache librariesCache;
+  private final Map<String, CommandLatency> commandLatencies = new ConcurrentHashMap<>();
 
   @Inject
   public JavaLanguageServerExtensionService(
@@ -170,8 +205,10 @@ public class JavaLanguageServerExtensionService {
       LanguageServerInitializer languageServerInitializer,
       RequestHandlerConfigurator requestHandler,
       ProjectManager projectManager,
-      EventService eventService) {
+      EventService eventService,
+      ExternalLibrariesCache librariesCache) {
     this.registry = registry;
+    this.librariesCache = librariesCache;
     this.initializer = languageServerInitializer;
     this.requestHandler = requestHandler;
     this.projectManager = projectManager;
@@ -190,8 +227,8 @@ public class JavaLanguageServerExtensionService {
         .newConfiguration()
         .methodName(FILE_STRUCTURE)
         .paramsAsDto(FileStructureCommandParameters.class)
-        .resultAsListOfDto(ExtendedSymbolInformationDto.class)
-        .withFunction(this::executeFileStructure);
+        .resultAsPromiseListOfDto(ExtendedSymbolInformationDto.class)
+        .withPromise(params -> toPromise(executeFileStructure(params)));
 
     requestHandler
         .newConfiguration()
@@ -204,71 +241,71 @@ public class JavaLanguageServerExtensionService {
         .newConfiguration()
         .methodName(EFFECTIVE_POM)
         .paramsAsString()
-        .resultAsString()
-        .withFunction(this::getEffectivePom);
+        .resultAsPromiseString()
+        .withPromise(projectPath -> toPromise(getEffectivePomAsync(projectPath)));
 
     requestHandler
         .newConfiguration()
         .methodName(REIMPORT_MAVEN_PROJECTS)
         .paramsAsDto(ReImportMavenProjectsCommandParameters.class)
-        .resultAsListOfString()
-        .withFunction(this::reImportMavenProjects);
+        .resultAsPromiseListOfString()
+        .withPromise(params -> toPromise(reImportMavenProjectsAsync(params)));
 
     requestHandler
         .newConfiguration()
         .methodName(EXTERNAL_LIBRARIES)
         .paramsAsDto(ExternalLibrariesParameters.class)
-        .resultAsListOfDto(Jar.class)
-        .withFunction(this::getProjectExternalLibraries);
+        .resultAsPromiseListOfDto(Jar.class)
+        .withPromise(params -> toPromise(getProjectExternalLibraries(params)));
 
     requestHandler
         .newConfiguration()
         .methodName(EXTERNAL_LIBRARIES_CHILDREN)
         .paramsAsDto(ExternalLibrariesParameters.class)
-        .resultAsListOfDto(JarEntry.class)
-        .withFunction(this::getExternalLibrariesChildren);
+        .resultAsPromiseListOfDto(JarEntry.class)
+        .withPromise(params -> toPromise(getExternalLibrariesChildren(params)));
 
     requestHandler
         .newConfiguration()
         .methodName(EXTERNAL_LIBRARY_CHILDREN)
         .paramsAsDto(ExternalLibrariesParameters.class)
-        .resultAsListOfDto(JarEntry.class)
-        .withFunction(this::getLibraryChildren);
+        .resultAsPromiseListOfDto(JarEntry.class)
+        .withPromise(params -> toPromise(getLibraryChildren(params)));
 
     requestHandler
         .newConfiguration()
         .methodName(EXTERNAL_LIBRARY_ENTRY)
         .paramsAsString()
-        .resultAsDto(JarEntry.class)
-        .withFunction(this::getLibraryEntry);
+        .resultAsPromiseDto(JarEntry.class)
+        .withPromise(resourceUri -> toPromise(getLibraryEntry(resourceUri)));
 
     requestHandler
         .newConfiguration()
         .methodName(CLASS_PATH_TREE)
         .paramsAsString()
-        .resultAsListOfDto(ClasspathEntry.class)
-        .withFunction(this::getClasspathTree);
+        .resultAsPromiseListOfDto(ClasspathEntry.class)
+        .withPromise(projectPath -> toPromise(getClasspathTree(projectPath)));
 
     requestHandler
         .newConfiguration()
         .methodName(ORGANIZE_IMPORTS)
         .paramsAsDto(OrganizeImportParams.class)
-        .resultAsDto(OrganizeImportsResult.class)
-        .withFunction(this::organizeImports);
+        .resultAsPromiseDto(OrganizeImportsResult.class)
+        .withPromise(params -> toPromise(organizeImportsAsync(params)));
 
     requestHandler
         .newConfiguration()
         .methodName(IMPLEMENTERS)
         .paramsAsDto(TextDocumentPositionParams.class)
-        .resultAsDto(ImplementersResponseDto.class)
-        .withFunction(this::findImplementers);
+        .resultAsPromiseDto(ImplementersResponseDto.class)
+        .withPromise(params -> toPromise(findImplementersAsync(params)));
 
     requestHandler
         .newConfiguration()
         .methodName(USAGES)
         .paramsAsDto(TextDocumentPositionParams.class)
-        .resultAsDto(UsagesResponse.class)
-        .withFunction(this::usages);
+        .resultAsPromiseDto(UsagesResponse.class)
+        .withPromise(params -> toPromise(usages(params)));
 
     requestHandler
         .newConfiguration()
@@ -281,36 +318,36 @@ public class JavaLanguageServerExtensionService {
         .newConfiguration()
         .methodName(UPDATE_JAVA_CORE_OPTIONS)
         .paramsAsDto(JavaCoreOptions.class)
-        .resultAsBoolean()
-        .withFunction(this::updateJavaCoreOptions);
+        .resultAsPromiseDto(Boolean.class)
+        .withPromise(options -> toPromise(updateJavaCoreOptionsAsync(options)));
 
     requestHandler
         .newConfiguration()
         .methodName(REFACTORING_RENAME)
         .paramsAsDto(RenameSettings.class)
-        .resultAsDto(RefactoringResult.class)
-        .withFunction(this::rename);
+        .resultAsPromiseDto(RefactoringResult.class)
+        .withPromise(settings -> toPromise(rename(settings)));
 
     requestHandler
         .newConfiguration()
         .methodName(REFACTORING_GET_RENAME_TYPE)
         .paramsAsDto(RenameSelectionParams.class)
-        .resultAsDto(RenamingElementInfo.class)
-        .withFunction(this::getRenamingElementInfo);
+        .resultAsPromiseDto(RenamingElementInfo.class)
+        .withPromise(params -> toPromise(getRenamingElementInfo(params)));
 
     requestHandler
         .newConfiguration()
         .methodName(VALIDATE_RENAMED_NAME)
         .paramsAsDto(RenameSelectionParams.class)
-        .resultAsDto(RefactoringStatus.class)
-        .withFunction(this::validateName);
+        .resultAsPromiseDto(RefactoringStatus.class)
+        .withPromise(params -> toPromise(validateName(params)));
 
     requestHandler
         .newConfiguration()
         .methodName(GET_LINKED_MODEL)
         .paramsAsDto(TextDocumentPositionParams.class)
-        .resultAsListOfDto(Range.class)
-        .withFunction(this::getLinkedElements);
+        .resultAsPromiseListOfDto(Range.class)
+        .withPromise(params -> toPromise(getLinkedElements(params)));
 
     requestHandler
         .newConfiguration()
@@ -323,22 +360,29 @@ public class JavaLanguageServerExtensionService {
         .newConfiguration()
         .methodName(REFACTORING_MOVE)
         .paramsAsDto(MoveSettings.class)
-        .resultAsDto(RefactoringResult.class)
-        .withFunction(this::move);
+        .resultAsPromiseDto(RefactoringResult.class)
+        .withPromise(settings -> toPromise(move(settings)));
 
     requestHandler
         .newConfiguration()
         .methodName(Constants.VALIDATE_MOVE_COMMAND)
         .paramsAsDto(CreateMoveParams.class)
-        .resultAsBoolean()
-        .withFunction(this::validateMove);
+        .resultAsPromiseDto(Boolean.class)
+        .withPromise(params -> toPromise(validateMove(params)));
 
     requestHandler
         .newConfiguration()
         .methodName(VERIFY_DESTINATION)
         .paramsAsDto(MoveSettings.class)
-        .resultAsDto(RefactoringStatus.class)
-        .withFunction(this::verifyMoveDestination);
+        .resultAsPromiseDto(RefactoringStatus.class)
+        .withPromise(settings -> toPromise(verifyMoveDestination(settings)));
+
+    requestHandler
+        .newConfiguration()
+        .methodName(COMMAND_STATISTICS)
+        .noParams()
+        .resultAsListOfDto(CommandStatistics.class)
+        .withSupplier(this::getCommandStatistics);
   }
 
   /**
@@ -375,14 +419,8 @@ public class JavaLanguageServerExtensionService {
    * @param sourceFolder name of source folder
    */
   public void createSimpleProject(String projectName, String sourceFolder) {
-    CompletableFuture<Object> result =
-        executeCommand(CREATE_SIMPLE_PROJECT, Arrays.asList(projectName, sourceFolder));
     Type targetClassType = new TypeToken<String>() {}.getType();
-    try {
-      gson.fromJson(gson.toJson(result.get(TIMEOUT, TimeUnit.SECONDS)), targetClassType);
-    } catch (JsonSyntaxException | InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    doGetOne(CREATE_SIMPLE_PROJECT, Arrays.asList(projectName, sourceFolder), targetClassType);
   }
 
   /**
@@ -396,16 +434,9 @@ public class JavaLanguageServerExtensionService {
   public List<TestPositionDto> detectTest(String fileUri, String testAnnotation, int cursorOffset) {
     TestPositionParameters parameters =
         new TestPositionParameters(fileUri, testAnnotation, cursorOffset);
-    CompletableFuture<Object> result =
-        executeCommand(TEST_DETECT_COMMAND, singletonList(parameters));
     Type targetClassType = new TypeToken<ArrayList<TestPosition>>() {}.getType();
-    try {
-      List<TestPosition> positions =
-          gson.fromJson(gson.toJson(result.get(TIMEOUT, TimeUnit.SECONDS)), targetClassType);
-      return positions.stream().map(TestPositionDto::new).collect(Collectors.toList());
-    } catch (JsonSyntaxException | InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    List<TestPosition> positions = doGetList(TEST_DETECT_COMMAND, parameters, targetClassType);
+    return positions.stream().map(TestPositionDto::new).collect(Collectors.toList());
   }
 
   /**
@@ -415,14 +446,8 @@ public class JavaLanguageServerExtensionService {
    * @return resolved classpath
    */
   public List<String> getResolvedClasspath(String projectUri) {
-    CompletableFuture<Object> result =
-        executeCommand(RESOLVE_CLASSPATH_COMMAND, singletonList(projectUri));
     Type targetClassType = new TypeToken<ArrayList<String>>() {}.getType();
-    try {
-      return gson.fromJson(gson.toJson(result.get(TIMEOUT, TimeUnit.SECONDS)), targetClassType);
-    } catch (JsonSyntaxException | InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    return doGetList(RESOLVE_CLASSPATH_COMMAND, projectUri, targetClassType);
   }
 
   /**
@@ -566,47 +591,44 @@ public class JavaLanguageServerExtensionService {
    * @param params command parameters {@link FileStructureCommandParameters}
    * @return file structure tree
    */
-  private List<ExtendedSymbolInformationDto> executeFileStructure(
+  private CompletableFuture<List<ExtendedSymbolInformationDto>> executeFileStructure(
       FileStructureCommandParameters params) {
     LOG.info("Requesting files structure for {}", params);
     params.setUri(prefixURI(params.getUri()));
-    CompletableFuture<Object> result =
-        executeCommand(FILE_STRUCTURE_COMMAND, singletonList(params));
     Type targetClassType = new TypeToken<ArrayList<ExtendedSymbolInformation>>() {}.getType();
-    try {
-      List<ExtendedSymbolInformation> symbols =
-          gson.fromJson(gson.toJson(result.get(TIMEOUT, TimeUnit.SECONDS)), targetClassType);
-      return symbols
-          .stream()
-          .map(
-              symbol -> {
-                fixLocation(symbol);
-                return symbol;
-              })
-          .map(ExtendedSymbolInformationDto::new)
-          .collect(Collectors.toList());
-    } catch (JsonSyntaxException | InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    return this.<List<ExtendedSymbolInformation>>execute(
+            FILE_STRUCTURE_COMMAND, singletonList(params), targetClassType)
+        .thenApply(
+            symbols ->
+                symbols
+                    .stream()
+                    .map(
+                        symbol -> {
+                          fixLocation(symbol);
+                          return symbol;
+                        })
+                    .map(ExtendedSymbolInformationDto::new)
+                    .collect(Collectors.toList()));
   }
 
   public ImplementersResponseDto findImplementers(TextDocumentPositionParams params) {
-    params.getTextDocument().setUri(fixJdtUri(prefixURI(params.getTextDocument().getUri())));
-    CompletableFuture<Object> result =
-        executeCommand(FIND_IMPLEMENTERS_COMMAND, singletonList(params));
+    return await(findImplementersAsync(params));
+  }
 
+  private CompletableFuture<ImplementersResponseDto> findImplementersAsync(
+      TextDocumentPositionParams params) {
+    params.getTextDocument().setUri(fixJdtUri(prefixURI(params.getTextDocument().getUri())));
     Type targetClassType = new TypeToken<ImplementersResponse>() {}.getType();
-    try {
-      ImplementersResponse implementersResponse =
-          gson.fromJson(gson.toJson(result.get(10, TimeUnit.SECONDS)), targetClassType);
-      for (SymbolInformation symbolInformation : implementersResponse.getImplementers()) {
-        symbolInformation.setLocation(
-            LanguageServiceUtils.fixLocation(symbolInformation.getLocation()));
-      }
-      return new ImplementersResponseDto(implementersResponse);
-    } catch (JsonSyntaxException | InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    return this.<ImplementersResponse>execute(
+            FIND_IMPLEMENTERS_COMMAND, singletonList(params), targetClassType)
+        .thenApply(
+            implementersResponse -> {
+              for (SymbolInformation symbolInformation : implementersResponse.getImplementers()) {
+                symbolInformation.setLocation(
+                    LanguageServiceUtils.fixLocation(symbolInformation.getLocation()));
+              }
+              return new ImplementersResponseDto(implementersResponse);
+            });
   }
 
   /**
@@ -616,19 +638,13 @@ public class JavaLanguageServerExtensionService {
    * @return effective pom for given project
    */
   public String getEffectivePom(String projectPath) {
-    final String projectUri = prefixURI(projectPath);
-
-    CompletableFuture<Object> result =
-        executeCommand(GET_EFFECTIVE_POM_COMMAND, singletonList(projectUri));
+    return await(getEffectivePomAsync(projectPath));
+  }
 
+  private CompletableFuture<String> getEffectivePomAsync(String projectPath) {
+    final String projectUri = prefixURI(projectPath);
     Type targetClassType = new TypeToken<String>() {}.getType();
-    try {
-      return gson.fromJson(
-          gson.toJson(result.get(EFFECTIVE_POM_REQUEST_TIMEOUT, TimeUnit.MILLISECONDS)),
-          targetClassType);
-    } catch (JsonSyntaxException | InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    return execute(GET_EFFECTIVE_POM_COMMAND, singletonList(projectUri), targetClassType);
   }
 
   /**
@@ -639,9 +655,14 @@ public class JavaLanguageServerExtensionService {
    * @return list of paths (relatively to projects root) to projects which were updated.
    */
   public List<String> reImportMavenProjects(ReImportMavenProjectsCommandParameters parameters) {
+    return await(reImportMavenProjectsAsync(parameters));
+  }
+
+  private CompletableFuture<List<String>> reImportMavenProjectsAsync(
+      ReImportMavenProjectsCommandParameters parameters) {
     final List<String> projectsToReImport = parameters.getProjectsToUpdate();
     if (projectsToReImport.isEmpty()) {
-      return emptyList();
+      return CompletableFuture.completedFuture(emptyList());
     }
 
     ListIterator<String> iterator = projectsToReImport.listIterator();
@@ -649,27 +670,10 @@ public class JavaLanguageServerExtensionService {
       iterator.set(prefixURI(iterator.next()));
     }
 
-    CompletableFuture<Object> requestResult =
-        executeCommand(REIMPORT_MAVEN_PROJECTS_COMMAND, singletonList(parameters));
-
-    final List<String> result;
     Type targetClassType = new TypeToken<ArrayList<String>>() {}.getType();
-    try {
-      result =
-          gson.fromJson(
-              gson.toJson(
-                  requestResult.get(
-                      REIMPORT_MAVEN_PROJECTS_REQUEST_TIMEOUT, TimeUnit.MILLISECONDS)),
-              targetClassType);
-    } catch (JsonSyntaxException | InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
-
-    iterator = result.listIterator();
-    while (iterator.hasNext()) {
-      iterator.set(removePrefixUri(iterator.next()));
-    }
-    return result;
+    return this.<List<String>>execute(
+            REIMPORT_MAVEN_PROJECTS_COMMAND, singletonList(parameters), targetClassType)
+        .thenApply(LanguageServiceUtils::removePrefixUri);
   }
 
   private void reComputeDiagnostics(String pomPath) {
@@ -677,50 +681,101 @@ public class JavaLanguageServerExtensionService {
     executeCommand(Commands.RECOMPUTE_POM_DIAGNOSTICS, singletonList(pomUri));
   }
 
-  private List<Jar> getProjectExternalLibraries(ExternalLibrariesParameters params) {
-    params.setProjectUri(prefixURI(params.getProjectUri()));
+  private CompletableFuture<List<Jar>> getProjectExternalLibraries(
+      ExternalLibrariesParameters params) {
+    String projectPath = params.getProjectUri();
+    Optional<List<Jar>> cached = librariesCache.getLibraries(projectPath);
+    if (cached.isPresent()) {
+      return CompletableFuture.completedFuture(cached.get());
+    }
+
+    String projectUri = prefixURI(projectPath);
+    params.setProjectUri(projectUri);
     Type type = new TypeToken<ArrayList<Jar>>() {}.getType();
-    return doGetList(GET_EXTERNAL_LIBRARIES_COMMAND, params, type);
+    Type classpathType = new TypeToken<ArrayList<String>>() {}.getType();
+    CompletableFuture<List<String>> classpath =
+        this.<List<String>>execute(
+                RESOLVE_CLASSPATH_COMMAND, singletonList(projectUri), classpathType)
+            .exceptionally(e -> emptyList());
+    return this.<List<Jar>>execute(GET_EXTERNAL_LIBRARIES_COMMAND, singletonList(params), type)
+        .thenCombine(
+            classpath,
+            (jars, resolvedClasspath) -> {
+              librariesCache.putLibraries(projectPath, jars, resolvedClasspath);
+              return jars;
+            });
   }
 
-  private List<JarEntry> getExternalLibrariesChildren(ExternalLibrariesParameters params) {
-    params.setProjectUri(prefixURI(params.getProjectUri()));
-    Type type = new TypeToken<ArrayList<JarEntry>>() {}.getType();
-    return doGetList(GET_EXTERNAL_LIBRARIES_CHILDREN_COMMAND, params, type);
+  private CompletableFuture<List<JarEntry>> getExternalLibrariesChildren(
+      ExternalLibrariesParameters params) {
+    return getCachedLibraryChildren(GET_EXTERNAL_LIBRARIES_CHILDREN_COMMAND, params);
+  }
+
+  private CompletableFuture<List<JarEntry>> getLibraryChildren(ExternalLibrariesParameters params) {
+    return getCachedLibraryChildren(GET_LIBRARY_CHILDREN_COMMAND, params);
   }
 
-  private List<JarEntry> getLibraryChildren(ExternalLibrariesParameters params) {
-    params.setProjectUri(prefixURI(params.getProjectUri()));
+  private CompletableFuture<List<JarEntry>> getCachedLibraryChildren(
+      String command, ExternalLibrariesParameters params) {
+    String projectPath = params.getProjectUri();
+    String libraryId = params.getNodeId();
+    String nodePath = params.getNodePath();
+    Optional<List<JarEntry>> cached = librariesCache.getChildren(projectPath, libraryId, nodePath);
+    if (cached.isPresent()) {
+      return CompletableFuture.completedFuture(cached.get());
+    }
+
+    params.setProjectUri(prefixURI(projectPath));
     Type type = new TypeToken<ArrayList<JarEntry>>() {}.getType();
-    return doGetList(GET_LIBRARY_CHILDREN_COMMAND, params, type);
+    return this.<List<JarEntry>>execute(command, singletonList(params), type)
+        .thenApply(
+            entries -> {
+              librariesCache.putChildren(projectPath, libraryId, nodePath, entries);
+              return entries;
+            });
   }
 
-  private List<ClasspathEntry> getClasspathTree(String projectPath) {
+  private CompletableFuture<List<ClasspathEntry>> getClasspathTree(String projectPath) {
+    Optional<List<ClasspathEntry>> cached = librariesCache.getClasspathTree(projectPath);
+    if (cached.isPresent()) {
+      return CompletableFuture.completedFuture(cached.get());
+    }
+
     String projectUri = prefixURI(projectPath);
     Type type = new TypeToken<ArrayList<ClasspathEntry>>() {}.getType();
-    List<ClasspathEntry> result = doGetList(GET_CLASS_PATH_TREE_COMMAND, projectUri, type);
-    return result
-        .stream()
-        .map(
-            cpe -> {
-              cpe.setPath(LanguageServiceUtils.removePrefixUri(cpe.getPath()));
-              return cpe;
-            })
-        .collect(Collectors.toList());
+    return this.<List<ClasspathEntry>>execute(
+            GET_CLASS_PATH_TREE_COMMAND, singletonList(projectUri), type)
+        .thenApply(
+            result -> {
+              List<ClasspathEntry> classpathTree =
+                  result
+                      .stream()
+                      .map(
+                          cpe -> {
+                            cpe.setPath(LanguageServiceUtils.removePrefixUri(cpe.getPath()));
+                            return cpe;
+                          })
+                      .collect(Collectors.toList());
+              librariesCache.putClasspathTree(projectPath, classpathTree);
+              return classpathTree;
+            });
   }
 
-  private JarEntry getLibraryEntry(String resourceUri) {
+  private CompletableFuture<JarEntry> getLibraryEntry(String resourceUri) {
     Type type = new TypeToken<JarEntry>() {}.getType();
-    return doGetOne(GET_LIBRARY_ENTRY_COMMAND, singletonList(fixJdtUri(resourceUri)), type);
+    return execute(GET_LIBRARY_ENTRY_COMMAND, singletonList(fixJdtUri(resourceUri)), type);
   }
 
-  private RefactoringResult rename(RenameSettings renameSettings) {
+  private CompletableFuture<RefactoringResult> rename(RenameSettings renameSettings) {
     Type type = new TypeToken<RefactoringResult>() {}.getType();
     String uri = renameSettings.getRenameParams().getTextDocument().getUri();
     renameSettings.getRenameParams().getTextDocument().setUri(prefixURI(uri));
 
-    RefactoringResult refactoringResult =
-        doGetOne(RENAME_COMMAND, singletonList(renameSettings), type, 30, TimeUnit.SECONDS);
+    return this.<RefactoringResult>execute(RENAME_COMMAND, singletonList(renameSettings), type)
+        .thenApply(this::fixRefactoringResult);
+  }
+
+  private RefactoringResult fixRefactoringResult(RefactoringResult refactoringResult) {
     CheWorkspaceEdit cheWorkspaceEdit = refactoringResult.getCheWorkspaceEdit();
     List<CheResourceChange> resourceChanges = getResourceChanges(cheWorkspaceEdit);
     cheWorkspaceEdit.setCheResourceChanges(resourceChanges);
@@ -755,29 +810,32 @@ public class JavaLanguageServerExtensionService {
     return changes;
   }
 
-  private RenamingElementInfo getRenamingElementInfo(RenameSelectionParams renameSelection) {
+  private CompletableFuture<RenamingElementInfo> getRenamingElementInfo(
+      RenameSelectionParams renameSelection) {
     Type type = new TypeToken<RenamingElementInfo>() {}.getType();
     String uri = renameSelection.getResourceUri();
     renameSelection.setResourceUri(prefixURI(uri));
 
-    return doGetOne(Commands.GET_RENAME_TYPE_COMMAND, singletonList(renameSelection), type);
+    return execute(Commands.GET_RENAME_TYPE_COMMAND, singletonList(renameSelection), type);
   }
 
-  private RefactoringStatus validateName(RenameSelectionParams renameSelectionParams) {
+  private CompletableFuture<RefactoringStatus> validateName(
+      RenameSelectionParams renameSelectionParams) {
     Type type = new TypeToken<RefactoringStatus>() {}.getType();
     String uri = renameSelectionParams.getResourceUri();
     renameSelectionParams.setResourceUri(prefixURI(uri));
 
-    return doGetOne(
+    return execute(
         Commands.VALIDATE_RENAMED_NAME_COMMAND, singletonList(renameSelectionParams), type);
   }
 
-  private List<Range> getLinkedElements(TextDocumentPositionParams textDocumentPositionParams) {
+  private CompletableFuture<List<Range>> getLinkedElements(
+      TextDocumentPositionParams textDocumentPositionParams) {
     Type type = new TypeToken<List<Range>>() {}.getType();
     String uri = textDocumentPositionParams.getTextDocument().getUri();
     textDocumentPositionParams.getTextDocument().setUri(prefixURI(uri));
 
-    return doGetOne(
+    return execute(
         Commands.GET_LINKED_ELEMENTS_COMMAND, singletonList(textDocumentPositionParams), type);
   }
 
@@ -805,7 +863,7 @@ public class JavaLanguageServerExtensionService {
     }
   }
 
-  private RefactoringResult move(MoveSettings moveSettings) {
+  private CompletableFuture<RefactoringResult> move(MoveSettings moveSettings) {
     Type type = new TypeToken<RefactoringResult>() {}.getType();
     String destinationUri = moveSettings.getDestination();
     moveSettings.setDestination(prefixURI(destinationUri));
@@ -819,17 +877,11 @@ public class JavaLanguageServerExtensionService {
 
     moveSettings.setElements(resourceToMove);
 
-    RefactoringResult refactoringResult =
-        doGetOne(Commands.MOVE_COMMAND, singletonList(moveSettings), type);
-    CheWorkspaceEdit cheWorkspaceEdit = refactoringResult.getCheWorkspaceEdit();
-    List<CheResourceChange> resourceChanges = getResourceChanges(cheWorkspaceEdit);
-    cheWorkspaceEdit.setCheResourceChanges(resourceChanges);
-    cheWorkspaceEdit.setChanges(getTextChanges(cheWorkspaceEdit));
-    refactoringResult.setCheWorkspaceEdit(cheWorkspaceEdit);
-    return refactoringResult;
+    return this.<RefactoringResult>execute(Commands.MOVE_COMMAND, singletonList(moveSettings), type)
+        .thenApply(this::fixRefactoringResult);
   }
 
-  private Boolean validateMove(CreateMoveParams moveParams) {
+  private CompletableFuture<Boolean> validateMove(CreateMoveParams moveParams) {
     Type type = new TypeToken<Boolean>() {}.getType();
 
     List<Resource> resources =
@@ -842,10 +894,10 @@ public class JavaLanguageServerExtensionService {
     moveParams.setResources(resources);
     moveParams.setProjectUri(prefixURI(moveParams.getProjectUri()));
 
-    return doGetOne(Commands.VALIDATE_MOVE_COMMAND, singletonList(moveParams), type);
+    return execute(Commands.VALIDATE_MOVE_COMMAND, singletonList(moveParams), type);
   }
 
-  private RefactoringStatus verifyMoveDestination(MoveSettings moveSettings) {
+  private CompletableFuture<RefactoringStatus> verifyMoveDestination(MoveSettings moveSettings) {
     Type type = new TypeToken<RefactoringStatus>() {}.getType();
     String destinationUri = moveSettings.getDestination();
     moveSettings.setDestination(prefixURI(destinationUri));
@@ -859,7 +911,7 @@ public class JavaLanguageServerExtensionService {
 
     moveSettings.setElements(resourceToMove);
 
-    return doGetOne(Commands.VERIFY_MOVE_DESTINATION_COMMAND, singletonList(moveSettings), type);
+    return execute(Commands.VERIFY_MOVE_DESTINATION_COMMAND, singletonList(moveSettings), type);
   }
 
   private List<String> executeFindTestsCommand(
@@ -918,7 +970,7 @@ public class JavaLanguageServerExtensionService {
     List<Object> params = singletonList(updateWorkspaceParameters);
 
     try {
-      return doGetOne(Commands.UPDATE_WORKSPACE, params, type, 1, TimeUnit.HOURS);
+      return doGetOne(Commands.UPDATE_WORKSPACE, params, type);
     } catch (Exception e) {
       LOG.error(e.getMessage(), e);
       return new JobResult(Severity.ERROR, 1, e.getMessage());
@@ -950,10 +1002,15 @@ public class JavaLanguageServerExtensionService {
 
   /** Organizes imports in a file or in a directory. */
   public OrganizeImportsResult organizeImports(OrganizeImportParams organizeImports) {
+    return await(organizeImportsAsync(organizeImports));
+  }
+
+  private CompletableFuture<OrganizeImportsResult> organizeImportsAsync(
+      OrganizeImportParams organizeImports) {
     organizeImports.setResourceUri(prefixURI(organizeImports.getResourceUri()));
 
     Type type = new TypeToken<OrganizeImportsResult>() {}.getType();
-    return doGetOne(Commands.ORGANIZE_IMPORTS, singletonList(organizeImports), type);
+    return execute(Commands.ORGANIZE_IMPORTS, singletonList(organizeImports), type);
   }
 
   // configuration
@@ -972,9 +1029,12 @@ public class JavaLanguageServerExtensionService {
 
   /** Updates JDT LS java core options. */
   public Boolean updateJavaCoreOptions(JavaCoreOptions javaCoreOptions) {
+    return await(updateJavaCoreOptionsAsync(javaCoreOptions));
+  }
+
+  private CompletableFuture<Boolean> updateJavaCoreOptionsAsync(JavaCoreOptions javaCoreOptions) {
     Type type = new TypeToken<Boolean>() {}.getType();
-    return doGetOne(
-        Commands.UPDATE_JAVA_CORE_OPTIONS_СOMMAND, singletonList(javaCoreOptions), type);
+    return execute(Commands.UPDATE_JAVA_CORE_OPTIONS_СOMMAND, singletonList(javaCoreOptions), type);
   }
 
   /**
@@ -990,10 +1050,20 @@ public class JavaLanguageServerExtensionService {
       throws JsonSyntaxException, InterruptedException, ExecutionException, TimeoutException {
     Type type = new TypeToken<ArrayList<String>>() {}.getType();
 
-    CompletableFuture<Object> result =
-        executeCommand(Commands.GET_MAVEN_PROJECTS_COMMAND, singletonList(prefixURI(rootPath)));
-    List<String> projectsUri = gson.fromJson(gson.toJson(result.get(timeout, unit)), type);
-    return removePrefixUri(projectsUri);
+    CompletableFuture<List<String>> result =
+        execute(
+            Commands.GET_MAVEN_PROJECTS_COMMAND,
+            singletonList(prefixURI(rootPath)),
+            type,
+            unit.toMillis(timeout));
+    try {
+      return removePrefixUri(result.get());
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof TimeoutException) {
+        throw (TimeoutException) e.getCause();
+      }
+      throw e;
+    }
   }
 
   private <T, P> List<T> doGetList(String command, P params, Type type) {
@@ -1001,31 +1071,123 @@ public class JavaLanguageServerExtensionService {
   }
 
   private <T> List<T> doGetList(String command, List<Object> params, Type type) {
-    CompletableFuture<Object> result = executeCommand(command, params);
-    try {
-      return gson.fromJson(gson.toJson(result.get(TIMEOUT, TimeUnit.SECONDS)), type);
-    } catch (JsonSyntaxException | InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    return await(execute(command, params, type));
   }
 
   private <T> T doGetOne(String command, List<Object> params, Type type) {
-    return doGetOne(command, params, type, TIMEOUT, TimeUnit.SECONDS);
+    return await(execute(command, params, type));
+  }
+
+  /**
+   * Executes the command in jdt.ls and converts its result to the given type. The returned future
+   * fails with {@link TimeoutException} if the command doesn't respond in the time configured for
+   * it.
+   */
+  private <T> CompletableFuture<T> execute(String command, List<Object> params, Type type) {
+    return execute(command, params, type, COMMAND_TIMEOUTS.getOrDefault(command, TIMEOUT));
   }
 
-  private <T> T doGetOne(
-      String command, List<Object> params, Type type, long timeoutInSeconds, TimeUnit timeUnit) {
-    CompletableFuture<Object> result = executeCommand(command, params);
+  @VisibleForTesting
+  <T> CompletableFuture<T> execute(
+      String command, List<Object> params, Type type, long timeoutInMillis) {
+    final long start = System.nanoTime();
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final ScheduledFuture<?> timeout =
+        TIMEOUT_SCHEDULER.schedule(
+            () -> result.completeExceptionally(new TimeoutException()),
+            timeoutInMillis,
+            TimeUnit.MILLISECONDS);
+    // statistics are recorded before the caller is notified about the completion
+    final CompletableFuture<T> recorded =
+        result.whenComplete(
+            (value, error) -> {
+              timeout.cancel(false);
+              final long elapsed = System.nanoTime() - start;
+              commandLatencies
+                  .computeIfAbsent(command, c -> new CommandLatency())
+                  .record(elapsed, error != null);
+              LOG.debug(
+                  "Command {} {} in {} ms",
+                  command,
+                  error == null ? "completed" : "failed",
+                  TimeUnit.NANOSECONDS.toMillis(elapsed));
+            });
+    executeCommand(command, params)
+        .whenComplete(
+            (value, error) -> {
+              if (error != null) {
+                result.completeExceptionally(error);
+                return;
+              }
+              try {
+                result.complete(fromJson(value, type));
+              } catch (JsonParseException e) {
+                result.completeExceptionally(e);
+              }
+            });
+    return recorded;
+  }
+
+  /**
+   * Converts the result of a command to the given type. Results of jdt.ls commands are already
+   * parsed JSON trees, so they are mapped directly instead of being printed and parsed again.
+   */
+  private <T> T fromJson(Object value, Type type) {
+    if (value == null) {
+      return null;
+    }
+    JsonElement json = value instanceof JsonElement ? (JsonElement) value : gson.toJsonTree(value);
+    return gson.fromJson(json, type);
+  }
+
+  private <T> T await(CompletableFuture<T> future) {
     try {
-      return gson.fromJson(gson.toJson(result.get(timeoutInSeconds, timeUnit)), type);
-    } catch (TimeoutException e) {
-      String errorMessage = e.getLocalizedMessage();
-      throw new JsonRpcException(
-          -27000,
-          isNullOrEmpty(errorMessage) ? "Operation was interrupted by timeout" : errorMessage);
-    } catch (JsonSyntaxException | InterruptedException | ExecutionException e) {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
       throw new JsonRpcException(-27000, e.getMessage());
+    } catch (ExecutionException e) {
+      throw toJsonRpcException(e.getCause());
+    }
+  }
+
+  private <T> JsonRpcPromise<T> toPromise(CompletableFuture<T> future) {
+    return new FutureJsonRpcPromise<>(
+        future,
+        error -> {
+          JsonRpcException exception = toJsonRpcException(error);
+          return new JsonRpcError(exception.getCode(), exception.getMessage());
+        });
+  }
+
+  private JsonRpcException toJsonRpcException(Throwable error) {
+    Throwable cause =
+        error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+    if (cause instanceof JsonRpcException) {
+      return (JsonRpcException) cause;
     }
+    String errorMessage = cause.getLocalizedMessage();
+    if (cause instanceof TimeoutException && isNullOrEmpty(errorMessage)) {
+      errorMessage = "Operation was interrupted by timeout";
+    }
+    return new JsonRpcException(-27000, errorMessage);
+  }
+
+  /**
+   * Returns latency statistics of the jdt.ls extension commands executed by this service, served
+   * by the {@code java/commandStatistics} JSON-RPC method.
+   *
+   * @return statistics of each executed command, sorted by command id
+   */
+  public List<CommandStatistics> getCommandStatistics() {
+    return commandLatencies
+        .entrySet()
+        .stream()
+        .map(entry -> entry.getValue().toStatistics(entry.getKey()))
+        .sorted(Comparator.comparing(CommandStatistics::getCommand))
+        .collect(Collectors.toList());
   }
 
   private CompletableFuture<Object> executeCommand(String commandId, List<Object> parameters) {
@@ -1057,32 +1219,32 @@ public class JavaLanguageServerExtensionService {
     }
   }
 
-  private UsagesResponse usages(TextDocumentPositionParams parameters) {
+  private CompletableFuture<UsagesResponse> usages(TextDocumentPositionParams parameters) {
     String uri = prefixURI(parameters.getUri());
     parameters.setUri(uri);
     parameters.getTextDocument().setUri(uri);
-    try {
-      Type targetClassType = new TypeToken<ArrayList<UsagesResponse>>() {}.getType();
-      List<UsagesResponse> results = doGetList(USAGES_COMMAND, parameters, targetClassType);
-      if (results.isEmpty()) {
-        return null;
-      }
-      results
-          .get(0)
-          .getSearchResults()
-          .forEach(
-              result -> {
-                iterate(
-                    result,
-                    r -> r.getChildren(),
-                    r -> {
-                      r.setUri(LanguageServiceUtils.fixUri(r.getUri()));
-                    });
-              });
-      return new DtoServerImpls.UsagesResponseDto(results.get(0));
-    } catch (JsonSyntaxException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    Type targetClassType = new TypeToken<ArrayList<UsagesResponse>>() {}.getType();
+    return this.<List<UsagesResponse>>execute(
+            USAGES_COMMAND, singletonList(parameters), targetClassType)
+        .thenApply(
+            results -> {
+              if (results.isEmpty()) {
+                return null;
+              }
+              results
+                  .get(0)
+                  .getSearchResults()
+                  .forEach(
+                      result -> {
+                        iterate(
+                            result,
+                            r -> r.getChildren(),
+                            r -> {
+                              r.setUri(LanguageServiceUtils.fixUri(r.getUri()));
+                            });
+                      });
+              return new DtoServerImpls.UsagesResponseDto(results.get(0));
+            });
   }
 
   private <T> void iterate(
@@ -1092,4 +1254,69 @@ public class JavaLanguageServerExtensionService {
       iterate(child, childrenAccessor, elementHandler);
     }
   }
+
+  /** Accumulates the latencies of a jdt.ls extension command. */
+  private static class CommandLatency {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private void record(long nanos, boolean failed) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      if (failed) {
+        failures.increment();
+      }
+    }
+
+    private CommandStatistics toStatistics(String command) {
+      final long calls = count.sum();
+      return new CommandStatistics(
+          command,
+          calls,
+          failures.sum(),
+          calls == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / calls),
+          TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+    }
+  }
+
+  /** Latency statistics of a jdt.ls extension command. */
+  public static class CommandStatistics {
+    private final String command;
+    private final long count;
+    private final long failures;
+    private final long averageMillis;
+    private final long maxMillis;
+
+    public CommandStatistics(
+        String command, long count, long failures, long averageMillis, long maxMillis) {
+      this.command = command;
+      this.count = count;
+      this.failures = failures;
+      this.averageMillis = averageMillis;
+      this.maxMillis = maxMillis;
+    }
+
+    public String getCommand() {
+      return command;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getFailures() {
+      return failures;
+    }
+
+    public long getAverageMillis() {
+      return averageMillis;
+    }
+
+    public long getMaxMillis() {
+      return maxMillis;
+    }
+  }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.languageserver;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.notification.ProjectDeletedEvent;
+import org.eclipse.che.jdt.ls.extension.api.dto.Jar;
+import org.eclipse.che.jdt.ls.extension.api.dto.JarEntry;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link ExternalLibrariesCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class ExternalLibrariesCacheTest {
+
+  private static final String PROJECT = "/project";
+  private static final String PROJECT2 = "/project2";
+  private static final long MAX_ENTRIES = 4;
+
+  @Mock private EventService eventService;
+
+  @Captor private ArgumentCaptor<EventSubscriber<ProjectClassPathChangedEvent>> classPathChanged;
+  @Captor private ArgumentCaptor<EventSubscriber<ProjectDeletedEvent>> projectDeleted;
+
+  private Path root;
+  private String jarPath;
+  private ExternalLibrariesCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("external-libraries");
+    jarPath = Files.write(root.resolve("lib.jar"), new byte[] {1, 2, 3}).toString();
+    cache = new ExternalLibrariesCache(eventService, MAX_ENTRIES);
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    try (Stream<Path> paths = Files.walk(root)) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Test
+  public void shouldCacheChildrenOfLibraryNodesPerProject() {
+    List<JarEntry> entries = entries(1);
+    List<JarEntry> entries2 = entries(1);
+    cache.putLibraries(PROJECT, singletonList(jar("lib.jar", "1")), singletonList(jarPath));
+    cache.putLibraries(PROJECT2, singletonList(jar("lib.jar", "1")), singletonList(jarPath));
+
+    cache.putChildren(PROJECT, "1", null, entries);
+    assertFalse(cache.getChildren(PROJECT2, "1", null).isPresent());
+    cache.putChildren(PROJECT2, "1", null, entries2);
+
+    assertEquals(cache.getChildren(PROJECT, "1", null), Optional.of(entries));
+    assertEquals(cache.getChildren(PROJECT2, "1", null), Optional.of(entries2));
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedNodesWhenMaxWeightIsExceeded() {
+    cache.putLibraries(PROJECT, singletonList(jar("lib.jar", "1")), singletonList(jarPath));
+
+    cache.putChildren(PROJECT, "1", "a", entries(2));
+    cache.putChildren(PROJECT, "1", "b", entries(2));
+    cache.getChildren(PROJECT, "1", "a");
+    cache.putChildren(PROJECT, "1", "c", entries(2));
+
+    assertTrue(cache.getChildren(PROJECT, "1", "a").isPresent());
+    assertFalse(cache.getChildren(PROJECT, "1", "b").isPresent());
+    assertTrue(cache.getChildren(PROJECT, "1", "c").isPresent());
+  }
+
+  @Test
+  public void shouldInvalidateProjectWhenItsClassPathIsChanged() {
+    cache.subscribe();
+    verify(eventService)
+        .subscribe(classPathChanged.capture(), eq(ProjectClassPathChangedEvent.class));
+    givenChildrenOf(PROJECT);
+    givenChildrenOf(PROJECT2);
+
+    classPathChanged.getValue().onEvent(new ProjectClassPathChangedEvent(PROJECT));
+
+    assertFalse(cache.getLibraries(PROJECT).isPresent());
+    assertTrue(cache.getLibraries(PROJECT2).isPresent());
+    assertTrue(cache.getChildren(PROJECT2, "1", null).isPresent());
+    // the node is not found even when the libraries of the project are cached again
+    cache.putLibraries(PROJECT, singletonList(jar("lib.jar", "1")), singletonList(jarPath));
+    assertFalse(cache.getChildren(PROJECT, "1", null).isPresent());
+  }
+
+  @Test
+  public void shouldInvalidateProjectWhenItIsDeleted() {
+    cache.subscribe();
+    verify(eventService).subscribe(projectDeleted.capture(), eq(ProjectDeletedEvent.class));
+    givenChildrenOf(PROJECT);
+    givenChildrenOf(PROJECT2);
+
+    projectDeleted.getValue().onEvent(new ProjectDeletedEvent(PROJECT));
+
+    assertFalse(cache.getLibraries(PROJECT).isPresent());
+    assertTrue(cache.getChildren(PROJECT2, "1", null).isPresent());
+    cache.putLibraries(PROJECT, singletonList(jar("lib.jar", "1")), singletonList(jarPath));
+    assertFalse(cache.getChildren(PROJECT, "1", null).isPresent());
+  }
+
+  @Test
+  public void shouldNotCacheChildrenOfLibraryWhoseFileNameIsAmbiguous() throws Exception {
+    Path module = Files.createDirectory(root.resolve("module"));
+    String sameName = Files.write(module.resolve("lib.jar"), new byte[] {4}).toString();
+    String other = Files.write(root.resolve("other.jar"), new byte[] {5}).toString();
+    cache.putLibraries(
+        PROJECT,
+        asList(jar("lib.jar", "1"), jar("other.jar", "2")),
+        asList(jarPath, sameName, other));
+
+    cache.putChildren(PROJECT, "1", null, entries(1));
+    cache.putChildren(PROJECT, "2", null, entries(1));
+
+    assertFalse(cache.getChildren(PROJECT, "1", null).isPresent());
+    assertTrue(cache.getChildren(PROJECT, "2", null).isPresent());
+  }
+
+  private void givenChildrenOf(String project) {
+    cache.putLibraries(project, singletonList(jar("lib.jar", "1")), singletonList(jarPath));
+    cache.putChildren(project, "1", null, entries(1));
+  }
+
+  private static Jar jar(String name, String id) {
+    Jar jar = mock(Jar.class);
+    when(jar.getName()).thenReturn(name);
+    // ids of the jars which are not matched with the classpath are not read
+    lenient().when(jar.getId()).thenReturn(id);
+    return jar;
+  }
+
+  private static List<JarEntry> entries(int count) {
+    JarEntry[] entries = new JarEntry[count];
+    for (int i = 0; i < count; i++) {
+      entries[i] = mock(JarEntry.class);
+    }
+    return asList(entries);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.languageserver;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link FutureJsonRpcPromise}. */
+public class FutureJsonRpcPromiseTest {
+
+  private CompletableFuture<String> future;
+  private FutureJsonRpcPromise<String> promise;
+  private List<String> results;
+  private List<JsonRpcError> errors;
+
+  @BeforeMethod
+  public void setUp() {
+    future = new CompletableFuture<>();
+    promise = new FutureJsonRpcPromise<>(future, e -> new JsonRpcError(-27000, e.getMessage()));
+    results = new ArrayList<>();
+    errors = new ArrayList<>();
+  }
+
+  @Test
+  public void shouldPassResultToConsumerSetAfterCompletion() {
+    future.complete("result");
+
+    promise.onSuccess(result -> results.add(result));
+    promise.onFailure(error -> errors.add(error));
+
+    assertEquals(results.size(), 1);
+    assertEquals(results.get(0), "result");
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  public void shouldPassResultToConsumerSetBeforeCompletion() {
+    promise.onSuccess(result -> results.add(result));
+    promise.onFailure(error -> errors.add(error));
+    assertTrue(results.isEmpty());
+
+    future.complete("result");
+
+    assertEquals(results.size(), 1);
+    assertEquals(results.get(0), "result");
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  public void shouldPassErrorToConsumerSetAfterCompletion() {
+    future.completeExceptionally(new IllegalStateException("failed"));
+
+    promise.onSuccess(result -> results.add(result));
+    promise.onFailure(error -> errors.add(error));
+
+    assertTrue(results.isEmpty());
+    assertEquals(errors.size(), 1);
+    assertEquals(errors.get(0).getCode(), -27000);
+    assertEquals(errors.get(0).getMessage(), "failed");
+  }
+
+  @Test
+  public void shouldPassErrorToConsumerSetBeforeCompletion() {
+    promise.onSuccess(result -> results.add(result));
+    promise.onFailure(error -> errors.add(error));
+
+    future.completeExceptionally(new IllegalStateException("failed"));
+
+    assertTrue(results.isEmpty());
+    assertEquals(errors.size(), 1);
+    assertEquals(errors.get(0).getMessage(), "failed");
+  }
+
+  @Test
+  public void shouldKeepErrorUntilFailureConsumerIsSet() {
+    promise.onSuccess(result -> results.add(result));
+    future.completeExceptionally(new IllegalStateException("failed"));
+    assertTrue(errors.isEmpty());
+
+    promise.onFailure(error -> errors.add(error));
+
+    assertTrue(results.isEmpty());
+    assertEquals(errors.size(), 1);
+    assertEquals(errors.get(0).getMessage(), "failed");
+  }
+
+  @Test
+  public void shouldPassResultOnlyOnce() {
+    promise.onSuccess(result -> results.add(result));
+    future.complete("result");
+
+    promise.onFailure(error -> errors.add(error));
+
+    assertEquals(results.size(), 1);
+    assertTrue(errors.isEmpty());
+  }
+}
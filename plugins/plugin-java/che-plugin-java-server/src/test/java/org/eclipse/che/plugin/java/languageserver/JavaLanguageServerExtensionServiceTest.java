@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.languageserver;
+
+import static java.util.Collections.emptyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.languageserver.FindServer;
+import org.eclipse.che.api.languageserver.LanguageServerInitializer;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.plugin.java.languageserver.JavaLanguageServerExtensionService.CommandStatistics;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link JavaLanguageServerExtensionService}. */
+@Listeners(MockitoTestNGListener.class)
+public class JavaLanguageServerExtensionServiceTest {
+
+  @Mock private FindServer registry;
+  @Mock private LanguageServerInitializer initializer;
+  @Mock private RequestHandlerConfigurator requestHandler;
+  @Mock private ProjectManager projectManager;
+  @Mock private EventService eventService;
+  @Mock private ExternalLibrariesCache librariesCache;
+
+  @InjectMocks private JavaLanguageServerExtensionService service;
+
+  @Test(timeOut = 5000)
+  public void shouldFailCommandWhichDoesNotRespondInTime() throws Exception {
+    // language server never becomes initialized
+    when(initializer.initialize(anyString())).thenReturn(new CompletableFuture<>());
+
+    CompletableFuture<String> result = service.execute("command", emptyList(), String.class, 50);
+
+    try {
+      result.get(2, TimeUnit.SECONDS);
+      fail("Command is expected to time out");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutException);
+    }
+  }
+
+  @Test(timeOut = 5000)
+  public void shouldRecordStatisticsOfCommands() throws Exception {
+    when(initializer.initialize(anyString())).thenReturn(new CompletableFuture<>());
+
+    try {
+      service.execute("command", emptyList(), String.class, 50).get(2, TimeUnit.SECONDS);
+      fail("Command is expected to time out");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutException);
+    }
+
+    final List<CommandStatistics> statistics = service.getCommandStatistics();
+    assertEquals(statistics.size(), 1);
+    assertEquals(statistics.get(0).getCommand(), "command");
+    assertEquals(statistics.get(0).getCount(), 1);
+    assertEquals(statistics.get(0).getFailures(), 1);
+    assertTrue(statistics.get(0).getMaxMillis() >= 50);
+  }
+}
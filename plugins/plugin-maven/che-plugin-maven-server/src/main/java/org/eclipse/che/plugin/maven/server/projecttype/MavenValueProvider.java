@@ -51,6 +51,9 @@ public class MavenValueProvider extends ReadonlyValueProvider {
   private final String projectWsPath;
   private final FsManager fsManager;
 
+  /** Model of pom.xml, read once for all attributes. */
+  private Model pomModel;
+
   protected MavenValueProvider(String projectWsPath, FsManager fsManager) {
     this.projectWsPath = absolutize(projectWsPath);
     this.fsManager = fsManager;
@@ -71,7 +74,10 @@ public class MavenValueProvider extends ReadonlyValueProvider {
   private List<String> readFromPom(String attributeName)
       throws ServerException, ForbiddenException, IOException, XMLTreeException,
           ValueStorageException {
-    final Model model = readModel(projectWsPath);
+    if (pomModel == null) {
+      pomModel = readModel(projectWsPath);
+    }
+    final Model model = pomModel;
     switch (attributeName) {
       case ARTIFACT_ID:
         return singletonList(model.getArtifactId());
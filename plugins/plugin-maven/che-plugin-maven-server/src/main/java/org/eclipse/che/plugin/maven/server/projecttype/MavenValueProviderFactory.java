@@ -11,6 +11,9 @@
  */
 package org.eclipse.che.plugin.maven.server.projecttype;
 
+import static java.util.Collections.singleton;
+
+import java.util.Set;
 import javax.inject.Inject;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.type.ValueProvider;
@@ -25,4 +28,9 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
   public ValueProvider newInstance(String wsPath) {
     return new MavenValueProvider(wsPath, fsManager);
   }
+
+  @Override
+  public Set<String> getDependencies() {
+    return singleton("pom.xml");
+  }
 }
@@ -12,38 +12,78 @@
 package org.eclipse.che.plugin.java.testing;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static org.eclipse.che.api.languageserver.LanguageServiceUtils.prefixURI;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.eclipse.che.api.testing.server.framework.TestRunner;
 import org.eclipse.che.api.testing.shared.TestDetectionContext;
 import org.eclipse.che.api.testing.shared.TestExecutionContext;
+import org.eclipse.che.api.testing.shared.TestExecutionContext.ContextType;
 import org.eclipse.che.api.testing.shared.TestPosition;
+import org.eclipse.che.commons.lang.execution.CommandLine;
+import org.eclipse.che.commons.lang.execution.ExecutionException;
+import org.eclipse.che.commons.lang.execution.ProcessHandler;
 import org.eclipse.che.plugin.java.languageserver.JavaLanguageServerExtensionService;
 import org.eclipse.che.plugin.java.languageserver.dto.DtoServerImpls.TestPositionDto;
 
 /**
  * Abstract java test runner. Can recognize test methods, find java project and compilation unit by
  * path.
+ *
+ * <p>Tests of a project, a folder or a set of classes can be run by several JVMs in parallel, see
+ * {@link #startTests(TestExecutionContext, List, TestCommandFactory)}.
  */
 public abstract class AbstractJavaTestRunner implements TestRunner {
+  /** Minimal number of test classes which is worth forking a JVM for. */
+  private static final int MIN_CLASSES_PER_SHARD = 2;
+
   private int debugPort = -1;
   private JavaLanguageServerExtensionService extensionService;
   private String testMethodAnnotation;
   private String testClassAnnotation;
+  private int shards;
+  private TestRunHistory history;
+  private TestDiscoveryIndex discoveryIndex;
 
   public AbstractJavaTestRunner(
       JavaLanguageServerExtensionService extensionService,
       String testMethodAnnotation,
       String testClassAnnotation) {
+    this(extensionService, testMethodAnnotation, testClassAnnotation, 1, null, null);
+  }
+
+  /**
+   * Creates runner.
+   *
+   * @param shards maximum number of JVMs which run the tests in parallel
+   * @param history durations and results of the previous runs, if {@code null} the runs are not
+   *     recorded
+   * @param discoveryIndex index of the tests of the projects, if {@code null} the tests are
+   *     searched by jdt.ls on every run
+   */
+  public AbstractJavaTestRunner(
+      JavaLanguageServerExtensionService extensionService,
+      String testMethodAnnotation,
+      String testClassAnnotation,
+      int shards,
+      TestRunHistory history,
+      TestDiscoveryIndex discoveryIndex) {
     this.extensionService = extensionService;
     this.testMethodAnnotation = testMethodAnnotation;
     this.testClassAnnotation = testClassAnnotation;
+    this.shards = shards;
+    this.history = history;
+    this.discoveryIndex = discoveryIndex;
   }
 
   @Override
@@ -72,16 +112,94 @@ public abstract class AbstractJavaTestRunner implements TestRunner {
    * @return list of full qualified names of test classes. If it is the declaration of a test method
    *     it should be: parent fqn + '#' + method name (a.b.c.ClassName#methodName)
    */
-  protected List<String> findTests(TestExecutionContext context) {
+  @Override
+  public List<String> findTests(TestExecutionContext context) {
     return executeFindTestsCommand(context, testMethodAnnotation, testClassAnnotation);
   }
 
+  /**
+   * Starts the tests. The tests of a project, a folder or a set of classes are distributed among
+   * several shards by the durations of their previous runs, the output of the shards is merged and
+   * the durations of the test classes are recorded for the next runs. The tests which are run by a
+   * single shard are run by a plain process, its output is recorded by the {@link TestRunRecorder}.
+   * If the context asks for it, the test classes which failed in the previous run are run first.
+   *
+   * @param context information about test execution
+   * @param tests tests to run, see {@link #findTests(TestExecutionContext)}
+   * @param commandFactory creates the command which runs the given tests
+   * @return handler of the process which runs the tests
+   * @throws ExecutionException if a process can't be started
+   */
+  protected ProcessHandler startTests(
+      TestExecutionContext context, List<String> tests, TestCommandFactory commandFactory)
+      throws ExecutionException {
+    if (history == null) {
+      return new ProcessHandler(commandFactory.create(0, tests).createProcess());
+    }
+
+    String projectPath = context.getProjectPath();
+    Set<String> failedFirst =
+        Boolean.TRUE.equals(context.isRunFailedFirst())
+            ? history.getFailed(projectPath)
+            : emptySet();
+    Map<String, Long> durations = history.getDurations(projectPath);
+    List<List<String>> plan =
+        TestShardPlanner.plan(tests, getShardCount(context, tests), durations, failedFirst);
+    Set<String> testClasses = new HashSet<>(tests);
+    if (plan.size() == 1) {
+      ProcessHandler handler =
+          new ProcessHandler(commandFactory.create(0, plan.get(0)).createProcess());
+      handler.addProcessListener(new TestRunRecorder(history, projectPath, testClasses));
+      return handler;
+    }
+
+    List<Process> processes = new ArrayList<>(plan.size());
+    try {
+      for (int shard = 0; shard < plan.size(); shard++) {
+        processes.add(commandFactory.create(shard, plan.get(shard)).createProcess());
+      }
+    } catch (ExecutionException | RuntimeException e) {
+      processes.forEach(Process::destroy);
+      throw e;
+    }
+
+    return new ProcessHandler(
+        new ShardedTestProcess(
+            processes,
+            testClasses,
+            merger -> history.update(projectPath, merger.getDurations(), merger.getFailed())));
+  }
+
+  private int getShardCount(TestExecutionContext context, List<String> tests) {
+    ContextType type = context.getContextType();
+    if (Boolean.TRUE.equals(context.isDebugModeEnable())
+        || (type != ContextType.PROJECT && type != ContextType.FOLDER && type != ContextType.SET)) {
+      return 1;
+    }
+    return Math.max(1, Math.min(shards, tests.size() / MIN_CLASSES_PER_SHARD));
+  }
+
   protected List<String> getResolvedClassPaths(TestExecutionContext context) {
     return extensionService.getResolvedClasspath(prefixURI(context.getProjectPath()));
   }
 
   private List<String> executeFindTestsCommand(
       TestExecutionContext context, String methodAnnotation, String classAnnotation) {
+    if (discoveryIndex != null) {
+      switch (context.getContextType()) {
+        case PROJECT:
+          return discoveryIndex.findTestsFromProject(
+              context.getProjectPath(), methodAnnotation, classAnnotation);
+        case FILE:
+          return discoveryIndex.findTestsInFile(
+              context.getProjectPath(), context.getFilePath(), methodAnnotation, classAnnotation);
+        case FOLDER:
+          return discoveryIndex.findTestsFromFolder(
+              context.getProjectPath(), context.getFilePath(), methodAnnotation, classAnnotation);
+        default:
+          break;
+      }
+    }
     switch (context.getContextType()) {
       case PROJECT:
         return extensionService.findTestsFromProject(
@@ -128,4 +246,17 @@ public abstract class AbstractJavaTestRunner implements TestRunner {
       return true;
     }
   }
+
+  /** Creates the command which runs the tests of a shard. */
+  @FunctionalInterface
+  protected interface TestCommandFactory {
+    /**
+     * Creates the command.
+     *
+     * @param shard index of the shard, shards which run at the same time have different indexes
+     * @param tests tests to run
+     * @throws ExecutionException if the command can't be created
+     */
+    CommandLine create(int shard, List<String> tests) throws ExecutionException;
+  }
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.BUILD_TREE_ENDED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.ROOT_PRESENTATION;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.SUITE_TREE_ENDED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.SUITE_TREE_NODE;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.SUITE_TREE_STARTED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_COUNT;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_FAILED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_REPORTER_ATTACHED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_STARTED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_SUITE_FINISHED;
+import static org.eclipse.che.api.testing.shared.messages.TestingMessageNames.TEST_SUITE_STARTED;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.eclipse.che.api.testing.server.messages.ServerTestingMessage;
+
+/**
+ * Merges the output of the test shards into a single report as if the tests were run by one
+ * process.
+ *
+ * <p>The client builds the tree of the tests from the order of the messages, so the messages
+ * between the start and the finish of a top level suite of a shard must not be interleaved with
+ * the messages of the other shards. The shard which opened its top level suite first streams it,
+ * while the output of the other shards is held back until that suite is finished. Then the held
+ * back output is passed on and the shard which opened the next suite first streams the rest of it.
+ * The trees of the tests which are sent by the shards before running the tests are passed on
+ * before the results of any shard. The messages which describe the whole run are passed on once,
+ * the test counts of the shards are summed up.
+ *
+ * <p>Merger also measures the durations of the given test classes and collects the failed ones.
+ */
+public class ShardOutputMerger {
+  private static final String NAME = "name";
+  private static final String COUNT = "count";
+
+  private final Consumer<String> output;
+  private final Set<String> testClasses;
+  private final ShardState[] shards;
+  private final Set<String> passedOnce = new HashSet<>();
+  private final Map<String, Long> durations = new HashMap<>();
+  private final Set<String> failed = new HashSet<>();
+
+  private boolean treesSent;
+  /** Index of the shard which streams its top level suite, or {@code -1}. */
+  private int streaming = -1;
+  /** Number of the top level suites opened by the shards, orders the suites. */
+  private long openedBlocks;
+  private String treeEnded;
+  private int testCount;
+
+  /**
+   * Creates merger.
+   *
+   * @param shards number of the shards
+   * @param testClasses names of the test classes to measure
+   * @param output consumer of the merged lines
+   */
+  public ShardOutputMerger(int shards, Set<String> testClasses, Consumer<String> output) {
+    this.output = output;
+    this.testClasses = testClasses;
+    this.shards = new ShardState[shards];
+    for (int i = 0; i < shards; i++) {
+      this.shards[i] = new ShardState();
+    }
+  }
+
+  /**
+   * Processes a line of the output of the shard.
+   *
+   * @param shard index of the shard
+   * @param line line including the line separator
+   */
+  public synchronized void onLine(int shard, String line) {
+    ShardState state = shards[shard];
+    ServerTestingMessage message = parse(line);
+    String name = message == null ? null : message.getName();
+    if (message != null) {
+      measure(state, message, name);
+    }
+
+    if (state.depth == 0 && message != null && processRunMessage(state, message, name, line)) {
+      return;
+    }
+
+    if (TEST_SUITE_STARTED.equals(name) || SUITE_TREE_STARTED.equals(name)) {
+      if (state.depth == 0) {
+        state.blockIsTree = SUITE_TREE_STARTED.equals(name);
+        state.blockOrder = openedBlocks++;
+        if (streaming == -1) {
+          streaming = shard;
+        }
+      }
+      state.depth++;
+    }
+    if (state.depth == 0) {
+      boolean tree = SUITE_TREE_NODE.equals(name);
+      if (streaming == -1) {
+        pass(state, line, tree);
+      } else {
+        state.held.add(() -> pass(state, line, tree));
+      }
+      return;
+    }
+
+    if (TEST_SUITE_FINISHED.equals(name) || SUITE_TREE_ENDED.equals(name)) {
+      state.depth--;
+    }
+    if (streaming == shard) {
+      pass(state, line, state.blockIsTree);
+      if (state.depth == 0) {
+        release();
+      }
+      return;
+    }
+    state.block.add(line);
+    if (state.depth == 0) {
+      List<String> block = state.block;
+      boolean tree = state.blockIsTree;
+      state.block = new ArrayList<>();
+      state.held.add(() -> block.forEach(blockLine -> pass(state, blockLine, tree)));
+    }
+  }
+
+  /**
+   * Passes on the rest of the output of the shard, must be called when the shard is terminated.
+   *
+   * @param shard index of the shard
+   */
+  public synchronized void onShardFinished(int shard) {
+    ShardState state = shards[shard];
+    List<String> block = state.block;
+    state.block = new ArrayList<>();
+    state.depth = 0;
+    if (!block.isEmpty()) {
+      state.held.add(() -> block.forEach(line -> passRun(state, line)));
+    }
+    if (streaming == shard || streaming == -1) {
+      release();
+    }
+    state.treeSent = true;
+    sendTreesIfReady();
+  }
+
+  /** Returns the durations of the test classes which were run, in milliseconds. */
+  public synchronized Map<String, Long> getDurations() {
+    return new HashMap<>(durations);
+  }
+
+  /** Returns the test classes which have failed tests. */
+  public synchronized Set<String> getFailed() {
+    return new HashSet<>(failed);
+  }
+
+  /** Handles messages which describe the whole run, returns {@code true} if message is handled. */
+  private boolean processRunMessage(
+      ShardState state, ServerTestingMessage message, String name, String line) {
+    if (TEST_REPORTER_ATTACHED.equals(name) || ROOT_PRESENTATION.equals(name)) {
+      if (passedOnce.add(name)) {
+        output.accept(line);
+      }
+      return true;
+    }
+    if (BUILD_TREE_ENDED.equals(name)) {
+      treeEnded = line;
+      return true;
+    }
+    if (TEST_COUNT.equals(name)) {
+      try {
+        testCount += Integer.parseInt(message.getAttributes().get(COUNT));
+      } catch (NumberFormatException ignored) {
+        return true;
+      }
+      output.accept(
+          ServerTestingMessage.TESTING_MESSAGE_START
+              + message.withAttribute(COUNT, String.valueOf(testCount)).asJsonString()
+              + ServerTestingMessage.TESTING_MESSAGE_END
+              + '\n');
+      return true;
+    }
+    if (TEST_SUITE_STARTED.equals(name) || TEST_STARTED.equals(name)) {
+      // the shard started running tests so its tree is sent
+      state.treeSent = true;
+      sendTreesIfReady();
+    }
+    return false;
+  }
+
+  private void measure(ShardState state, ServerTestingMessage message, String name) {
+    String testName = message.getAttributes().get(NAME);
+    if (TEST_SUITE_STARTED.equals(name) && testClasses.contains(testName)) {
+      state.runningClasses.put(testName, System.nanoTime());
+    } else if (TEST_SUITE_FINISHED.equals(name) && state.runningClasses.containsKey(testName)) {
+      long start = state.runningClasses.remove(testName);
+      durations.put(testName, (System.nanoTime() - start) / 1_000_000);
+    } else if (TEST_FAILED.equals(name)) {
+      failed.addAll(state.runningClasses.keySet());
+    }
+  }
+
+  /**
+   * Passes on the output held back while the streaming shard was in its top level suite, then lets
+   * the shard which opened its top level suite first stream it.
+   */
+  private void release() {
+    streaming = -1;
+    for (ShardState shard : shards) {
+      shard.held.forEach(Runnable::run);
+      shard.held.clear();
+    }
+    for (int i = 0; i < shards.length; i++) {
+      ShardState shard = shards[i];
+      if (shard.depth > 0 && (streaming == -1 || shard.blockOrder < shards[streaming].blockOrder)) {
+        streaming = i;
+      }
+    }
+    if (streaming != -1) {
+      ShardState next = shards[streaming];
+      next.block.forEach(line -> pass(next, line, next.blockIsTree));
+      next.block = new ArrayList<>();
+    }
+  }
+
+  private void pass(ShardState state, String line, boolean tree) {
+    if (tree) {
+      output.accept(line);
+    } else {
+      passRun(state, line);
+    }
+  }
+
+  private void passRun(ShardState state, String line) {
+    if (treesSent) {
+      output.accept(line);
+    } else {
+      state.pending.add(line);
+    }
+  }
+
+  private void sendTreesIfReady() {
+    if (treesSent) {
+      return;
+    }
+    for (ShardState shard : shards) {
+      if (!shard.treeSent) {
+        return;
+      }
+    }
+    treesSent = true;
+    if (treeEnded != null) {
+      output.accept(treeEnded);
+    }
+    // the streaming shard is in the middle of its suite, so its output goes last
+    for (int i = 0; i < shards.length; i++) {
+      if (i != streaming) {
+        shards[i].pending.forEach(output);
+        shards[i].pending.clear();
+      }
+    }
+    if (streaming != -1) {
+      shards[streaming].pending.forEach(output);
+      shards[streaming].pending.clear();
+    }
+  }
+
+  private static ServerTestingMessage parse(String line) {
+    try {
+      return ServerTestingMessage.parse(line.trim());
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static class ShardState {
+    final Map<String, Long> runningClasses = new HashMap<>();
+    final List<String> pending = new ArrayList<>();
+    /** Output which is held back while the other shard streams its suite. */
+    final List<Runnable> held = new ArrayList<>();
+    List<String> block = new ArrayList<>();
+    int depth;
+    long blockOrder;
+    boolean blockIsTree;
+    boolean treeSent;
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process which runs tests in several forked JVMs, the shards, and combines their output.
+ *
+ * <p>Standard output of the shards is merged by the {@link ShardOutputMerger}, error output is
+ * merged line by line. The process is terminated when all the shards are terminated, its exit code
+ * is the first non zero exit code of the shards.
+ */
+public class ShardedTestProcess extends Process {
+  private static final Logger LOG = LoggerFactory.getLogger(ShardedTestProcess.class);
+  private static final Charset CHARSET = Charset.defaultCharset();
+
+  private final List<Process> shards;
+  private final LineStream output = new LineStream();
+  private final LineStream errors = new LineStream();
+
+  /**
+   * Creates process of the started shards.
+   *
+   * @param shards processes of the shards
+   * @param testClasses names of the test classes run by the shards
+   * @param onFinish called with the merger when the whole output of the shards is processed
+   */
+  public ShardedTestProcess(
+      List<Process> shards, Set<String> testClasses, Consumer<ShardOutputMerger> onFinish) {
+    this.shards = shards;
+    ShardOutputMerger merger = new ShardOutputMerger(shards.size(), testClasses, output::write);
+    AtomicInteger runningOutputs = new AtomicInteger(shards.size());
+    AtomicInteger runningErrors = new AtomicInteger(shards.size());
+    for (int i = 0; i < shards.size(); i++) {
+      int shard = i;
+      pump(
+          shards.get(i).getInputStream(),
+          "Test shard " + shard + " output",
+          line -> merger.onLine(shard, line),
+          () -> {
+            merger.onShardFinished(shard);
+            if (runningOutputs.decrementAndGet() == 0) {
+              try {
+                onFinish.accept(merger);
+              } finally {
+                output.close();
+              }
+            }
+          });
+      pump(
+          shards.get(i).getErrorStream(),
+          "Test shard " + shard + " errors",
+          errors::write,
+          () -> {
+            if (runningErrors.decrementAndGet() == 0) {
+              errors.close();
+            }
+          });
+    }
+  }
+
+  private static void pump(
+      InputStream stream, String name, Consumer<String> lineConsumer, Runnable onEnd) {
+    Thread thread =
+        new Thread(
+            () -> {
+              try (BufferedReader reader =
+                  new BufferedReader(new InputStreamReader(stream, CHARSET))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                  lineConsumer.accept(line + '\n');
+                }
+              } catch (IOException e) {
+                LOG.error(e.getMessage(), e);
+              } finally {
+                onEnd.run();
+              }
+            },
+            name);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return new OutputStream() {
+      @Override
+      public void write(int b) {
+        // tests do not read input
+      }
+    };
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return output;
+  }
+
+  @Override
+  public InputStream getErrorStream() {
+    return errors;
+  }
+
+  @Override
+  public int waitFor() throws InterruptedException {
+    int exitCode = 0;
+    for (Process shard : shards) {
+      int shardExitCode = shard.waitFor();
+      if (exitCode == 0) {
+        exitCode = shardExitCode;
+      }
+    }
+    return exitCode;
+  }
+
+  @Override
+  public int exitValue() {
+    int exitCode = 0;
+    for (Process shard : shards) {
+      int shardExitCode = shard.exitValue();
+      if (exitCode == 0) {
+        exitCode = shardExitCode;
+      }
+    }
+    return exitCode;
+  }
+
+  @Override
+  public void destroy() {
+    shards.forEach(Process::destroy);
+  }
+
+  /** Stream of the lines written by the other threads. */
+  private static class LineStream extends InputStream {
+    private static final byte[] END = new byte[0];
+
+    private final BlockingQueue<byte[]> lines = new LinkedBlockingQueue<>();
+    private byte[] current = new byte[0];
+    private int position;
+    private boolean ended;
+
+    void write(String line) {
+      lines.add(line.getBytes(CHARSET));
+    }
+
+    @Override
+    public void close() {
+      lines.add(END);
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      while (position == current.length) {
+        if (ended) {
+          return -1;
+        }
+        try {
+          current = lines.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while reading test output", e);
+        }
+        position = 0;
+        if (current == END) {
+          ended = true;
+        }
+      }
+      int count = Math.min(length, current.length - position);
+      System.arraycopy(current, position, buffer, offset, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public synchronized int available() {
+      byte[] next = lines.peek();
+      return current.length - position + (next == null ? 0 : next.length);
+    }
+  }
+}
@@ -0,0 +1,524 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.api.languageserver.LanguageServiceUtils.prefixURI;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.plugin.java.languageserver.JavaLanguageServerExtensionService;
+import org.eclipse.che.plugin.java.languageserver.ProjectClassPathChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the test classes of the projects. It is used instead of asking jdt.ls to search a whole
+ * project or folder for tests on every run.
+ *
+ * <p>The index of a project keeps the test classes of each java file of the project, separately for
+ * each pair of test method and test class annotations. It is built by a search in the whole project
+ * and then kept up to date file by file: the files reported by the file watcher are searched again
+ * the next time the index is queried. New files are noticed by the periodical walk of the file
+ * watcher. A change of the class path of the project, which can change what is recognized as a
+ * test, rebuilds the index.
+ *
+ * <p>Only test classes are indexed, test methods are not. The contexts which select methods, a
+ * cursor position or a set of classes, are still resolved by jdt.ls, as they concern a single file
+ * or the given classes only.
+ *
+ * <p>The index of a project is stored in a properties file which maps the workspace path of a java
+ * file to its modification time followed by its test classes. After a restart only the files which
+ * were modified in the meantime are searched again.
+ */
+@Singleton
+public class TestDiscoveryIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(TestDiscoveryIndex.class);
+
+  private static final String JAVA_EXTENSION = ".java";
+  private static final String CLASSPATH_KEY = "@classpath";
+  private static final String ORPHANS_KEY = "@orphans";
+  /** Number of modified files above which a search in the whole project is cheaper. */
+  private static final int MAX_FILES_TO_SEARCH = 200;
+
+  private final JavaLanguageServerExtensionService extensionService;
+  private final FileWatcherManager fileWatcherManager;
+  private final EventService eventService;
+  private final PathTransformer pathTransformer;
+  private final Path directory;
+  private final Map<String, ProjectIndex> indexes = new ConcurrentHashMap<>();
+  private final EventSubscriber<ProjectClassPathChangedEvent> classPathListener =
+      this::onClassPathChanged;
+
+  private int watcherId = -1;
+
+  @Inject
+  public TestDiscoveryIndex(
+      JavaLanguageServerExtensionService extensionService,
+      FileWatcherManager fileWatcherManager,
+      EventService eventService,
+      PathTransformer pathTransformer) {
+    this(
+        extensionService,
+        fileWatcherManager,
+        eventService,
+        pathTransformer,
+        Paths.get(System.getProperty("java.io.tmpdir"), "che-test-index"));
+  }
+
+  TestDiscoveryIndex(
+      JavaLanguageServerExtensionService extensionService,
+      FileWatcherManager fileWatcherManager,
+      EventService eventService,
+      PathTransformer pathTransformer,
+      Path directory) {
+    this.extensionService = extensionService;
+    this.fileWatcherManager = fileWatcherManager;
+    this.eventService = eventService;
+    this.pathTransformer = pathTransformer;
+    this.directory = directory;
+  }
+
+  @PostConstruct
+  public void startWatching() {
+    watcherId =
+        fileWatcherManager.registerByMatcher(
+            javaFileMatcher(), this::onFileChanged, this::onFileChanged, this::onFileChanged);
+    eventService.subscribe(classPathListener, ProjectClassPathChangedEvent.class);
+  }
+
+  @PreDestroy
+  public void stopWatching() {
+    if (watcherId != -1) {
+      fileWatcherManager.unRegisterByMatcher(watcherId);
+    }
+    eventService.unsubscribe(classPathListener, ProjectClassPathChangedEvent.class);
+  }
+
+  /**
+   * Finds tests in the project.
+   *
+   * @param projectPath workspace path of the project
+   * @param methodAnnotation test method annotation
+   * @param classAnnotation test class runner annotation
+   * @return list of fqns of the classes if they contain tests
+   */
+  public List<String> findTestsFromProject(
+      String projectPath, String methodAnnotation, String classAnnotation) {
+    return indexOf(projectPath, methodAnnotation, classAnnotation).find(path -> true, true);
+  }
+
+  /**
+   * Finds tests in the folder of the project.
+   *
+   * @param projectPath workspace path of the project
+   * @param folderPath workspace path of the folder
+   * @param methodAnnotation test method annotation
+   * @param classAnnotation test class runner annotation
+   * @return list of fqns of the classes if they contain tests
+   */
+  public List<String> findTestsFromFolder(
+      String projectPath, String folderPath, String methodAnnotation, String classAnnotation) {
+    ProjectIndex index = indexOf(projectPath, methodAnnotation, classAnnotation);
+    if (!(folderPath.equals(projectPath) || index.contains(folderPath)) || index.hasOrphans()) {
+      return extensionService.findTestsFromFolder(
+          prefixURI(folderPath), methodAnnotation, classAnnotation);
+    }
+    String prefix = folderPath.endsWith("/") ? folderPath : folderPath + '/';
+    return index.find(path -> path.startsWith(prefix), false);
+  }
+
+  /**
+   * Finds tests in the file of the project.
+   *
+   * @param projectPath workspace path of the project
+   * @param filePath workspace path of the file
+   * @param methodAnnotation test method annotation
+   * @param classAnnotation test class runner annotation
+   * @return fqn of the class if it contains tests
+   */
+  public List<String> findTestsInFile(
+      String projectPath, String filePath, String methodAnnotation, String classAnnotation) {
+    ProjectIndex index = indexOf(projectPath, methodAnnotation, classAnnotation);
+    if (!index.contains(filePath) || !filePath.endsWith(JAVA_EXTENSION)) {
+      return extensionService.findTestsInFile(
+          prefixURI(filePath), methodAnnotation, classAnnotation);
+    }
+    // the file could be created too recently for the file watcher to notice it
+    index.modified.add(filePath);
+    return index.find(filePath::equals, false);
+  }
+
+  private ProjectIndex indexOf(
+      String projectPath, String methodAnnotation, String classAnnotation) {
+    String key = projectPath + '\n' + methodAnnotation + '\n' + classAnnotation;
+    return indexes.computeIfAbsent(
+        key, k -> new ProjectIndex(projectPath, methodAnnotation, classAnnotation));
+  }
+
+  private void onFileChanged(String wsPath) {
+    for (ProjectIndex index : indexes.values()) {
+      if (index.contains(wsPath)) {
+        index.modified.add(wsPath);
+      }
+    }
+  }
+
+  private void onClassPathChanged(ProjectClassPathChangedEvent event) {
+    for (ProjectIndex index : indexes.values()) {
+      if (index.projectPath.equals(event.getPath())) {
+        index.classPathChanged = true;
+      }
+    }
+  }
+
+  private PathMatcher javaFileMatcher() {
+    return it ->
+        it.getFileName() != null
+            && it.getFileName().toString().endsWith(JAVA_EXTENSION)
+            && !Files.isDirectory(it);
+  }
+
+  /** Test classes of the java files of a project, for a pair of test annotations. */
+  private class ProjectIndex {
+    final String projectPath;
+    final String methodAnnotation;
+    final String classAnnotation;
+    /** Paths reported by the file watcher since the last query. */
+    final Set<String> modified = ConcurrentHashMap.newKeySet();
+
+    volatile boolean classPathChanged = true;
+
+    /** Test classes by workspace paths of the java files, {@code null} if not built yet. */
+    TreeMap<String, FileTests> files;
+    /**
+     * Test classes whose files are not known. They are found only in whole project searches, so
+     * they are kept until the next one.
+     */
+    List<String> orphans = Collections.emptyList();
+
+    String classPath;
+    /** Whether the files should be compared with the disk, as they were read from the store. */
+    boolean loaded;
+
+    ProjectIndex(String projectPath, String methodAnnotation, String classAnnotation) {
+      this.projectPath = projectPath;
+      this.methodAnnotation = methodAnnotation;
+      this.classAnnotation = classAnnotation;
+      load();
+    }
+
+    boolean contains(String wsPath) {
+      return wsPath.startsWith(projectPath + '/');
+    }
+
+    synchronized boolean hasOrphans() {
+      update();
+      return !orphans.isEmpty();
+    }
+
+    synchronized List<String> find(Predicate<String> pathFilter, boolean withOrphans) {
+      update();
+      List<String> tests = new ArrayList<>();
+      files.forEach(
+          (path, fileTests) -> {
+            if (pathFilter.test(path)) {
+              tests.addAll(fileTests.tests);
+            }
+          });
+      if (withOrphans) {
+        tests.addAll(orphans);
+      }
+      return tests;
+    }
+
+    private void update() {
+      boolean changed = false;
+      if (classPathChanged) {
+        String newClassPath = computeClassPath();
+        classPathChanged = false;
+        if (!newClassPath.equals(classPath)) {
+          classPath = newClassPath;
+          files = null;
+        }
+      }
+
+      if (files == null) {
+        rebuild();
+        changed = true;
+      } else {
+        Set<String> paths = new HashSet<>();
+        for (String path : modified) {
+          modified.remove(path);
+          paths.add(path);
+        }
+        if (loaded) {
+          paths.addAll(files.keySet());
+          paths.addAll(walk(pathTransformer.transform(projectPath)).keySet());
+          loaded = false;
+        }
+        Map<String, Long> outdated = outdated(paths);
+        if (outdated.size() > MAX_FILES_TO_SEARCH) {
+          rebuild();
+          changed = true;
+        } else if (!outdated.isEmpty()) {
+          outdated.forEach(this::search);
+          changed = true;
+        }
+      }
+
+      if (changed) {
+        store();
+      }
+    }
+
+    /**
+     * Returns the modification times of the paths whose tests should be searched again, the time
+     * of a deleted path is {@code -1}.
+     */
+    private Map<String, Long> outdated(Set<String> paths) {
+      Map<String, Long> outdated = new HashMap<>();
+      for (String path : paths) {
+        if (!path.endsWith(JAVA_EXTENSION) || !contains(path)) {
+          continue;
+        }
+        long lastModified = lastModified(pathTransformer.transform(path));
+        FileTests fileTests = files.get(path);
+        if (fileTests == null ? lastModified != -1 : fileTests.lastModified != lastModified) {
+          outdated.put(path, lastModified);
+        }
+      }
+      return outdated;
+    }
+
+    private void search(String path, long lastModified) {
+      if (lastModified == -1) {
+        files.remove(path);
+      } else {
+        List<String> tests =
+            extensionService.findTestsInFile(prefixURI(path), methodAnnotation, classAnnotation);
+        files.put(path, new FileTests(lastModified, tests));
+        if (!orphans.isEmpty()) {
+          // a class which is not named after its file is now known to be declared in this one
+          orphans = new ArrayList<>(orphans);
+          orphans.removeAll(tests);
+        }
+      }
+    }
+
+    private void rebuild() {
+      modified.clear();
+      loaded = false;
+      Map<String, Long> javaFiles = walk(pathTransformer.transform(projectPath));
+      List<String> tests =
+          extensionService.findTestsFromProject(
+              prefixURI(projectPath), methodAnnotation, classAnnotation);
+
+      Map<String, List<String>> pathsByName = new HashMap<>();
+      for (String path : javaFiles.keySet()) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        pathsByName.computeIfAbsent(name, n -> new ArrayList<>()).add(path);
+      }
+      Map<String, List<String>> testsByPath = new HashMap<>();
+      List<String> unknown = new ArrayList<>();
+      for (String test : tests) {
+        String path = pathOf(test, pathsByName);
+        if (path == null) {
+          unknown.add(test);
+        } else {
+          testsByPath.computeIfAbsent(path, p -> new ArrayList<>()).add(test);
+        }
+      }
+
+      files = new TreeMap<>();
+      javaFiles.forEach(
+          (path, lastModified) ->
+              files.put(
+                  path,
+                  new FileTests(
+                      lastModified, testsByPath.getOrDefault(path, Collections.emptyList()))));
+      orphans = unknown;
+    }
+
+    /**
+     * Finds the file of the class by its fully qualified name, the file of a nested class is the
+     * file of its top level class.
+     */
+    private String pathOf(String fqn, Map<String, List<String>> pathsByName) {
+      String[] segments = fqn.split("\\.");
+      for (int i = segments.length - 1; i >= 0; i--) {
+        List<String> candidates = pathsByName.get(segments[i] + JAVA_EXTENSION);
+        if (candidates == null) {
+          continue;
+        }
+        String suffix = '/' + String.join("/", Arrays.asList(segments).subList(0, i + 1));
+        for (String candidate : candidates) {
+          if (candidate.endsWith(suffix + JAVA_EXTENSION)) {
+            return candidate;
+          }
+        }
+      }
+      return null;
+    }
+
+    private Map<String, Long> walk(Path root) {
+      Map<String, Long> javaFiles = new HashMap<>();
+      if (!Files.isDirectory(root)) {
+        return javaFiles;
+      }
+      try {
+        Files.walkFileTree(
+            root,
+            new SimpleFileVisitor<Path>() {
+              @Override
+              public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return !dir.equals(root) && dir.getFileName().toString().startsWith(".")
+                    ? FileVisitResult.SKIP_SUBTREE
+                    : FileVisitResult.CONTINUE;
+              }
+
+              @Override
+              public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (file.getFileName().toString().endsWith(JAVA_EXTENSION)) {
+                  javaFiles.put(
+                      pathTransformer.transform(file), attrs.lastModifiedTime().toMillis());
+                }
+                return FileVisitResult.CONTINUE;
+              }
+
+              @Override
+              public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+              }
+            });
+      } catch (IOException e) {
+        LOG.warn("Can't list java files of project {}. {}", projectPath, e.getMessage());
+      }
+      return javaFiles;
+    }
+
+    private long lastModified(Path path) {
+      try {
+        return Files.isRegularFile(path) ? Files.getLastModifiedTime(path).toMillis() : -1;
+      } catch (IOException e) {
+        return -1;
+      }
+    }
+
+    private String computeClassPath() {
+      List<String> entries =
+          new ArrayList<>(extensionService.getResolvedClasspath(prefixURI(projectPath)));
+      Collections.sort(entries);
+      return String.join(File.pathSeparator, entries);
+    }
+
+    private void load() {
+      Path file = file();
+      if (!Files.exists(file)) {
+        return;
+      }
+      Properties properties = new Properties();
+      try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+        properties.load(reader);
+      } catch (IOException e) {
+        LOG.warn("Can't read index of tests of project {}. {}", projectPath, e.getMessage());
+        return;
+      }
+
+      TreeMap<String, FileTests> loadedFiles = new TreeMap<>();
+      for (String path : properties.stringPropertyNames()) {
+        if (path.startsWith("/")) {
+          List<String> values = split(properties.getProperty(path));
+          try {
+            long lastModified = Long.parseLong(values.get(0));
+            loadedFiles.put(path, new FileTests(lastModified, values.subList(1, values.size())));
+          } catch (NumberFormatException ignored) {
+          }
+        }
+      }
+      classPath = properties.getProperty(CLASSPATH_KEY);
+      orphans = split(properties.getProperty(ORPHANS_KEY, ""));
+      files = loadedFiles;
+      loaded = true;
+    }
+
+    private void store() {
+      Properties properties = new Properties();
+      properties.setProperty(CLASSPATH_KEY, classPath);
+      properties.setProperty(ORPHANS_KEY, String.join(",", orphans));
+      files.forEach(
+          (path, fileTests) -> {
+            StringBuilder value = new StringBuilder().append(fileTests.lastModified);
+            fileTests.tests.forEach(test -> value.append(',').append(test));
+            properties.setProperty(path, value.toString());
+          });
+
+      try {
+        Files.createDirectories(directory);
+        try (Writer writer = Files.newBufferedWriter(file(), UTF_8)) {
+          properties.store(writer, null);
+        }
+      } catch (IOException e) {
+        LOG.warn("Can't store index of tests of project {}. {}", projectPath, e.getMessage());
+      }
+    }
+
+    private List<String> split(String value) {
+      return value.isEmpty() ? Collections.emptyList() : Arrays.asList(value.split(","));
+    }
+
+    private Path file() {
+      String name = projectPath + '_' + methodAnnotation + '_' + classAnnotation;
+      return directory.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".properties");
+    }
+  }
+
+  /** Test classes of a java file. */
+  private static class FileTests {
+    final long lastModified;
+    final List<String> tests;
+
+    FileTests(long lastModified, List<String> tests) {
+      this.lastModified = lastModified;
+      this.tests = tests;
+    }
+  }
+}
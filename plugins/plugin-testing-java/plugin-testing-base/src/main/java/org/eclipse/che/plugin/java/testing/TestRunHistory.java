@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the durations and the results of the test classes of the projects from their last runs.
+ *
+ * <p>The history of a project is stored in a properties file which maps the name of a test class
+ * to its duration in milliseconds, followed by {@code ",failed"} if the class had failed tests.
+ * The files are kept in the {@code .che} directory of the workspace, so the history survives the
+ * restarts of the workspace agent and is not committed to the projects.
+ */
+@Singleton
+public class TestRunHistory {
+  private static final Logger LOG = LoggerFactory.getLogger(TestRunHistory.class);
+
+  private static final String FAILED_SUFFIX = ",failed";
+
+  private final Path directory;
+  private final Map<String, Properties> histories = new HashMap<>();
+
+  @Inject
+  public TestRunHistory(@Named("che.user.workspaces.storage") String workspacePath) {
+    this(Paths.get(workspacePath, ".che", "tmp", "testHistory"));
+  }
+
+  TestRunHistory(Path directory) {
+    this.directory = directory;
+  }
+
+  /** Returns the durations of the test classes of the project in milliseconds. */
+  public synchronized Map<String, Long> getDurations(String projectPath) {
+    Map<String, Long> durations = new HashMap<>();
+    Properties history = load(projectPath);
+    for (String test : history.stringPropertyNames()) {
+      String value = history.getProperty(test);
+      int separator = value.indexOf(',');
+      try {
+        durations.put(
+            test, Long.parseLong(separator == -1 ? value : value.substring(0, separator)));
+      } catch (NumberFormatException ignored) {
+      }
+    }
+    return durations;
+  }
+
+  /** Returns the test classes of the project which failed in their last run. */
+  public synchronized Set<String> getFailed(String projectPath) {
+    Set<String> failed = new HashSet<>();
+    Properties history = load(projectPath);
+    for (String test : history.stringPropertyNames()) {
+      if (history.getProperty(test).endsWith(FAILED_SUFFIX)) {
+        failed.add(test);
+      }
+    }
+    return failed;
+  }
+
+  /**
+   * Stores the results of a run.
+   *
+   * @param projectPath path of the project
+   * @param durations durations of the test classes which were run, in milliseconds
+   * @param failed test classes which failed in the run
+   */
+  public synchronized void update(
+      String projectPath, Map<String, Long> durations, Set<String> failed) {
+    if (durations.isEmpty()) {
+      return;
+    }
+    Properties history = load(projectPath);
+    durations.forEach(
+        (test, duration) ->
+            history.setProperty(test, duration + (failed.contains(test) ? FAILED_SUFFIX : "")));
+
+    Path file = fileOf(projectPath);
+    try {
+      Files.createDirectories(directory);
+      try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+        history.store(writer, null);
+      }
+    } catch (IOException e) {
+      LOG.warn("Can't store history of test runs of project {}. {}", projectPath, e.getMessage());
+    }
+  }
+
+  private Properties load(String projectPath) {
+    return histories.computeIfAbsent(
+        projectPath,
+        path -> {
+          Properties history = new Properties();
+          Path file = fileOf(path);
+          if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+              history.load(reader);
+            } catch (IOException e) {
+              LOG.warn("Can't read history of test runs of project {}. {}", path, e.getMessage());
+            }
+          }
+          return history;
+        });
+  }
+
+  private Path fileOf(String projectPath) {
+    String name = projectPath.replaceAll("[^A-Za-z0-9._-]", "_");
+    return directory.resolve(name + ".properties");
+  }
+}
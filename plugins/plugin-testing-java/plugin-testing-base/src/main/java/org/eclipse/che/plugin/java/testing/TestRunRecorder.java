@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import java.util.Set;
+import org.eclipse.che.api.testing.server.framework.LineSplitter;
+import org.eclipse.che.commons.lang.execution.ProcessEvent;
+import org.eclipse.che.commons.lang.execution.ProcessListener;
+import org.eclipse.che.commons.lang.execution.ProcessOutputType;
+
+/**
+ * Records the durations and the results of the test classes run by a single process to the {@link
+ * TestRunHistory}, the same way {@link ShardedTestProcess} does for the runs of several shards.
+ */
+public class TestRunRecorder implements ProcessListener {
+  private final TestRunHistory history;
+  private final String projectPath;
+  private final ShardOutputMerger merger;
+  private final LineSplitter lineSplitter;
+
+  /**
+   * Creates recorder.
+   *
+   * @param history history to update when the process is terminated
+   * @param projectPath path of the project whose tests are run
+   * @param testClasses names of the test classes run by the process
+   */
+  public TestRunRecorder(TestRunHistory history, String projectPath, Set<String> testClasses) {
+    this.history = history;
+    this.projectPath = projectPath;
+    this.merger = new ShardOutputMerger(1, testClasses, line -> {});
+    this.lineSplitter = new LineSplitter((line, outputType) -> merger.onLine(0, line));
+  }
+
+  @Override
+  public void onStart(ProcessEvent event) {}
+
+  @Override
+  public void onText(ProcessEvent event, ProcessOutputType outputType) {
+    if (outputType == ProcessOutputType.STDOUT) {
+      lineSplitter.process(event.getText(), outputType);
+    }
+  }
+
+  @Override
+  public void onProcessTerminated(ProcessEvent event) {
+    lineSplitter.flush();
+    merger.onShardFinished(0);
+    history.update(projectPath, merger.getDurations(), merger.getFailed());
+  }
+
+  @Override
+  public void onProcessWillTerminate(ProcessEvent event) {}
+}
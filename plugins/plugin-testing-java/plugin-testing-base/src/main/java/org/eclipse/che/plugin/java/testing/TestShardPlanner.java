@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.util.Collections.singletonList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Distributes tests among shards so the shards take about the same time to run.
+ *
+ * <p>Tests are assigned one by one, from the longest to the shortest, to the shard with the least
+ * total duration. Tests without known duration are assumed to take the average duration of the
+ * known ones. Within a shard the tests which failed in the previous run go first, the rest keep the
+ * order they were given in.
+ */
+public final class TestShardPlanner {
+  static final long DEFAULT_DURATION_MILLIS = 1000;
+
+  private TestShardPlanner() {}
+
+  /**
+   * Plans the shards.
+   *
+   * @param tests tests to run, fully qualified names of the test classes
+   * @param shards maximum number of shards
+   * @param durations durations of the tests in the previous runs in milliseconds
+   * @param failedFirst tests which should be run before the others of their shard
+   * @return non empty list of the tests of each shard
+   */
+  public static List<List<String>> plan(
+      List<String> tests, int shards, Map<String, Long> durations, Set<String> failedFirst) {
+    int count = Math.max(1, Math.min(shards, tests.size()));
+    if (count == 1) {
+      return singletonList(failedFirst(tests, failedFirst));
+    }
+    long defaultDuration = averageDuration(tests, durations);
+    List<Integer> byDuration = new ArrayList<>(tests.size());
+    for (int i = 0; i < tests.size(); i++) {
+      byDuration.add(i);
+    }
+    byDuration.sort(
+        Comparator.<Integer>comparingLong(
+                i -> durations.getOrDefault(tests.get(i), defaultDuration))
+            .reversed());
+
+    long[] loads = new long[count];
+    List<List<Integer>> assigned = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      assigned.add(new ArrayList<>());
+    }
+    for (int index : byDuration) {
+      int shard = 0;
+      for (int i = 1; i < count; i++) {
+        if (loads[i] < loads[shard]) {
+          shard = i;
+        }
+      }
+      loads[shard] += durations.getOrDefault(tests.get(index), defaultDuration);
+      assigned.get(shard).add(index);
+    }
+
+    List<List<String>> plan = new ArrayList<>(count);
+    for (List<Integer> indexes : assigned) {
+      indexes.sort(Comparator.naturalOrder());
+      List<String> shardTests = new ArrayList<>(indexes.size());
+      for (int index : indexes) {
+        shardTests.add(tests.get(index));
+      }
+      plan.add(failedFirst(shardTests, failedFirst));
+    }
+    return plan;
+  }
+
+  private static List<String> failedFirst(List<String> shardTests, Set<String> failed) {
+    if (failed.isEmpty()) {
+      return shardTests;
+    }
+    List<String> result = new ArrayList<>(shardTests.size());
+    for (String test : shardTests) {
+      if (failed.contains(test)) {
+        result.add(test);
+      }
+    }
+    for (String test : shardTests) {
+      if (!failed.contains(test)) {
+        result.add(test);
+      }
+    }
+    return result;
+  }
+
+  private static long averageDuration(List<String> tests, Map<String, Long> durations) {
+    long total = 0;
+    int known = 0;
+    for (String test : tests) {
+      Long duration = durations.get(test);
+      if (duration != null) {
+        total += duration;
+        known++;
+      }
+    }
+    return known == 0 ? DEFAULT_DURATION_MILLIS : total / known;
+  }
+}
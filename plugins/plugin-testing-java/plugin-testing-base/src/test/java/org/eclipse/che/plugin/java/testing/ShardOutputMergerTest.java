@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link ShardOutputMerger}. */
+public class ShardOutputMergerTest {
+
+  private List<String> output;
+  private ShardOutputMerger merger;
+
+  @BeforeMethod
+  public void setUp() {
+    output = new ArrayList<>();
+    merger = new ShardOutputMerger(2, new HashSet<>(asList("A", "B")), output::add);
+  }
+
+  @Test
+  public void shouldKeepSuitesOfShardsTogether() {
+    merger.onLine(0, message("testSuiteStarted", "name", "A"));
+    merger.onLine(1, message("testSuiteStarted", "name", "B"));
+    merger.onLine(0, message("testStarted", "name", "A.a"));
+    merger.onLine(1, message("testStarted", "name", "B.b"));
+    merger.onLine(1, "output of B.b\n");
+    merger.onLine(0, message("testFinished", "name", "A.a"));
+    merger.onLine(1, message("testFinished", "name", "B.b"));
+    merger.onLine(1, message("testSuiteFinished", "name", "B"));
+    merger.onLine(0, message("testSuiteFinished", "name", "A"));
+    merger.onShardFinished(0);
+    merger.onShardFinished(1);
+
+    assertEquals(
+        output,
+        asList(
+            message("testSuiteStarted", "name", "A"),
+            message("testStarted", "name", "A.a"),
+            message("testFinished", "name", "A.a"),
+            message("testSuiteFinished", "name", "A"),
+            message("testSuiteStarted", "name", "B"),
+            message("testStarted", "name", "B.b"),
+            "output of B.b\n",
+            message("testFinished", "name", "B.b"),
+            message("testSuiteFinished", "name", "B")));
+  }
+
+  @Test
+  public void shouldStreamSuiteOfShardWhichStartedItFirst() {
+    merger.onLine(0, message("testSuiteStarted", "name", "A"));
+    merger.onLine(1, message("testSuiteStarted", "name", "B"));
+    merger.onLine(0, message("testStarted", "name", "A.a"));
+    merger.onLine(1, message("testStarted", "name", "B.b"));
+
+    assertEquals(
+        output,
+        asList(message("testSuiteStarted", "name", "A"), message("testStarted", "name", "A.a")));
+
+    merger.onLine(0, message("testSuiteFinished", "name", "A"));
+    merger.onLine(1, message("testFinished", "name", "B.b"));
+
+    assertEquals(
+        output,
+        asList(
+            message("testSuiteStarted", "name", "A"),
+            message("testStarted", "name", "A.a"),
+            message("testSuiteFinished", "name", "A"),
+            message("testSuiteStarted", "name", "B"),
+            message("testStarted", "name", "B.b"),
+            message("testFinished", "name", "B.b")));
+  }
+
+  @Test
+  public void shouldSendTreesOfAllShardsBeforeResults() {
+    merger.onLine(0, message("testReporterAttached"));
+    merger.onLine(0, message("suiteTreeStarted", "name", "A"));
+    merger.onLine(0, message("suiteTreeNode", "name", "A.a"));
+    merger.onLine(0, message("suiteTreeEnded", "name", "A"));
+    merger.onLine(0, message("treeEnded"));
+    merger.onLine(0, message("testSuiteStarted", "name", "A"));
+    merger.onLine(0, message("testSuiteFinished", "name", "A"));
+    merger.onLine(1, message("testReporterAttached"));
+    merger.onLine(1, message("suiteTreeStarted", "name", "B"));
+    merger.onLine(1, message("suiteTreeEnded", "name", "B"));
+    merger.onLine(1, message("treeEnded"));
+    merger.onLine(1, message("testSuiteStarted", "name", "B"));
+
+    assertEquals(
+        output,
+        asList(
+            message("testReporterAttached"),
+            message("suiteTreeStarted", "name", "A"),
+            message("suiteTreeNode", "name", "A.a"),
+            message("suiteTreeEnded", "name", "A"),
+            message("suiteTreeStarted", "name", "B"),
+            message("suiteTreeEnded", "name", "B"),
+            message("treeEnded"),
+            message("testSuiteStarted", "name", "A"),
+            message("testSuiteFinished", "name", "A"),
+            message("testSuiteStarted", "name", "B")));
+  }
+
+  @Test
+  public void shouldSumUpTestCounts() {
+    merger.onLine(0, message("testCount", "count", "3"));
+    merger.onLine(1, message("testCount", "count", "4"));
+
+    assertEquals(output.get(1), message("testCount", "count", "7"));
+  }
+
+  @Test
+  public void shouldMeasureTestClassesAndCollectFailed() {
+    merger.onLine(0, message("testSuiteStarted", "name", "A"));
+    merger.onLine(0, message("testFailed", "name", "A.a"));
+    merger.onLine(0, message("testSuiteFinished", "name", "A"));
+    merger.onLine(1, message("testSuiteStarted", "name", "B"));
+    merger.onLine(1, message("testSuiteFinished", "name", "B"));
+
+    assertEquals(merger.getDurations().keySet(), new HashSet<>(asList("A", "B")));
+    assertEquals(merger.getFailed(), singleton("A"));
+  }
+
+  @Test
+  public void shouldPassUnfinishedSuiteWhenShardIsFinished() {
+    merger.onLine(0, message("testSuiteStarted", "name", "A"));
+    merger.onLine(0, "crashed\n");
+    merger.onShardFinished(0);
+    merger.onShardFinished(1);
+
+    assertTrue(output.contains("crashed\n"), output.toString());
+  }
+
+  private static String message(String name, String... attributes) {
+    StringBuilder message = new StringBuilder("@@<{\"name\":\"").append(name).append('"');
+    if (attributes.length > 0) {
+      message.append(",\"attributes\":{");
+      for (int i = 0; i < attributes.length; i += 2) {
+        message.append(i == 0 ? "" : ",");
+        message.append('"').append(attributes[i]).append("\":\"").append(attributes[i + 1]);
+        message.append('"');
+      }
+      message.append('}');
+    }
+    return message.append("}>\n").toString();
+  }
+}
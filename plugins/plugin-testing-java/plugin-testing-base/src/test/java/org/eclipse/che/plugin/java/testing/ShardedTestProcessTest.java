@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.commons.lang.execution.ProcessHandler;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link ShardedTestProcess} with the processes which imitate test JVMs. */
+public class ShardedTestProcessTest {
+  private Path historyDirectory;
+  private TestRunHistory history;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    historyDirectory = Files.createTempDirectory("test-history");
+    history = new TestRunHistory(historyDirectory);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    for (Path file : Files.newDirectoryStream(historyDirectory)) {
+      Files.delete(file);
+    }
+    Files.delete(historyDirectory);
+  }
+
+  @Test(timeOut = 30_000)
+  public void shouldMergeOutputOfShardsAndStoreHistory() throws Exception {
+    Map<String, Long> durations = new HashMap<>();
+    durations.put("org.example.ATest", 100L);
+    durations.put("org.example.BTest", 100L);
+    durations.put("org.example.CTest", 100L);
+
+    List<String> output = run(durations, 2);
+
+    assertEquals(output.size(), 3 * 4);
+    // each test class is reported as a whole
+    for (int i = 0; i < output.size(); i += 4) {
+      assertTrue(output.get(i).contains("testSuiteStarted"), output.get(i));
+      assertTrue(output.get(i + 3).contains("testSuiteFinished"), output.get(i + 3));
+    }
+    assertEquals(history.getDurations("/project").keySet(), durations.keySet());
+    assertEquals(history.getFailed("/project"), emptySet());
+  }
+
+  @Test(timeOut = 30_000)
+  public void shouldStoreHistoryOfRunBySingleProcess() throws Exception {
+    Map<String, Long> durations = new HashMap<>();
+    durations.put("org.example.ATest", 100L);
+    durations.put("org.example.BTest", 100L);
+    List<String> tests = new ArrayList<>(durations.keySet());
+    tests.sort(null);
+    String script = script(tests, durations, singleton("org.example.BTest"));
+
+    ProcessHandler handler = new ProcessHandler(new ProcessBuilder("sh", "-c", script).start());
+    handler.addProcessListener(new TestRunRecorder(history, "/project", new HashSet<>(tests)));
+    handler.startNotify();
+    handler.waitFor();
+
+    assertEquals(history.getDurations("/project").keySet(), durations.keySet());
+    assertEquals(history.getFailed("/project"), singleton("org.example.BTest"));
+  }
+
+  private List<String> run(Map<String, Long> durations, int shards) throws Exception {
+    List<String> tests = new ArrayList<>(durations.keySet());
+    tests.sort(null);
+    List<List<String>> plan =
+        TestShardPlanner.plan(tests, shards, history.getDurations("/project"), emptySet());
+    List<Process> processes = new ArrayList<>();
+    for (List<String> shardTests : plan) {
+      processes.add(new ProcessBuilder("sh", "-c", script(shardTests, durations, emptySet())).start());
+    }
+
+    CountDownLatch finished = new CountDownLatch(1);
+    ShardedTestProcess process =
+        new ShardedTestProcess(
+            processes,
+            new HashSet<>(tests),
+            merger -> {
+              history.update("/project", merger.getDurations(), merger.getFailed());
+              finished.countDown();
+            });
+
+    List<String> output = new ArrayList<>();
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(process.getInputStream(), UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        output.add(line);
+      }
+    }
+    assertEquals(process.waitFor(), 0);
+    finished.await();
+    return output;
+  }
+
+  /** Creates script which reports the tests like a test JVM and sleeps for their durations. */
+  private static String script(
+      List<String> tests, Map<String, Long> durations, Set<String> failed) {
+    StringBuilder script = new StringBuilder();
+    for (String test : tests) {
+      String name = "\"name\":\"" + test + "\"";
+      script
+          .append(echo("@@<{\"name\":\"testSuiteStarted\",\"attributes\":{" + name + "}}>"))
+          .append(echo("@@<{\"name\":\"testStarted\",\"attributes\":{" + name + "}}>"))
+          .append(String.format(Locale.ROOT, "sleep %.3f; ", durations.get(test) / 1000.0));
+      if (failed.contains(test)) {
+        script.append(echo("@@<{\"name\":\"testFailed\",\"attributes\":{" + name + "}}>"));
+      }
+      script
+          .append(echo("@@<{\"name\":\"testFinished\",\"attributes\":{" + name + "}}>"))
+          .append(echo("@@<{\"name\":\"testSuiteFinished\",\"attributes\":{" + name + "}}>"));
+    }
+    return script.append("true").toString();
+  }
+
+  private static String echo(String line) {
+    return "echo '" + line + "'; ";
+  }
+}
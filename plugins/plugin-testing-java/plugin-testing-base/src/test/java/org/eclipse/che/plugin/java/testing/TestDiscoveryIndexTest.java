@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.languageserver.LanguageServiceUtils.removePrefixUri;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.plugin.java.languageserver.JavaLanguageServerExtensionService;
+import org.eclipse.che.plugin.java.languageserver.ProjectClassPathChangedEvent;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link TestDiscoveryIndex}. The search of jdt.ls is imitated by looking for the test
+ * annotation in the text of the java files.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class TestDiscoveryIndexTest {
+  private static final String PROJECT = "/project";
+  private static final String TEST_ANNOTATION = "org.junit.Test";
+  private static final String RUN_WITH_ANNOTATION = "org.junit.runner.RunWith";
+  private static final Pattern PACKAGE = Pattern.compile("package ([\\w.]+);");
+
+  @Mock private JavaLanguageServerExtensionService extensionService;
+  @Mock private FileWatcherManager fileWatcherManager;
+  @Mock private EventService eventService;
+  @Mock private PathTransformer pathTransformer;
+
+  private Path root;
+  private Path indexDirectory;
+  private TestDiscoveryIndex index;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("projects");
+    indexDirectory = Files.createTempDirectory("test-index");
+    Files.createDirectories(root.resolve("project/src"));
+
+    lenient()
+        .when(pathTransformer.transform(anyString()))
+        .thenAnswer(invocation -> root.resolve(invocation.<String>getArgument(0).substring(1)));
+    lenient()
+        .when(pathTransformer.transform(any(Path.class)))
+        .thenAnswer(invocation -> "/" + root.relativize(invocation.getArgument(0)));
+    lenient()
+        .when(extensionService.getResolvedClasspath(anyString()))
+        .thenReturn(singletonList("junit.jar"));
+    lenient()
+        .when(extensionService.findTestsFromProject(anyString(), anyString(), anyString()))
+        .thenAnswer(invocation -> search(removePrefixUri(invocation.<String>getArgument(0))));
+    lenient()
+        .when(extensionService.findTestsInFile(anyString(), anyString(), anyString()))
+        .thenAnswer(invocation -> search(removePrefixUri(invocation.<String>getArgument(0))));
+
+    index = createIndex();
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    delete(root);
+    delete(indexDirectory);
+  }
+
+  @Test
+  public void shouldSearchProjectOnceAndAnswerFromIndex() throws Exception {
+    // given
+    writeClass("src/a/ATest.java", true);
+    writeClass("src/a/Util.java", false);
+    writeClass("src/b/BTest.java", true);
+
+    // when
+    List<String> first = findTestsFromProject();
+    List<String> second = findTestsFromProject();
+
+    // then
+    assertEquals(first, Arrays.asList("a.ATest", "b.BTest"));
+    assertEquals(second, first);
+    verify(extensionService, times(1)).findTestsFromProject(anyString(), anyString(), anyString());
+    verify(extensionService, never()).findTestsInFile(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldSearchOnlyFilesReportedByFileWatcher() throws Exception {
+    // given
+    writeClass("src/a/ATest.java", true);
+    writeClass("src/a/Util.java", false);
+    findTestsFromProject();
+
+    // when
+    Path util = writeClass("src/a/Util.java", true);
+    Files.setLastModifiedTime(util, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+    Path test = root.resolve("project/src/a/ATest.java");
+    Files.delete(test);
+    fileWatcherConsumer().accept(pathTransformer.transform(util));
+    fileWatcherConsumer().accept(pathTransformer.transform(test));
+
+    // then
+    assertEquals(findTestsFromProject(), singletonList("a.Util"));
+    verify(extensionService, times(1)).findTestsFromProject(anyString(), anyString(), anyString());
+    verify(extensionService, times(1))
+        .findTestsInFile(eq("file:///projects/project/src/a/Util.java"), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldFindTestsOfFolderAndFileInIndex() throws Exception {
+    // given
+    writeClass("src/a/ATest.java", true);
+    writeClass("src/b/BTest.java", true);
+    writeClass("src/b/c/CTest.java", true);
+    findTestsFromProject();
+
+    // when
+    List<String> folderTests =
+        index.findTestsFromFolder(PROJECT, "/project/src/b", TEST_ANNOTATION, RUN_WITH_ANNOTATION);
+    List<String> fileTests =
+        index.findTestsInFile(
+            PROJECT, "/project/src/a/ATest.java", TEST_ANNOTATION, RUN_WITH_ANNOTATION);
+
+    // then
+    assertEquals(folderTests, Arrays.asList("b.BTest", "b.c.CTest"));
+    assertEquals(fileTests, singletonList("a.ATest"));
+    verify(extensionService, never()).findTestsFromFolder(anyString(), anyString(), anyString());
+    verify(extensionService, never()).findTestsInFile(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldRebuildIndexWhenClassPathChanges() throws Exception {
+    // given
+    writeClass("src/a/ATest.java", true);
+    findTestsFromProject();
+
+    // when
+    fireClassPathChanged();
+    findTestsFromProject();
+    when(extensionService.getResolvedClasspath(anyString()))
+        .thenReturn(Arrays.asList("junit.jar", "hamcrest.jar"));
+    fireClassPathChanged();
+    findTestsFromProject();
+
+    // then the first event doesn't change the class path
+    verify(extensionService, times(2)).findTestsFromProject(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldSearchOnlyFilesModifiedBeforeRestart() throws Exception {
+    // given
+    writeClass("src/a/ATest.java", true);
+    writeClass("src/a/Util.java", false);
+    findTestsFromProject();
+
+    // when
+    Path util = writeClass("src/a/Util.java", true);
+    Files.setLastModifiedTime(util, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+    writeClass("src/b/BTest.java", true);
+    clearInvocations(extensionService);
+    index = createIndex();
+
+    // then
+    assertEquals(findTestsFromProject(), Arrays.asList("a.ATest", "a.Util", "b.BTest"));
+    verify(extensionService, never()).findTestsFromProject(anyString(), anyString(), anyString());
+    verify(extensionService, times(2)).findTestsInFile(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldSearchOnlyModifiedFilesOfProjectWithOrphans() throws Exception {
+    // given a test class whose file can't be found from its name
+    writeClass("src/a/ATest.java", true);
+    writeClass("src/a/Util.java", false);
+    doAnswer(
+            invocation -> {
+              List<String> tests = search(removePrefixUri(invocation.getArgument(0)));
+              tests.add("a.Orphan");
+              return tests;
+            })
+        .when(extensionService)
+        .findTestsFromProject(anyString(), anyString(), anyString());
+    findTestsFromProject();
+
+    // when
+    Path util = writeClass("src/a/Util.java", true);
+    Files.setLastModifiedTime(util, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+    fileWatcherConsumer().accept(pathTransformer.transform(util));
+
+    // then
+    assertEquals(findTestsFromProject(), Arrays.asList("a.ATest", "a.Util", "a.Orphan"));
+    verify(extensionService, times(1)).findTestsFromProject(anyString(), anyString(), anyString());
+    verify(extensionService, times(1)).findTestsInFile(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldSearchProjectOnlyOnceAcrossChangesAndRestart() throws Exception {
+    // given
+    for (int i = 0; i < 100; i++) {
+      writeClass(String.format("src/p%d/C%d.java", i % 10, i), i % 10 == 0);
+    }
+    List<String> built = findTestsFromProject();
+
+    // when
+    Path modified = writeClass("src/p1/C1.java", true);
+    Files.setLastModifiedTime(modified, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+    fileWatcherConsumer().accept(pathTransformer.transform(modified));
+    List<String> updated = findTestsFromProject();
+    index = createIndex();
+    List<String> restored = findTestsFromProject();
+
+    // then
+    assertEquals(built, search(PROJECT));
+    assertEquals(updated.size(), built.size() + 1);
+    assertEquals(restored, updated);
+    verify(extensionService, times(1)).findTestsFromProject(anyString(), anyString(), anyString());
+    verify(extensionService, times(1)).findTestsInFile(anyString(), anyString(), anyString());
+  }
+
+  private TestDiscoveryIndex createIndex() {
+    TestDiscoveryIndex index =
+        new TestDiscoveryIndex(
+            extensionService, fileWatcherManager, eventService, pathTransformer, indexDirectory);
+    index.startWatching();
+    return index;
+  }
+
+  private List<String> findTestsFromProject() {
+    return index.findTestsFromProject(PROJECT, TEST_ANNOTATION, RUN_WITH_ANNOTATION);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Consumer<String> fileWatcherConsumer() {
+    ArgumentCaptor<Consumer<String>> modify = ArgumentCaptor.forClass(Consumer.class);
+    verify(fileWatcherManager, times(1))
+        .registerByMatcher(any(PathMatcher.class), any(), modify.capture(), any());
+    return modify.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void fireClassPathChanged() {
+    ArgumentCaptor<EventSubscriber<ProjectClassPathChangedEvent>> subscriber =
+        ArgumentCaptor.forClass(EventSubscriber.class);
+    verify(eventService).subscribe(subscriber.capture(), eq(ProjectClassPathChangedEvent.class));
+    subscriber.getValue().onEvent(new ProjectClassPathChangedEvent(PROJECT));
+  }
+
+  private Path writeClass(String path, boolean test) throws IOException {
+    Path file = root.resolve("project").resolve(path);
+    Files.createDirectories(file.getParent());
+    String name = file.getFileName().toString().replace(".java", "");
+    String packageName = path.substring("src/".length(), path.lastIndexOf('/')).replace('/', '.');
+    String method = test ? "  @org.junit.Test\n  public void test() {}\n" : "";
+    String text = "package " + packageName + ";\n\npublic class " + name + " {\n" + method + "}\n";
+    return Files.write(file, text.getBytes(UTF_8));
+  }
+
+  /** Looks for test classes in the file or in the folder with the given workspace path. */
+  private List<String> search(String wsPath) throws IOException {
+    List<String> tests = new ArrayList<>();
+    try (Stream<Path> files = Files.walk(pathTransformer.transform(wsPath))) {
+      for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+        String text = new String(Files.readAllBytes(file), UTF_8);
+        Matcher packageName = PACKAGE.matcher(text);
+        if (text.contains("@" + TEST_ANNOTATION) && packageName.find()) {
+          String name = file.getFileName().toString().replace(".java", "");
+          tests.add(packageName.group(1) + '.' + name);
+        }
+      }
+    }
+    return tests;
+  }
+
+  private void delete(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(path);
+      }
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+/** Tests {@link TestShardPlanner}. */
+public class TestShardPlannerTest {
+
+  @Test
+  public void shouldBalanceShardsByDurations() {
+    Map<String, Long> durations = new HashMap<>();
+    durations.put("A", 800L);
+    durations.put("B", 100L);
+    durations.put("C", 500L);
+    durations.put("D", 300L);
+    durations.put("E", 200L);
+
+    List<List<String>> plan =
+        TestShardPlanner.plan(asList("A", "B", "C", "D", "E"), 2, durations, emptySet());
+
+    // A(800) + E(200) = 1000 and B(100) + C(500) + D(300) = 900
+    assertEquals(plan, asList(asList("A", "E"), asList("B", "C", "D")));
+  }
+
+  @Test
+  public void shouldUseAverageDurationForUnknownTests() {
+    Map<String, Long> durations = new HashMap<>();
+    durations.put("A", 900L);
+    durations.put("B", 100L);
+
+    List<List<String>> plan =
+        TestShardPlanner.plan(asList("A", "B", "C", "D"), 2, durations, emptySet());
+
+    // A(900) + B(100) and C(500) + D(500)
+    assertEquals(plan, asList(asList("A", "B"), asList("C", "D")));
+  }
+
+  @Test
+  public void shouldNotCreateMoreShardsThanTests() {
+    List<List<String>> plan = TestShardPlanner.plan(asList("A", "B"), 4, emptyMap(), emptySet());
+
+    assertEquals(plan.size(), 2);
+  }
+
+  @Test
+  public void shouldReturnSingleShardWhenThereAreNoTests() {
+    List<List<String>> plan = TestShardPlanner.plan(asList(), 4, emptyMap(), emptySet());
+
+    assertEquals(plan, singletonList(asList()));
+  }
+
+  @Test
+  public void shouldRunFailedTestsFirst() {
+    List<List<String>> plan =
+        TestShardPlanner.plan(asList("A", "B", "C"), 1, emptyMap(), singleton("C"));
+
+    assertEquals(plan, singletonList(asList("C", "A", "B")));
+  }
+}
@@ -24,6 +24,8 @@ import org.eclipse.che.junit.junit4.CheJUnitCoreRunner;
 import org.eclipse.che.plugin.java.languageserver.JavaLanguageServerExtensionService;
 import org.eclipse.che.plugin.java.testing.AbstractJavaTestRunner;
 import org.eclipse.che.plugin.java.testing.ClasspathUtil;
+import org.eclipse.che.plugin.java.testing.TestDiscoveryIndex;
+import org.eclipse.che.plugin.java.testing.TestRunHistory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,8 +43,17 @@ public class JUnit4TestRunner extends AbstractJavaTestRunner {
   @Inject
   public JUnit4TestRunner(
       @Named("che.user.workspaces.storage") String workspacePath,
-      JavaLanguageServerExtensionService extensionService) {
-    super(extensionService, TEST_METHOD_ANNOTATION, TEST_CLASS_ANNOTATION);
+      @Named("che.testing.java.shards") int shards,
+      JavaLanguageServerExtensionService extensionService,
+      TestRunHistory history,
+      TestDiscoveryIndex discoveryIndex) {
+    super(
+        extensionService,
+        TEST_METHOD_ANNOTATION,
+        TEST_CLASS_ANNOTATION,
+        shards,
+        history,
+        discoveryIndex);
     this.workspacePath = workspacePath;
   }
 
@@ -57,19 +68,25 @@ public class JUnit4TestRunner extends AbstractJavaTestRunner {
   }
 
   private ProcessHandler startTestProcess(TestExecutionContext context) throws ExecutionException {
+    List<String> projectClasspath = getResolvedClassPaths(context);
+    return startTests(
+        context,
+        findTests(context),
+        (shard, tests) -> createCommand(context, projectClasspath, tests));
+  }
+
+  private CommandLine createCommand(
+      TestExecutionContext context, List<String> projectClasspath, List<String> suite) {
     JavaParameters parameters = new JavaParameters();
     parameters.setJavaExecutable(System.getProperty("java.home") + "/bin/java");
     parameters.setMainClassName(MAIN_CLASS_NAME);
     parameters.setWorkingDirectory(workspacePath + context.getProjectPath());
 
-    List<String> projectClasspath = getResolvedClassPaths(context);
-
     List<String> classPath = new ArrayList<>();
     classPath.addAll(projectClasspath);
     classPath.add(ClasspathUtil.getJarPathForClass(CheJUnitCoreRunner.class));
     parameters.getClassPath().addAll(classPath);
 
-    List<String> suite = findTests(context);
     for (String element : suite) {
       parameters.getParametersList().add(element);
     }
@@ -80,7 +97,6 @@ public class JUnit4TestRunner extends AbstractJavaTestRunner {
           .getVmParameters()
           .add("-Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=" + getDebugPort());
     }
-    CommandLine command = parameters.createCommand();
-    return new ProcessHandler(command.createProcess());
+    return parameters.createCommand();
   }
 }
@@ -12,6 +12,7 @@
 package org.eclipse.che.plugin.testing.testng.server;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 
@@ -33,6 +34,8 @@ import org.eclipse.che.commons.lang.execution.ProcessHandler;
 import org.eclipse.che.plugin.java.languageserver.JavaLanguageServerExtensionService;
 import org.eclipse.che.plugin.java.testing.AbstractJavaTestRunner;
 import org.eclipse.che.plugin.java.testing.ClasspathUtil;
+import org.eclipse.che.plugin.java.testing.TestDiscoveryIndex;
+import org.eclipse.che.plugin.java.testing.TestRunHistory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +46,7 @@ public class TestNGRunner extends AbstractJavaTestRunner {
   private static final String JAVA_IO_TMPDIR = "java.io.tmpdir";
   private static final String TEST_OUTPUT_FOLDER = "/test-output";
   private static final String TEST_METHOD_ANNOTATION = "org.testng.annotations.Test";
+  private static final String SHARD_DIRECTORY = "/shard-";
 
   private String workspacePath;
   private JavaLanguageServerExtensionService extensionService;
@@ -51,9 +55,12 @@ public class TestNGRunner extends AbstractJavaTestRunner {
   @Inject
   public TestNGRunner(
       @Named("che.user.workspaces.storage") String workspacePath,
+      @Named("che.testing.java.shards") int shards,
       JavaLanguageServerExtensionService extensionService,
-      TestNGSuiteUtil suiteUtil) {
-    super(extensionService, TEST_METHOD_ANNOTATION, "");
+      TestNGSuiteUtil suiteUtil,
+      TestRunHistory history,
+      TestDiscoveryIndex discoveryIndex) {
+    super(extensionService, TEST_METHOD_ANNOTATION, "", shards, history, discoveryIndex);
     this.workspacePath = workspacePath;
     this.extensionService = extensionService;
     this.suiteUtil = suiteUtil;
@@ -66,22 +73,53 @@ public class TestNGRunner extends AbstractJavaTestRunner {
   }
 
   private ProcessHandler startTestProcess(TestExecutionContext context) throws ExecutionException {
-    File suiteFile = createSuite(context);
+    String outputDirectory = getOutputDirectory(context);
+    List<String> classPath = new ArrayList<>();
+    List<String> resolvedClassPaths = getResolvedClassPaths(context);
+    classPath.addAll(resolvedClassPaths);
+    classPath.add(ClasspathUtil.getJarPathForClass(org.testng.CheTestNG.class));
+    classPath.add(ClasspathUtil.getJarPathForClass(JCommander.class));
+
+    String filePath = context.getFilePath();
+    if (!isNullOrEmpty(filePath) && filePath.endsWith(".xml")) {
+      File suiteFile = suiteUtil.writeSuite(System.getProperty(JAVA_IO_TMPDIR), filePath);
+      return startTests(
+          context,
+          emptyList(),
+          (shard, tests) -> createCommand(context, suiteFile, outputDirectory, classPath));
+    }
+    return startTests(
+        context,
+        findTests(context),
+        (shard, tests) -> {
+          // shards which run at the same time must not share the suite and the reports
+          String suiteDirectory = System.getProperty(JAVA_IO_TMPDIR);
+          String shardOutputDirectory = outputDirectory;
+          if (shard > 0) {
+            suiteDirectory += SHARD_DIRECTORY + shard;
+            shardOutputDirectory += SHARD_DIRECTORY + shard;
+            File directory = new File(suiteDirectory);
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+              throw new ExecutionException("Can't create directory " + suiteDirectory);
+            }
+          }
+          File suiteFile = createSuite(context, suiteDirectory, tests);
+          return createCommand(context, suiteFile, shardOutputDirectory, classPath);
+        });
+  }
+
+  private CommandLine createCommand(
+      TestExecutionContext context, File suiteFile, String outputDirectory, List<String> classPath)
+      throws ExecutionException {
     if (suiteFile == null) {
-      throw new RuntimeException("Can't create TestNG suite xml file.");
+      throw new ExecutionException("Can't create TestNG suite xml file.");
     }
 
     JavaParameters parameters = new JavaParameters();
     parameters.setJavaExecutable(System.getProperty("java.home") + "/bin/java");
     parameters.setMainClassName("org.testng.CheTestNGLauncher");
-    String outputDirectory = getOutputDirectory(context);
     parameters.getParametersList().add("-d", outputDirectory);
     parameters.setWorkingDirectory(workspacePath + context.getProjectPath());
-    List<String> classPath = new ArrayList<>();
-    List<String> resolvedClassPaths = getResolvedClassPaths(context);
-    classPath.addAll(resolvedClassPaths);
-    classPath.add(ClasspathUtil.getJarPathForClass(org.testng.CheTestNG.class));
-    classPath.add(ClasspathUtil.getJarPathForClass(JCommander.class));
     parameters.getClassPath().addAll(classPath);
 
     parameters.getParametersList().add("-suiteFile", suiteFile.getAbsolutePath());
@@ -92,8 +130,7 @@ public class TestNGRunner extends AbstractJavaTestRunner {
           .getVmParameters()
           .add("-Xrunjdwp:transport=dt_socket,server=y,suspend=y,address=" + getDebugPort());
     }
-    CommandLine command = parameters.createCommand();
-    return new ProcessHandler(command.createProcess());
+    return parameters.createCommand();
   }
 
   private String getOutputDirectory(TestExecutionContext context) {
@@ -106,17 +143,11 @@ public class TestNGRunner extends AbstractJavaTestRunner {
     }
   }
 
-  private File createSuite(TestExecutionContext context) {
-    String filePath = context.getFilePath();
-    if (!isNullOrEmpty(filePath) && filePath.endsWith(".xml")) {
-      return suiteUtil.writeSuite(System.getProperty(JAVA_IO_TMPDIR), filePath);
-    }
-    List<String> testSuite = findTests(context);
-
-    Map<String, List<String>> classes = buildTestNgSuite(testSuite, context);
+  private File createSuite(
+      TestExecutionContext context, String suiteDirectory, List<String> tests) {
+    Map<String, List<String>> classes = buildTestNgSuite(tests, context);
 
-    return suiteUtil.writeSuite(
-        System.getProperty(JAVA_IO_TMPDIR), context.getProjectPath(), classes);
+    return suiteUtil.writeSuite(suiteDirectory, context.getProjectPath(), classes);
   }
 
   private Map<String, List<String>> buildTestNgSuite(
@@ -15,6 +15,7 @@ import static org.eclipse.che.ide.api.jsonrpc.Constants.WS_AGENT_JSON_RPC_ENDPOI
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.List;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.testing.shared.Constants;
@@ -47,6 +48,16 @@ public class TestServiceClient {
         .sendAndReceiveResultAsDto(TestLaunchResult.class);
   }
 
+  /** Returns the names of the tests which would be run for the given context. */
+  public JsonRpcPromise<List<String>> findTests(TestExecutionContext context) {
+    return requestTransmitter
+        .newRequest()
+        .endpointId(WS_AGENT_JSON_RPC_ENDPOINT_ID)
+        .methodName(Constants.FIND_TESTS_METHOD)
+        .paramsAsDto(context)
+        .sendAndReceiveResultAsListOfString();
+  }
+
   public JsonRpcPromise<TestDetectionResult> detectTests(TestDetectionContext context) {
     return requestTransmitter
         .newRequest()
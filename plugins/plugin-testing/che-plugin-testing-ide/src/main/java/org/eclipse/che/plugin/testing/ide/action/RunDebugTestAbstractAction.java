@@ -158,6 +158,8 @@ public abstract class RunDebugTestAbstractAction extends AbstractPerspectiveActi
         createTestExecutionContext(
             frameworkAndTestName, testDetector.getContextType(), selectedNodePath);
     context.withDebugModeEnable(isDebugMode);
+    // debugged tests keep their order, the others start with the ones which failed last time
+    context.withRunFailedFirst(!isDebugMode);
 
     GeneralTestingEventsProcessor eventsProcessor =
         new GeneralTestingEventsProcessor(
@@ -13,6 +13,7 @@ package org.eclipse.che.plugin.testing.ide.handler;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.List;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.testing.shared.Constants;
 import org.eclipse.che.api.testing.shared.messages.TestingMessageNames;
@@ -64,6 +65,16 @@ public class TestingHandler implements TestingMessageVisitor {
         .paramsAsString()
         .noResult()
         .withConsumer(this::handleTestingMessage);
+    configurator
+        .newConfiguration()
+        .methodName(Constants.TESTING_RPC_BATCH_METHOD_NAME)
+        .paramsAsListOfString()
+        .noResult()
+        .withConsumer(this::handleTestingMessages);
+  }
+
+  private void handleTestingMessages(List<String> jsonMessages) {
+    jsonMessages.forEach(this::handleTestingMessage);
   }
 
   private void handleTestingMessage(String jsonMessage) {
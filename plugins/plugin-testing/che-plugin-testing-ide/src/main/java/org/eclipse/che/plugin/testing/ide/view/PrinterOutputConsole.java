@@ -13,7 +13,10 @@ package org.eclipse.che.plugin.testing.ide.view;
 
 import javax.inject.Inject;
 import org.eclipse.che.ide.CoreLocalizationConstant;
+import org.eclipse.che.ide.api.preferences.PreferencesManager;
+import org.eclipse.che.ide.console.OutputConsoleView;
 import org.eclipse.che.ide.console.OutputConsoleViewImpl;
+import org.eclipse.che.ide.console.OutputCustomizer;
 import org.eclipse.che.ide.machine.MachineResources;
 import org.eclipse.che.plugin.testing.ide.model.Printable;
 import org.eclipse.che.plugin.testing.ide.model.Printer;
@@ -24,8 +27,13 @@ public class PrinterOutputConsole extends OutputConsoleViewImpl implements Print
   private TestState currentTest;
 
   @Inject
-  public PrinterOutputConsole(MachineResources resources, CoreLocalizationConstant localization) {
-    super(resources, localization);
+  public PrinterOutputConsole(
+      MachineResources resources,
+      CoreLocalizationConstant localization,
+      PreferencesManager preferencesManager,
+      TestOutputFileCustomizer customizer) {
+    super(resources, localization, preferencesManager);
+    setDelegate(new Delegate(customizer));
 
     reRunProcessButton.removeFromParent();
     stopProcessButton.removeFromParent();
@@ -67,4 +75,44 @@ public class PrinterOutputConsole extends OutputConsoleViewImpl implements Print
     testState.setPrinter(this);
     testState.print(this);
   }
+
+  /** Links the file of the test output over the limit and searches the output. */
+  private class Delegate implements OutputConsoleView.ActionDelegate {
+    private final OutputCustomizer customizer;
+
+    Delegate(OutputCustomizer customizer) {
+      this.customizer = customizer;
+    }
+
+    @Override
+    public void reRunProcessButtonClicked() {}
+
+    @Override
+    public void stopProcessButtonClicked() {}
+
+    @Override
+    public void clearOutputsButtonClicked() {}
+
+    @Override
+    public void downloadOutputsButtonClicked() {}
+
+    @Override
+    public void wrapTextButtonClicked() {}
+
+    @Override
+    public void scrollToBottomButtonClicked() {}
+
+    @Override
+    public void onOutputScrolled(boolean bottomReached) {}
+
+    @Override
+    public void onFindInOutput(String text, boolean forward) {
+      find(text, forward);
+    }
+
+    @Override
+    public OutputCustomizer getCustomizer() {
+      return customizer;
+    }
+  }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.testing.ide.view;
+
+import static com.google.gwt.regexp.shared.RegExp.compile;
+
+import com.google.gwt.regexp.shared.MatchResult;
+import com.google.gwt.regexp.shared.RegExp;
+import javax.inject.Inject;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.editor.EditorAgent;
+import org.eclipse.che.ide.console.OutputCustomizer;
+
+/**
+ * Adds an anchor link to the path of the file which the test output over the limit is written to,
+ * the link opens the file in the editor.
+ */
+public class TestOutputFileCustomizer implements OutputCustomizer {
+
+  private static final RegExp OUTPUT_FILE =
+      compile("Test output exceeds \\d+ characters, the rest of it is written to (/\\S+)");
+
+  private final AppContext appContext;
+  private final EditorAgent editorAgent;
+
+  @Inject
+  public TestOutputFileCustomizer(AppContext appContext, EditorAgent editorAgent) {
+    this.appContext = appContext;
+    this.editorAgent = editorAgent;
+
+    exportAnchorClickHandlerFunction();
+  }
+
+  @Override
+  public boolean canCustomize(String text) {
+    return OUTPUT_FILE.exec(text) != null;
+  }
+
+  @Override
+  public String customize(String text) {
+    MatchResult matcher = OUTPUT_FILE.exec(text);
+    if (matcher == null) {
+      return text;
+    }
+    String path = matcher.getGroup(1);
+    int start = matcher.getIndex() + matcher.getGroup(0).length() - path.length();
+    return text.substring(0, start)
+        + "<a href='javascript:openTestOutputFile(\""
+        + path
+        + "\");'>"
+        + path
+        + "</a>"
+        + text.substring(start + path.length());
+  }
+
+  /**
+   * A callback that is to be called for an anchor
+   *
+   * @param path path of the file in the workspace
+   */
+  public void handleAnchorClick(String path) {
+    appContext
+        .getWorkspaceRoot()
+        .getFile(path)
+        .then(
+            file -> {
+              if (file.isPresent()) {
+                editorAgent.openEditor(file.get());
+              }
+            });
+  }
+
+  /*
+   * Sets up a java callback to be called for an anchor
+   */
+  private native void exportAnchorClickHandlerFunction() /*-{
+        var that = this;
+        $wnd.openTestOutputFile = $entry(function(path) {
+            that.@org.eclipse.che.plugin.testing.ide.view.TestOutputFileCustomizer::handleAnchorClick(*)(path);
+        });
+    }-*/;
+}
@@ -11,8 +11,10 @@
  */
 package org.eclipse.che.api.debugger.server;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.eclipse.che.api.debug.shared.model.Breakpoint;
 import org.eclipse.che.api.debug.shared.model.DebuggerInfo;
 import org.eclipse.che.api.debug.shared.model.Location;
@@ -30,6 +32,7 @@ import org.eclipse.che.api.debug.shared.model.event.BreakpointActivatedEvent;
 import org.eclipse.che.api.debug.shared.model.event.DebuggerEvent;
 import org.eclipse.che.api.debug.shared.model.event.DisconnectEvent;
 import org.eclipse.che.api.debug.shared.model.event.SuspendEvent;
+import org.eclipse.che.api.debug.shared.model.impl.ThreadStateImpl;
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 
 /**
@@ -245,6 +248,53 @@ public interface Debugger {
     return Collections.emptyList();
   }
 
+  /**
+   * Gets the states of all threads without their frames. Frames of a particular thread are
+   * requested separately with {@link #getStackFrames(long, int, int)}, which is much cheaper than
+   * {@link #getThreadDump()} when the debuggee has a lot of threads.
+   *
+   * @return snapshot of the state of all threads, frames lists are empty
+   * @throws DebuggerException if any error occur
+   */
+  default List<ThreadState> getThreads() throws DebuggerException {
+    return getThreadDump()
+        .stream()
+        .map(
+            ts ->
+                new ThreadStateImpl(
+                    ts.getId(),
+                    ts.getName(),
+                    ts.getGroupName(),
+                    ts.getStatus(),
+                    ts.isSuspended(),
+                    Collections.emptyList()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Gets a page of frames of the given thread. Only locations and methods of the frames are
+   * expected to be filled in, variables are requested by {@link #getStackFrameDump(long, int)}.
+   *
+   * @param threadId the thread id
+   * @param start the index of the first frame to return, 0 is the top frame
+   * @param count the maximum number of frames to return
+   * @return frames of the thread in the range, empty list if thread isn't suspended or there are
+   *     no frames in the range
+   * @throws DebuggerException if any error occur
+   */
+  default List<StackFrameDump> getStackFrames(long threadId, int start, int count)
+      throws DebuggerException {
+    for (ThreadState ts : getThreadDump()) {
+      if (ts.getId() == threadId) {
+        List<? extends StackFrameDump> frames = ts.getFrames();
+        int from = Math.min(Math.max(start, 0), frames.size());
+        int to = (int) Math.min((long) from + Math.max(count, 0), frames.size());
+        return new ArrayList<>(frames.subList(from, to));
+      }
+    }
+    return Collections.emptyList();
+  }
+
   /**
    * Gets a location of the resources for the given frame.
    *
@@ -15,8 +15,14 @@ import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static org.eclipse.che.api.debugger.server.DtoConverter.asDto;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -28,13 +34,25 @@ import org.eclipse.che.api.debug.shared.dto.BreakpointDto;
 import org.eclipse.che.api.debug.shared.dto.event.BreakpointActivatedEventDto;
 import org.eclipse.che.api.debug.shared.dto.event.DisconnectEventDto;
 import org.eclipse.che.api.debug.shared.dto.event.SuspendEventDto;
+import org.eclipse.che.api.debug.shared.model.Breakpoint;
 import org.eclipse.che.api.debug.shared.model.event.BreakpointActivatedEvent;
 import org.eclipse.che.api.debug.shared.model.event.DebuggerEvent;
 import org.eclipse.che.api.debug.shared.model.event.SuspendEvent;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-/** Send debugger events using JSON RPC to the clients */
+/**
+ * Send debugger events using JSON RPC to the clients. Events are published by the thread which
+ * handles events of the debuggee, so they are queued and transmitted by a separate thread not to
+ * keep the debuggee waiting for the network. Events which are queued while the previous ones are
+ * being sent are coalesced: only the latest suspend of a debugger is sent and duplicated
+ * breakpoint activations are dropped.
+ */
 @Singleton
 public class DebuggerJsonRpcMessenger implements EventSubscriber<DebuggerMessage> {
+  private static final Logger LOG = LoggerFactory.getLogger(DebuggerJsonRpcMessenger.class);
+
   private static final String EVENT_DEBUGGER_MESSAGE_BREAKPOINT = "event:debugger:breakpoint";
   private static final String EVENT_DEBUGGER_MESSAGE_DISCONNECT = "event:debugger:disconnect";
   private static final String EVENT_DEBUGGER_MESSAGE_SUSPEND = "event:debugger:suspend";
@@ -43,13 +61,26 @@ public class DebuggerJsonRpcMessenger implements EventSubscriber<DebuggerMessage
 
   private final EventService eventService;
   private final RequestTransmitter transmitter;
+  private final ExecutorService executor;
 
   private final Set<String> endpointIds = newConcurrentHashSet();
 
+  /** Events which are not sent yet, guarded by itself. */
+  private final List<DebuggerMessage> pending = new ArrayList<>();
+
+  private boolean flushScheduled;
+
   @Inject
   public DebuggerJsonRpcMessenger(EventService eventService, RequestTransmitter transmitter) {
     this.eventService = eventService;
     this.transmitter = transmitter;
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat(DebuggerJsonRpcMessenger.class.getSimpleName())
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
   }
 
   @PostConstruct
@@ -60,10 +91,65 @@ public class DebuggerJsonRpcMessenger implements EventSubscriber<DebuggerMessage
   @PreDestroy
   private void unsubscribe() {
     eventService.unsubscribe(this);
+    executor.shutdown();
   }
 
   @Override
   public void onEvent(DebuggerMessage event) {
+    synchronized (pending) {
+      coalesce(event);
+      if (!flushScheduled) {
+        flushScheduled = true;
+        executor.execute(this::flush);
+      }
+    }
+  }
+
+  private void coalesce(DebuggerMessage event) {
+    DebuggerEvent debuggerEvent = event.getDebuggerEvent();
+    switch (debuggerEvent.getType()) {
+      case SUSPEND:
+      case DISCONNECT:
+        // previous suspend of the same debugger is out of date
+        pending.removeIf(
+            it ->
+                it.getDebuggerEvent().getType() == DebuggerEvent.TYPE.SUSPEND
+                    && Objects.equals(it.getDebuggerType(), event.getDebuggerType()));
+        break;
+      case BREAKPOINT_ACTIVATED:
+        Breakpoint breakpoint = ((BreakpointActivatedEvent) debuggerEvent).getBreakpoint();
+        for (DebuggerMessage it : pending) {
+          if (it.getDebuggerEvent().getType() == DebuggerEvent.TYPE.BREAKPOINT_ACTIVATED
+              && Objects.equals(it.getDebuggerType(), event.getDebuggerType())
+              && breakpoint.equals(
+                  ((BreakpointActivatedEvent) it.getDebuggerEvent()).getBreakpoint())) {
+            return;
+          }
+        }
+        break;
+      default:
+    }
+    pending.add(event);
+  }
+
+  private void flush() {
+    List<DebuggerMessage> events;
+    synchronized (pending) {
+      events = new ArrayList<>(pending);
+      pending.clear();
+      flushScheduled = false;
+    }
+
+    for (DebuggerMessage event : events) {
+      try {
+        send(event);
+      } catch (RuntimeException e) {
+        LOG.error("Can't send debugger event " + event.getDebuggerEvent().getType(), e);
+      }
+    }
+  }
+
+  private void send(DebuggerMessage event) {
     switch (event.getDebuggerEvent().getType()) {
       case SUSPEND:
         SuspendEvent suspendEvent = (SuspendEvent) event.getDebuggerEvent();
@@ -42,6 +42,7 @@ import org.eclipse.che.api.debug.shared.dto.ThreadStateDto;
 import org.eclipse.che.api.debug.shared.dto.VariableDto;
 import org.eclipse.che.api.debug.shared.dto.action.ActionDto;
 import org.eclipse.che.api.debug.shared.model.Location;
+import org.eclipse.che.api.debug.shared.model.StackFrameDump;
 import org.eclipse.che.api.debug.shared.model.ThreadState;
 import org.eclipse.che.api.debug.shared.model.VariablePath;
 import org.eclipse.che.api.debug.shared.model.action.ResumeAction;
@@ -199,6 +200,29 @@ public class DebuggerService {
     return threadStates.stream().map(DtoConverter::asDto).collect(Collectors.toList());
   }
 
+  @GET
+  @Path("{id}/threads")
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<ThreadStateDto> getThreads(@PathParam("id") String sessionId)
+      throws DebuggerException {
+    List<ThreadState> threadStates = debuggerManager.getDebugger(sessionId).getThreads();
+    return threadStates.stream().map(DtoConverter::asDto).collect(Collectors.toList());
+  }
+
+  @GET
+  @Path("{id}/threads/{thread}/frames")
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<StackFrameDumpDto> getStackFrames(
+      @PathParam("id") String sessionId,
+      @PathParam("thread") long threadId,
+      @QueryParam("start") @DefaultValue("0") int start,
+      @QueryParam("count") @DefaultValue("100") int count)
+      throws DebuggerException {
+    List<StackFrameDump> frames =
+        debuggerManager.getDebugger(sessionId).getStackFrames(threadId, start, count);
+    return frames.stream().map(DtoConverter::asDto).collect(Collectors.toList());
+  }
+
   @GET
   @Path("{id}/location")
   @Produces(MediaType.APPLICATION_JSON)
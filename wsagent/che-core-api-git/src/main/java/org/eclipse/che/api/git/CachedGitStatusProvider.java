@@ -34,6 +34,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import org.eclipse.che.api.core.NotFoundException;
@@ -72,6 +73,7 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
   private final RootDirPathProvider rootDirPathProvider;
   private final EventService eventService;
   private final Map<String, Status> statusCache;
+  private final Map<String, Map<String, VcsStatus>> statusSnapshots;
   private final Map<String, FileTime> projectFiles;
 
   @Inject
@@ -87,6 +89,7 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
     this.rootDirPathProvider = rootDirPathProvider;
     this.eventService = eventService;
     this.statusCache = new HashMap<>();
+    this.statusSnapshots = new ConcurrentHashMap<>();
     this.projectFiles = new HashMap<>();
   }
 
@@ -111,7 +114,7 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
 
   private void subscribeToEvents() {
     eventService.subscribe(
-        event -> statusCache.put(event.getProjectName(), event.getStatus()),
+        event -> cacheStatus(event.getProjectName(), event.getStatus()),
         StatusChangedEventDto.class);
 
     eventService.subscribe(
@@ -149,8 +152,10 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
         event -> {
           String projectFsPath = pathTransformer.transform(event.getProjectPath()).toString();
           projectFiles.keySet().removeIf(file -> file.startsWith(projectFsPath));
-          statusCache.remove(
-              event.getProjectPath().substring(event.getProjectPath().lastIndexOf('/') + 1));
+          String projectName =
+              event.getProjectPath().substring(event.getProjectPath().lastIndexOf('/') + 1);
+          statusCache.remove(projectName);
+          statusSnapshots.remove(projectName);
         },
         ProjectDeletedEvent.class);
   }
@@ -170,22 +175,13 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
       wsPath = wsPath.substring(wsPath.startsWith(SEPARATOR) ? 1 : 0);
       String itemPath = wsPath.substring(wsPath.indexOf(SEPARATOR) + 1);
 
-      Status status =
-          getStatus(
+      Map<String, VcsStatus> snapshot =
+          getStatusSnapshot(
               project.getName(),
               pathTransformer.transform(project.getPath()).toString(),
               singletonList(itemPath));
 
-      if (status.getUntracked().contains(itemPath)) {
-        return UNTRACKED;
-      } else if (status.getAdded().contains(itemPath)) {
-        return ADDED;
-      } else if (status.getModified().contains(itemPath)
-          || status.getChanged().contains(itemPath)) {
-        return MODIFIED;
-      } else {
-        return NOT_MODIFIED;
-      }
+      return snapshot.getOrDefault(itemPath, NOT_MODIFIED);
     } catch (GitException | NotFoundException e) {
       throw new ServerException(e.getMessage());
     }
@@ -201,23 +197,14 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
               .getClosest(absolutize(wsPath))
               .orElseThrow(() -> new NotFoundException("Can't find project"));
 
-      Status status =
-          getStatus(
+      Map<String, VcsStatus> snapshot =
+          getStatusSnapshot(
               project.getName(), pathTransformer.transform(project.getPath()).toString(), paths);
 
       paths.forEach(
-          path -> {
-            String itemWsPath = resolve(project.getPath(), path);
-            if (status.getUntracked().contains(path)) {
-              result.put(itemWsPath, UNTRACKED);
-            } else if (status.getAdded().contains(path)) {
-              result.put(itemWsPath, ADDED);
-            } else if (status.getModified().contains(path) || status.getChanged().contains(path)) {
-              result.put(itemWsPath, MODIFIED);
-            } else {
-              result.put(itemWsPath, NOT_MODIFIED);
-            }
-          });
+          path ->
+              result.put(
+                  resolve(project.getPath(), path), snapshot.getOrDefault(path, NOT_MODIFIED)));
 
     } catch (NotFoundException e) {
       throw new ServerException(e.getMessage());
@@ -225,14 +212,35 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
     return result;
   }
 
-  private Status getStatus(String projectName, String projectFsPath, List<String> paths)
-      throws GitException {
+  /**
+   * Returns statuses of the files of the project indexed by the file path relative to the project.
+   * The snapshot is shared by all the requests until the status of the project is changed, files
+   * which are absent in the snapshot are not modified.
+   */
+  private Map<String, VcsStatus> getStatusSnapshot(
+      String projectName, String projectFsPath, List<String> paths) throws GitException {
     if (statusCache.get(projectName) == null || haveChanges(projectFsPath, paths)) {
       updateCachedStatus(
           projectName, paths, gitConnectionFactory.getConnection(projectFsPath).status(paths));
     }
 
-    return statusCache.get(projectName);
+    return statusSnapshots.computeIfAbsent(
+        projectName, name -> indexStatus(statusCache.get(name)));
+  }
+
+  private static Map<String, VcsStatus> indexStatus(Status status) {
+    Map<String, VcsStatus> snapshot = new HashMap<>();
+    // the latter statuses take precedence
+    status.getModified().forEach(path -> snapshot.put(path, MODIFIED));
+    status.getChanged().forEach(path -> snapshot.put(path, MODIFIED));
+    status.getAdded().forEach(path -> snapshot.put(path, ADDED));
+    status.getUntracked().forEach(path -> snapshot.put(path, UNTRACKED));
+    return snapshot;
+  }
+
+  private void cacheStatus(String project, Status status) {
+    statusCache.put(project, status);
+    statusSnapshots.remove(project);
   }
 
   private boolean haveChanges(String projectPath, List<String> paths) {
@@ -263,7 +271,7 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
     Status cachedStatus = statusCache.get(project);
 
     if (cachedStatus == null) {
-      statusCache.put(project, changes);
+      cacheStatus(project, changes);
       return;
     }
 
@@ -280,7 +288,11 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
     modified.addAll(changes.getModified());
 
     List<String> untracked =
-        cachedStatus.getModified().stream().filter(path -> !paths.contains(path)).collect(toList());
+        cachedStatus
+            .getUntracked()
+            .stream()
+            .filter(path -> !paths.contains(path))
+            .collect(toList());
     untracked.addAll(changes.getUntracked());
 
     List<String> missing =
@@ -317,6 +329,6 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
     status.setConflicting(conflicting);
     status.setUntrackedFolders(untrackedFolders);
 
-    statusCache.put(project, status);
+    cacheStatus(project, status);
   }
 }
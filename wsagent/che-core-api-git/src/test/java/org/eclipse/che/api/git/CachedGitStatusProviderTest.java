@@ -15,6 +15,7 @@ import static java.nio.file.Files.createDirectories;
 import static java.nio.file.Files.createDirectory;
 import static java.nio.file.Files.createFile;
 import static java.nio.file.Files.createTempDirectory;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.ADDED;
 import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
@@ -248,4 +249,26 @@ public class CachedGitStatusProviderTest {
     // then
     assertTrue(statusMap.get(PATH + "1") == MODIFIED);
   }
+
+  @Test
+  public void shouldKeepStatusesOfOtherFilesWhenStatusOfFileIsUpdated() throws Exception {
+    // given
+    Status untracked = newDto(Status.class);
+    untracked.setUntracked(new ArrayList<>(singletonList(NORMALIZED_PATH + "1")));
+    Status modified = newDto(Status.class);
+    modified.setModified(new ArrayList<>(singletonList(NORMALIZED_PATH + "2")));
+    when(gitConnection.status(singletonList(NORMALIZED_PATH + "1"))).thenReturn(untracked);
+    when(gitConnection.status(singletonList(NORMALIZED_PATH + "2"))).thenReturn(modified);
+    gitStatusProvider.getStatus(NORMALIZED_PATH, singletonList(NORMALIZED_PATH + "1"));
+
+    // when
+    gitStatusProvider.getStatus(NORMALIZED_PATH, singletonList(NORMALIZED_PATH + "2"));
+    Map<String, VcsStatus> statusMap =
+        gitStatusProvider.getStatus(
+            NORMALIZED_PATH, asList(NORMALIZED_PATH + "1", NORMALIZED_PATH + "2"));
+
+    // then
+    assertTrue(statusMap.get(PATH + "1") == UNTRACKED);
+    assertTrue(statusMap.get(PATH + "2") == MODIFIED);
+  }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.che.api.editor.server.impl.PieceTable;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentSyncKind;
+import org.eclipse.lsp4j.TextDocumentSyncOptions;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Keeps the content of the documents which are open in language servers that only support full
+ * text synchronization.
+ *
+ * <p>The client sends incremental changes whenever any language server of a document supports
+ * them, see {@link ServerCapabilitiesAccumulator}. Those changes are applied to the kept content,
+ * so the servers which require the full text get it without the client sending the whole document
+ * on each keystroke.
+ */
+class FullSyncDocuments {
+
+  private final Map<String, PieceTable> documents = new ConcurrentHashMap<>();
+
+  /** Returns {@code true} if the server requires the full text of the document on each change. */
+  static boolean requiresFullSync(ServerCapabilities capabilities) {
+    final Either<TextDocumentSyncKind, TextDocumentSyncOptions> sync =
+        capabilities.getTextDocumentSync();
+    if (sync == null) {
+      return false;
+    }
+    final TextDocumentSyncKind kind = sync.isLeft() ? sync.getLeft() : sync.getRight().getChange();
+    return kind == TextDocumentSyncKind.Full;
+  }
+
+  /**
+   * Starts keeping the content of the document.
+   *
+   * @param wsPath workspace path of the document
+   * @param text content of the document
+   */
+  void open(String wsPath, String text) {
+    documents.put(wsPath, new PieceTable(text == null ? "" : text));
+  }
+
+  /**
+   * Stops keeping the content of the document.
+   *
+   * @param wsPath workspace path of the document
+   */
+  void close(String wsPath) {
+    documents.remove(wsPath);
+  }
+
+  /**
+   * Applies the changes to the content of the document.
+   *
+   * @param wsPath workspace path of the document
+   * @param changes changes in the order they were made
+   * @return content of the document after the changes or {@code null} if the content of the
+   *     document is not kept
+   */
+  String applyChanges(String wsPath, List<TextDocumentContentChangeEvent> changes) {
+    final PieceTable document = documents.get(wsPath);
+    if (document == null) {
+      return null;
+    }
+
+    synchronized (document) {
+      for (TextDocumentContentChangeEvent change : changes) {
+        final String text = change.getText() == null ? "" : change.getText();
+        final Range range = change.getRange();
+        if (range == null) {
+          document.setText(text);
+        } else {
+          final int start = offsetOf(document, range.getStart());
+          final int end = Math.max(start, offsetOf(document, range.getEnd()));
+          document.replace(start, end - start, text);
+        }
+      }
+      return document.toString();
+    }
+  }
+
+  private static int offsetOf(PieceTable document, Position position) {
+    return document.getOffset(position.getLine(), position.getCharacter());
+  }
+}
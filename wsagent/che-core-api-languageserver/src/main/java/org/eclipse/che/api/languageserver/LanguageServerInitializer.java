@@ -11,18 +11,34 @@
  */
 package org.eclipse.che.api.languageserver;
 
+import static java.util.concurrent.CompletableFuture.allOf;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
-import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
-import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.toList;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.*;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.languageserver.LanguageServerConfig.CommunicationProvider;
@@ -44,6 +60,12 @@ import org.slf4j.LoggerFactory;
  * connection establishing, language server instance creation and initialization, language server
  * capabilities accumulation.
  *
+ * <p>Language servers are initialized lazily, when the first file they match is requested, and
+ * those matching the same file are initialized in parallel by a bounded pool of threads. Concurrent
+ * requests share the initialization of a server that is already in progress. The servers that were
+ * initialized before are recorded in a snapshot file and started in the background when the agent
+ * starts again, so that they are usually ready by the time the first file is opened.
+ *
  * @author Dmytro Kulieshov
  */
 @Singleton
@@ -51,6 +73,14 @@ public class LanguageServerInitializer {
   private static Logger LOG = LoggerFactory.getLogger(LanguageServerInitializer.class);
 
   private final ExecutorService executor;
+  private final Path snapshotFile;
+  private final Gson gson = new Gson();
+
+  private final ConcurrentMap<String, CompletableFuture<String>> initializations =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Long> initializationTimes = new ConcurrentHashMap<>();
+  /** Language server id to the workspace path it was last initialized for. */
+  private final Map<String, String> snapshot = new ConcurrentHashMap<>();
 
   private final EventService eventService;
   private final CheLanguageClientFactory cheLanguageClientFactory;
@@ -75,8 +105,11 @@ public class LanguageServerInitializer {
       FindId findId,
       EventService eventService,
       CheLanguageClientFactory cheLanguageClientFactory,
-      InitializeParamsProvider initializeParamsProvider) {
-    this.executor = newCachedThreadPool(getFactory());
+      InitializeParamsProvider initializeParamsProvider,
+      @Named("che.languageserver.initialization.threads") int threads,
+      @Named("che.languageserver.initialization.snapshot") String snapshotFile) {
+    this.executor = newFixedThreadPool(threads, getFactory());
+    this.snapshotFile = Paths.get(snapshotFile);
 
     this.configInitializer = configInitializer;
     this.eventService = eventService;
@@ -96,11 +129,37 @@ public class LanguageServerInitializer {
   private static ThreadFactory getFactory() {
     return new ThreadFactoryBuilder()
         .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-        .setNameFormat(LanguageServerInitializer.class.getSimpleName())
+        .setNameFormat(LanguageServerInitializer.class.getSimpleName() + "-%d")
         .setDaemon(true)
         .build();
   }
 
+  /** Starts in the background the language servers recorded in the snapshot file. */
+  @PostConstruct
+  void initializeFromSnapshot() {
+    Map<String, String> previous = readSnapshot();
+    if (previous.isEmpty()) {
+      return;
+    }
+
+    LOG.debug("Initializing language servers from snapshot: {}", previous.keySet());
+    executor.execute(
+        () -> {
+          configInitializer.initialize();
+          previous.forEach(
+              (id, wsPath) -> {
+                if (idRegistry.contains(id)) {
+                  initialize(id, wsPath);
+                }
+              });
+        });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
   /**
    * Initialize all language servers that match a specified workspace path. If some servers are
    * already initialized does nothing. If some servers can't be initialized due to some errors at
@@ -111,38 +170,112 @@ public class LanguageServerInitializer {
    *     capabilities if none language server was found for current path
    */
   public CompletableFuture<ServerCapabilities> initialize(String wsPath) {
+    LOG.debug("Started language servers initialization, file path '{}'", wsPath);
+
+    // configs are read and servers are matched on the pool, not on the thread of the request
     return supplyAsync(
-        () -> {
-          LOG.debug("Started language servers initialization, file path '{}'", wsPath);
+            () -> {
+              configInitializer.initialize();
+              return findId.byPath(wsPath);
+            },
+            executor)
+        .thenCompose(
+            ids -> {
+              List<CompletableFuture<String>> futures =
+                  ids.stream().map(id -> initialize(id, wsPath)).collect(toList());
+              return allOf(futures.toArray(new CompletableFuture[0]))
+                  .thenApply(ignored -> accumulateCapabilities(wsPath, futures));
+            });
+  }
 
-          configInitializer.initialize();
-          Set<ServerCapabilities> serverCapabilitiesSet =
-              findId
-                  .byPath(wsPath)
-                  .stream()
-                  .map(this::initializeIOStreams)
-                  .filter(Objects::nonNull)
-                  .map(this::createServerInstance)
-                  .filter(Objects::nonNull)
-                  .map(id -> initializeServerInstance(id, wsPath))
-                  .filter(Objects::nonNull)
-                  .map(serverCapabilitiesRegistry::getOrNull)
-                  .filter(Objects::nonNull)
-                  .collect(toSet());
-
-          LOG.debug("Finished language servers initialization, file path '{}'", wsPath);
-
-          LOG.debug("Calculating number of initialized servers and accumulating capabilities");
-          if (serverCapabilitiesSet.isEmpty()) {
-            // None language server was found for current path
-            return new ServerCapabilities();
-          } else {
-            return serverCapabilitiesSet
-                .stream()
-                .reduce(new ServerCapabilities(), serverCapabilitiesAccumulator);
+  private ServerCapabilities accumulateCapabilities(
+      String wsPath, List<CompletableFuture<String>> futures) {
+    LOG.debug("Finished language servers initialization, file path '{}'", wsPath);
+
+    LOG.debug("Accumulating capabilities of initialized servers");
+    return futures
+        .stream()
+        .map(CompletableFuture::join)
+        .filter(Objects::nonNull)
+        .map(serverCapabilitiesRegistry::getOrNull)
+        .filter(Objects::nonNull)
+        .distinct()
+        .reduce(new ServerCapabilities(), serverCapabilitiesAccumulator);
+  }
+
+  /**
+   * Get the time spent to initialize each language server, from the process launch or socket
+   * connection to the end of the initialize handshake. Served to clients by the {@code
+   * languageServer/getInitializationTimes} JSON-RPC method.
+   *
+   * @return initialization time in milliseconds by language server id
+   */
+  public Map<String, Long> getInitializationTimes() {
+    return ImmutableMap.copyOf(initializationTimes);
+  }
+
+  private CompletableFuture<String> initialize(String id, String wsPath) {
+    CompletableFuture<String> future =
+        initializations.computeIfAbsent(
+            id, key -> supplyAsync(() -> initializeServer(key, wsPath), executor));
+    // a server that failed to initialize is tried again by the next request
+    future.whenComplete(
+        (initialized, error) -> {
+          if (initialized == null) {
+            initializations.remove(id, future);
           }
-        },
-        executor);
+        });
+    return future;
+  }
+
+  private String initializeServer(String id, String wsPath) {
+    long start = System.nanoTime();
+    String initialized = initializeIOStreams(id);
+    if (initialized != null) {
+      initialized = createServerInstance(initialized);
+    }
+    if (initialized != null) {
+      initialized = initializeServerInstance(initialized, wsPath);
+    }
+    if (initialized == null) {
+      return null;
+    }
+
+    long time = NANOSECONDS.toMillis(System.nanoTime() - start);
+    initializationTimes.put(id, time);
+    LOG.info("Initialized language server '{}' in {} ms", id, time);
+
+    if (!wsPath.equals(snapshot.put(id, wsPath))) {
+      writeSnapshot();
+    }
+    return id;
+  }
+
+  private Map<String, String> readSnapshot() {
+    if (!Files.exists(snapshotFile)) {
+      return ImmutableMap.of();
+    }
+    try (Reader reader = Files.newBufferedReader(snapshotFile)) {
+      Map<String, String> previous =
+          gson.fromJson(reader, new TypeToken<Map<String, String>>() {}.getType());
+      return previous == null ? ImmutableMap.of() : previous;
+    } catch (IOException | JsonParseException e) {
+      LOG.warn("Can't read language servers snapshot '{}'", snapshotFile, e);
+      return ImmutableMap.of();
+    }
+  }
+
+  private void writeSnapshot() {
+    synchronized (snapshot) {
+      try {
+        Files.createDirectories(snapshotFile.getParent());
+        try (Writer writer = Files.newBufferedWriter(snapshotFile)) {
+          gson.toJson(snapshot, writer);
+        }
+      } catch (IOException e) {
+        LOG.warn("Can't write language servers snapshot '{}'", snapshotFile, e);
+      }
+    }
   }
 
   private String initializeIOStreams(String id) {
@@ -219,7 +352,6 @@ public class LanguageServerInitializer {
 
         LOG.debug("Initializing of a language server instance for server '{}': finished", id);
 
-        LOG.info("Initialized language server '{}'", id);
         languageServer.initialized(
             new InitializedParams()); // send initialized message, some LS required it
         return serverCapabilitiesRegistry.add(id, initializeResult.getCapabilities());
@@ -16,6 +16,7 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 
 import com.google.inject.Singleton;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
@@ -72,6 +73,13 @@ class LanguageServerService {
         .noParams()
         .resultAsListOfDto(LanguageRegexDto.class)
         .withSupplier(this::getLanguageRegexes);
+
+    configurator
+        .newConfiguration()
+        .methodName("languageServer/getInitializationTimes")
+        .noParams()
+        .resultAsDto(Map.class)
+        .withSupplier(languageServerInitializer::getInitializationTimes);
   }
 
   private List<LanguageRegexDto> getLanguageRegexes() {
@@ -95,8 +103,6 @@ class LanguageServerService {
     try {
       LOG.debug("Received 'languageServer/initialize' request for path: {}", wsPath);
 
-      configInitializer.initialize();
-
       ServerCapabilitiesDto serverCapabilitiesDto =
           new ServerCapabilitiesDto(languageServerInitializer.initialize(wsPath).get(1, MINUTES));
 
@@ -129,6 +129,11 @@ public class ServerCapabilitiesAccumulator implements BinaryOperator<ServerCapab
       return mergeTextDocumentSync(left.getTextDocumentSync(), right.getTextDocumentSync());
     }
 
+    /**
+     * Prefers incremental synchronization, since the full text is rebuilt from incremental changes
+     * for the servers which require it, see {@link FullSyncDocuments}. When both servers have the
+     * same kind of synchronization, options are preferred over a plain kind.
+     */
     private Either<TextDocumentSyncKind, TextDocumentSyncOptions> mergeTextDocumentSync(
         Either<TextDocumentSyncKind, TextDocumentSyncOptions> left,
         Either<TextDocumentSyncKind, TextDocumentSyncOptions> right) {
@@ -142,42 +147,22 @@ public class ServerCapabilitiesAccumulator implements BinaryOperator<ServerCapab
         return left;
       }
 
-      if (left.isLeft() && left.getLeft() == TextDocumentSyncKind.Full) {
-        return left;
-      }
-
-      if (left.isLeft() && left.getLeft() == TextDocumentSyncKind.Incremental) {
-        if (right.isLeft() && right.getLeft() == TextDocumentSyncKind.Full) {
-          return right;
-        } else {
-          return left;
-        }
-      }
-
-      if (left.isRight() && right.isRight()) {
-        TextDocumentSyncOptions leftRight = left.getRight();
-        TextDocumentSyncOptions rightRight = right.getRight();
-        if (leftRight.getChange() == TextDocumentSyncKind.Full) {
-          return left;
-        }
-
-        if (leftRight.getChange() == TextDocumentSyncKind.Incremental) {
-          if (rightRight.getChange() == TextDocumentSyncKind.Full) {
-            return right;
-          } else {
-            return left;
-          }
-        }
+      int leftRank = rank(left.isLeft() ? left.getLeft() : left.getRight().getChange());
+      int rightRank = rank(right.isLeft() ? right.getLeft() : right.getRight().getChange());
+      if (leftRank == rightRank) {
+        return left.isRight() ? left : right;
       }
+      return leftRank > rightRank ? left : right;
+    }
 
-      if (left.isLeft() && right.isRight()) {
-        return right;
+    private int rank(TextDocumentSyncKind kind) {
+      if (kind == TextDocumentSyncKind.Incremental) {
+        return 2;
       }
-
-      if (left.isRight() && right.isLeft()) {
-        return left;
+      if (kind == TextDocumentSyncKind.Full) {
+        return 1;
       }
-      return right;
+      return 0;
     }
 
     private Boolean or(Function<ServerCapabilities, Boolean> f) {
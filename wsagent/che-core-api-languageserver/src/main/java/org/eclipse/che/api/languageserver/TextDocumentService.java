@@ -13,8 +13,10 @@ package org.eclipse.che.api.languageserver;
 
 import static com.google.common.collect.Lists.newLinkedList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.fs.server.WsPathUtils.ROOT;
 import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
+import static org.eclipse.che.api.languageserver.FullSyncDocuments.requiresFullSync;
 import static org.eclipse.che.api.languageserver.LanguageServiceUtils.*;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -105,6 +107,7 @@ import org.eclipse.lsp4j.RenameParams;
 import org.eclipse.lsp4j.ResourceOperation;
 import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.TextDocumentEdit;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
@@ -131,6 +134,7 @@ public class TextDocumentService {
   private final FsManager fsManager;
   private final LanguageServerPathTransformer languageServerPathTransformer;
   private final LsParamsCloner lsParamsCloner;
+  private final FullSyncDocuments fullSyncDocuments = new FullSyncDocuments();
 
   @Inject
   public TextDocumentService(
@@ -668,6 +672,9 @@ public class TextDocumentService {
 
   private void didChange(DidChangeTextDocumentParams didChangeTextDocumentParams) {
     String wsPath = didChangeTextDocumentParams.getTextDocument().getUri();
+    // incremental changes are forwarded as they are, except to the servers requiring full text
+    String fullText =
+        fullSyncDocuments.applyChanges(wsPath, didChangeTextDocumentParams.getContentChanges());
     findServer
         .byPath(wsPath)
         .forEach(
@@ -676,26 +683,33 @@ public class TextDocumentService {
               DidChangeTextDocumentParams clonedDidChangeTextDocumentParams =
                   lsParamsCloner.clone(didChangeTextDocumentParams);
               clonedDidChangeTextDocumentParams.getTextDocument().setUri(uri.toString());
+              if (fullText != null && requiresFullSync(server.getCapabilities())) {
+                clonedDidChangeTextDocumentParams.setContentChanges(
+                    singletonList(new TextDocumentContentChangeEvent(fullText)));
+              }
               server.getTextDocumentService().didChange(clonedDidChangeTextDocumentParams);
             });
   }
 
   private void didOpen(DidOpenTextDocumentParams openTextDocumentParams) {
     String wsPath = openTextDocumentParams.getTextDocument().getUri();
-    findServer
-        .byPath(wsPath)
-        .forEach(
-            server -> {
-              URI uri = languageServerPathTransformer.toFsURI(server.getId(), wsPath);
-              DidOpenTextDocumentParams clonedOpenTextDocumentParams =
-                  lsParamsCloner.clone(openTextDocumentParams);
-              clonedOpenTextDocumentParams.getTextDocument().setUri(uri.toString());
-              server.getTextDocumentService().didOpen(clonedOpenTextDocumentParams);
-            });
+    Set<ExtendedLanguageServer> servers = findServer.byPath(wsPath);
+    if (servers.stream().anyMatch(server -> requiresFullSync(server.getCapabilities()))) {
+      fullSyncDocuments.open(wsPath, openTextDocumentParams.getTextDocument().getText());
+    }
+    servers.forEach(
+        server -> {
+          URI uri = languageServerPathTransformer.toFsURI(server.getId(), wsPath);
+          DidOpenTextDocumentParams clonedOpenTextDocumentParams =
+              lsParamsCloner.clone(openTextDocumentParams);
+          clonedOpenTextDocumentParams.getTextDocument().setUri(uri.toString());
+          server.getTextDocumentService().didOpen(clonedOpenTextDocumentParams);
+        });
   }
 
   private void didClose(DidCloseTextDocumentParams didCloseTextDocumentParams) {
     String wsPath = didCloseTextDocumentParams.getTextDocument().getUri();
+    fullSyncDocuments.close(wsPath);
     findServer
         .byPath(wsPath)
         .forEach(
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.languageserver.FullSyncDocuments.requiresFullSync;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentSyncKind;
+import org.eclipse.lsp4j.TextDocumentSyncOptions;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link FullSyncDocuments}. */
+public class FullSyncDocumentsTest {
+
+  private static final String PATH = "/project/file.txt";
+
+  private FullSyncDocuments documents;
+
+  @BeforeMethod
+  public void setUp() {
+    documents = new FullSyncDocuments();
+    documents.open(PATH, "first line\r\nsecond line\n");
+  }
+
+  @Test
+  public void shouldApplyIncrementalChanges() {
+    // when
+    final String text =
+        documents.applyChanges(
+            PATH,
+            asList(
+                change(range(1, 0, 1, 6), "2nd"),
+                change(range(0, 5, 0, 5), " long"),
+                change(range(0, 15, 1, 0), " ")));
+
+    // then
+    assertEquals(text, "first long line 2nd line\n");
+  }
+
+  @Test
+  public void shouldReplaceTextOnChangeWithoutRange() {
+    // when
+    final String text =
+        documents.applyChanges(PATH, singletonList(new TextDocumentContentChangeEvent("new")));
+
+    // then
+    assertEquals(text, "new");
+  }
+
+  @Test
+  public void shouldNotApplyChangesToClosedDocument() {
+    // given
+    documents.close(PATH);
+
+    // when
+    final String text =
+        documents.applyChanges(PATH, singletonList(change(range(0, 0, 0, 0), "text")));
+
+    // then
+    assertNull(text);
+  }
+
+  @Test
+  public void shouldDetectServersRequiringFullSync() {
+    final ServerCapabilities capabilities = new ServerCapabilities();
+    assertFalse(requiresFullSync(capabilities));
+
+    capabilities.setTextDocumentSync(TextDocumentSyncKind.Full);
+    assertTrue(requiresFullSync(capabilities));
+
+    capabilities.setTextDocumentSync(TextDocumentSyncKind.Incremental);
+    assertFalse(requiresFullSync(capabilities));
+
+    final TextDocumentSyncOptions options = new TextDocumentSyncOptions();
+    options.setChange(TextDocumentSyncKind.Full);
+    capabilities.setTextDocumentSync(options);
+    assertTrue(requiresFullSync(capabilities));
+  }
+
+  private static TextDocumentContentChangeEvent change(Range range, String text) {
+    return new TextDocumentContentChangeEvent(range, null, text);
+  }
+
+  private static Range range(int startLine, int startChar, int endLine, int endChar) {
+    return new Range(new Position(startLine, startChar), new Position(endLine, endChar));
+  }
+}
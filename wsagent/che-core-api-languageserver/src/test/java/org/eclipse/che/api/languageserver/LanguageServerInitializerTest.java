@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.languageserver.LanguageServerConfig.CommunicationProvider;
+import org.eclipse.che.api.languageserver.LanguageServerConfig.CommunicationProvider.StatusChecker;
+import org.eclipse.che.api.languageserver.LanguageServerConfig.InstanceProvider;
+import org.eclipse.lsp4j.InitializeParams;
+import org.eclipse.lsp4j.InitializeResult;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class LanguageServerInitializerTest {
+
+  private static final String ID_1 = "id-1";
+  private static final String ID_2 = "id-2";
+  private static final String WS_PATH = "/project/file.txt";
+
+  @Mock private LanguageServerConfigInitializer configInitializer;
+  @Mock private FindId findId;
+  @Mock private EventService eventService;
+  @Mock private CheLanguageClientFactory cheLanguageClientFactory;
+  @Mock private InitializeParamsProvider initializeParamsProvider;
+  @Mock private InstanceProvider instanceProvider;
+  @Mock private LanguageServer languageServer1;
+  @Mock private LanguageServer languageServer2;
+
+  private RegistryContainer registryContainer;
+  private Path snapshotFile;
+
+  private LanguageServerInitializer initializer;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    snapshotFile = Files.createTempDirectory("languageservers").resolve("snapshot.json");
+    registryContainer = newRegistryContainer();
+    initializer = newInitializer(registryContainer);
+
+    when(findId.byPath(WS_PATH)).thenReturn(ImmutableSet.of(ID_1, ID_2));
+    when(initializeParamsProvider.get(anyString())).thenReturn(new InitializeParams());
+    when(instanceProvider.get(any(), any(), any())).thenReturn(languageServer1, languageServer2);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    initializer.shutdown();
+    File directory = snapshotFile.getParent().toFile();
+    snapshotFile.toFile().delete();
+    directory.delete();
+  }
+
+  @Test
+  public void shouldInitializeServersOfPathInParallel() throws Exception {
+    // each server answers the handshake only when both have received it
+    CountDownLatch handshakes = new CountDownLatch(2);
+    when(languageServer1.initialize(any())).thenAnswer(invocation -> handshake(handshakes));
+    when(languageServer2.initialize(any())).thenAnswer(invocation -> handshake(handshakes));
+
+    initializer.initialize(WS_PATH).get(10, SECONDS);
+
+    assertTrue(registryContainer.serverCapabilitiesRegistry.contains(ID_1));
+    assertTrue(registryContainer.serverCapabilitiesRegistry.contains(ID_2));
+    assertEquals(initializer.getInitializationTimes().keySet(), ImmutableSet.of(ID_1, ID_2));
+  }
+
+  @Test
+  public void shouldReadConfigsOffThreadOfRequest() throws Exception {
+    Thread requestThread = Thread.currentThread();
+    CompletableFuture<Thread> configThread = new CompletableFuture<>();
+    doAnswer(invocation -> configThread.complete(Thread.currentThread()))
+        .when(configInitializer)
+        .initialize();
+    when(languageServer1.initialize(any()))
+        .thenReturn(completedFuture(new InitializeResult(new ServerCapabilities())));
+    when(languageServer2.initialize(any()))
+        .thenReturn(completedFuture(new InitializeResult(new ServerCapabilities())));
+
+    initializer.initialize(WS_PATH).get(10, SECONDS);
+
+    assertNotEquals(configThread.get(10, SECONDS), requestThread);
+  }
+
+  @Test
+  public void shouldShareInitializationInProgress() throws Exception {
+    CompletableFuture<InitializeResult> handshake = new CompletableFuture<>();
+    when(languageServer1.initialize(any())).thenReturn(handshake);
+    when(languageServer2.initialize(any())).thenReturn(handshake);
+
+    CompletableFuture<ServerCapabilities> first = initializer.initialize(WS_PATH);
+    CompletableFuture<ServerCapabilities> second = initializer.initialize(WS_PATH);
+    handshake.complete(new InitializeResult(new ServerCapabilities()));
+    first.get(10, SECONDS);
+    second.get(10, SECONDS);
+
+    verify(instanceProvider, times(2)).get(any(), any(), any());
+    verify(languageServer1).initialize(any());
+    verify(languageServer2).initialize(any());
+  }
+
+  @Test
+  public void shouldStartServersOfSnapshotWhenStartedAgain() throws Exception {
+    when(languageServer1.initialize(any()))
+        .thenReturn(completedFuture(new InitializeResult(new ServerCapabilities())));
+    when(languageServer2.initialize(any()))
+        .thenReturn(completedFuture(new InitializeResult(new ServerCapabilities())));
+    initializer.initialize(WS_PATH).get(10, SECONDS);
+    initializer.shutdown();
+
+    LanguageServer restarted = mock(LanguageServer.class);
+    when(restarted.initialize(any()))
+        .thenReturn(completedFuture(new InitializeResult(new ServerCapabilities())));
+    when(instanceProvider.get(any(), any(), any())).thenReturn(restarted);
+    RegistryContainer restartedRegistryContainer = newRegistryContainer();
+    initializer = newInitializer(restartedRegistryContainer);
+
+    initializer.initializeFromSnapshot();
+
+    verify(restarted, timeout(10_000).times(2)).initialize(any());
+  }
+
+  private CompletableFuture<InitializeResult> handshake(CountDownLatch handshakes)
+      throws InterruptedException {
+    handshakes.countDown();
+    assertTrue(handshakes.await(5, SECONDS), "Language servers are initialized serially");
+    return completedFuture(new InitializeResult(new ServerCapabilities()));
+  }
+
+  private LanguageServerInitializer newInitializer(RegistryContainer registryContainer) {
+    return new LanguageServerInitializer(
+        configInitializer,
+        new ServerCapabilitiesAccumulator(),
+        registryContainer,
+        findId,
+        eventService,
+        cheLanguageClientFactory,
+        initializeParamsProvider,
+        2,
+        snapshotFile.toString());
+  }
+
+  private RegistryContainer newRegistryContainer() throws Exception {
+    StatusChecker statusChecker = mock(StatusChecker.class);
+    when(statusChecker.isAlive()).thenReturn(true);
+    CommunicationProvider communicationProvider = mock(CommunicationProvider.class);
+    InputStream inputStream = new ByteArrayInputStream(new byte[0]);
+    OutputStream outputStream = new ByteArrayOutputStream();
+    when(communicationProvider.getStatusChecker()).thenReturn(statusChecker);
+    when(communicationProvider.getInputStream()).thenReturn(inputStream);
+    when(communicationProvider.getOutputStream()).thenReturn(outputStream);
+
+    RegistryContainer registryContainer = new RegistryContainer();
+    for (String id : ImmutableSet.of(ID_1, ID_2)) {
+      registryContainer.idRegistry.add(id, id);
+      registryContainer.instanceProviderRegistry.add(id, instanceProvider);
+      registryContainer.communicationProviderRegistry.add(id, communicationProvider);
+    }
+    return registryContainer;
+  }
+}
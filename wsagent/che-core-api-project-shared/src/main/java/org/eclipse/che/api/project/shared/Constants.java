@@ -30,6 +30,7 @@ public class Constants {
   public static final String LINK_REL_UPDATE_CONTENT = "update content";
 
   public static final String LINK_REL_PROJECT_TYPES = "project types";
+  public static final String LINK_REL_PROJECT_BOOTSTRAP = "project bootstrap";
 
   public static final String CHE_DIR = ".che";
 
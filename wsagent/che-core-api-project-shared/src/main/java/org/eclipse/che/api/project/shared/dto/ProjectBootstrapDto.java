@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.shared.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.dto.shared.DTO;
+
+/** Everything the IDE needs to show the projects of a workspace, fetched with a single request. */
+@DTO
+@ApiModel(description = "Projects and project types of the workspace")
+public interface ProjectBootstrapDto {
+
+  /** Returns all the registered projects of the workspace. */
+  @ApiModelProperty("Registered projects")
+  List<ProjectConfigDto> getProjects();
+
+  void setProjects(List<ProjectConfigDto> projects);
+
+  ProjectBootstrapDto withProjects(List<ProjectConfigDto> projects);
+
+  /** Returns all the project types known to the workspace agent. */
+  @ApiModelProperty("Registered project types")
+  List<ProjectTypeDto> getProjectTypes();
+
+  void setProjectTypes(List<ProjectTypeDto> projectTypes);
+
+  ProjectBootstrapDto withProjectTypes(List<ProjectTypeDto> projectTypes);
+}
@@ -19,19 +19,23 @@ import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>The content is kept in a {@link PieceTable}, so editor changes are applied without copying
+ * the content, and each applied change increments the {@link #getVersion() version} of the
+ * working copy.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
   private String path;
   private String projectPath;
-  private byte[] content;
+  private PieceTable content;
+  private int version;
 
   /**
    * Creates a working copy for opened editor on client.
@@ -43,7 +47,7 @@ public class EditorWorkingCopy {
   public EditorWorkingCopy(String path, String projectPath, byte[] content) {
     this.path = path;
     this.projectPath = projectPath;
-    this.content = Arrays.copyOf(content, content.length);
+    this.content = new PieceTable(new String(content));
   }
 
   /**
@@ -52,10 +56,7 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public byte[] getContentAsBytes() {
-    if (content == null) {
-      content = new byte[0];
-    }
-    return Arrays.copyOf(content, content.length);
+    return getContentAsString().getBytes();
   }
 
   /**
@@ -63,8 +64,8 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public String getContentAsString() {
-    return new String(getContentAsBytes());
+  public synchronized String getContentAsString() {
+    return content.toString();
   }
 
   /**
@@ -76,6 +77,14 @@ public class EditorWorkingCopy {
     return new ByteArrayInputStream(getContentAsBytes());
   }
 
+  /**
+   * Returns the version of the working copy, which is incremented each time the content of the
+   * working copy is changed.
+   */
+  public synchronized int getVersion() {
+    return version;
+  }
+
   /**
    * Updates content of the working copy.
    *
@@ -83,8 +92,7 @@ public class EditorWorkingCopy {
    * @return current working copy after updating content
    */
   EditorWorkingCopy updateContent(byte[] content) {
-    this.content = content;
-    return this;
+    return updateContent(new String(content));
   }
 
   /**
@@ -93,8 +101,9 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(String content) {
-    updateContent(content.getBytes());
+  synchronized EditorWorkingCopy updateContent(String content) {
+    this.content.setText(content);
+    version++;
     return this;
   }
 
@@ -120,29 +129,24 @@ public class EditorWorkingCopy {
    * Updates content of the working copy by applying editor content changes.
    *
    * @param changes contains editor content changes
+   * @return version of the working copy after applying the changes
    */
-  void applyChanges(EditorChangesDto changes) {
-    synchronized (this) {
-      String text = changes.getText();
-      int offset = changes.getOffset();
-      int removedCharCount = changes.getRemovedCharCount();
-
-      String newContent = null;
-      String oldContent = getContentAsString();
-      EditorChangesDto.Type type = changes.getType();
-      if (type == INSERT) {
-        newContent = new StringBuilder(oldContent).insert(offset, text).toString();
-      }
-
-      if (type == REMOVE && removedCharCount > 0) {
-        newContent =
-            new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
-      }
-
-      if (newContent != null) {
-        updateContent(newContent);
-      }
+  synchronized int applyChanges(EditorChangesDto changes) {
+    String text = changes.getText();
+    int offset = changes.getOffset();
+    int removedCharCount = changes.getRemovedCharCount();
+
+    EditorChangesDto.Type type = changes.getType();
+    if (type == INSERT && text != null) {
+      content.insert(offset, text);
+      version++;
+    }
+
+    if (type == REMOVE && removedCharCount > 0) {
+      content.delete(offset, removedCharCount);
+      version++;
     }
+    return version;
   }
 
   /** Returns the path to the persistent working copy */
@@ -19,9 +19,9 @@ import com.google.common.hash.Hashing;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -58,7 +58,7 @@ public class EditorWorkingCopyManager {
 
   private final FsManager fsManager;
   private final ProjectManager projectManager;
-  private final Map<String, EditorWorkingCopy> workingCopiesStorage = new HashMap<>();
+  private final Map<String, EditorWorkingCopy> workingCopiesStorage = new ConcurrentHashMap<>();
 
   private EventService eventService;
   private RequestTransmitter transmitter;
@@ -112,8 +112,8 @@ public class EditorWorkingCopyManager {
         workingCopy = createWorkingCopy(filePath);
       }
 
-      workingCopy.applyChanges(changes);
-      eventService.publish(new EditorWorkingCopyUpdatedEvent(endpointId, changes));
+      int version = workingCopy.applyChanges(changes);
+      eventService.publish(new EditorWorkingCopyUpdatedEvent(endpointId, changes, version));
 
     } catch (IOException | ForbiddenException | ConflictException | ServerException e) {
       String errorMessage = "Can not handle editor changes: " + e.getLocalizedMessage();
@@ -268,9 +268,9 @@ public class EditorWorkingCopyManager {
 
     EditorWorkingCopy workingCopy =
         new EditorWorkingCopy(workingCopyPath, projectPath, fileContentAsBytes);
-    workingCopiesStorage.put(filePath, workingCopy);
+    EditorWorkingCopy existing = workingCopiesStorage.putIfAbsent(filePath, workingCopy);
 
-    return workingCopy;
+    return existing != null ? existing : workingCopy;
   }
 
   private void createPersistentWorkingCopy(String originalFilePath)
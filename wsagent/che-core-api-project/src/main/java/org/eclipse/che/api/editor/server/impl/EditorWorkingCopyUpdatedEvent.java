@@ -16,17 +16,21 @@ import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 /**
  * Notifies about changes of editor working copy. The event is used by {@link
  * EditorWorkingCopyManager} when working copy is changed to notify interested consumers about it.
+ * The event carries only the applied change along with the version of the working copy it
+ * produced, consumers which need the content may get it from the working copy.
  *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopyUpdatedEvent {
   private final String endpointId;
   private final EditorChangesDto textChange;
+  private final int version;
 
   /** Creates event which contains info about changes of editor working copy */
-  EditorWorkingCopyUpdatedEvent(String endpointId, EditorChangesDto textChange) {
+  EditorWorkingCopyUpdatedEvent(String endpointId, EditorChangesDto textChange, int version) {
     this.endpointId = endpointId;
     this.textChange = textChange;
+    this.version = version;
   }
 
   public String getEndpointId() {
@@ -37,4 +41,9 @@ public class EditorWorkingCopyUpdatedEvent {
   public EditorChangesDto getChanges() {
     return textChange;
   }
+
+  /** Returns version of editor working copy after applying the changes. */
+  public int getVersion() {
+    return version;
+  }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text which is edited without being copied.
+ *
+ * <p>The text is described by a sequence of pieces, each one referring to a span either of the
+ * original text or of an append-only buffer which receives all the inserted text. An edit only
+ * splits, trims or adds pieces, so its cost depends on the number of pieces rather than on the
+ * length of the text, and consecutive typing extends the last inserted piece instead of adding new
+ * ones. The text is built on demand and kept until the next edit. When the number of pieces grows
+ * over {@link #MAX_PIECES}, the table is compacted to a single piece.
+ *
+ * <p>Note that the class is not thread safe.
+ *
+ * @see EditorWorkingCopy
+ */
+public class PieceTable {
+
+  /** Number of pieces which causes compaction of the table. */
+  static final int MAX_PIECES = 2048;
+
+  private final List<Piece> pieces = new ArrayList<>();
+  private final StringBuilder added = new StringBuilder();
+
+  private String original;
+  private int length;
+  private String text;
+
+  /**
+   * Creates a table.
+   *
+   * @param text initial text
+   */
+  public PieceTable(String text) {
+    reset(text);
+  }
+
+  /** Returns the length of the text. */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Inserts the text at the given offset.
+   *
+   * @param offset offset to insert the text at
+   * @param insertion text to insert
+   * @throws IndexOutOfBoundsException if the offset is out of the text
+   */
+  public void insert(int offset, String insertion) {
+    checkRange(offset, 0);
+    if (insertion.isEmpty()) {
+      return;
+    }
+
+    final int start = added.length();
+    added.append(insertion);
+    length += insertion.length();
+    text = null;
+
+    final Piece newPiece = new Piece(true, start, insertion.length());
+    if (pieces.isEmpty()) {
+      pieces.add(newPiece);
+      return;
+    }
+
+    int index = 0;
+    int pieceStart = 0;
+    while (offset > pieceStart + pieces.get(index).length) {
+      pieceStart += pieces.get(index).length;
+      index++;
+    }
+
+    final Piece piece = pieces.get(index);
+    final int inner = offset - pieceStart;
+    if (inner == 0) {
+      pieces.add(index, newPiece);
+    } else if (inner == piece.length) {
+      if (piece.added && piece.start + piece.length == start) {
+        // typing right after the previously inserted text
+        piece.length += insertion.length();
+      } else {
+        pieces.add(index + 1, newPiece);
+      }
+    } else {
+      pieces.set(index, new Piece(piece.added, piece.start, inner));
+      pieces.add(index + 1, newPiece);
+      pieces.add(index + 2, new Piece(piece.added, piece.start + inner, piece.length - inner));
+    }
+    compactIfNeeded();
+  }
+
+  /**
+   * Deletes the text at the given offset.
+   *
+   * @param offset offset of the text to delete
+   * @param count number of characters to delete
+   * @throws IndexOutOfBoundsException if the range is out of the text
+   */
+  public void delete(int offset, int count) {
+    checkRange(offset, count);
+    if (count == 0) {
+      return;
+    }
+
+    final int end = offset + count;
+    length -= count;
+    text = null;
+
+    int index = 0;
+    int pieceStart = 0;
+    while (index < pieces.size() && pieceStart < end) {
+      final Piece piece = pieces.get(index);
+      final int pieceEnd = pieceStart + piece.length;
+      if (pieceEnd <= offset) {
+        index++;
+      } else {
+        final int cutFrom = Math.max(offset, pieceStart) - pieceStart;
+        final int cutTo = Math.min(end, pieceEnd) - pieceStart;
+        pieces.remove(index);
+        if (cutTo < piece.length) {
+          pieces.add(index, new Piece(piece.added, piece.start + cutTo, piece.length - cutTo));
+        }
+        if (cutFrom > 0) {
+          pieces.add(index, new Piece(piece.added, piece.start, cutFrom));
+          index++;
+        }
+      }
+      pieceStart = pieceEnd;
+    }
+    compactIfNeeded();
+  }
+
+  /**
+   * Replaces the text at the given offset.
+   *
+   * @param offset offset of the text to replace
+   * @param count number of characters to replace
+   * @param replacement text to insert instead of the replaced one
+   * @throws IndexOutOfBoundsException if the range is out of the text
+   */
+  public void replace(int offset, int count, String replacement) {
+    delete(offset, count);
+    insert(offset, replacement);
+  }
+
+  /** Replaces the whole text. */
+  public void setText(String text) {
+    reset(text);
+  }
+
+  /**
+   * Returns the offset of the given position. Lines are separated by {@code '\n'}, so {@code
+   * "\r\n"} is a single separator as well. A character which is out of the line refers to the end
+   * of the line and a line which is out of the text refers to the end of the text.
+   *
+   * @param line zero based line number
+   * @param character zero based character number in the line
+   * @return offset in the text
+   */
+  public int getOffset(int line, int character) {
+    int lineStart = 0;
+    if (line > 0) {
+      final int lineBreak = indexOfLineBreak(0, line);
+      if (lineBreak < 0) {
+        return length;
+      }
+      lineStart = lineBreak + 1;
+    }
+    int lineEnd = indexOfLineBreak(lineStart, 1);
+    if (lineEnd < 0) {
+      lineEnd = length;
+    } else if (lineEnd > lineStart && charAt(lineEnd - 1) == '\r') {
+      lineEnd--;
+    }
+    return Math.min(lineStart + Math.max(character, 0), lineEnd);
+  }
+
+  /** Returns the text. */
+  @Override
+  public String toString() {
+    if (text == null) {
+      final StringBuilder builder = new StringBuilder(length);
+      for (Piece piece : pieces) {
+        if (piece.added) {
+          builder.append(added, piece.start, piece.start + piece.length);
+        } else {
+          builder.append(original, piece.start, piece.start + piece.length);
+        }
+      }
+      text = builder.toString();
+    }
+    return text;
+  }
+
+  /** Returns the current number of pieces. */
+  int getPieceCount() {
+    return pieces.size();
+  }
+
+  /** Returns the offset of the n-th line break starting from the given offset or -1. */
+  private int indexOfLineBreak(int from, int n) {
+    int pieceStart = 0;
+    for (Piece piece : pieces) {
+      final int pieceEnd = pieceStart + piece.length;
+      if (pieceEnd > from) {
+        final CharSequence buffer = piece.added ? added : original;
+        for (int i = Math.max(from, pieceStart); i < pieceEnd; i++) {
+          if (buffer.charAt(piece.start + i - pieceStart) == '\n' && --n == 0) {
+            return i;
+          }
+        }
+      }
+      pieceStart = pieceEnd;
+    }
+    return -1;
+  }
+
+  private char charAt(int offset) {
+    int pieceStart = 0;
+    for (Piece piece : pieces) {
+      if (offset < pieceStart + piece.length) {
+        final CharSequence buffer = piece.added ? added : original;
+        return buffer.charAt(piece.start + offset - pieceStart);
+      }
+      pieceStart += piece.length;
+    }
+    throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length);
+  }
+
+  private void checkRange(int offset, int count) {
+    if (offset < 0 || count < 0 || offset + count > length) {
+      throw new IndexOutOfBoundsException(
+          "Offset: " + offset + ", count: " + count + ", length: " + length);
+    }
+  }
+
+  private void compactIfNeeded() {
+    if (pieces.size() > MAX_PIECES) {
+      reset(toString());
+    }
+  }
+
+  private void reset(String text) {
+    this.original = text;
+    this.text = text;
+    this.length = text.length();
+    added.setLength(0);
+    pieces.clear();
+    if (!text.isEmpty()) {
+      pieces.add(new Piece(false, 0, text.length()));
+    }
+  }
+
+  /** Span of either the original text or the buffer of inserted text. */
+  private static class Piece {
+    final boolean added;
+    final int start;
+    int length;
+
+    Piece(boolean added, int start, int length) {
+      this.added = added;
+      this.start = start;
+      this.length = length;
+    }
+  }
+}
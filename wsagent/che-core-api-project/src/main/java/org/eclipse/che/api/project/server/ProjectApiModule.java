@@ -56,6 +56,7 @@ public class ProjectApiModule extends AbstractModule {
     bind(ProjectService.class);
     bind(ProjectImportersService.class);
     bind(ProjectTypeService.class);
+    bind(ProjectBootstrapService.class);
 
     bind(OnWorkspaceStartProjectInitializer.class);
     bind(ProjectImporterRegistry.class);
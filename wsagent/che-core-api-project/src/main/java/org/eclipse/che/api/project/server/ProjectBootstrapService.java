@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.project.shared.Constants.LINK_REL_PROJECT_BOOTSTRAP;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import com.google.common.hash.Hashing;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import java.io.IOException;
+import java.util.List;
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.core.rest.annotations.GenerateLink;
+import org.eclipse.che.api.project.server.impl.ProjectDtoConverter;
+import org.eclipse.che.api.project.server.impl.ProjectServiceApiFactory;
+import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.shared.dto.ProjectBootstrapDto;
+import org.eclipse.che.api.project.shared.dto.ProjectTypeDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.dto.server.DtoFactory;
+
+/**
+ * Provides the projects and the project types of the workspace with a single request, so the IDE
+ * doesn't need a chain of requests to show the projects.
+ *
+ * <p>Responses are tagged with an ETag computed from their content, so clients which keep the
+ * payload cached may revalidate it with a conditional request and get {@code 304 Not Modified}
+ * while nothing has changed.
+ */
+@Api(value = "/project-bootstrap", description = "Project bootstrap REST API")
+@Path("project-bootstrap")
+public class ProjectBootstrapService extends Service {
+
+  private final ProjectServiceApiFactory projectServiceApiFactory;
+  private final ProjectTypeRegistry projectTypeRegistry;
+
+  @Inject
+  public ProjectBootstrapService(
+      ProjectServiceApiFactory projectServiceApiFactory, ProjectTypeRegistry projectTypeRegistry) {
+    this.projectServiceApiFactory = projectServiceApiFactory;
+    this.projectTypeRegistry = projectTypeRegistry;
+  }
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @GenerateLink(rel = LINK_REL_PROJECT_BOOTSTRAP)
+  @ApiOperation(
+      value = "Gets projects and project types of the workspace",
+      response = ProjectBootstrapDto.class)
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "OK"),
+    @ApiResponse(code = 304, message = "Projects and project types are not modified"),
+    @ApiResponse(code = 500, message = "Server error")
+  })
+  public Response getBootstrap(@Context Request request)
+      throws IOException, ServerException, ConflictException, ForbiddenException {
+    final List<ProjectConfigDto> projects =
+        projectServiceApiFactory.create(getServiceContext()).getProjects();
+    final List<ProjectTypeDto> projectTypes =
+        projectTypeRegistry
+            .getProjectTypes()
+            .stream()
+            .map(ProjectDtoConverter::asDto)
+            .collect(toList());
+    final ProjectBootstrapDto bootstrap =
+        newDto(ProjectBootstrapDto.class).withProjects(projects).withProjectTypes(projectTypes);
+
+    final String json = DtoFactory.getInstance().toJson(bootstrap);
+    final EntityTag entityTag = new EntityTag(Hashing.md5().hashString(json, UTF_8).toString());
+    final CacheControl cacheControl = new CacheControl();
+    cacheControl.setNoCache(true);
+
+    final ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+    if (notModified != null) {
+      return notModified.tag(entityTag).cacheControl(cacheControl).build();
+    }
+    return Response.ok(json, MediaType.APPLICATION_JSON)
+        .tag(entityTag)
+        .cacheControl(cacheControl)
+        .build();
+  }
+}
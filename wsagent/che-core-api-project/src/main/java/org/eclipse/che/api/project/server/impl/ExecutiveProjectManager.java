@@ -40,6 +40,7 @@ import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.handlers.CreateProjectHandler;
 import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
 import org.eclipse.che.api.project.server.type.AttributeValue;
+import org.eclipse.che.api.project.server.type.AttributeValuesCache;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.server.type.ProjectQualifier;
 import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
@@ -58,6 +59,7 @@ public class ExecutiveProjectManager implements ProjectManager {
   private final ProjectConfigRegistry projectConfigRegistry;
   private final ProjectHandlerRegistry projectHandlerRegistry;
   private final ProjectImportManager projectImportManager;
+  private final AttributeValuesCache attributeValuesCache;
 
   @Inject
   public ExecutiveProjectManager(
@@ -65,12 +67,14 @@ public class ExecutiveProjectManager implements ProjectManager {
       ProjectConfigRegistry projectConfigRegistry,
       ProjectHandlerRegistry projectHandlerRegistry,
       ProjectQualifier projectQualifier,
-      ProjectImportManager projectImportManager) {
+      ProjectImportManager projectImportManager,
+      AttributeValuesCache attributeValuesCache) {
     this.fsManager = fsManager;
     this.projectConfigRegistry = projectConfigRegistry;
     this.projectHandlerRegistry = projectHandlerRegistry;
     this.projectQualifier = projectQualifier;
     this.projectImportManager = projectImportManager;
+    this.attributeValuesCache = attributeValuesCache;
   }
 
   @Override
@@ -146,6 +150,7 @@ public class ExecutiveProjectManager implements ProjectManager {
       fsManager.createDir(wsPath);
     }
 
+    attributeValuesCache.invalidate(wsPath);
     RegisteredProject project = projectConfigRegistry.put(projectConfig, true, false);
     fireInitHandlers(project);
 
@@ -170,6 +175,7 @@ public class ExecutiveProjectManager implements ProjectManager {
   public synchronized RegisteredProject update(ProjectConfig projectConfig)
       throws ForbiddenException, ServerException, NotFoundException, ConflictException,
           BadRequestException {
+    attributeValuesCache.invalidate(projectConfig.getPath());
     RegisteredProject project = projectConfigRegistry.put(projectConfig, true, false);
     fireInitHandlers(project);
 
@@ -237,6 +243,7 @@ public class ExecutiveProjectManager implements ProjectManager {
             emptyMap(),
             oldProjectConfig.getSource());
 
+    attributeValuesCache.invalidate(dstWsPath);
     RegisteredProject copiedProject = projectConfigRegistry.put(newProjectConfig, true, false);
     fireInitHandlers(copiedProject);
     return copiedProject;
@@ -356,6 +363,8 @@ public class ExecutiveProjectManager implements ProjectManager {
             emptyMap(),
             oldProjectConfig.getSource());
 
+    attributeValuesCache.invalidate(srcWsPath);
+    attributeValuesCache.invalidate(dstWsPath);
     RegisteredProject movedProject = projectConfigRegistry.put(newProjectConfig, true, false);
     fireInitHandlers(movedProject);
     return movedProject;
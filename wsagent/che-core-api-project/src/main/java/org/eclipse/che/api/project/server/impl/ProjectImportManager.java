@@ -44,6 +44,7 @@ import org.eclipse.che.api.project.server.ProjectImporter;
 import org.eclipse.che.api.project.server.handlers.CreateProjectHandler;
 import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
 import org.eclipse.che.api.project.server.type.AttributeValue;
+import org.eclipse.che.api.project.server.type.AttributeValuesCache;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.shared.NewProjectConfig;
 import org.eclipse.che.api.project.shared.RegisteredProject;
@@ -56,6 +57,7 @@ public class ProjectImportManager {
   private final ProjectConfigRegistry projectConfigRegistry;
   private final ProjectImporterRegistry projectImporterRegistry;
   private final ProjectHandlerRegistry projectHandlerRegistry;
+  private final AttributeValuesCache attributeValuesCache;
 
   @Inject
   public ProjectImportManager(
@@ -63,12 +65,14 @@ public class ProjectImportManager {
       ProjectConfigRegistry projectConfigs,
       WorkspaceProjectSynchronizer projectSynchronizer,
       ProjectImporterRegistry projectImporterRegistry,
-      ProjectHandlerRegistry projectHandlerRegistry) {
+      ProjectHandlerRegistry projectHandlerRegistry,
+      AttributeValuesCache attributeValuesCache) {
     this.fsManager = fsManager;
     this.projectSynchronizer = projectSynchronizer;
     this.projectConfigRegistry = projectConfigs;
     this.projectImporterRegistry = projectImporterRegistry;
     this.projectHandlerRegistry = projectHandlerRegistry;
+    this.attributeValuesCache = attributeValuesCache;
   }
 
   public Set<RegisteredProject> doImport(
@@ -175,6 +179,7 @@ public class ProjectImportManager {
           fsManager.createDir(projectWsPath);
         }
 
+        attributeValuesCache.invalidate(projectWsPath);
         RegisteredProject project = projectConfigRegistry.put(projectConfig, true, false);
         projectSynchronizer.synchronize();
         List<String> types = new ArrayList<>(project.getMixins());
@@ -304,6 +309,8 @@ public class ProjectImportManager {
     } catch (IOException e) {
       throw new ServerException(e);
     }
+    // the file watcher may not have reported the imported files yet
+    attributeValuesCache.invalidate(wsPath);
 
     if (projectSynchronizer
         .getProjects()
@@ -614,7 +614,9 @@ public class ProjectServiceApi {
             : injectFolderLinks(asDto);
     return newDto(TreeElement.class)
         .withNode(asLinkedDto)
-        .withChildren(getTreeRecursively(wsPath, depth, includeFiles));
+        .withChildren(
+            vcsStatusInjector.injectVcsStatusTreeElements(
+                getTreeRecursively(wsPath, depth, includeFiles)));
   }
 
   /** Get file system item defined by specific location */
@@ -771,7 +773,7 @@ public class ProjectServiceApi {
       }
     }
 
-    return vcsStatusInjector.injectVcsStatusTreeElements(nodes);
+    return nodes;
   }
 
   private Set<String> applyTreeFilter(String parentWsPath, Set<String> childrenWsPaths) {
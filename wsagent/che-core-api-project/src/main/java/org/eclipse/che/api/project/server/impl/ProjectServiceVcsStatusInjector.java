@@ -15,7 +15,9 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
 import static org.eclipse.che.api.project.shared.Constants.VCS_PROVIDER_NAME;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -73,81 +75,77 @@ public class ProjectServiceVcsStatusInjector {
    */
   public List<ItemReference> injectVcsStatus(List<ItemReference> itemReferences)
       throws ServerException, NotFoundException {
-    Optional<ItemReference> itemReferenceOptional =
+    injectVcsStatusIntoFiles(
         itemReferences
             .stream()
             .filter(itemReference -> "file".equals(itemReference.getType()))
-            .findAny();
-    if (itemReferenceOptional.isPresent()) {
-      Optional<VcsStatusProvider> vcsStatusProviderOptional =
-          getVcsStatusProvider(itemReferenceOptional.get());
-      if (vcsStatusProviderOptional.isPresent()) {
-        List<String> itemReferenceFiles =
-            itemReferences
-                .stream()
-                .filter(itemReference -> "file".equals(itemReference.getType()))
-                .map(this::getFilePathWithoutProject)
-                .collect(Collectors.toList());
-        Map<String, VcsStatusProvider.VcsStatus> statusMap =
-            vcsStatusProviderOptional
-                .get()
-                .getStatus(itemReferenceOptional.get().getProject(), itemReferenceFiles);
-
-        itemReferences
-            .stream()
-            .filter(itemReference -> "file".equals(itemReference.getType()))
-            .forEach(
-                itemReference -> {
-                  Map<String, String> attributes = new HashMap<>(itemReference.getAttributes());
-                  attributes.put("vcs.status", statusMap.get(itemReference.getPath()).toString());
-                  itemReference.setAttributes(attributes);
-                });
-      }
-    }
+            .collect(Collectors.toList()));
     return itemReferences;
   }
 
   /**
    * Find related VCS provider and set VCS status of {@link TreeElement} file to it's attributes to
-   * each item of the given list, if VCS provider is present.
+   * each item of the given list and to each item of their children at any depth, if VCS provider is
+   * present.
+   *
+   * <p>Files of the whole tree are grouped by project, so VCS provider is asked once per project
+   * regardless of the depth of the tree.
    *
    * @param treeElements list of {@link TreeElement} files to update
    */
   public List<TreeElement> injectVcsStatusTreeElements(List<TreeElement> treeElements)
       throws ServerException, NotFoundException {
-    Optional<TreeElement> treeElementOptional =
-        treeElements
-            .stream()
-            .filter(treeElement -> "file".equals(treeElement.getNode().getType()))
-            .findAny();
-    if (treeElementOptional.isPresent()) {
-      ItemReference node = treeElementOptional.get().getNode();
-      Optional<VcsStatusProvider> vcsStatusProviderOptional = getVcsStatusProvider(node);
-      if (vcsStatusProviderOptional.isPresent()) {
-        List<String> paths =
-            treeElements
-                .stream()
-                .filter(treeElement -> "file".equals(treeElement.getNode().getType()))
-                .map(treeElement -> getFilePathWithoutProject(treeElement.getNode()))
-                .collect(Collectors.toList());
-        Map<String, VcsStatusProvider.VcsStatus> status =
-            vcsStatusProviderOptional.get().getStatus(node.getProject(), paths);
-
-        treeElements
-            .stream()
-            .filter(itemReference -> "file".equals(itemReference.getNode().getType()))
-            .forEach(
-                itemReference -> {
-                  Map<String, String> attributes =
-                      new HashMap<>(itemReference.getNode().getAttributes());
-                  attributes.put(
-                      "vcs.status", status.get(itemReference.getNode().getPath()).toString());
-                  itemReference.getNode().setAttributes(attributes);
-                });
+    List<ItemReference> files = new ArrayList<>();
+    collectFiles(treeElements, files);
+    injectVcsStatusIntoFiles(files);
+    return treeElements;
+  }
+
+  private void collectFiles(List<TreeElement> treeElements, List<ItemReference> files) {
+    if (treeElements == null) {
+      return;
+    }
+    for (TreeElement treeElement : treeElements) {
+      if ("file".equals(treeElement.getNode().getType())) {
+        files.add(treeElement.getNode());
       }
+      collectFiles(treeElement.getChildren(), files);
     }
+  }
 
-    return treeElements;
+  private void injectVcsStatusIntoFiles(List<ItemReference> files)
+      throws ServerException, NotFoundException {
+    Map<String, List<ItemReference>> filesByProject = new LinkedHashMap<>();
+    for (ItemReference file : files) {
+      if (!isNullOrEmpty(file.getProject())) {
+        filesByProject.computeIfAbsent(file.getProject(), project -> new ArrayList<>()).add(file);
+      }
+    }
+
+    for (Map.Entry<String, List<ItemReference>> entry : filesByProject.entrySet()) {
+      Optional<VcsStatusProvider> vcsStatusProviderOptional = getVcsStatusProvider(entry.getKey());
+      if (!vcsStatusProviderOptional.isPresent()) {
+        continue;
+      }
+
+      List<String> paths =
+          entry
+              .getValue()
+              .stream()
+              .map(this::getFilePathWithoutProject)
+              .collect(Collectors.toList());
+      Map<String, VcsStatusProvider.VcsStatus> statusMap =
+          vcsStatusProviderOptional.get().getStatus(entry.getKey(), paths);
+
+      for (ItemReference itemReference : entry.getValue()) {
+        VcsStatusProvider.VcsStatus status = statusMap.get(itemReference.getPath());
+        if (status != null) {
+          Map<String, String> attributes = new HashMap<>(itemReference.getAttributes());
+          attributes.put("vcs.status", status.toString());
+          itemReference.setAttributes(attributes);
+        }
+      }
+    }
   }
 
   private String getFilePathWithoutProject(ItemReference itemReference) {
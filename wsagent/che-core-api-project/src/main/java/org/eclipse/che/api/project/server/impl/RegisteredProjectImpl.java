@@ -31,6 +31,7 @@ import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.config.SourceStorage;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.type.AttributeValue;
+import org.eclipse.che.api.project.server.type.AttributeValuesCache;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.server.type.ProjectTypes;
@@ -55,6 +56,7 @@ public class RegisteredProjectImpl implements RegisteredProject {
   private final String folder;
   private final ProjectConfig config;
   private final ProjectTypes types;
+  private final AttributeValuesCache attributeValuesCache;
   private boolean updated;
   private boolean detected;
 
@@ -66,6 +68,7 @@ public class RegisteredProjectImpl implements RegisteredProject {
    * @param updated if this object was updated, i.e. no more synchronized with workspace master
    * @param detected if this project was detected, initialized when "parent" project initialized
    * @param projectTypesFactory project types factory
+   * @param attributeValuesCache cache of the provided attribute values
    * @throws ServerException when path for project is undefined
    */
   @AssistedInject
@@ -75,7 +78,8 @@ public class RegisteredProjectImpl implements RegisteredProject {
       @Assisted("updated") boolean updated,
       @Assisted("detected") boolean detected,
       ProjectTypesFactory projectTypesFactory,
-      FsManager fsManager)
+      FsManager fsManager,
+      AttributeValuesCache attributeValuesCache)
       throws ServerException {
     problems = new ArrayList<>();
     attributes = new HashMap<>();
@@ -93,6 +97,7 @@ public class RegisteredProjectImpl implements RegisteredProject {
     this.config = config == null ? new NewProjectConfigImpl(wsPath) : config;
     this.updated = updated;
     this.detected = detected;
+    this.attributeValuesCache = attributeValuesCache;
 
     if (wsPath == null || !fsManager.existsAsDir(wsPath)) {
       problems.add(
@@ -151,7 +156,10 @@ public class RegisteredProjectImpl implements RegisteredProject {
             try {
               if (!valueProvider.isSettable() || value.isEmpty()) {
                 // get provided value
-                value = new AttributeValue(valueProvider.getValues(name));
+                value =
+                    new AttributeValue(
+                        attributeValuesCache.getValues(
+                            variable.getValueProviderFactory(), this.getPath(), name));
               } else {
                 // set provided (not empty) value
                 valueProvider.setValues(name, value.getList());
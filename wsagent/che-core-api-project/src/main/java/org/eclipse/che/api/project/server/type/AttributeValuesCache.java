@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.type;
+
+import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
+import static org.eclipse.che.api.fs.server.WsPathUtils.isRoot;
+import static org.eclipse.che.api.fs.server.WsPathUtils.nameOf;
+import static org.eclipse.che.api.fs.server.WsPathUtils.parentOf;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.model.project.type.Attribute;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.notification.ProjectDeletedEvent;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+
+/**
+ * Caches the values of project attributes read by the {@link ValueProviderFactory} instances which
+ * declare the files the values come from, see {@link ValueProviderFactory#getDependencies()}.
+ *
+ * <p>Values are cached per project and per value provider, so that a provider instance reads all
+ * attributes of a project. They are dropped when a file that matches one of the provider
+ * dependencies is created, modified or deleted in the project folder or in its subfolders, and read
+ * again the next time they are requested. As the file watcher notifies about the changes
+ * asynchronously, the project manager also drops the values of a project right before it registers
+ * the project created, updated or imported, see {@link #invalidate(String)}. The values of a
+ * deleted project are dropped on {@link ProjectDeletedEvent}.
+ */
+@Singleton
+public class AttributeValuesCache {
+
+  private final ProjectTypeRegistry projectTypeRegistry;
+  private final FileWatcherManager fileWatcherManager;
+  private final EventService eventService;
+  private final EventSubscriber<ProjectDeletedEvent> projectDeletedSubscriber =
+      event -> invalidate(event.getProjectPath());
+
+  /** Value provider factory -> Matchers of the names of the files the values are read from */
+  private final Map<ValueProviderFactory, Set<PathMatcher>> dependencies =
+      new ConcurrentHashMap<>();
+  /** Project workspace path -> Value provider factory -> Cached values */
+  private final Map<String, Map<ValueProviderFactory, ProviderValues>> projects =
+      new ConcurrentHashMap<>();
+
+  private int watcherId = -1;
+
+  @Inject
+  public AttributeValuesCache(
+      ProjectTypeRegistry projectTypeRegistry,
+      FileWatcherManager fileWatcherManager,
+      EventService eventService) {
+    this.projectTypeRegistry = projectTypeRegistry;
+    this.fileWatcherManager = fileWatcherManager;
+    this.eventService = eventService;
+  }
+
+  @PostConstruct
+  public void startWatching() {
+    eventService.subscribe(projectDeletedSubscriber, ProjectDeletedEvent.class);
+
+    Set<PathMatcher> matchers =
+        projectTypeRegistry
+            .getProjectTypes()
+            .stream()
+            .flatMap(type -> type.getAttributes().stream())
+            .filter(Attribute::isVariable)
+            .map(attribute -> ((Variable) attribute).getValueProviderFactory())
+            .filter(factory -> factory != null)
+            .flatMap(factory -> dependenciesOf(factory).stream())
+            .collect(Collectors.toSet());
+    if (matchers.isEmpty()) {
+      return;
+    }
+
+    watcherId =
+        fileWatcherManager.registerByMatcher(
+            path -> matches(matchers, path) && !Files.isDirectory(path),
+            this::onFileChanged,
+            this::onFileChanged,
+            this::onFileChanged);
+  }
+
+  @PreDestroy
+  public void stopWatching() {
+    eventService.unsubscribe(projectDeletedSubscriber, ProjectDeletedEvent.class);
+    if (watcherId != -1) {
+      fileWatcherManager.unRegisterByMatcher(watcherId);
+    }
+  }
+
+  /**
+   * Get values of a project attribute, from the cache if the value provider declares the files the
+   * values are read from.
+   *
+   * @param factory value provider factory of the attribute
+   * @param wsPath absolute workspace path of a project
+   * @param attributeName attribute name
+   * @return values of the attribute
+   * @throws ValueStorageException if values can't be read, such failures are not cached
+   */
+  public List<String> getValues(ValueProviderFactory factory, String wsPath, String attributeName)
+      throws ValueStorageException {
+    if (dependenciesOf(factory).isEmpty()) {
+      return factory.newInstance(wsPath).getValues(attributeName);
+    }
+
+    return projects
+        .computeIfAbsent(normalize(wsPath), key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(factory, key -> new ProviderValues(factory.newInstance(wsPath)))
+        .get(attributeName);
+  }
+
+  /**
+   * Drops the cached values of the project and of the projects nested in it.
+   *
+   * @param wsPath absolute workspace path of a project
+   */
+  public void invalidate(String wsPath) {
+    String project = normalize(wsPath);
+    String nestedPrefix = isRoot(project) ? project : project + '/';
+    projects.keySet().removeIf(path -> path.equals(project) || path.startsWith(nestedPrefix));
+  }
+
+  private void onFileChanged(String wsPath) {
+    Path name = Paths.get(nameOf(wsPath));
+    String folder = absolutize(wsPath);
+    while (!isRoot(folder)) {
+      folder = parentOf(folder);
+      Map<ValueProviderFactory, ProviderValues> project = projects.get(folder);
+      if (project != null) {
+        project.keySet().removeIf(factory -> matches(dependenciesOf(factory), name));
+      }
+    }
+  }
+
+  private Set<PathMatcher> dependenciesOf(ValueProviderFactory factory) {
+    return dependencies.computeIfAbsent(
+        factory,
+        key -> {
+          FileSystem fileSystem = FileSystems.getDefault();
+          return key.getDependencies()
+              .stream()
+              .map(glob -> fileSystem.getPathMatcher("glob:" + glob))
+              .collect(Collectors.toSet());
+        });
+  }
+
+  private static boolean matches(Set<PathMatcher> matchers, Path path) {
+    Path name = path.getFileName();
+    return name != null && matchers.stream().anyMatch(matcher -> matcher.matches(name));
+  }
+
+  private static String normalize(String wsPath) {
+    String absolute = absolutize(wsPath);
+    return absolute.length() > 1 && absolute.endsWith("/")
+        ? absolute.substring(0, absolute.length() - 1)
+        : absolute;
+  }
+
+  /** Values read by one value provider instance for all attributes of a project. */
+  private static class ProviderValues {
+    final ValueProvider provider;
+    final Map<String, List<String>> values = new HashMap<>();
+
+    ProviderValues(ValueProvider provider) {
+      this.provider = provider;
+    }
+
+    synchronized List<String> get(String attributeName) throws ValueStorageException {
+      if (values.containsKey(attributeName)) {
+        return values.get(attributeName);
+      }
+
+      List<String> attributeValues = provider.getValues(attributeName);
+      values.put(attributeName, attributeValues);
+      return attributeValues;
+    }
+  }
+}
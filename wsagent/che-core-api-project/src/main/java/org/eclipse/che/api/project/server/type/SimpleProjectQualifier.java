@@ -11,16 +11,25 @@
  */
 package org.eclipse.che.api.project.server.type;
 
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.project.server.type.ProjectTypeRegistry.CHILD_TO_PARENT_COMPARATOR;
 
-import java.util.ArrayList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.type.ProjectType;
 import org.eclipse.che.api.fs.server.FsManager;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 
 @Singleton
 public class SimpleProjectQualifier implements ProjectQualifier {
@@ -28,6 +37,7 @@ public class SimpleProjectQualifier implements ProjectQualifier {
   private final ProjectTypeRegistry projectTypeRegistry;
   private final FsManager fsManager;
   private final ProjectTypeResolver projectTypeResolver;
+  private final ExecutorService executor;
 
   @Inject
   public SimpleProjectQualifier(
@@ -37,6 +47,19 @@ public class SimpleProjectQualifier implements ProjectQualifier {
     this.projectTypeRegistry = projectTypeRegistry;
     this.fsManager = fsManager;
     this.projectTypeResolver = projectTypeResolver;
+    this.executor =
+        Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            new ThreadFactoryBuilder()
+                .setNameFormat(SimpleProjectQualifier.class.getSimpleName() + "-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
   }
 
   @Override
@@ -55,18 +78,44 @@ public class SimpleProjectQualifier implements ProjectQualifier {
     return projectTypeResolver.resolve(projectType, wsPath);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Project types are resolved in parallel with the context of the calling thread, such as the
+   * {@code EnvironmentContext}, resolutions are listed from child to parent types.
+   */
   @Override
   public List<ProjectTypeResolution> qualify(String wsPath)
       throws ServerException, NotFoundException {
-    List<ProjectTypeResolution> resolutions = new ArrayList<>();
+    if (!fsManager.existsAsDir(wsPath)) {
+      throw new NotFoundException("Item is not a directory or does not exist " + wsPath);
+    }
+
+    List<CompletableFuture<ProjectTypeResolution>> resolutions =
+        projectTypeRegistry
+            .getProjectTypes(CHILD_TO_PARENT_COMPARATOR)
+            .stream()
+            .map(
+                type -> supplyAsync(() -> projectTypeResolver.resolve(type, wsPath), this::execute))
+            .collect(toList());
 
-    for (ProjectType type : projectTypeRegistry.getProjectTypes(CHILD_TO_PARENT_COMPARATOR)) {
-      ProjectTypeResolution resolution = qualify(wsPath, type.getId());
-      if (resolution.matched()) {
-        resolutions.add(resolution);
+    try {
+      return resolutions
+          .stream()
+          .map(CompletableFuture::join)
+          .filter(ProjectTypeResolution::matched)
+          .collect(toList());
+    } catch (CompletionException e) {
+      // resolvers fail only with unchecked exceptions, rethrow them as if resolved in this thread
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
       }
+      throw e;
     }
+  }
 
-    return resolutions;
+  /** Runs the task in the pool with the thread locals of the calling thread. */
+  private void execute(Runnable task) {
+    executor.execute(ThreadLocalPropagateContext.wrap(task));
   }
 }
@@ -16,6 +16,7 @@ import static java.util.Collections.emptyMap;
 
 import java.util.HashMap;
 import java.util.Map;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.project.type.Attribute;
 import org.eclipse.che.api.core.model.project.type.ProjectType;
@@ -24,6 +25,13 @@ import org.eclipse.che.api.core.model.project.type.Value;
 @Singleton
 public class SimpleProjectTypeResolver implements ProjectTypeResolver {
 
+  private final AttributeValuesCache attributeValuesCache;
+
+  @Inject
+  public SimpleProjectTypeResolver(AttributeValuesCache attributeValuesCache) {
+    this.attributeValuesCache = attributeValuesCache;
+  }
+
   @Override
   public ProjectTypeResolution resolve(ProjectType type, String wsPath) {
     Map<String, Value> matchAttrs = new HashMap<>();
@@ -37,7 +45,7 @@ public class SimpleProjectTypeResolver implements ProjectTypeResolver {
           Value value;
           String errorMessage = "";
           try {
-            value = new AttributeValue(factory.newInstance(wsPath).getValues(name));
+            value = new AttributeValue(attributeValuesCache.getValues(factory, wsPath, name));
           } catch (ValueStorageException e) {
             value = null;
             errorMessage = e.getLocalizedMessage();
@@ -11,6 +11,10 @@
  */
 package org.eclipse.che.api.project.server.type;
 
+import static java.util.Collections.emptySet;
+
+import java.util.Set;
+
 /**
  * Factory for {@link ValueProvider}.
  *
@@ -25,4 +29,16 @@ public interface ValueProviderFactory {
    * @param wsPath
    */
   ValueProvider newInstance(String wsPath);
+
+  /**
+   * Get glob patterns of the names of the files the values are read from. Values of the providers
+   * that declare such files are cached by {@link AttributeValuesCache} until a matching file is
+   * created, modified or deleted in the project. Providers of settable values or of values that
+   * don't come from files in the project must not declare any.
+   *
+   * @return glob patterns of file names or empty set if values must be read every time
+   */
+  default Set<String> getDependencies() {
+    return emptySet();
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.INSERT;
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.REMOVE;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+
+import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
+import org.testng.annotations.Test;
+
+/** Tests {@link EditorWorkingCopy}. */
+public class EditorWorkingCopyTest {
+
+  @Test
+  public void shouldApplyChangesAndIncrementVersion() {
+    // given
+    final EditorWorkingCopy workingCopy =
+        new EditorWorkingCopy("a.txt", "/project", "hello world".getBytes());
+
+    // when
+    final int inserted = workingCopy.applyChanges(insert(5, ","));
+    final int removed = workingCopy.applyChanges(remove(6, 6));
+
+    // then
+    assertEquals(inserted, 1);
+    assertEquals(removed, 2);
+    assertEquals(workingCopy.getVersion(), 2);
+    assertEquals(workingCopy.getContentAsString(), "hello,");
+  }
+
+  @Test
+  public void shouldReplaceContentOnUpdate() {
+    // given
+    final EditorWorkingCopy workingCopy =
+        new EditorWorkingCopy("a.txt", "/project", "hello".getBytes());
+    workingCopy.applyChanges(insert(5, "!"));
+
+    // when
+    workingCopy.updateContent("bye".getBytes());
+
+    // then
+    assertEquals(workingCopy.getContentAsString(), "bye");
+    assertEquals(new String(workingCopy.getContentAsBytes()), "bye");
+    assertEquals(workingCopy.getVersion(), 2);
+  }
+
+  @Test
+  public void shouldApplyTypingInTheMiddleOfFile() {
+    // given
+    final int size = 64 * 1024;
+    final StringBuilder content = new StringBuilder(size);
+    while (content.length() < size) {
+      content.append("    private static final String FIELD = \"value\";\n");
+    }
+    final EditorWorkingCopy workingCopy =
+        new EditorWorkingCopy("Large.java", "/project", content.toString().getBytes());
+    final String typed = "int counter = 0; // typed in the middle of the file\n";
+    final int offset = content.length() / 2;
+    final int keystrokes = 500;
+
+    // when
+    for (int i = 0; i < keystrokes; i++) {
+      final int position = i % typed.length();
+      if (position == 0 && i > 0) {
+        // erase the typed line and start over, like a user fixing a typo
+        workingCopy.applyChanges(remove(offset, typed.length()));
+      }
+      workingCopy.applyChanges(insert(offset + position, typed.substring(position, position + 1)));
+    }
+
+    // then
+    final int typedLength = (keystrokes - 1) % typed.length() + 1;
+    assertEquals(
+        workingCopy.getContentAsString(),
+        new StringBuilder(content).insert(offset, typed.substring(0, typedLength)).toString());
+  }
+
+  private static EditorChangesDto insert(int offset, String text) {
+    return newDto(EditorChangesDto.class)
+        .withType(INSERT)
+        .withOffset(offset)
+        .withText(text)
+        .withLength(text.length());
+  }
+
+  private static EditorChangesDto remove(int offset, int count) {
+    return newDto(EditorChangesDto.class)
+        .withType(REMOVE)
+        .withOffset(offset)
+        .withRemovedCharCount(count);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+
+/** Tests {@link PieceTable}. */
+public class PieceTableTest {
+
+  @Test
+  public void shouldInsertText() {
+    final PieceTable table = new PieceTable("hello world");
+
+    table.insert(5, ",");
+    table.insert(0, ">");
+    table.insert(table.length(), "!");
+
+    assertEquals(table.toString(), ">hello, world!");
+    assertEquals(table.length(), 14);
+  }
+
+  @Test
+  public void shouldDeleteTextAcrossPieces() {
+    final PieceTable table = new PieceTable("hello world");
+    table.insert(5, " big");
+
+    table.delete(3, 7);
+
+    assertEquals(table.toString(), "helworld");
+  }
+
+  @Test
+  public void shouldReplaceText() {
+    final PieceTable table = new PieceTable("hello world");
+
+    table.replace(6, 5, "there");
+
+    assertEquals(table.toString(), "hello there");
+  }
+
+  @Test
+  public void shouldEditEmptyText() {
+    final PieceTable table = new PieceTable("");
+
+    table.insert(0, "abc");
+    table.delete(0, 3);
+    table.insert(0, "d");
+
+    assertEquals(table.toString(), "d");
+  }
+
+  @Test
+  public void shouldExtendLastPieceWhileTyping() {
+    final PieceTable table = new PieceTable("class A {}");
+
+    final String typed = "int field;";
+    for (int i = 0; i < typed.length(); i++) {
+      table.insert(9 + i, typed.substring(i, i + 1));
+    }
+
+    assertEquals(table.toString(), "class A {int field;}");
+    assertEquals(table.getPieceCount(), 3);
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void shouldNotInsertOutOfText() {
+    new PieceTable("abc").insert(4, "d");
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void shouldNotDeleteOutOfText() {
+    new PieceTable("abc").delete(2, 2);
+  }
+
+  @Test
+  public void shouldConvertPositionToOffset() {
+    final PieceTable table = new PieceTable("first\r\nsecond\n");
+    table.insert(7, "the ");
+
+    assertEquals(table.getOffset(0, 0), 0);
+    assertEquals(table.getOffset(0, 3), 3);
+    assertEquals(table.getOffset(0, 100), 5);
+    assertEquals(table.getOffset(1, 0), 7);
+    assertEquals(table.getOffset(1, 4), 11);
+    assertEquals(table.getOffset(2, 0), table.length());
+    assertEquals(table.getOffset(5, 0), table.length());
+  }
+
+  @Test
+  public void shouldMatchStringBuilderUnderRandomEdits() {
+    final Random random = new Random(42);
+    final StringBuilder expected = new StringBuilder("0123456789\nabcdefghij\n");
+    final PieceTable table = new PieceTable(expected.toString());
+
+    for (int i = 0; i < 10_000; i++) {
+      final int offset = random.nextInt(expected.length() + 1);
+      if (random.nextInt(3) == 0 && offset < expected.length()) {
+        final int count = random.nextInt(Math.min(5, expected.length() - offset) + 1);
+        expected.delete(offset, offset + count);
+        table.delete(offset, count);
+      } else {
+        final String text = random.nextBoolean() ? "x" : "y\n";
+        expected.insert(offset, text);
+        table.insert(offset, text);
+      }
+      if (i % 100 == 0) {
+        assertEquals(table.toString(), expected.toString());
+      }
+    }
+
+    assertEquals(table.toString(), expected.toString());
+    assertEquals(table.length(), expected.length());
+    assertTrue(table.getPieceCount() <= PieceTable.MAX_PIECES);
+  }
+}
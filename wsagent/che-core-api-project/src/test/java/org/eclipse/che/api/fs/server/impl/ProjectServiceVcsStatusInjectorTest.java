@@ -17,8 +17,12 @@ import static java.util.Collections.singletonMap;
 import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.ADDED;
 import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
 import static org.eclipse.che.api.project.shared.Constants.VCS_PROVIDER_NAME;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -166,4 +170,46 @@ public class ProjectServiceVcsStatusInjectorTest {
     assertTrue(argumentCaptor.getValue().size() == 1);
     assertEquals(argumentCaptor.getValue().get("vcs.status"), MODIFIED.toString());
   }
+
+  @Test
+  public void shouldInjectVcsStatusIntoNestedTreeElementsWithSingleProviderCall()
+      throws Exception {
+    // given
+    ItemReference folder = mock(ItemReference.class);
+    when(folder.getType()).thenReturn("folder");
+    when(itemReference1.getPath()).thenReturn("/project/folder/file1");
+    TreeElement fileElement = mock(TreeElement.class);
+    TreeElement folderElement = mock(TreeElement.class);
+    TreeElement nestedFileElement = mock(TreeElement.class);
+    when(fileElement.getNode()).thenReturn(itemReference);
+    when(folderElement.getNode()).thenReturn(folder);
+    when(folderElement.getChildren()).thenReturn(singletonList(nestedFileElement));
+    when(nestedFileElement.getNode()).thenReturn(itemReference1);
+
+    List<TreeElement> treeElements = new ArrayList<>();
+    treeElements.add(fileElement);
+    treeElements.add(folderElement);
+
+    List<String> itemReferenceFiles = new ArrayList<>();
+    itemReferenceFiles.add("file");
+    itemReferenceFiles.add("folder/file1");
+
+    Map<String, VcsStatusProvider.VcsStatus> statusMap = new HashMap<>();
+    statusMap.put("/project/file", ADDED);
+    statusMap.put("/project/folder/file1", MODIFIED);
+
+    when(vcsStatusProvider.getStatus("project", itemReferenceFiles)).thenReturn(statusMap);
+
+    // when
+    vcsStatusInjector.injectVcsStatusTreeElements(treeElements);
+
+    // then
+    verify(vcsStatusProvider).getStatus(anyString(), anyList());
+    verify(itemReference).setAttributes(argumentCaptor.capture());
+    assertEquals(argumentCaptor.getValue().get("vcs.status"), ADDED.toString());
+
+    verify(itemReference1).setAttributes(argumentCaptor.capture());
+    assertEquals(argumentCaptor.getValue().get("vcs.status"), MODIFIED.toString());
+    verify(folder, never()).setAttributes(anyMap());
+  }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+import org.eclipse.che.api.project.server.impl.ProjectServiceApi;
+import org.eclipse.che.api.project.server.impl.ProjectServiceApiFactory;
+import org.eclipse.che.api.project.server.type.BaseProjectType;
+import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.shared.dto.ProjectBootstrapDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link ProjectBootstrapService}. */
+@Listeners(MockitoTestNGListener.class)
+public class ProjectBootstrapServiceTest {
+
+  @Mock private ProjectServiceApiFactory projectServiceApiFactory;
+  @Mock private ProjectServiceApi projectServiceApi;
+  @Mock private ProjectTypeRegistry projectTypeRegistry;
+  @Mock private Request request;
+
+  private ProjectBootstrapService service;
+
+  @BeforeMethod
+  public void setUp() {
+    lenient().when(projectServiceApiFactory.create(any())).thenReturn(projectServiceApi);
+    lenient()
+        .when(projectTypeRegistry.getProjectTypes())
+        .thenReturn(singletonList(new BaseProjectType()));
+
+    service = new ProjectBootstrapService(projectServiceApiFactory, projectTypeRegistry);
+    service.uriInfo = mock(UriInfo.class);
+  }
+
+  @Test
+  public void shouldReturnProjectsAndProjectTypesTaggedWithEtag() throws Exception {
+    // given
+    when(projectServiceApi.getProjects()).thenReturn(projects(2));
+
+    // when
+    final Response response = service.getBootstrap(request);
+
+    // then
+    assertEquals(response.getStatus(), 200);
+    assertNotNull(response.getEntityTag());
+    final ProjectBootstrapDto bootstrap =
+        DtoFactory.getInstance()
+            .createDtoFromJson((String) response.getEntity(), ProjectBootstrapDto.class);
+    assertEquals(bootstrap.getProjects(), projects(2));
+    assertEquals(bootstrap.getProjectTypes().size(), 1);
+    assertEquals(bootstrap.getProjectTypes().get(0).getId(), BaseProjectType.ID);
+  }
+
+  @Test
+  public void shouldTagSameContentWithSameEtag() throws Exception {
+    // given
+    when(projectServiceApi.getProjects()).thenReturn(projects(2), projects(2), projects(3));
+
+    // when
+    final EntityTag first = service.getBootstrap(request).getEntityTag();
+    final EntityTag second = service.getBootstrap(request).getEntityTag();
+    final EntityTag changed = service.getBootstrap(request).getEntityTag();
+
+    // then
+    assertEquals(first, second);
+    assertNotEquals(first, changed);
+  }
+
+  @Test
+  public void shouldRespondNotModifiedWhenEtagMatches() throws Exception {
+    // given
+    when(projectServiceApi.getProjects()).thenReturn(projects(2));
+    final EntityTag entityTag = service.getBootstrap(request).getEntityTag();
+    when(request.evaluatePreconditions(eq(entityTag))).thenReturn(Response.notModified());
+
+    // when
+    final Response response = service.getBootstrap(request);
+
+    // then
+    assertEquals(response.getStatus(), 304);
+    assertEquals(response.getEntityTag(), entityTag);
+    assertNull(response.getEntity());
+  }
+
+  @Test
+  public void shouldServeAndRevalidateBootstrapOfFiftyProjects() throws Exception {
+    // given
+    when(projectServiceApi.getProjects()).thenReturn(projects(50));
+    final Response full = service.getBootstrap(request);
+    when(request.evaluatePreconditions(eq(full.getEntityTag()))).thenReturn(Response.notModified());
+
+    // when
+    final Response revalidated = service.getBootstrap(request);
+
+    // then
+    final ProjectBootstrapDto bootstrap =
+        DtoFactory.getInstance()
+            .createDtoFromJson((String) full.getEntity(), ProjectBootstrapDto.class);
+    assertEquals(bootstrap.getProjects().size(), 50);
+    assertEquals(revalidated.getStatus(), 304);
+  }
+
+  private static List<ProjectConfigDto> projects(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                newDto(ProjectConfigDto.class)
+                    .withName("project" + i)
+                    .withPath("/project" + i)
+                    .withType(BaseProjectType.ID))
+        .collect(toList());
+  }
+}
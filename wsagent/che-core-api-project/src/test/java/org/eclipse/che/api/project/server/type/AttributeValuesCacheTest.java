@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.type;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.notification.ProjectDeletedEvent;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class AttributeValuesCacheTest {
+
+  private static final String PROJECT = "/project";
+  private static final String ATTRIBUTE = "attribute";
+
+  @Mock private FileWatcherManager fileWatcherManager;
+  @Mock private EventService eventService;
+  @Mock private ValueProviderFactory factory;
+  @Mock private ValueProvider provider;
+
+  @Captor private ArgumentCaptor<PathMatcher> matcher;
+  @Captor private ArgumentCaptor<Consumer<String>> modify;
+  @Captor private ArgumentCaptor<EventSubscriber<ProjectDeletedEvent>> projectDeleted;
+
+  private AttributeValuesCache cache;
+
+  @BeforeMethod
+  public void setUp() {
+    ProjectTypeDef type =
+        new ProjectTypeDef("type", "type", true, false) {
+          {
+            addVariableDefinition(ATTRIBUTE, ATTRIBUTE, false, factory);
+          }
+        };
+    cache =
+        new AttributeValuesCache(
+            new ProjectTypeRegistry(singleton(type)), fileWatcherManager, eventService);
+  }
+
+  @Test
+  public void shouldReadValuesEveryTimeWhenProviderHasNoDependencies() throws Exception {
+    givenValues();
+    cache.startWatching();
+
+    assertEquals(cache.getValues(factory, PROJECT, ATTRIBUTE), singletonList("value"));
+    assertEquals(cache.getValues(factory, PROJECT, ATTRIBUTE), singletonList("value"));
+
+    verify(provider, times(2)).getValues(ATTRIBUTE);
+    verify(fileWatcherManager, never()).registerByMatcher(any(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldWatchFilesOfProviderDependencies() {
+    startWatching(singleton("pom.xml"));
+
+    assertTrue(matcher.getValue().matches(Paths.get("/projects/project/module/pom.xml")));
+    assertFalse(matcher.getValue().matches(Paths.get("/projects/project/pom.xml.orig")));
+  }
+
+  @Test
+  public void shouldReadValuesOnceUntilDependencyChanges() throws Exception {
+    givenValues();
+    startWatching(singleton("pom.xml"));
+
+    cache.getValues(factory, PROJECT, ATTRIBUTE);
+    cache.getValues(factory, PROJECT + "/", ATTRIBUTE);
+    modify.getValue().accept(PROJECT + "/src/Main.java");
+    cache.getValues(factory, PROJECT, ATTRIBUTE);
+    verify(provider).getValues(ATTRIBUTE);
+
+    modify.getValue().accept(PROJECT + "/module/pom.xml");
+    assertEquals(cache.getValues(factory, PROJECT, ATTRIBUTE), singletonList("value"));
+    verify(provider, times(2)).getValues(ATTRIBUTE);
+  }
+
+  @Test
+  public void shouldNotInvalidateValuesOfOtherProjects() throws Exception {
+    givenValues();
+    startWatching(singleton("pom.xml"));
+
+    cache.getValues(factory, PROJECT, ATTRIBUTE);
+    modify.getValue().accept("/project2/pom.xml");
+    cache.getValues(factory, PROJECT, ATTRIBUTE);
+
+    verify(provider).getValues(ATTRIBUTE);
+  }
+
+  @Test
+  public void shouldReadValuesAgainWhenProjectIsInvalidated() throws Exception {
+    givenValues();
+    when(factory.newInstance(PROJECT + "/module")).thenReturn(provider);
+    startWatching(singleton("pom.xml"));
+
+    cache.getValues(factory, PROJECT, ATTRIBUTE);
+    cache.getValues(factory, PROJECT + "/module", ATTRIBUTE);
+    cache.invalidate(PROJECT);
+    cache.getValues(factory, PROJECT, ATTRIBUTE);
+    cache.getValues(factory, PROJECT + "/module", ATTRIBUTE);
+
+    verify(provider, times(4)).getValues(ATTRIBUTE);
+  }
+
+  @Test
+  public void shouldDropValuesOfDeletedProject() throws Exception {
+    givenValues();
+    startWatching(singleton("pom.xml"));
+    verify(eventService).subscribe(projectDeleted.capture(), eq(ProjectDeletedEvent.class));
+
+    cache.getValues(factory, PROJECT, ATTRIBUTE);
+    projectDeleted.getValue().onEvent(new ProjectDeletedEvent(PROJECT));
+    cache.getValues(factory, PROJECT, ATTRIBUTE);
+
+    verify(provider, times(2)).getValues(ATTRIBUTE);
+  }
+
+  @Test
+  public void shouldNotCacheFailures() throws Exception {
+    when(factory.newInstance(PROJECT)).thenReturn(provider);
+    when(provider.getValues(ATTRIBUTE))
+        .thenThrow(new ValueStorageException("pom.xml does not exist."))
+        .thenReturn(singletonList("value"));
+    startWatching(singleton("pom.xml"));
+
+    try {
+      cache.getValues(factory, PROJECT, ATTRIBUTE);
+    } catch (ValueStorageException ignored) {
+    }
+
+    assertEquals(cache.getValues(factory, PROJECT, ATTRIBUTE), singletonList("value"));
+  }
+
+  private void givenValues() throws Exception {
+    when(factory.newInstance(PROJECT)).thenReturn(provider);
+    when(provider.getValues(ATTRIBUTE)).thenReturn(singletonList("value"));
+  }
+
+  private void startWatching(Set<String> dependencies) {
+    when(factory.getDependencies()).thenReturn(dependencies);
+    cache.startWatching();
+    verify(fileWatcherManager).registerByMatcher(matcher.capture(), any(), modify.capture(), any());
+  }
+}
@@ -18,9 +18,13 @@ public class Constants {
   @Deprecated public static final String TESTING_OUTPUT_CHANNEL_NAME = "testing:output";
 
   public static final String TESTING_RPC_METHOD_NAME = "testing/message";
+  /** Method which delivers several testing messages at once, in the order they were produced */
+  public static final String TESTING_RPC_BATCH_METHOD_NAME = "testing/messages";
   public static final String TESTING_RPC_TEST_DETECTION_NAME = "testing/testDetection";
 
   public static final String RUN_TESTS_METHOD = "testing/runTest";
+  /** Method which returns the names of the tests which would be run for a context */
+  public static final String FIND_TESTS_METHOD = "testing/findTests";
 
   public static final String NAME = "name";
   public static final String ATTRIBUTES = "attributes";
@@ -50,6 +50,13 @@ public interface TestExecutionContext {
 
   TestExecutionContext withDebugModeEnable(Boolean enable);
 
+  void setRunFailedFirst(Boolean runFailedFirst);
+
+  /** returns {@code true} if the test classes which failed in the previous run should run first */
+  Boolean isRunFailedFirst();
+
+  TestExecutionContext withRunFailedFirst(Boolean runFailedFirst);
+
   /**
    * returns a list with paths of the test files relative to the project. The list should be
    * initialized when value of {@link ContextType} is {@link ContextType.SET}
@@ -11,9 +11,12 @@
  */
 package org.eclipse.che.api.testing.server;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
@@ -33,18 +36,24 @@ import org.eclipse.che.dto.server.DtoFactory;
 /** Test JSON RPC API. */
 @Singleton
 public class TestingRPCService {
+  /** Path of the file of the test output over the limit, relative to the tested project. */
+  private static final String TEST_OUTPUT_FILE = "/.che/test-output.log";
 
   private final RequestTransmitter requestTransmitter;
   private final TestFrameworkRegistry frameworkRegistry;
+  private final String workspacePath;
 
   private String endpoint;
   private TestMessagesOutputTransmitter outputTransmitter;
 
   @Inject
   public TestingRPCService(
-      RequestTransmitter requestTransmitter, TestFrameworkRegistry frameworkRegistry) {
+      RequestTransmitter requestTransmitter,
+      TestFrameworkRegistry frameworkRegistry,
+      @Named("che.user.workspaces.storage") String workspacePath) {
     this.requestTransmitter = requestTransmitter;
     this.frameworkRegistry = frameworkRegistry;
+    this.workspacePath = workspacePath;
   }
 
   @Inject
@@ -67,6 +76,16 @@ public class TestingRPCService {
         .withBiFunction(this::handleTestDetection);
   }
 
+  @Inject
+  private void configureFindTestsHandler(RequestHandlerConfigurator configurator) {
+    configurator
+        .newConfiguration()
+        .methodName(Constants.FIND_TESTS_METHOD)
+        .paramsAsDto(TestExecutionContext.class)
+        .resultAsListOfString()
+        .withFunction(this::findTests);
+  }
+
   private TestLaunchResult runTests(String endpoint, TestExecutionContext context) {
     TestLaunchResult testLaunchResult = DtoFactory.newDto(TestLaunchResult.class);
     this.endpoint = endpoint;
@@ -82,8 +101,14 @@ public class TestingRPCService {
       } catch (Exception e) {
         throw new JsonRpcException(-27104, e.getMessage());
       }
+      String outputLocation = context.getProjectPath() + TEST_OUTPUT_FILE;
       outputTransmitter =
-          new TestMessagesOutputTransmitter(processHandler, requestTransmitter, endpoint);
+          new TestMessagesOutputTransmitter(
+              processHandler,
+              requestTransmitter,
+              endpoint,
+              Paths.get(workspacePath, outputLocation),
+              outputLocation);
       if (context.isDebugModeEnable()) {
         testLaunchResult.withDebugPort(testRunner.getDebugPort());
       }
@@ -94,6 +119,18 @@ public class TestingRPCService {
     }
   }
 
+  private List<String> findTests(TestExecutionContext context) {
+    TestRunner testRunner = frameworkRegistry.getTestRunner(context.getFrameworkName());
+    if (testRunner == null) {
+      return Collections.emptyList();
+    }
+    try {
+      return testRunner.findTests(context);
+    } catch (RuntimeException e) {
+      throw new JsonRpcException(-27104, e.getMessage());
+    }
+  }
+
   private TestDetectionResult handleTestDetection(String endpointId, TestDetectionContext request) {
     TestDetectionResult result = DtoFactory.newDto(TestDetectionResult.class);
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.testing.server.framework;
+
+/**
+ * Collapses repeated frames of stack traces, e.g. the frames of a recursion which ended with a
+ * {@code StackOverflowError}, so such traces do not flood the client.
+ *
+ * <p>A group of up to {@value #MAX_GROUP_SIZE} lines which is repeated at least {@value
+ * #MIN_REPETITIONS} times in a row is kept once and followed by a line which tells how many times
+ * it was repeated.
+ */
+public final class StackTraceCompressor {
+  static final int MAX_GROUP_SIZE = 16;
+  static final int MIN_REPETITIONS = 3;
+
+  private StackTraceCompressor() {}
+
+  /** Returns the stack trace with repeated groups of frames collapsed. */
+  public static String compress(String stackTrace) {
+    if (stackTrace == null || stackTrace.isEmpty()) {
+      return stackTrace;
+    }
+    String[] lines = stackTrace.split("\n", -1);
+    StringBuilder result = new StringBuilder(stackTrace.length());
+    int i = 0;
+    while (i < lines.length) {
+      int bestSize = 0;
+      int bestRepetitions = 0;
+      int maxSize = Math.min(MAX_GROUP_SIZE, (lines.length - i) / MIN_REPETITIONS);
+      for (int size = 1; size <= maxSize; size++) {
+        int repetitions = countRepetitions(lines, i, size);
+        if (repetitions >= MIN_REPETITIONS && repetitions * size > bestRepetitions * bestSize) {
+          bestSize = size;
+          bestRepetitions = repetitions;
+        }
+      }
+
+      if (bestSize == 0) {
+        appendLine(result, lines[i++]);
+        continue;
+      }
+      for (int j = i; j < i + bestSize; j++) {
+        appendLine(result, lines[j]);
+      }
+      appendLine(
+          result,
+          "\t... "
+              + (bestSize == 1 ? "1 line" : bestSize + " lines")
+              + " repeated "
+              + (bestRepetitions - 1)
+              + " more times");
+      i += bestSize * bestRepetitions;
+    }
+    // line separators are appended before lines, the first one is redundant
+    return result.substring(1);
+  }
+
+  private static int countRepetitions(String[] lines, int start, int size) {
+    int repetitions = 1;
+    int next = start + size;
+    while (next + size <= lines.length && groupEquals(lines, start, next, size)) {
+      repetitions++;
+      next += size;
+    }
+    return repetitions;
+  }
+
+  private static boolean groupEquals(String[] lines, int first, int second, int size) {
+    for (int i = 0; i < size; i++) {
+      if (!lines[first + i].equals(lines[second + i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void appendLine(StringBuilder result, String line) {
+    result.append('\n').append(line);
+  }
+}
@@ -11,28 +11,112 @@
  */
 package org.eclipse.che.api.testing.server.framework;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.testing.server.messages.ServerTestingMessage;
 import org.eclipse.che.api.testing.server.messages.UncapturedOutputMessage;
 import org.eclipse.che.api.testing.shared.Constants;
+import org.eclipse.che.api.testing.shared.messages.TestingMessageNames;
 import org.eclipse.che.commons.lang.execution.ProcessEvent;
 import org.eclipse.che.commons.lang.execution.ProcessHandler;
 import org.eclipse.che.commons.lang.execution.ProcessListener;
 import org.eclipse.che.commons.lang.execution.ProcessOutputType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-/** Process and send testing messages to the client */
+/**
+ * Process and send testing messages to the client.
+ *
+ * <p>Messages are sent in batches, see {@link TestingMessageBatcher}. Repeated frames of the stack
+ * traces of failed tests are collapsed. Uncaptured output which exceeds the limit is not sent, it
+ * is written to a file of the workspace, the client is sent the notice with the path of the file
+ * instead. The file of the previous run is deleted when the next run starts.
+ */
 public class TestMessagesOutputTransmitter {
-
-  private final RequestTransmitter requestTransmitter;
-  private final String endpoint;
+  private static final Logger LOG = LoggerFactory.getLogger(TestMessagesOutputTransmitter.class);
+
+  private static final long BATCH_WINDOW_MILLIS = 100;
+  private static final int MAX_BATCH_MESSAGES = 500;
+  private static final int MAX_BATCH_CHARS = 256 * 1024;
+  private static final long UNCAPTURED_OUTPUT_LIMIT = 1024 * 1024;
+  private static final String STACK_TRACE_ATTRIBUTE = "details";
+
+  private static final ScheduledExecutorService SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "TestingMessagesSender");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final TestingMessageBatcher batcher;
   private final LineSplitter lineSplitter;
+  private final long uncapturedOutputLimit;
+  private final Path spillFile;
+  private final String spillFileLocation;
   private ProcessHandler processHandler;
 
+  private long uncapturedOutputLength;
+  private Writer spillWriter;
+  private boolean spillFailed;
+
+  /**
+   * Creates transmitter which sends messages to the client.
+   *
+   * @param spillFile file for the uncaptured output over the limit
+   * @param spillFileLocation path of the file in the workspace which is reported to the client
+   */
   public TestMessagesOutputTransmitter(
-      ProcessHandler processHandler, RequestTransmitter requestTransmitter, String endpoint) {
+      ProcessHandler processHandler,
+      RequestTransmitter requestTransmitter,
+      String endpoint,
+      Path spillFile,
+      String spillFileLocation) {
+    this(
+        processHandler,
+        new TestingMessageBatcher(
+            messages -> send(requestTransmitter, endpoint, messages),
+            SCHEDULER,
+            BATCH_WINDOW_MILLIS,
+            MAX_BATCH_MESSAGES,
+            MAX_BATCH_CHARS),
+        UNCAPTURED_OUTPUT_LIMIT,
+        spillFile,
+        spillFileLocation);
+  }
+
+  /**
+   * Creates transmitter which passes messages to the given batcher.
+   *
+   * @param uncapturedOutputLimit number of characters of uncaptured output sent to the client
+   * @param spillFile file for the rest of uncaptured output
+   * @param spillFileLocation path of the file in the workspace which is reported to the client
+   */
+  TestMessagesOutputTransmitter(
+      ProcessHandler processHandler,
+      TestingMessageBatcher batcher,
+      long uncapturedOutputLimit,
+      Path spillFile,
+      String spillFileLocation) {
     this.processHandler = processHandler;
-    this.requestTransmitter = requestTransmitter;
-    this.endpoint = endpoint;
+    this.batcher = batcher;
+    this.uncapturedOutputLimit = uncapturedOutputLimit;
+    this.spillFile = spillFile;
+    this.spillFileLocation = spillFileLocation;
+
+    try {
+      Files.deleteIfExists(spillFile);
+    } catch (IOException e) {
+      LOG.warn("Can't delete test output of the previous run. {}", e.getMessage());
+    }
 
     lineSplitter = new LineSplitter(this::processLine);
 
@@ -62,31 +146,86 @@ public class TestMessagesOutputTransmitter {
     processHandler.startNotify();
   }
 
+  private static void send(
+      RequestTransmitter requestTransmitter, String endpoint, List<String> messages) {
+    requestTransmitter
+        .newRequest()
+        .endpointId(endpoint)
+        .methodName(Constants.TESTING_RPC_BATCH_METHOD_NAME)
+        .paramsAsListOfString(messages)
+        .sendAndSkipResult();
+  }
+
   private void processLine(String line, ProcessOutputType outputType) {
     if (!processTestingMessage(line)) {
       sendOutput(line, outputType);
     }
   }
 
-  private void sendOutput(String text, ProcessOutputType outputType) {
-    UncapturedOutputMessage message = new UncapturedOutputMessage(text, outputType);
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpoint)
-        .methodName(Constants.TESTING_RPC_METHOD_NAME)
-        .paramsAsString(message.asJsonString())
-        .sendAndSkipResult();
+  private synchronized void sendOutput(String text, ProcessOutputType outputType) {
+    if (uncapturedOutputLength >= uncapturedOutputLimit) {
+      spill(text);
+      return;
+    }
+    uncapturedOutputLength += text.length();
+    batcher.add(new UncapturedOutputMessage(text, outputType).asJsonString());
+    if (uncapturedOutputLength >= uncapturedOutputLimit) {
+      startSpilling(outputType);
+    }
+  }
+
+  private void startSpilling(ProcessOutputType outputType) {
+    String notice;
+    try {
+      Files.createDirectories(spillFile.getParent());
+      spillWriter = Files.newBufferedWriter(spillFile, UTF_8);
+      notice = "the rest of it is written to " + spillFileLocation;
+    } catch (IOException e) {
+      LOG.error("Can't create file for test output. " + e.getMessage(), e);
+      spillFailed = true;
+      notice = "the rest of it is skipped";
+    }
+    String text =
+        "\nTest output exceeds " + uncapturedOutputLimit + " characters, " + notice + "\n";
+    batcher.add(new UncapturedOutputMessage(text, outputType).asJsonString());
+  }
+
+  private void spill(String text) {
+    if (spillFailed) {
+      return;
+    }
+    try {
+      spillWriter.write(text);
+    } catch (IOException e) {
+      LOG.error("Can't write test output. " + e.getMessage(), e);
+      spillFailed = true;
+    }
+  }
+
+  private synchronized void closeSpillWriter() {
+    if (spillWriter != null) {
+      try {
+        spillWriter.close();
+      } catch (IOException e) {
+        LOG.error("Can't close file of test output. " + e.getMessage(), e);
+      }
+      spillWriter = null;
+      spillFailed = true;
+    }
   }
 
   private boolean processTestingMessage(String line) {
     ServerTestingMessage message = ServerTestingMessage.parse(line.trim());
     if (message != null) {
-      requestTransmitter
-          .newRequest()
-          .endpointId(endpoint)
-          .methodName(Constants.TESTING_RPC_METHOD_NAME)
-          .paramsAsString(message.asJsonString())
-          .sendAndSkipResult();
+      if (TestingMessageNames.TEST_FAILED.equals(message.getName())) {
+        String stackTrace = message.getAttributes().get(STACK_TRACE_ATTRIBUTE);
+        if (stackTrace != null) {
+          message =
+              message.withAttribute(
+                  STACK_TRACE_ATTRIBUTE, StackTraceCompressor.compress(stackTrace));
+        }
+      }
+      batcher.add(message.asJsonString());
       return true;
     }
     return false;
@@ -94,12 +233,9 @@ public class TestMessagesOutputTransmitter {
 
   private void processTestingStopped() {
     lineSplitter.flush();
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpoint)
-        .methodName(Constants.TESTING_RPC_METHOD_NAME)
-        .paramsAsString(ServerTestingMessage.FINISH_TESTING.asJsonString())
-        .sendAndSkipResult();
+    batcher.add(ServerTestingMessage.FINISH_TESTING.asJsonString());
+    batcher.flush();
+    closeSpillWriter();
   }
 
   private void process(String text, ProcessOutputType outputType) {
@@ -107,12 +243,7 @@ public class TestMessagesOutputTransmitter {
   }
 
   private void processStartTesting() {
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpoint)
-        .methodName(Constants.TESTING_RPC_METHOD_NAME)
-        .paramsAsString(ServerTestingMessage.TESTING_STARTED.asJsonString())
-        .sendAndSkipResult();
+    batcher.add(ServerTestingMessage.TESTING_STARTED.asJsonString());
   }
 
   public void stop() {
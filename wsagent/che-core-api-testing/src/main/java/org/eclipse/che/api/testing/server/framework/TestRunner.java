@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.api.testing.server.framework;
 
+import java.util.Collections;
 import java.util.List;
 import javax.validation.constraints.NotNull;
 import org.eclipse.che.api.testing.shared.TestDetectionContext;
@@ -55,4 +56,15 @@ public interface TestRunner {
    */
   @NotNull
   List<TestPosition> detectTests(TestDetectionContext context);
+
+  /**
+   * Finds the tests which would be run for the given context.
+   *
+   * @param context information about test execution
+   * @return names of the tests, empty list if the framework can't tell them before running
+   */
+  @NotNull
+  default List<String> findTests(TestExecutionContext context) {
+    return Collections.emptyList();
+  }
 }
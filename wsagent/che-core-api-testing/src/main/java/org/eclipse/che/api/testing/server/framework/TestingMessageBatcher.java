@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.testing.server.framework;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+/**
+ * Collects testing messages and passes them to the sender in batches, keeping the order in which
+ * the messages were added.
+ *
+ * <p>A batch is sent when it reaches the maximum number of messages or characters, or when the
+ * time window passed since the first message of the batch was added, whatever comes first.
+ */
+public class TestingMessageBatcher {
+
+  private final Consumer<List<String>> sender;
+  private final ScheduledExecutorService scheduler;
+  private final long windowMillis;
+  private final int maxMessages;
+  private final int maxChars;
+
+  private List<String> batch = new ArrayList<>();
+  private int batchChars;
+  private ScheduledFuture<?> scheduledFlush;
+
+  /**
+   * Creates a batcher.
+   *
+   * @param sender sends a batch of JSON encoded messages
+   * @param scheduler scheduler of delayed sending
+   * @param windowMillis maximum time in milliseconds a message waits in a batch
+   * @param maxMessages maximum number of messages in a batch
+   * @param maxChars number of characters which makes a batch sent immediately
+   */
+  public TestingMessageBatcher(
+      Consumer<List<String>> sender,
+      ScheduledExecutorService scheduler,
+      long windowMillis,
+      int maxMessages,
+      int maxChars) {
+    this.sender = sender;
+    this.scheduler = scheduler;
+    this.windowMillis = windowMillis;
+    this.maxMessages = maxMessages;
+    this.maxChars = maxChars;
+  }
+
+  /** Adds the JSON encoded message to the current batch. */
+  public synchronized void add(String message) {
+    batch.add(message);
+    batchChars += message.length();
+    if (batch.size() >= maxMessages || batchChars >= maxChars) {
+      flush();
+    } else if (scheduledFlush == null) {
+      scheduledFlush = scheduler.schedule(this::flush, windowMillis, MILLISECONDS);
+    }
+  }
+
+  /** Sends the current batch if it is not empty. */
+  public synchronized void flush() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    List<String> messages = batch;
+    batch = new ArrayList<>();
+    batchChars = 0;
+    sender.accept(messages);
+  }
+}
@@ -159,6 +159,18 @@ public class ServerTestingMessage implements TestingMessage {
     return GSON.toJson(object);
   }
 
+  /**
+   * Returns a copy of this message with the given attribute value.
+   *
+   * @param name name of the attribute
+   * @param value new value of the attribute
+   */
+  public ServerTestingMessage withAttribute(String name, String value) {
+    ServerTestingMessage copy = new ServerTestingMessage(messageName, attributes);
+    copy.attributes.put(name, value);
+    return copy;
+  }
+
   @Override
   public String getName() {
     return messageName;
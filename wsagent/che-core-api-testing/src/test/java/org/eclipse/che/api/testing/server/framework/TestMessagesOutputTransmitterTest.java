@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.testing.server.framework;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.commons.lang.execution.ProcessOutputType.STDOUT;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.execution.ProcessEvent;
+import org.eclipse.che.commons.lang.execution.ProcessHandler;
+import org.eclipse.che.commons.lang.execution.ProcessListener;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link TestMessagesOutputTransmitter}. */
+public class TestMessagesOutputTransmitterTest {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(TestMessagesOutputTransmitterTest.class);
+  private static final String SPILL_FILE_LOCATION = "/project/.che/test-output.log";
+
+  private ScheduledExecutorService scheduler;
+  private ProcessHandler processHandler;
+  private List<List<String>> batches;
+  private Path spillDirectory;
+  private Path spillFile;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+    processHandler = mock(ProcessHandler.class);
+    batches = new CopyOnWriteArrayList<>();
+    spillDirectory = Files.createTempDirectory("test-output");
+    spillFile = spillDirectory.resolve(".che/test-output.log");
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    scheduler.shutdownNow();
+    IoUtil.deleteRecursive(spillDirectory.toFile());
+  }
+
+  @Test
+  public void shouldSendMessagesInBatchesKeepingOrder() {
+    ProcessListener listener = startTransmitter(batches::add, 100_000, 3, Long.MAX_VALUE);
+
+    for (int i = 0; i < 5; i++) {
+      text(listener, "line " + i + "\n");
+    }
+    listener.onProcessTerminated(new ProcessEvent(processHandler, 0));
+
+    assertEquals(batches.stream().map(List::size).collect(toList()), asList(3, 3, 1));
+    List<String> names = new ArrayList<>();
+    List<String> output = new ArrayList<>();
+    for (List<String> batch : batches) {
+      for (String message : batch) {
+        JsonObject json = parse(message);
+        names.add(json.get("name").getAsString());
+        if (json.has("attributes")) {
+          output.add(attribute(json, "output"));
+        }
+      }
+    }
+    assertEquals(names.get(0), "testingStarted");
+    assertEquals(names.get(names.size() - 1), "finishTesting");
+    assertEquals(output, asList("line 0\n", "line 1\n", "line 2\n", "line 3\n", "line 4\n"));
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldSendBatchWhenTimeWindowPasses() throws Exception {
+    CountDownLatch sent = new CountDownLatch(1);
+    startTransmitter(
+        batch -> {
+          batches.add(batch);
+          sent.countDown();
+        },
+        50,
+        100,
+        Long.MAX_VALUE);
+
+    sent.await();
+
+    assertEquals(batches.size(), 1);
+    assertEquals(parse(batches.get(0).get(0)).get("name").getAsString(), "testingStarted");
+  }
+
+  @Test
+  public void shouldCollapseRepeatedStackTraceFrames() {
+    ProcessListener listener = startTransmitter(batches::add, 100_000, 100, Long.MAX_VALUE);
+    StringBuilder details = new StringBuilder("java.lang.StackOverflowError");
+    for (int i = 0; i < 1000; i++) {
+      details.append("!n\\tat Foo.bar(Foo.java:10)!n\\tat Foo.baz(Foo.java:20)");
+    }
+    details.append("!n\\tat FooTest.test(FooTest.java:5)");
+
+    text(
+        listener,
+        "@@<{\"name\":\"testFailed\",\"attributes\":{\"name\":\"test\",\"details\":\""
+            + details
+            + "\"}}>\n");
+    listener.onProcessTerminated(new ProcessEvent(processHandler, 0));
+
+    assertEquals(
+        attribute(parse(batches.get(0).get(1)), "details"),
+        "java.lang.StackOverflowError\n"
+            + "\tat Foo.bar(Foo.java:10)\n"
+            + "\tat Foo.baz(Foo.java:20)\n"
+            + "\t... 2 lines repeated 999 more times\n"
+            + "\tat FooTest.test(FooTest.java:5)");
+  }
+
+  @Test
+  public void shouldWriteUncapturedOutputOverLimitToFile() throws Exception {
+    ProcessListener listener = startTransmitter(batches::add, 100_000, 100, 100);
+    String line = String.join("", Collections.nCopies(49, "x")) + "\n";
+
+    for (int i = 0; i < 10; i++) {
+      text(listener, line);
+    }
+    listener.onProcessTerminated(new ProcessEvent(processHandler, 0));
+
+    List<String> batch = batches.get(0);
+    // started, two lines within the limit, notice, finished
+    assertEquals(batch.size(), 5);
+    String notice = attribute(parse(batch.get(3)), "output");
+    assertTrue(notice.contains("written to " + SPILL_FILE_LOCATION + "\n"), notice);
+    assertEquals(new String(Files.readAllBytes(spillFile), UTF_8).length(), 8 * 50);
+  }
+
+  @Test
+  public void shouldDeleteUncapturedOutputOfPreviousRun() throws Exception {
+    Files.createDirectories(spillFile.getParent());
+    Files.write(spillFile, "previous run".getBytes(UTF_8));
+
+    ProcessListener listener = startTransmitter(batches::add, 100_000, 100, 100);
+    text(listener, "line\n");
+    listener.onProcessTerminated(new ProcessEvent(processHandler, 0));
+
+    assertFalse(Files.exists(spillFile));
+  }
+
+  @Test(timeOut = 120_000)
+  public void shouldStreamLargeSuite() {
+    List<String> suite = generateSuite(20_000);
+
+    long unbatched = runSuite(suite, 1);
+    int unbatchedFrames = batches.size();
+    batches.clear();
+    long batched = runSuite(suite, 500);
+    int batchedFrames = batches.size();
+
+    LOG.info(
+        "Suite of {} output lines streamed in {}ms over {} frames one message per frame, "
+            + "in {}ms over {} frames with batching",
+        suite.size(),
+        NANOSECONDS.toMillis(unbatched),
+        unbatchedFrames,
+        NANOSECONDS.toMillis(batched),
+        batchedFrames);
+    assertTrue(batchedFrames * 100 < unbatchedFrames);
+  }
+
+  private long runSuite(List<String> suite, int maxMessages) {
+    ProcessListener listener =
+        startTransmitter(
+            batch -> {
+              // client parses each message of the frame, every frame has a fixed overhead
+              batch.forEach(TestMessagesOutputTransmitterTest::parse);
+              LockSupport.parkNanos(10_000);
+              batches.add(batch);
+            },
+            100,
+            maxMessages,
+            Long.MAX_VALUE);
+
+    long start = System.nanoTime();
+    for (String line : suite) {
+      text(listener, line);
+    }
+    listener.onProcessTerminated(new ProcessEvent(processHandler, 0));
+    return System.nanoTime() - start;
+  }
+
+  private static List<String> generateSuite(int tests) {
+    List<String> suite = new ArrayList<>();
+    for (int i = 0; i < tests; i++) {
+      String name = "\"name\":\"org.example.GeneratedTest.test" + i + "\"";
+      suite.add("@@<{\"name\":\"testStarted\",\"attributes\":{" + name + "}}>\n");
+      for (int j = 0; j < 3; j++) {
+        suite.add("[main] DEBUG org.example.Service - processing request " + j + " of test\n");
+      }
+      if (i % 200 == 0) {
+        StringBuilder details = new StringBuilder("java.lang.StackOverflowError");
+        for (int frame = 0; frame < 1024; frame++) {
+          details.append("!n\\tat org.example.Service.handle(Service.java:42)");
+        }
+        suite.add(
+            "@@<{\"name\":\"testFailed\",\"attributes\":{"
+                + name
+                + ",\"details\":\""
+                + details
+                + "\"}}>\n");
+      }
+      suite.add("@@<{\"name\":\"testFinished\",\"attributes\":{" + name + "}}>\n");
+    }
+    return suite;
+  }
+
+  private ProcessListener startTransmitter(
+      Consumer<List<String>> sender,
+      long windowMillis,
+      int maxMessages,
+      long uncapturedOutputLimit) {
+    TestingMessageBatcher batcher =
+        new TestingMessageBatcher(sender, scheduler, windowMillis, maxMessages, 256 * 1024);
+    ProcessHandler handler = mock(ProcessHandler.class);
+    new TestMessagesOutputTransmitter(
+        handler, batcher, uncapturedOutputLimit, spillFile, SPILL_FILE_LOCATION);
+
+    ArgumentCaptor<ProcessListener> captor = ArgumentCaptor.forClass(ProcessListener.class);
+    verify(handler).addProcessListener(captor.capture());
+    ProcessListener listener = captor.getValue();
+    listener.onStart(new ProcessEvent(handler));
+    return listener;
+  }
+
+  private void text(ProcessListener listener, String text) {
+    listener.onText(new ProcessEvent(processHandler, text), STDOUT);
+  }
+
+  private static JsonObject parse(String message) {
+    return new JsonParser().parse(message).getAsJsonObject();
+  }
+
+  private static String attribute(JsonObject message, String name) {
+    return message.getAsJsonObject("attributes").get(name).getAsString();
+  }
+}
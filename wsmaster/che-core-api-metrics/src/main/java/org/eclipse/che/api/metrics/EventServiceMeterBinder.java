@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+
+/** Provides metrics of asynchronous events delivery of {@link EventService}. */
+@Singleton
+public class EventServiceMeterBinder implements MeterBinder {
+
+  private final EventService eventService;
+
+  @Inject
+  public EventServiceMeterBinder(EventService eventService) {
+    this.eventService = eventService;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("che.event.async.pending", eventService::getPendingAsyncEvents)
+        .tags("area", "event")
+        .description("The number of events waiting for asynchronous delivery")
+        .register(registry);
+    FunctionCounter.builder(
+            "che.event.async.overflow.total", eventService, EventService::getAsyncOverflowCount)
+        .tags("area", "event")
+        .description(
+            "The count of events which publishers had to wait for because the queue of"
+                + " asynchronous delivery was full")
+        .register(registry);
+  }
+}
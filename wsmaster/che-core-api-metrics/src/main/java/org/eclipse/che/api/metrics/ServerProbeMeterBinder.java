@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.workspaceMetric;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
+
+/** Provides the latency histograms of the checks of the workspace servers probes. */
+@Singleton
+public class ServerProbeMeterBinder implements MeterBinder {
+
+  private final ProbeScheduler probeScheduler;
+
+  @Inject
+  public ServerProbeMeterBinder(ProbeScheduler probeScheduler) {
+    this.probeScheduler = probeScheduler;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    // server names are bounded by the servers of the workspaces, so the timers are never evicted
+    Map<String, ServerTimers> timers = new ConcurrentHashMap<>();
+    probeScheduler.addLatencyListener(
+        (serverName, latencyNanos, success) -> {
+          ServerTimers serverTimers =
+              timers.computeIfAbsent(serverName, name -> new ServerTimers(registry, name));
+          (success ? serverTimers.ok : serverTimers.fail)
+              .record(latencyNanos, TimeUnit.NANOSECONDS);
+        });
+  }
+
+  /** Latency timers of the successful and failed checks of a single server. */
+  private static class ServerTimers {
+    private final Timer ok;
+    private final Timer fail;
+
+    private ServerTimers(MeterRegistry registry, String serverName) {
+      this.ok = register(registry, serverName, "ok");
+      this.fail = register(registry, serverName, "fail");
+    }
+
+    private static Timer register(MeterRegistry registry, String serverName, String result) {
+      return Timer.builder(workspaceMetric("probe.latency"))
+          .tags(withStandardTags("server", serverName, "result", result))
+          .description("The latency of the checks of the workspace servers probes")
+          .publishPercentileHistogram()
+          .register(registry);
+    }
+  }
+}
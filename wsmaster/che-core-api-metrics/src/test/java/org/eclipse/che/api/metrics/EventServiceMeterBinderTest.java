@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.che.api.core.notification.EventService;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class EventServiceMeterBinderTest {
+
+  private EventService eventService;
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setup() {
+    registry = new SimpleMeterRegistry();
+    eventService = mock(EventService.class);
+
+    new EventServiceMeterBinder(eventService).bindTo(registry);
+  }
+
+  @Test
+  public void shouldReportPendingAsyncEvents() {
+    when(eventService.getPendingAsyncEvents()).thenReturn(42);
+
+    assertEquals(registry.find("che.event.async.pending").gauge().value(), 42.0);
+  }
+
+  @Test
+  public void shouldReportAsyncOverflows() {
+    when(eventService.getAsyncOverflowCount()).thenReturn(7L);
+
+    assertEquals(registry.find("che.event.async.overflow.total").functionCounter().count(), 7.0);
+  }
+}
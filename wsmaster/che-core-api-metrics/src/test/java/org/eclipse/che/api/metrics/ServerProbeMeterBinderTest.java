@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.che.api.workspace.server.hc.probe.ProbeLatencyListener;
+import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ServerProbeMeterBinderTest {
+
+  private MeterRegistry registry;
+  private ProbeLatencyListener listener;
+
+  @BeforeMethod
+  public void setup() {
+    registry = new SimpleMeterRegistry();
+    ProbeScheduler probeScheduler = mock(ProbeScheduler.class);
+
+    new ServerProbeMeterBinder(probeScheduler).bindTo(registry);
+
+    ArgumentCaptor<ProbeLatencyListener> captor =
+        ArgumentCaptor.forClass(ProbeLatencyListener.class);
+    verify(probeScheduler).addLatencyListener(captor.capture());
+    listener = captor.getValue();
+  }
+
+  @Test
+  public void shouldRecordLatencyPerServerAndResult() {
+    listener.onProbeChecked("wsagent/http", MILLISECONDS.toNanos(10), true);
+    listener.onProbeChecked("wsagent/http", MILLISECONDS.toNanos(30), true);
+    listener.onProbeChecked("wsagent/http", MILLISECONDS.toNanos(3000), false);
+
+    Timer ok =
+        registry
+            .find("che.workspace.probe.latency")
+            .tags("server", "wsagent/http", "result", "ok")
+            .timer();
+    Timer fail =
+        registry
+            .find("che.workspace.probe.latency")
+            .tags("server", "wsagent/http", "result", "fail")
+            .timer();
+    assertEquals(ok.count(), 2);
+    assertEquals(ok.totalTime(MILLISECONDS), 40.0);
+    assertEquals(fail.count(), 1);
+    assertEquals(fail.max(NANOSECONDS), (double) MILLISECONDS.toNanos(3000));
+  }
+}
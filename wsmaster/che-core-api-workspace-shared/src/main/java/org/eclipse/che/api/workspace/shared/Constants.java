@@ -140,6 +140,12 @@ public final class Constants {
 
   public static final String RUNTIME_LOG_METHOD = "runtime/log";
 
+  /**
+   * JSON RPC method for listening to runtime logs coalesced into batches, recent logs of the
+   * runtime are sent to the client right after the subscription.
+   */
+  public static final String RUNTIME_LOGS_METHOD = "runtime/logs";
+
   /**
    * JSON RPC methods for listening to machine logs.
    *
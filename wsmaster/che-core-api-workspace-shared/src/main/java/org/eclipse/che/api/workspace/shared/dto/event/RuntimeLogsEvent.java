@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto.event;
+
+import java.util.List;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Defines event format for the batch of runtime logs.
+ *
+ * @see RuntimeLogEvent
+ */
+@DTO
+public interface RuntimeLogsEvent {
+
+  /** Returns runtime identity. */
+  RuntimeIdentityDto getRuntimeId();
+
+  void setRuntimeId(RuntimeIdentityDto runtimeId);
+
+  RuntimeLogsEvent withRuntimeId(RuntimeIdentityDto runtimeId);
+
+  /** Returns the logs of the runtime in the order they were produced. */
+  List<RuntimeLogEvent> getLogs();
+
+  void setLogs(List<RuntimeLogEvent> logs);
+
+  RuntimeLogsEvent withLogs(List<RuntimeLogEvent> logs);
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogsEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+/**
+ * Coalesces {@link RuntimeLogEvent runtime log events}, which are published by infrastructures one
+ * per line, into {@link RuntimeLogsEvent batches}.
+ *
+ * <p>Lines are buffered per machine of a runtime. A batch is published as soon as it reaches the
+ * configured size or when the flush period elapses, whichever happens first, so a chatty process
+ * produces a few batches per second instead of a notification per line, while a quiet one still
+ * gets its output delivered with a small delay.
+ *
+ * <p>The pending lines of a runtime are published when the workspace is stopped, lines which come
+ * after that are dropped.
+ */
+@Singleton
+public class RuntimeLogsCoalescer {
+
+  private final EventService eventService;
+  private final WorkspaceRuntimes runtimes;
+  private final int batchSize;
+  private final long flushPeriodMs;
+  private final ConcurrentMap<String, RuntimeLogs> logs = new ConcurrentHashMap<>();
+
+  private ScheduledExecutorService scheduler;
+
+  @Inject
+  public RuntimeLogsCoalescer(
+      EventService eventService,
+      WorkspaceRuntimes runtimes,
+      @Named("che.workspace.runtime_logs.batch_size") int batchSize,
+      @Named("che.workspace.runtime_logs.flush_period_ms") long flushPeriodMs) {
+    this.eventService = eventService;
+    this.runtimes = runtimes;
+    this.batchSize = batchSize;
+    this.flushPeriodMs = flushPeriodMs;
+  }
+
+  @PostConstruct
+  void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("RuntimeLogsCoalescer-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    scheduler.scheduleWithFixedDelay(this::flush, flushPeriodMs, flushPeriodMs, MILLISECONDS);
+    eventService.subscribe(this::onLog, RuntimeLogEvent.class);
+    eventService.subscribe(
+        event -> {
+          if (event.getStatus() == WorkspaceStatus.STOPPED) {
+            final RuntimeLogs removed = logs.remove(event.getWorkspaceId());
+            if (removed != null) {
+              removed.flush();
+            }
+          }
+        },
+        WorkspaceStatusEvent.class);
+  }
+
+  @PreDestroy
+  void stop() {
+    scheduler.shutdownNow();
+    flush();
+  }
+
+  /** Publishes all the buffered lines. */
+  void flush() {
+    for (RuntimeLogs runtimeLogs : logs.values()) {
+      runtimeLogs.flush();
+    }
+  }
+
+  private void onLog(RuntimeLogEvent event) {
+    final String workspaceId = event.getRuntimeId().getWorkspaceId();
+    RuntimeLogs runtimeLogs = logs.get(workspaceId);
+    if (runtimeLogs == null) {
+      if (runtimes.getStatus(workspaceId) == WorkspaceStatus.STOPPED) {
+        // late line of the runtime which is already stopped
+        return;
+      }
+      runtimeLogs = logs.computeIfAbsent(workspaceId, id -> new RuntimeLogs());
+      // the runtime may be stopped and its logs removed right before they were created
+      if (runtimes.getStatus(workspaceId) == WorkspaceStatus.STOPPED) {
+        logs.remove(workspaceId, runtimeLogs);
+        return;
+      }
+    }
+    runtimeLogs.add(event);
+  }
+
+  /**
+   * Buffered lines of a single runtime. Batches are published under the lock of the runtime, so the
+   * batches of a machine are published in the order the lines were produced.
+   */
+  private class RuntimeLogs {
+
+    private final Map<String, List<RuntimeLogEvent>> pending = new HashMap<>();
+
+    synchronized void add(RuntimeLogEvent event) {
+      final List<RuntimeLogEvent> batch =
+          pending.computeIfAbsent(event.getMachineName(), machine -> new ArrayList<>(batchSize));
+      batch.add(event);
+      if (batch.size() >= batchSize) {
+        pending.remove(event.getMachineName());
+        publish(batch);
+      }
+    }
+
+    synchronized void flush() {
+      for (List<RuntimeLogEvent> batch : pending.values()) {
+        publish(batch);
+      }
+      pending.clear();
+    }
+
+    private void publish(List<RuntimeLogEvent> batch) {
+      eventService.publish(
+          newDto(RuntimeLogsEvent.class)
+              .withRuntimeId(batch.get(0).getRuntimeId())
+              .withLogs(batch));
+    }
+  }
+}
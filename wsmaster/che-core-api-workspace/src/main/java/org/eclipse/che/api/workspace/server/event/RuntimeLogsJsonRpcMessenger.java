@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.stream.Collectors.toSet;
+import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOGS_METHOD;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogsEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+
+/**
+ * Sends {@link RuntimeLogsEvent runtime logs batches} via JSON-RPC to the clients subscribed to the
+ * logs of a workspace. Clients receive the recent logs of the runtime right after the subscription.
+ *
+ * <p>The messenger keeps a bounded number of the most recent batches it has sent for each runtime
+ * along with the endpoints each batch was sent to. Sending a batch and replaying the recent ones to
+ * a new subscriber are done under the lock of the runtime, so the replay contains exactly the
+ * batches which were sent before it and not to the subscriber. Lines which are still buffered by
+ * the coalescer, or batches which are still waiting for delivery, are sent to the subscriber only
+ * once, after the replay. The recent batches of a runtime are dropped when the workspace is
+ * stopped.
+ *
+ * @see RuntimeLogsCoalescer
+ */
+@Singleton
+public class RuntimeLogsJsonRpcMessenger {
+
+  private static final String WORKSPACE_ID_SCOPE = "workspaceId";
+
+  private final EventService eventService;
+  private final RemoteSubscriptionManager subscriptionManager;
+  private final RemoteSubscriptionStorage subscriptionStorage;
+  private final JsonRpcMarshaller marshaller;
+  private final WebSocketMessageTransmitter transmitter;
+  private final WorkspaceRuntimes runtimes;
+  private final int replaySize;
+  private final ConcurrentMap<String, SentLogs> sentLogs = new ConcurrentHashMap<>();
+
+  @Inject
+  public RuntimeLogsJsonRpcMessenger(
+      EventService eventService,
+      RemoteSubscriptionManager subscriptionManager,
+      RemoteSubscriptionStorage subscriptionStorage,
+      JsonRpcMarshaller marshaller,
+      WebSocketMessageTransmitter transmitter,
+      WorkspaceRuntimes runtimes,
+      @Named("che.workspace.runtime_logs.replay_size") int replaySize) {
+    this.eventService = eventService;
+    this.subscriptionManager = subscriptionManager;
+    this.subscriptionStorage = subscriptionStorage;
+    this.marshaller = marshaller;
+    this.transmitter = transmitter;
+    this.runtimes = runtimes;
+    this.replaySize = replaySize;
+  }
+
+  @PostConstruct
+  void postConstruct() {
+    // batches and the status events of a workspace are handled by the same partition, so the
+    // recent batches of a stopped runtime can't be created again by its late batches
+    eventService.subscribe(
+        this::send, RuntimeLogsEvent.class, event -> event.getRuntimeId().getWorkspaceId());
+    eventService.subscribe(
+        event -> {
+          if (event.getStatus() == WorkspaceStatus.STOPPED) {
+            sentLogs.remove(event.getWorkspaceId());
+          }
+        },
+        WorkspaceStatusEvent.class,
+        WorkspaceStatusEvent::getWorkspaceId);
+    subscriptionManager.registerSubscriptionListener(RUNTIME_LOGS_METHOD, this::replay);
+  }
+
+  private void send(RuntimeLogsEvent batch) {
+    final String workspaceId = batch.getRuntimeId().getWorkspaceId();
+    SentLogs logs = sentLogs.get(workspaceId);
+    if (logs == null && runtimes.getStatus(workspaceId) != WorkspaceStatus.STOPPED) {
+      logs = sentLogs.computeIfAbsent(workspaceId, id -> new SentLogs());
+    }
+    if (logs == null) {
+      transmit(getSubscriptions(workspaceId), batch);
+      return;
+    }
+    synchronized (logs) {
+      final Set<String> endpoints = transmit(getSubscriptions(workspaceId), batch);
+      logs.add(new SentBatch(batch, endpoints));
+    }
+  }
+
+  private void replay(String endpointId, Map<String, String> scope) {
+    final String workspaceId = scope == null ? null : scope.get(WORKSPACE_ID_SCOPE);
+    if (workspaceId == null) {
+      return;
+    }
+    final SentLogs logs = sentLogs.get(workspaceId);
+    if (logs == null) {
+      return;
+    }
+    synchronized (logs) {
+      final List<RuntimeLogEvent> recent = logs.getNotSentTo(endpointId);
+      if (recent.isEmpty()) {
+        return;
+      }
+      final RuntimeLogsEvent replay =
+          newDto(RuntimeLogsEvent.class)
+              .withRuntimeId(logs.batches.getLast().batch.getRuntimeId())
+              .withLogs(recent);
+      transmitter.transmit(endpointId, marshall(replay));
+    }
+  }
+
+  private Collection<RemoteSubscriptionContext> getSubscriptions(String workspaceId) {
+    return subscriptionStorage.getByScope(RUNTIME_LOGS_METHOD, WORKSPACE_ID_SCOPE, workspaceId);
+  }
+
+  /** Sends the batch to the given subscribers and returns their endpoints. */
+  private Set<String> transmit(
+      Collection<RemoteSubscriptionContext> subscriptions, RuntimeLogsEvent batch) {
+    if (subscriptions.isEmpty()) {
+      return Collections.emptySet();
+    }
+    final String message = marshall(batch);
+    for (RemoteSubscriptionContext subscription : subscriptions) {
+      transmitter.transmit(subscription.getEndpointId(), message);
+    }
+    return subscriptions.stream().map(RemoteSubscriptionContext::getEndpointId).collect(toSet());
+  }
+
+  private String marshall(RuntimeLogsEvent batch) {
+    return marshaller.marshall(
+        new JsonRpcRequest(null, RUNTIME_LOGS_METHOD, new JsonRpcParams(batch)));
+  }
+
+  /** Batch which is sent to the given endpoints. */
+  private static class SentBatch {
+    private final RuntimeLogsEvent batch;
+    private final Set<String> endpoints;
+
+    private SentBatch(RuntimeLogsEvent batch, Set<String> endpoints) {
+      this.batch = batch;
+      this.endpoints = endpoints;
+    }
+  }
+
+  /** Recent batches sent for a single runtime, must be accessed under its own lock. */
+  private class SentLogs {
+    private final Deque<SentBatch> batches = new ArrayDeque<>();
+    private int lines;
+
+    private void add(SentBatch sent) {
+      batches.addLast(sent);
+      lines += sent.batch.getLogs().size();
+      while (lines > replaySize && !batches.isEmpty()) {
+        lines -= batches.removeFirst().batch.getLogs().size();
+      }
+    }
+
+    private List<RuntimeLogEvent> getNotSentTo(String endpointId) {
+      final List<RuntimeLogEvent> logs = new ArrayList<>();
+      for (SentBatch sent : batches) {
+        if (!sent.endpoints.contains(endpointId)) {
+          logs.addAll(sent.batch.getLogs());
+        }
+      }
+      return logs;
+    }
+  }
+}
@@ -15,21 +15,32 @@ import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.Timer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.workspace.server.hc.probe.AsyncHttpProbeClient;
+import org.eclipse.che.api.workspace.server.hc.probe.TimerWheel;
 
 /**
  * Server checker that uses http connection response code as a criteria of availability of a server.
  * If response code is not less than 200 and less than 400 server is treated as available.
  *
+ * <p>Periodical checks are performed with {@link AsyncHttpProbeClient}, so they do not occupy a
+ * thread while waiting for a response, {@link #checkOnce} uses a blocking connection.
+ *
  * @author Alexander Garagatyi
  */
 public class HttpConnectionServerChecker extends ServerChecker {
   private static final String AUTHORIZATION_HEADER = "Authorization";
   private static final String CONNECTION_HEADER = "Connection";
   private static final String CONNECTION_CLOSE = "close";
+  // TODO consider how much time we should use as a limit
+  private static final long CHECK_TIMEOUT_SECONDS = 3;
+
   private final URL url;
   private final String token;
+  private final AsyncHttpProbeClient httpClient;
 
   public HttpConnectionServerChecker(
       URL url,
@@ -39,11 +50,24 @@ public class HttpConnectionServerChecker extends ServerChecker {
       long timeout,
       int successThreshold,
       TimeUnit timeUnit,
-      Timer timer,
+      TimerWheel timer,
+      AsyncHttpProbeClient httpClient,
       String token) {
     super(machineName, serverRef, period, timeout, successThreshold, timeUnit, timer);
     this.url = url;
     this.token = token;
+    this.httpClient = httpClient;
+  }
+
+  @Override
+  protected CompletableFuture<Boolean> checkAvailability() {
+    Map<String, String> headers = new HashMap<>();
+    if (token != null) {
+      headers.put(AUTHORIZATION_HEADER, "Bearer " + token);
+    }
+    return httpClient
+        .get(url, headers, CHECK_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        .thenApply(this::isResponseCodeSuccessful);
   }
 
   @Override
@@ -51,9 +75,8 @@ public class HttpConnectionServerChecker extends ServerChecker {
     HttpURLConnection httpURLConnection = null;
     try {
       httpURLConnection = createConnection(url);
-      // TODO consider how much time we should use as a limit
-      httpURLConnection.setConnectTimeout((int) TimeUnit.SECONDS.toMillis(3));
-      httpURLConnection.setReadTimeout((int) TimeUnit.SECONDS.toMillis(3));
+      httpURLConnection.setConnectTimeout((int) TimeUnit.SECONDS.toMillis(CHECK_TIMEOUT_SECONDS));
+      httpURLConnection.setReadTimeout((int) TimeUnit.SECONDS.toMillis(CHECK_TIMEOUT_SECONDS));
       httpURLConnection.setRequestProperty(CONNECTION_HEADER, CONNECTION_CLOSE);
       if (token != null) {
         httpURLConnection.setRequestProperty(AUTHORIZATION_HEADER, "Bearer " + token);
@@ -70,13 +93,16 @@ public class HttpConnectionServerChecker extends ServerChecker {
 
   boolean isConnectionSuccessful(HttpURLConnection conn) {
     try {
-      int responseCode = conn.getResponseCode();
-      return responseCode >= 200 && responseCode < 400;
+      return isResponseCodeSuccessful(conn.getResponseCode());
     } catch (IOException e) {
       return false;
     }
   }
 
+  boolean isResponseCodeSuccessful(int responseCode) {
+    return responseCode >= 200 && responseCode < 400;
+  }
+
   @VisibleForTesting
   HttpURLConnection createConnection(URL url) throws IOException {
     return (HttpURLConnection) url.openConnection();
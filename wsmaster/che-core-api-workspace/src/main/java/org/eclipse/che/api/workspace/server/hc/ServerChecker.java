@@ -11,12 +11,13 @@
  */
 package org.eclipse.che.api.workspace.server.hc;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import org.eclipse.che.api.workspace.server.hc.probe.TimerWheel;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 
 /**
@@ -31,7 +32,10 @@ public abstract class ServerChecker {
   private final long deadLine;
   private final int successThreshold;
   private final CompletableFuture<String> reportFuture;
-  private final Timer timer;
+  private final TimerWheel timer;
+
+  private volatile TimerWheel.Timeout nextCheck;
+  private volatile boolean stopped;
 
   /**
    * Creates server checker instance.
@@ -44,6 +48,7 @@ public abstract class ServerChecker {
    * @param timeout max time allowed for the server availability checks to last before server is
    *     treated unavailable, measured in {@code timeUnit}
    * @param timeUnit measurement unit for {@code period} and {@code timeout} parameters
+   * @param timer timer which schedules the availability checks
    */
   protected ServerChecker(
       String machineName,
@@ -52,7 +57,7 @@ public abstract class ServerChecker {
       long timeout,
       int successThreshold,
       TimeUnit timeUnit,
-      Timer timer) {
+      TimerWheel timer) {
     this.machineName = machineName;
     this.serverRef = serverRef;
     this.successThreshold = successThreshold;
@@ -67,7 +72,16 @@ public abstract class ServerChecker {
    * checking times out.
    */
   public void start() {
-    timer.schedule(new ServerCheckingTask(0), 0);
+    schedule(0, 0);
+  }
+
+  /** Stops server availability checking if it is not finished yet. */
+  public void stop() {
+    stopped = true;
+    TimerWheel.Timeout current = nextCheck;
+    if (current != null) {
+      current.cancel();
+    }
   }
 
   /**
@@ -89,6 +103,17 @@ public abstract class ServerChecker {
    */
   public abstract boolean isAvailable();
 
+  /**
+   * Checks whether the server is available without blocking the calling thread, which is the
+   * thread of the timer shared by all the checkers. By default {@link #isAvailable()} is called, so
+   * the checkers which perform IO should override this method.
+   *
+   * @return future which is completed with {@code true} if the server is available
+   */
+  protected CompletableFuture<Boolean> checkAvailability() {
+    return CompletableFuture.completedFuture(isAvailable());
+  }
+
   /**
    * Returns {@code CompletableFuture} that will be completed when server become available or
    * unavailable. When server become available completable future returns server reference.
@@ -107,30 +132,42 @@ public abstract class ServerChecker {
     return System.currentTimeMillis() > deadLine;
   }
 
-  private class ServerCheckingTask extends TimerTask {
-    private int currentNumberOfSequentialSuccessfulPings;
-
-    public ServerCheckingTask(int currentNumberOfSequentialSuccessfulPings) {
-      this.currentNumberOfSequentialSuccessfulPings = currentNumberOfSequentialSuccessfulPings;
+  private void schedule(long delay, int sequentialSuccessfulPings) {
+    if (stopped || reportFuture.isDone()) {
+      return;
     }
+    TimerWheel.Timeout timeout =
+        timer.schedule(() -> check(sequentialSuccessfulPings), delay, MILLISECONDS);
+    nextCheck = timeout;
+    if (stopped) {
+      // stopped concurrently
+      timeout.cancel();
+    }
+  }
 
-    @Override
-    public void run() {
-      if (isTimedOut()) {
-        reportFuture.completeExceptionally(
-            new InfrastructureException(
-                String.format(
-                    "Server '%s' in machine '%s' not available.", serverRef, machineName)));
-      } else if (isAvailable()) {
-        currentNumberOfSequentialSuccessfulPings++;
-        if (currentNumberOfSequentialSuccessfulPings == successThreshold) {
-          reportFuture.complete(serverRef);
-        } else {
-          timer.schedule(new ServerCheckingTask(currentNumberOfSequentialSuccessfulPings), period);
-        }
-      } else {
-        timer.schedule(new ServerCheckingTask(0), period);
-      }
+  private void check(int sequentialSuccessfulPings) {
+    if (stopped || reportFuture.isDone()) {
+      return;
+    }
+    if (isTimedOut()) {
+      reportFuture.completeExceptionally(
+          new InfrastructureException(
+              String.format("Server '%s' in machine '%s' not available.", serverRef, machineName)));
+      return;
     }
+    checkAvailability()
+        .whenComplete(
+            (available, error) -> {
+              if (error == null && available) {
+                int successfulPings = sequentialSuccessfulPings + 1;
+                if (successfulPings == successThreshold) {
+                  reportFuture.complete(serverRef);
+                } else {
+                  schedule(period, successfulPings);
+                }
+              } else {
+                schedule(period, 0);
+              }
+            });
   }
 }
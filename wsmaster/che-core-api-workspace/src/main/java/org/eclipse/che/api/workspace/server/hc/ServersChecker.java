@@ -20,7 +20,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +31,8 @@ import javax.inject.Named;
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.core.model.workspace.runtime.Server;
+import org.eclipse.che.api.workspace.server.hc.probe.AsyncHttpProbeClient;
+import org.eclipse.che.api.workspace.server.hc.probe.TimerWheel;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
 import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
@@ -39,6 +40,9 @@ import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
 /**
  * Checks readiness of servers of a machine.
  *
+ * <p>Checks of all the machines are scheduled in a shared {@link TimerWheel} and performed with a
+ * shared {@link AsyncHttpProbeClient}, so a checker doesn't need threads of its own.
+ *
  * @author Alexander Garagatyi
  */
 public class ServersChecker {
@@ -49,8 +53,9 @@ public class ServersChecker {
   private final int serverPingSuccessThreshold;
   private final long serverPingIntervalMillis;
   private final Set<String> livenessProbes;
+  private final TimerWheel timer;
+  private final AsyncHttpProbeClient httpClient;
 
-  private Timer timer;
   private long resultTimeoutSeconds;
   private CompletableFuture<?> result;
 
@@ -68,11 +73,14 @@ public class ServersChecker {
       MachineTokenProvider machineTokenProvider,
       @Named("che.workspace.server.ping_success_threshold") int serverPingSuccessThreshold,
       @Named("che.workspace.server.ping_interval_milliseconds") long serverPingInterval,
-      @Named("che.workspace.server.liveness_probes") String[] livenessProbes) {
+      @Named("che.workspace.server.liveness_probes") String[] livenessProbes,
+      TimerWheel timer,
+      AsyncHttpProbeClient httpClient) {
     this.runtimeIdentity = runtimeIdentity;
     this.machineName = machineName;
     this.servers = servers;
-    this.timer = new Timer("ServersChecker", true);
+    this.timer = timer;
+    this.httpClient = httpClient;
     this.machineTokenProvider = machineTokenProvider;
     this.serverPingSuccessThreshold = serverPingSuccessThreshold;
     this.serverPingIntervalMillis = serverPingInterval;
@@ -91,7 +99,6 @@ public class ServersChecker {
    */
   public CompletableFuture<?> startAsync(Consumer<String> serverReadinessHandler)
       throws InfrastructureException {
-    timer = new Timer("ServersChecker", true);
     List<ServerChecker> serverCheckers = getServerCheckers();
     // should be completed with an exception if a server considered unavailable
     CompletableFuture<Void> firstNonAvailable = new CompletableFuture<>();
@@ -106,7 +113,7 @@ public class ServersChecker {
                         .exceptionally(
                             e -> {
                               // cleanup checkers tasks
-                              timer.cancel();
+                              serverCheckers.forEach(ServerChecker::stop);
                               firstNonAvailable.completeExceptionally(e);
                               return null;
                             }))
@@ -219,6 +226,7 @@ public class ServersChecker {
           serverPingSuccessThreshold,
           TimeUnit.MILLISECONDS,
           timer,
+          httpClient,
           token);
     }
     // TODO do not hardcode timeouts, use server conf instead
@@ -231,6 +239,7 @@ public class ServersChecker {
         serverPingSuccessThreshold,
         TimeUnit.MILLISECONDS,
         timer,
+        httpClient,
         token);
   }
 }
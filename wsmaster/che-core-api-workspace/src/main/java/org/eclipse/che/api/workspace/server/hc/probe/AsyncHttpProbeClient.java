@@ -0,0 +1,781 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.net.InetAddresses;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Non-blocking HTTP client for the servers probes.
+ *
+ * <p>Plain HTTP requests are performed by a single thread with non-blocking sockets. Connections
+ * are kept alive and reused by the following requests to the same host and port, the number of
+ * connections to a single host and port is limited and requests over the limit wait for a free
+ * connection. HTTPS requests are performed with {@link HttpURLConnection} by a bounded thread pool.
+ *
+ * <p>Returned futures are completed by the threads of the pool and never by the IO thread, so the
+ * dependent stages may take some time, while they must not block for long.
+ */
+@Singleton
+public class AsyncHttpProbeClient {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncHttpProbeClient.class);
+
+  /** Maximum number of connections opened to a single host and port. */
+  static final int MAX_CONNECTIONS_PER_HOST = 4;
+  /** Maximum size of a response body which is read to keep the connection alive. */
+  static final int MAX_DRAINED_BODY_SIZE = 64 * 1024;
+
+  private static final long IDLE_TIMEOUT_NANOS = SECONDS.toNanos(30);
+  private static final long IDLE_CHECK_PERIOD_NANOS = SECONDS.toNanos(1);
+  private static final int MAX_LINE_LENGTH = 8 * 1024;
+
+  private final TimerWheel timer;
+  private final ExecutorService executor;
+  private final int maxConnectionsPerHost;
+  private final Selector selector;
+  private final Thread ioThread;
+  private final Queue<Runnable> ioTasks;
+  private final ByteBuffer readBuffer;
+  /** Accessed by the IO thread only. */
+  private final Map<String, Host> hosts;
+
+  private final AtomicLong openedConnections;
+
+  private volatile boolean closed;
+  private long lastIdleCheck;
+
+  @Inject
+  public AsyncHttpProbeClient(
+      TimerWheel timer, @Named("che.workspace.probe_pool_size") int probePoolSize) {
+    this(timer, probePoolSize, MAX_CONNECTIONS_PER_HOST);
+  }
+
+  @VisibleForTesting
+  AsyncHttpProbeClient(TimerWheel timer, int poolSize, int maxConnectionsPerHost) {
+    this.timer = timer;
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.executor =
+        Executors.newFixedThreadPool(
+            poolSize,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ServerProbes-%s").build());
+    try {
+      this.selector = Selector.open();
+    } catch (IOException e) {
+      throw new IllegalStateException("Can't open selector. " + e.getMessage(), e);
+    }
+    this.ioTasks = new ConcurrentLinkedQueue<>();
+    this.readBuffer = ByteBuffer.allocate(16 * 1024);
+    this.hosts = new HashMap<>();
+    this.openedConnections = new AtomicLong();
+    this.ioThread = new Thread(this::runIo, "ServerProbesIO");
+    ioThread.setDaemon(true);
+    ioThread.start();
+  }
+
+  /**
+   * Sends a GET request to the URL.
+   *
+   * <p>Unless the host of the URL is an IP address, it is resolved by a thread of the pool and the
+   * time of the lookup counts towards the {@code timeout} of the request.
+   *
+   * @param url URL to send the request to
+   * @param headers headers of the request
+   * @param timeout time limit of the request including the time of waiting for a connection
+   * @param unit unit of the {@code timeout}
+   * @return future which is completed with the response code or exceptionally when the request
+   *     fails or times out
+   */
+  public CompletableFuture<Integer> get(
+      URL url, Map<String, String> headers, long timeout, TimeUnit unit) {
+    CompletableFuture<Integer> result = new CompletableFuture<>();
+    if (closed) {
+      result.completeExceptionally(new RejectedExecutionException("HTTP probe client is closed"));
+      return result;
+    }
+    if ("https".equals(url.getProtocol())) {
+      try {
+        executor.execute(() -> getBlocking(url, headers, unit.toMillis(timeout), result));
+      } catch (RejectedExecutionException e) {
+        result.completeExceptionally(e);
+      }
+      return result;
+    }
+
+    int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+    String host = url.getHost();
+    Exchange exchange =
+        new Exchange(
+            host + ':' + port,
+            InetSocketAddress.createUnresolved(host, port),
+            encodeRequest(url, headers),
+            result);
+    try {
+      exchange.timeout =
+          timer.schedule(
+              () ->
+                  runInIoThread(
+                      () ->
+                          onError(
+                              exchange,
+                              new SocketTimeoutException("Request to " + url + " timed out"))),
+              timeout,
+              unit);
+    } catch (IllegalStateException e) {
+      result.completeExceptionally(new RejectedExecutionException(e.getMessage()));
+      return result;
+    }
+    if (InetAddresses.isInetAddress(host)) {
+      exchange.address = new InetSocketAddress(InetAddresses.forString(host), port);
+      runInIoThread(() -> start(exchange));
+      return result;
+    }
+    try {
+      // the lookup may block, so neither the calling thread nor the IO thread performs it
+      executor.execute(() -> resolve(exchange));
+    } catch (RejectedExecutionException e) {
+      exchange.timeout.cancel();
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Resolves the host of the exchange and starts it. The exchange is failed by its timeout if the
+   * lookup takes longer than that.
+   */
+  private void resolve(Exchange exchange) {
+    InetSocketAddress unresolved = exchange.address;
+    InetSocketAddress address =
+        new InetSocketAddress(unresolved.getHostString(), unresolved.getPort());
+    if (address.isUnresolved()) {
+      runInIoThread(() -> onError(exchange, new UnknownHostException(address.getHostString())));
+    } else {
+      exchange.address = address;
+      runInIoThread(() -> start(exchange));
+    }
+  }
+
+  /** Closes all the connections and fails the requests which are in progress. */
+  public void shutdown() {
+    closed = true;
+    selector.wakeup();
+    executor.shutdown();
+    try {
+      ioThread.join(SECONDS.toMillis(5));
+      if (!executor.awaitTermination(10, SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Returns the number of connections which have been opened by the client. */
+  long getOpenedConnections() {
+    return openedConnections.get();
+  }
+
+  private void runInIoThread(Runnable task) {
+    ioTasks.add(task);
+    selector.wakeup();
+  }
+
+  private void runIo() {
+    while (!closed) {
+      try {
+        selector.select(SECONDS.toMillis(1));
+        Runnable task;
+        while ((task = ioTasks.poll()) != null) {
+          task.run();
+        }
+        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+          SelectionKey key = it.next();
+          it.remove();
+          if (key.isValid()) {
+            handle((Connection) key.attachment(), key);
+          }
+        }
+        closeIdleConnections();
+      } catch (IOException | RuntimeException e) {
+        LOG.error("Error occurred in HTTP probes IO loop. " + e.getMessage(), e);
+      }
+    }
+
+    IOException closedError = new IOException("HTTP probe client is closed");
+    for (SelectionKey key : selector.keys()) {
+      Connection connection = (Connection) key.attachment();
+      if (connection.exchange != null) {
+        fail(connection.exchange, closedError);
+      }
+      closeQuietly(connection);
+    }
+    for (Host host : hosts.values()) {
+      host.waiting.forEach(exchange -> fail(exchange, closedError));
+    }
+    try {
+      selector.close();
+    } catch (IOException ignored) {
+    }
+  }
+
+  private void start(Exchange exchange) {
+    if (exchange.done) {
+      return;
+    }
+    Host host = hosts.computeIfAbsent(exchange.hostKey, key -> new Host());
+    Connection connection = exchange.retried ? null : host.idle.pollFirst();
+    if (connection == null) {
+      if (host.connections >= maxConnectionsPerHost && !exchange.retried) {
+        host.waiting.add(exchange);
+        return;
+      }
+      try {
+        connection = open(exchange.hostKey, exchange.address);
+        host.connections++;
+      } catch (IOException e) {
+        fail(exchange, e);
+        return;
+      }
+    }
+    connection.exchange = exchange;
+    connection.parser = new ResponseParser();
+    exchange.connection = connection;
+    exchange.request.rewind();
+    if (connection.channel.isConnected()) {
+      connection.key.interestOps(SelectionKey.OP_WRITE);
+    }
+  }
+
+  private Connection open(String hostKey, InetSocketAddress address) throws IOException {
+    SocketChannel channel = SocketChannel.open();
+    try {
+      channel.configureBlocking(false);
+      channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+      Connection connection = new Connection(hostKey, channel);
+      boolean connected = channel.connect(address);
+      connection.key =
+          channel.register(
+              selector, connected ? SelectionKey.OP_WRITE : SelectionKey.OP_CONNECT, connection);
+      openedConnections.incrementAndGet();
+      return connection;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private void handle(Connection connection, SelectionKey key) {
+    try {
+      if (key.isConnectable()) {
+        if (connection.channel.finishConnect()) {
+          key.interestOps(SelectionKey.OP_WRITE);
+        }
+      } else if (key.isWritable()) {
+        connection.channel.write(connection.exchange.request);
+        if (!connection.exchange.request.hasRemaining()) {
+          key.interestOps(SelectionKey.OP_READ);
+        }
+      } else if (key.isReadable()) {
+        read(connection);
+      }
+    } catch (IOException e) {
+      if (connection.exchange != null) {
+        onError(connection.exchange, e);
+      } else {
+        close(connection);
+      }
+    }
+  }
+
+  private void read(Connection connection) throws IOException {
+    readBuffer.clear();
+    int read = connection.channel.read(readBuffer);
+    if (connection.exchange == null) {
+      // idle connection is either closed by the server or received unexpected data
+      close(connection);
+      return;
+    }
+    ResponseParser parser = connection.parser;
+    if (read < 0) {
+      if (parser.onEndOfStream()) {
+        complete(connection, false);
+      } else {
+        throw new EOFException("Connection is closed before the response is received");
+      }
+      return;
+    }
+    readBuffer.flip();
+    if (parser.parse(readBuffer)) {
+      complete(connection, parser.isKeepAlive() && !readBuffer.hasRemaining());
+    }
+  }
+
+  private void complete(Connection connection, boolean keepAlive) {
+    Exchange exchange = connection.exchange;
+    connection.exchange = null;
+    exchange.connection = null;
+    int statusCode = connection.parser.getStatusCode();
+    connection.parser = null;
+    if (keepAlive && !closed) {
+      release(connection);
+    } else {
+      close(connection);
+    }
+    if (!exchange.done) {
+      exchange.done = true;
+      exchange.timeout.cancel();
+      dispatch(() -> exchange.result.complete(statusCode));
+    }
+  }
+
+  private void onError(Exchange exchange, IOException error) {
+    if (exchange.done) {
+      return;
+    }
+    Connection connection = exchange.connection;
+    if (connection != null) {
+      connection.exchange = null;
+      exchange.connection = null;
+      boolean receivedNothing = !connection.parser.hasReceived();
+      close(connection);
+      // a kept alive connection might have been closed by the server before the request reached it
+      if (connection.reused && receivedNothing && !exchange.retried && !isTimeout(error)) {
+        exchange.retried = true;
+        start(exchange);
+        return;
+      }
+    } else {
+      Host host = hosts.get(exchange.hostKey);
+      if (host != null) {
+        host.waiting.remove(exchange);
+      }
+    }
+    fail(exchange, error);
+  }
+
+  private boolean isTimeout(IOException error) {
+    return error instanceof SocketTimeoutException;
+  }
+
+  private void fail(Exchange exchange, IOException error) {
+    if (!exchange.done) {
+      exchange.done = true;
+      exchange.timeout.cancel();
+      dispatch(() -> exchange.result.completeExceptionally(error));
+    }
+  }
+
+  private void dispatch(Runnable completion) {
+    try {
+      executor.execute(completion);
+    } catch (RejectedExecutionException e) {
+      completion.run();
+    }
+  }
+
+  private void release(Connection connection) {
+    Host host = hosts.get(connection.hostKey);
+    Exchange next;
+    while ((next = host.waiting.poll()) != null) {
+      if (!next.done) {
+        connection.reused = true;
+        connection.exchange = next;
+        connection.parser = new ResponseParser();
+        next.connection = connection;
+        next.request.rewind();
+        connection.key.interestOps(SelectionKey.OP_WRITE);
+        return;
+      }
+    }
+    connection.reused = true;
+    connection.idleSince = System.nanoTime();
+    connection.key.interestOps(SelectionKey.OP_READ);
+    host.idle.addFirst(connection);
+  }
+
+  private void close(Connection connection) {
+    closeQuietly(connection);
+    Host host = hosts.get(connection.hostKey);
+    if (host == null) {
+      return;
+    }
+    host.connections--;
+    host.idle.remove(connection);
+    Exchange next;
+    while (host.connections < maxConnectionsPerHost && (next = host.waiting.poll()) != null) {
+      start(next);
+    }
+    if (host.connections == 0 && host.waiting.isEmpty()) {
+      hosts.remove(connection.hostKey);
+    }
+  }
+
+  private void closeQuietly(Connection connection) {
+    connection.key.cancel();
+    try {
+      connection.channel.close();
+    } catch (IOException ignored) {
+    }
+  }
+
+  private void closeIdleConnections() {
+    long now = System.nanoTime();
+    if (now - lastIdleCheck < IDLE_CHECK_PERIOD_NANOS) {
+      return;
+    }
+    lastIdleCheck = now;
+    for (Host host : hosts.values().toArray(new Host[0])) {
+      Connection oldest;
+      // the least recently used connections are at the end of the queue
+      while ((oldest = host.idle.peekLast()) != null
+          && now - oldest.idleSince > IDLE_TIMEOUT_NANOS) {
+        close(oldest);
+      }
+    }
+  }
+
+  private static ByteBuffer encodeRequest(URL url, Map<String, String> headers) {
+    StringBuilder request = new StringBuilder("GET ");
+    request.append(url.getPath().isEmpty() ? "/" : url.getPath());
+    if (url.getQuery() != null) {
+      request.append('?').append(url.getQuery());
+    }
+    request.append(" HTTP/1.1\r\nHost: ").append(url.getHost());
+    if (url.getPort() != -1 && url.getPort() != url.getDefaultPort()) {
+      request.append(':').append(url.getPort());
+    }
+    request.append("\r\n");
+    if (headers != null) {
+      headers.forEach(
+          (name, value) -> {
+            // connections are managed by the client
+            if (!"Connection".equalsIgnoreCase(name) && !"Host".equalsIgnoreCase(name)) {
+              request.append(name).append(": ").append(value).append("\r\n");
+            }
+          });
+    }
+    request.append("\r\n");
+    return ByteBuffer.wrap(request.toString().getBytes(ISO_8859_1));
+  }
+
+  private static void getBlocking(
+      URL url, Map<String, String> headers, long timeoutMillis, CompletableFuture<Integer> result) {
+    HttpURLConnection connection = null;
+    try {
+      connection = (HttpURLConnection) url.openConnection();
+      connection.setConnectTimeout((int) timeoutMillis);
+      connection.setReadTimeout((int) timeoutMillis);
+      if (headers != null) {
+        headers.forEach(connection::setRequestProperty);
+      }
+      result.complete(connection.getResponseCode());
+    } catch (IOException | RuntimeException e) {
+      result.completeExceptionally(e);
+    } finally {
+      if (connection != null) {
+        connection.disconnect();
+      }
+    }
+  }
+
+  /** Connections and requests waiting for a connection of a single host and port. */
+  private static class Host {
+    final Deque<Connection> idle = new ArrayDeque<>();
+    final Queue<Exchange> waiting = new ArrayDeque<>();
+    int connections;
+  }
+
+  private static class Connection {
+    final String hostKey;
+    final SocketChannel channel;
+
+    SelectionKey key;
+    Exchange exchange;
+    ResponseParser parser;
+    boolean reused;
+    long idleSince;
+
+    Connection(String hostKey, SocketChannel channel) {
+      this.hostKey = hostKey;
+      this.channel = channel;
+    }
+  }
+
+  private static class Exchange {
+    final String hostKey;
+    final ByteBuffer request;
+    final CompletableFuture<Integer> result;
+
+    /** Unresolved until the host is looked up, written before the exchange is started. */
+    volatile InetSocketAddress address;
+
+    TimerWheel.Timeout timeout;
+    Connection connection;
+    boolean retried;
+    boolean done;
+
+    Exchange(
+        String hostKey,
+        InetSocketAddress address,
+        ByteBuffer request,
+        CompletableFuture<Integer> result) {
+      this.hostKey = hostKey;
+      this.address = address;
+      this.request = request;
+      this.result = result;
+    }
+  }
+
+  /**
+   * Incremental parser of an HTTP/1.x response. The body of the response is skipped, so the
+   * connection can be reused for the next request.
+   */
+  static class ResponseParser {
+    private enum State {
+      STATUS_LINE,
+      HEADERS,
+      BODY,
+      CHUNK_SIZE,
+      CHUNK_DATA,
+      CHUNK_END,
+      TRAILERS,
+      UNTIL_CLOSE,
+      DONE
+    }
+
+    private final StringBuilder line = new StringBuilder();
+
+    private State state = State.STATUS_LINE;
+    private int statusCode;
+    private boolean keepAlive;
+    private boolean chunked;
+    private long contentLength;
+    private long remaining;
+    private long bodySize;
+    private boolean received;
+
+    /**
+     * Consumes the bytes of the response.
+     *
+     * @return {@code true} if the response is complete, the remaining bytes of the buffer are not
+     *     consumed then
+     * @throws IOException if the response is malformed
+     */
+    boolean parse(ByteBuffer buffer) throws IOException {
+      received |= buffer.hasRemaining();
+      while (buffer.hasRemaining() && state != State.DONE) {
+        switch (state) {
+          case BODY:
+          case CHUNK_DATA:
+            int skipped = (int) Math.min(remaining, buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            remaining -= skipped;
+            onBody(skipped);
+            if (remaining == 0 && state != State.DONE) {
+              state = state == State.BODY ? State.DONE : State.CHUNK_END;
+            }
+            break;
+          case UNTIL_CLOSE:
+            int rest = buffer.remaining();
+            buffer.position(buffer.limit());
+            onBody(rest);
+            break;
+          default:
+            if (readLine(buffer)) {
+              onLine(line.toString());
+              line.setLength(0);
+            }
+        }
+      }
+      return state == State.DONE;
+    }
+
+    /** Returns {@code true} if the response is complete when the connection is closed. */
+    boolean onEndOfStream() {
+      if (state == State.UNTIL_CLOSE) {
+        state = State.DONE;
+      }
+      return state == State.DONE;
+    }
+
+    int getStatusCode() {
+      return statusCode;
+    }
+
+    /** Returns {@code true} if the connection can be reused after the response is complete. */
+    boolean isKeepAlive() {
+      return keepAlive;
+    }
+
+    /** Returns {@code true} if any bytes of the response were received. */
+    boolean hasReceived() {
+      return received;
+    }
+
+    private boolean readLine(ByteBuffer buffer) throws IOException {
+      while (buffer.hasRemaining()) {
+        char c = (char) (buffer.get() & 0xFF);
+        if (c == '\n') {
+          int length = line.length();
+          if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+          }
+          return true;
+        }
+        if (line.length() == MAX_LINE_LENGTH) {
+          throw new IOException("Response line is too long");
+        }
+        line.append(c);
+      }
+      return false;
+    }
+
+    private void onLine(String line) throws IOException {
+      switch (state) {
+        case STATUS_LINE:
+          if (!line.isEmpty()) {
+            onStatusLine(line);
+          }
+          break;
+        case HEADERS:
+          if (line.isEmpty()) {
+            onHeadersEnd();
+          } else {
+            onHeader(line);
+          }
+          break;
+        case CHUNK_SIZE:
+          int extension = line.indexOf(';');
+          String size = (extension == -1 ? line : line.substring(0, extension)).trim();
+          try {
+            remaining = Long.parseLong(size, 16);
+          } catch (NumberFormatException e) {
+            throw new IOException("Malformed chunk size '" + size + "'");
+          }
+          state = remaining == 0 ? State.TRAILERS : State.CHUNK_DATA;
+          break;
+        case CHUNK_END:
+          state = State.CHUNK_SIZE;
+          break;
+        case TRAILERS:
+          if (line.isEmpty()) {
+            state = State.DONE;
+          }
+          break;
+        default:
+          throw new IllegalStateException("Unexpected state " + state);
+      }
+    }
+
+    private void onStatusLine(String line) throws IOException {
+      String[] parts = line.split(" ", 3);
+      if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+        throw new IOException("Malformed status line '" + line + "'");
+      }
+      try {
+        statusCode = Integer.parseInt(parts[1]);
+      } catch (NumberFormatException e) {
+        throw new IOException("Malformed status line '" + line + "'");
+      }
+      keepAlive = !"HTTP/1.0".equals(parts[0]);
+      chunked = false;
+      contentLength = -1;
+      state = State.HEADERS;
+    }
+
+    private void onHeader(String line) throws IOException {
+      int colon = line.indexOf(':');
+      if (colon == -1) {
+        throw new IOException("Malformed header '" + line + "'");
+      }
+      String name = line.substring(0, colon).trim();
+      String value = line.substring(colon + 1).trim();
+      if ("Content-Length".equalsIgnoreCase(name)) {
+        try {
+          contentLength = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+          throw new IOException("Malformed content length '" + value + "'");
+        }
+      } else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+        chunked = value.toLowerCase().contains("chunked");
+      } else if ("Connection".equalsIgnoreCase(name)) {
+        if ("close".equalsIgnoreCase(value)) {
+          keepAlive = false;
+        } else if ("keep-alive".equalsIgnoreCase(value)) {
+          keepAlive = true;
+        }
+      }
+    }
+
+    private void onHeadersEnd() {
+      if (statusCode / 100 == 1) {
+        // interim response, the final one follows
+        state = State.STATUS_LINE;
+      } else if (statusCode == 204 || statusCode == 304) {
+        state = State.DONE;
+      } else if (chunked) {
+        state = State.CHUNK_SIZE;
+      } else if (contentLength >= 0) {
+        remaining = contentLength;
+        state = remaining == 0 ? State.DONE : State.BODY;
+      } else {
+        keepAlive = false;
+        state = State.UNTIL_CLOSE;
+      }
+    }
+
+    private void onBody(int size) {
+      bodySize += size;
+      if (bodySize > MAX_DRAINED_BODY_SIZE) {
+        // the status is known already, it's cheaper to open a new connection than to read the body
+        keepAlive = false;
+        state = State.DONE;
+      }
+    }
+  }
+}
@@ -48,6 +48,16 @@ public class HttpProbeFactory extends ProbeFactory {
     return probeConfig;
   }
 
+  /** Returns URL which is probed */
+  public URL getUrl() {
+    return url;
+  }
+
+  /** Returns headers of the probe requests */
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
   @Override
   public HttpProbe get() {
     return new HttpProbe(url, timeout, headers);
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+/**
+ * Receives the latency of each check of the probes scheduled by {@link ProbeScheduler}.
+ *
+ * <p>Listeners are called by the threads of the probes and must not block.
+ */
+@FunctionalInterface
+public interface ProbeLatencyListener {
+
+  /**
+   * Called when a check of a probe completes.
+   *
+   * @param serverName name of the probed server
+   * @param latencyNanos time between the start and the completion of the check
+   * @param success whether the check succeeded
+   */
+  void onProbeChecked(String serverName, long latencyNanos, boolean success);
+}
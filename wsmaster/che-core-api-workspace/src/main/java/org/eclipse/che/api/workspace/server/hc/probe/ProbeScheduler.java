@@ -11,18 +11,21 @@
  */
 package org.eclipse.che.api.workspace.server.hc.probe;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.inject.Inject;
@@ -36,6 +39,12 @@ import org.slf4j.LoggerFactory;
 /**
  * Schedules workspace servers probes checks asynchronously.
  *
+ * <p>Probes are scheduled in a shared {@link TimerWheel}. HTTP probes are checked by {@link
+ * AsyncHttpProbeClient} without occupying a thread while waiting for a response, other probes are
+ * checked by a thread pool. The first check of a probe is delayed by a random part of its period,
+ * so the probes of workspaces which are started at the same time, e.g. on recovery, do not hit the
+ * servers at the same moment.
+ *
  * @author Alexander Garagatyi
  * @author Sergii Leshchenko
  */
@@ -43,25 +52,34 @@ import org.slf4j.LoggerFactory;
 public class ProbeScheduler {
   private static final Logger LOG = LoggerFactory.getLogger(ProbeScheduler.class);
 
-  private final ScheduledThreadPoolExecutor probesExecutor;
-  /**
-   * Use single thread for a scheduling of tasks interruption by timeout. Single thread can be used
-   * since it is supposed that interruption is a very quick call. Separate thread is needed to
-   * prevent a situation when executor is full of jobs and current ones are hanging but we need to
-   * time them out.
-   */
-  private final Timer timeouts;
-  /** Mapping of workspaceId to a list of futures with probes of a workspace. */
-  private final Map<String, List<ScheduledFuture>> probesFutures;
+  private static final long DELAYED_SCHEDULING_PERIOD_MILLIS = SECONDS.toMillis(10);
+
+  private final ExecutorService probesExecutor;
+  private final TimerWheel timer;
+  private final AsyncHttpProbeClient httpClient;
+  /** Mapping of workspaceId to a list of scheduled tasks with probes of a workspace. */
+  private final Map<String, List<ScheduledTask>> probesTasks;
+
+  private final List<ProbeLatencyListener> latencyListeners;
+
+  private volatile boolean terminated;
 
   @Inject
-  public ProbeScheduler(@Named("che.workspace.probe_pool_size") int probeSchedulerPoolSize) {
-    probesExecutor =
-        new ScheduledThreadPoolExecutor(
+  public ProbeScheduler(
+      @Named("che.workspace.probe_pool_size") int probeSchedulerPoolSize,
+      TimerWheel timer,
+      AsyncHttpProbeClient httpClient) {
+    this.probesExecutor =
+        Executors.newFixedThreadPool(
             probeSchedulerPoolSize,
-            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ServerProbes-%s").build());
-    timeouts = new Timer("ServerProbesTimeouts", true);
-    probesFutures = new ConcurrentHashMap<>();
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("ServerProbesTasks-%s")
+                .build());
+    this.timer = timer;
+    this.httpClient = httpClient;
+    this.probesTasks = new ConcurrentHashMap<>();
+    this.latencyListeners = new CopyOnWriteArrayList<>();
   }
 
   /**
@@ -76,7 +94,8 @@ public class ProbeScheduler {
    * @throws RejectedExecutionException when {@link ProbeScheduler} is terminated
    */
   public void schedule(WorkspaceProbes probes, Consumer<ProbeResult> probeResultConsumer) {
-    probesFutures.putIfAbsent(probes.getWorkspaceId(), new ArrayList<>());
+    checkNotTerminated();
+    probesTasks.putIfAbsent(probes.getWorkspaceId(), new ArrayList<>());
     probes
         .getProbes()
         .forEach(
@@ -101,26 +120,21 @@ public class ProbeScheduler {
       WorkspaceProbes probes,
       Consumer<ProbeResult> probeResultConsumer,
       Supplier<WorkspaceStatus> statusSupplier) {
+    checkNotTerminated();
     DelayedSchedulingTask task =
         new DelayedSchedulingTask(statusSupplier, probes, probeResultConsumer);
 
-    // scheduleWithFixedDelay is used in favor of scheduleAtFixedRate because in case of big amount
-    // of scheduled probes start time of tasks may shift and this may lead to a situation when
-    // another probeConfig is needed immediately after the previous one is finished which doesn't
-    // seem a good thing
-    ScheduledFuture scheduledFuture =
-        probesExecutor.scheduleWithFixedDelay(task, 10L, 10L, TimeUnit.SECONDS);
-
-    probesFutures.compute(
+    probesTasks.compute(
         probes.getWorkspaceId(),
-        (key, scheduledFutures) -> {
-          List<ScheduledFuture> target = scheduledFutures;
+        (key, scheduledTasks) -> {
+          List<ScheduledTask> target = scheduledTasks;
           if (target == null) {
             target = new ArrayList<>();
           }
-          target.add(scheduledFuture);
+          target.add(task);
           return target;
         });
+    task.scheduleIn(DELAYED_SCHEDULING_PERIOD_MILLIS);
   }
 
   /**
@@ -128,15 +142,28 @@ public class ProbeScheduler {
    * specified ID.
    */
   public void cancel(String workspaceId) {
-    List<ScheduledFuture> tasks = probesFutures.remove(workspaceId);
+    List<ScheduledTask> tasks = probesTasks.remove(workspaceId);
     if (tasks != null) {
-      tasks.forEach(task -> task.cancel(true));
+      tasks.forEach(ScheduledTask::cancel);
     }
   }
 
+  /**
+   * Adds a listener which receives the latency of each check of the scheduled probes.
+   *
+   * @param listener listener to add
+   */
+  public void addLatencyListener(ProbeLatencyListener listener) {
+    latencyListeners.add(listener);
+  }
+
   /** Denies starting of new probes and terminates active one if scheduler not terminated yet. */
   public void shutdown() {
     if (!probesExecutor.isShutdown()) {
+      terminated = true;
+      probesTasks.keySet().forEach(this::cancel);
+      httpClient.shutdown();
+      timer.stop();
       probesExecutor.shutdown();
       try {
         LOG.info("Shutdown probe scheduler, wait 30s to stop normally");
@@ -158,44 +185,78 @@ public class ProbeScheduler {
     }
   }
 
+  private void checkNotTerminated() {
+    if (terminated) {
+      throw new RejectedExecutionException("Probe scheduler is terminated");
+    }
+  }
+
   private void schedule(
       String workspaceId, ProbeFactory probeFactory, Consumer<ProbeResult> probeResultConsumer) {
     ProbeConfig probeConfig = probeFactory.getProbeConfig();
     Task task = new Task(probeFactory, probeResultConsumer);
-    // scheduleWithFixedDelay is used in favor of scheduleAtFixedRate because in case of big amount
-    // of scheduled probes start time of tasks may shift and this may lead to a situation when
-    // another probeConfig is needed immediately after the previous one is finished which doesn't
-    // seem a good thing
-    ScheduledFuture scheduledFuture =
-        probesExecutor.scheduleWithFixedDelay(
-            task,
-            probeConfig.getInitialDelaySeconds(),
-            probeConfig.getPeriodSeconds(),
-            TimeUnit.SECONDS);
-
-    List<ScheduledFuture> workspaceProbes =
-        probesFutures.computeIfPresent(
+
+    List<ScheduledTask> workspaceProbes =
+        probesTasks.computeIfPresent(
             workspaceId,
-            (key, scheduledFutures) -> {
-              scheduledFutures.add(scheduledFuture);
-              return scheduledFutures;
+            (key, scheduledTasks) -> {
+              scheduledTasks.add(task);
+              return scheduledTasks;
             });
     // check whether workspace probes were cancelled concurrently which led to removal of the value
     // in the map
     if (workspaceProbes == null) {
-      scheduledFuture.cancel(true);
       task.cancel();
+      return;
     }
+
+    long periodMillis = SECONDS.toMillis(probeConfig.getPeriodSeconds());
+    long jitterMillis = periodMillis > 0 ? ThreadLocalRandom.current().nextLong(periodMillis) : 0;
+    task.scheduleIn(SECONDS.toMillis(probeConfig.getInitialDelaySeconds()) + jitterMillis);
   }
 
-  private class Task implements Runnable {
+  /** Task which is run by the timer wheel and reschedules itself until it is cancelled. */
+  private abstract class ScheduledTask implements Runnable {
+    private volatile boolean cancelled;
+    private volatile TimerWheel.Timeout timeout;
+
+    void scheduleIn(long delayMillis) {
+      if (cancelled) {
+        return;
+      }
+      try {
+        timeout = timer.schedule(this, delayMillis, MILLISECONDS);
+      } catch (IllegalStateException e) {
+        // timer is stopped since the scheduler is terminated
+        cancelled = true;
+      }
+      // check whether the task was cancelled concurrently
+      if (cancelled && timeout != null) {
+        timeout.cancel();
+      }
+    }
+
+    boolean isCancelled() {
+      return cancelled;
+    }
+
+    void cancel() {
+      cancelled = true;
+      TimerWheel.Timeout current = timeout;
+      if (current != null) {
+        current.cancel();
+      }
+    }
+  }
+
+  private class Task extends ScheduledTask {
     private final ProbeFactory probeFactory;
     private final Consumer<ProbeResult> probeResultConsumer;
     private final ProbeConfig probeConfig;
 
+    // checks of a probe never overlap, the next one is scheduled after the previous one completes
     private int failures = 0;
     private int successes = 0;
-    private AtomicBoolean cancelled = new AtomicBoolean(false);
 
     public Task(ProbeFactory probeFactory, Consumer<ProbeResult> probeResultConsumer) {
       this.probeFactory = probeFactory;
@@ -205,25 +266,78 @@ public class ProbeScheduler {
 
     @Override
     public void run() {
-      if (cancelled.get()) {
+      if (isCancelled()) {
         return;
       }
+      long start = System.nanoTime();
+      check()
+          .whenComplete(
+              (success, error) -> onChecked(System.nanoTime() - start, error == null && success));
+    }
+
+    private CompletableFuture<Boolean> check() {
+      if (probeFactory instanceof HttpProbeFactory) {
+        HttpProbeFactory httpProbeFactory = (HttpProbeFactory) probeFactory;
+        return httpClient
+            .get(
+                httpProbeFactory.getUrl(),
+                httpProbeFactory.getHeaders(),
+                probeConfig.getTimeoutSeconds(),
+                SECONDS)
+            .thenApply(responseCode -> responseCode >= 200 && responseCode < 400);
+      }
+
+      CompletableFuture<Boolean> result = new CompletableFuture<>();
+      try {
+        probesExecutor.execute(
+            () -> {
+              try {
+                result.complete(checkBlocking());
+              } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        result.completeExceptionally(e);
+      }
+      return result;
+    }
+
+    private boolean checkBlocking() {
       Probe probe = probeFactory.get();
-      TimeoutProbeTask timeoutProbeTask = new TimeoutProbeTask(probe);
-      timeouts.schedule(
-          timeoutProbeTask, TimeUnit.SECONDS.toMillis(probeConfig.getTimeoutSeconds()));
-      boolean success = probe.probe();
-      timeoutProbeTask.cancel();
+      TimerWheel.Timeout timeout =
+          timer.schedule(probe::cancel, probeConfig.getTimeoutSeconds(), SECONDS);
+      try {
+        return probe.probe();
+      } finally {
+        timeout.cancel();
+      }
+    }
+
+    private void onChecked(long latencyNanos, boolean success) {
+      for (ProbeLatencyListener listener : latencyListeners) {
+        try {
+          listener.onProbeChecked(probeFactory.getServerName(), latencyNanos, success);
+        } catch (RuntimeException e) {
+          LOG.error(e.getMessage(), e);
+        }
+      }
+
+      try {
+        accept(success);
+      } finally {
+        scheduleIn(SECONDS.toMillis(probeConfig.getPeriodSeconds()));
+      }
+    }
+
+    private void accept(boolean success) {
       if (success) {
         // current success increases successes count and clears failures count
         successes++;
         failures = 0;
 
         if (successes >= probeConfig.getSuccessThreshold()) {
-          // TODO make them completable futures? Then we should ensure that
-          // consecutive calls won't use executors thread time but rather use common thread
-          // pool to perform processing of passed probe result
-          if (cancelled.get()) {
+          if (isCancelled()) {
             return;
           }
           // Health check satisfies probeConfig health conditions
@@ -240,7 +354,7 @@ public class ProbeScheduler {
         successes = 0;
 
         if (failures >= probeConfig.getFailureThreshold()) {
-          if (cancelled.get()) {
+          if (isCancelled()) {
             return;
           }
           // Health check satisfies probeConfig failure conditions
@@ -253,13 +367,9 @@ public class ProbeScheduler {
         }
       }
     }
-
-    public void cancel() {
-      cancelled.set(true);
-    }
   }
 
-  private class DelayedSchedulingTask implements Runnable {
+  private class DelayedSchedulingTask extends ScheduledTask {
     private final String workspaceId;
     private final Supplier<WorkspaceStatus> statusSupplier;
     private final WorkspaceProbes probes;
@@ -277,22 +387,40 @@ public class ProbeScheduler {
 
     @Override
     public void run() {
+      if (isCancelled()) {
+        return;
+      }
+      try {
+        // status supplier may take some time, so it is not called by the timer thread
+        probesExecutor.execute(this::checkStatus);
+      } catch (RejectedExecutionException ignored) {
+        // scheduler is terminated
+      }
+    }
+
+    private void checkStatus() {
       WorkspaceStatus status;
 
       try {
         status = statusSupplier.get();
       } catch (RuntimeException e) {
         // delay
+        scheduleIn(DELAYED_SCHEDULING_PERIOD_MILLIS);
         return;
       }
 
       switch (status) {
         case STARTING:
           // delay
+          scheduleIn(DELAYED_SCHEDULING_PERIOD_MILLIS);
           return;
         case RUNNING:
           ProbeScheduler.this.cancel(workspaceId);
-          schedule(probes, probeResultConsumer);
+          try {
+            schedule(probes, probeResultConsumer);
+          } catch (RejectedExecutionException ignored) {
+            // scheduler is terminated
+          }
           return;
         case STOPPED:
         case STOPPING:
@@ -301,17 +429,4 @@ public class ProbeScheduler {
       }
     }
   }
-
-  private class TimeoutProbeTask extends TimerTask {
-    private final Probe probe;
-
-    public TimeoutProbeTask(Probe probe) {
-      this.probe = probe;
-    }
-
-    @Override
-    public void run() {
-      probe.cancel();
-    }
-  }
 }
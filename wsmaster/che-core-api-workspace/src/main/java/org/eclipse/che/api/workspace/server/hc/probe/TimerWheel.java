@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timer wheel shared by the servers checks of all the workspaces.
+ *
+ * <p>Scheduled tasks are put into the buckets of a wheel which is advanced by a single thread once
+ * per tick, so scheduling and cancellation cost a constant time regardless of the number of
+ * scheduled tasks. The price is the precision, a task runs within one tick after its deadline,
+ * which is good enough for the probes whose periods are measured in seconds.
+ *
+ * <p>Tasks are run by the thread of the wheel and must not block, longer work should be passed to
+ * an executor.
+ */
+@Singleton
+public class TimerWheel {
+  private static final Logger LOG = LoggerFactory.getLogger(TimerWheel.class);
+
+  private static final long DEFAULT_TICK_MILLIS = 100;
+  private static final int DEFAULT_WHEEL_SIZE = 512;
+
+  private final long tickNanos;
+  private final List<Timeout>[] wheel;
+  private final int mask;
+  private final Queue<Timeout> scheduled;
+  private final Thread worker;
+  private final long startTime;
+  private final AtomicBoolean stopped;
+
+  private long tick;
+
+  @Inject
+  public TimerWheel() {
+    this("ServerProbesTimer", DEFAULT_TICK_MILLIS, MILLISECONDS, DEFAULT_WHEEL_SIZE);
+  }
+
+  /**
+   * Creates and starts a timer wheel.
+   *
+   * @param threadName name of the thread of the wheel
+   * @param tickDuration duration of a tick
+   * @param unit unit of the {@code tickDuration}
+   * @param wheelSize number of buckets of the wheel, rounded up to a power of two
+   */
+  @SuppressWarnings("unchecked")
+  public TimerWheel(String threadName, long tickDuration, TimeUnit unit, int wheelSize) {
+    if (tickDuration <= 0 || wheelSize <= 0) {
+      throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+    }
+    int size = Integer.highestOneBit(wheelSize);
+    if (size < wheelSize) {
+      size <<= 1;
+    }
+    this.tickNanos = unit.toNanos(tickDuration);
+    this.wheel = new List[size];
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new ArrayList<>();
+    }
+    this.mask = size - 1;
+    this.scheduled = new ConcurrentLinkedQueue<>();
+    this.stopped = new AtomicBoolean(false);
+    this.startTime = System.nanoTime();
+    this.worker = new Thread(this::run, threadName);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Schedules the task to be run once after the given delay.
+   *
+   * @param task task to run
+   * @param delay delay before running the task
+   * @param unit unit of the {@code delay}
+   * @return handle which allows cancelling the task
+   * @throws IllegalStateException if the wheel is stopped
+   */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    if (stopped.get()) {
+      throw new IllegalStateException("Timer wheel is stopped");
+    }
+    Timeout timeout = new Timeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+    scheduled.add(timeout);
+    return timeout;
+  }
+
+  /** Stops the wheel, the tasks which are not run yet are never run. */
+  public void stop() {
+    if (stopped.compareAndSet(false, true)) {
+      worker.interrupt();
+    }
+  }
+
+  private void run() {
+    while (!stopped.get()) {
+      long deadline = tickNanos * (tick + 1);
+      long sleepMillis = (deadline - (System.nanoTime() - startTime) + 999_999) / 1_000_000;
+      if (sleepMillis > 0) {
+        try {
+          Thread.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+          if (stopped.get()) {
+            return;
+          }
+        }
+        continue;
+      }
+      transferScheduled();
+      expire(wheel[(int) (tick & mask)], deadline);
+      tick++;
+    }
+  }
+
+  private void transferScheduled() {
+    Timeout timeout;
+    while ((timeout = scheduled.poll()) != null) {
+      if (timeout.cancelled) {
+        continue;
+      }
+      long ticks = Math.max(timeout.deadline / tickNanos, tick);
+      timeout.remainingRounds = (ticks - tick) / wheel.length;
+      wheel[(int) (ticks & mask)].add(timeout);
+    }
+  }
+
+  private void expire(List<Timeout> bucket, long deadline) {
+    Iterator<Timeout> it = bucket.iterator();
+    List<Timeout> expired = new ArrayList<>();
+    while (it.hasNext()) {
+      Timeout timeout = it.next();
+      if (timeout.cancelled) {
+        it.remove();
+      } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+        it.remove();
+        expired.add(timeout);
+      } else {
+        timeout.remainingRounds--;
+      }
+    }
+    // run the tasks after the bucket is processed since they may schedule new tasks
+    for (Timeout timeout : expired) {
+      if (!timeout.cancelled) {
+        try {
+          timeout.task.run();
+        } catch (RuntimeException e) {
+          LOG.error("Error occurred during running of a scheduled task. " + e.getMessage(), e);
+        }
+      }
+    }
+  }
+
+  /** Handle of a task scheduled in a {@link TimerWheel}. */
+  public static class Timeout {
+    private final Runnable task;
+    private final long deadline;
+
+    private volatile boolean cancelled;
+    private long remainingRounds;
+
+    private Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /** Cancels the task if it is not run yet. */
+    public void cancel() {
+      cancelled = true;
+    }
+
+    /** Returns {@code true} if the task was cancelled. */
+    public boolean isCancelled() {
+      return cancelled;
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogsEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link RuntimeLogsCoalescer}. */
+@Listeners(MockitoTestNGListener.class)
+public class RuntimeLogsCoalescerTest {
+
+  private static final int BATCH_SIZE = 64;
+
+  @Mock private WorkspaceRuntimes runtimes;
+
+  private EventService eventService;
+  private List<RuntimeLogsEvent> batches;
+  private RuntimeLogsCoalescer coalescer;
+
+  @BeforeMethod
+  public void setUp() {
+    when(runtimes.getStatus(anyString())).thenReturn(WorkspaceStatus.RUNNING);
+    eventService = new EventService();
+    batches = new CopyOnWriteArrayList<>();
+    eventService.subscribe(batches::add, RuntimeLogsEvent.class);
+    // long flush period, so only the batches of full size are published unless flushed explicitly
+    coalescer = new RuntimeLogsCoalescer(eventService, runtimes, BATCH_SIZE, 60_000);
+    coalescer.start();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    coalescer.stop();
+  }
+
+  @Test
+  public void shouldPublishBatchWhenItReachesBatchSize() {
+    // when
+    publishLines("ws1", "machine1", BATCH_SIZE + 1);
+
+    // then
+    assertEquals(batches.size(), 1);
+    assertEquals(batches.get(0).getRuntimeId().getWorkspaceId(), "ws1");
+    assertEquals(texts(batches.get(0).getLogs()), texts(0, BATCH_SIZE));
+  }
+
+  @Test
+  public void shouldPublishPendingLinesOnFlush() {
+    // given
+    publishLines("ws1", "machine1", 3);
+    publishLines("ws1", "machine2", 2);
+    assertTrue(batches.isEmpty());
+
+    // when
+    coalescer.flush();
+
+    // then
+    assertEquals(batches.size(), 2);
+    assertEquals(
+        batches.stream().mapToInt(batch -> batch.getLogs().size()).sum(), 5, "lines in batches");
+    for (RuntimeLogsEvent batch : batches) {
+      final String machine = batch.getLogs().get(0).getMachineName();
+      assertTrue(batch.getLogs().stream().allMatch(log -> machine.equals(log.getMachineName())));
+    }
+  }
+
+  @Test
+  public void shouldPublishPendingLinesWhenFlushPeriodElapses() throws Exception {
+    // given
+    final CountDownLatch published = new CountDownLatch(1);
+    eventService.subscribe(event -> published.countDown(), RuntimeLogsEvent.class);
+    final RuntimeLogsCoalescer periodic =
+        new RuntimeLogsCoalescer(eventService, runtimes, BATCH_SIZE, 10);
+    periodic.start();
+
+    try {
+      // when
+      publishLines("ws1", null, 1);
+
+      // then
+      assertTrue(published.await(5, SECONDS));
+    } finally {
+      periodic.stop();
+    }
+  }
+
+  @Test
+  public void shouldPublishPendingLinesWhenWorkspaceIsStopped() {
+    // given
+    publishLines("ws1", "machine1", 5);
+
+    // when
+    eventService.publish(
+        newDto(WorkspaceStatusEvent.class)
+            .withWorkspaceId("ws1")
+            .withPrevStatus(WorkspaceStatus.STOPPING)
+            .withStatus(WorkspaceStatus.STOPPED));
+
+    // then
+    assertEquals(batches.size(), 1);
+    assertEquals(batches.get(0).getLogs().size(), 5);
+  }
+
+  @Test
+  public void shouldDropLinesWhichComeAfterWorkspaceIsStopped() {
+    // given
+    publishLines("ws1", "machine1", 5);
+    when(runtimes.getStatus("ws1")).thenReturn(WorkspaceStatus.STOPPED);
+    eventService.publish(
+        newDto(WorkspaceStatusEvent.class)
+            .withWorkspaceId("ws1")
+            .withPrevStatus(WorkspaceStatus.STOPPING)
+            .withStatus(WorkspaceStatus.STOPPED));
+    batches.clear();
+
+    // when
+    publishLines("ws1", "machine1", BATCH_SIZE + 1);
+    coalescer.flush();
+
+    // then
+    assertTrue(batches.isEmpty());
+  }
+
+  @Test
+  public void shouldReduceNumberOfNotificationsUnderLogFlood() {
+    // given
+    final int machines = 4;
+    final int linesPerMachine = 1_000;
+
+    // when
+    for (int i = 0; i < linesPerMachine; i++) {
+      for (int m = 0; m < machines; m++) {
+        eventService.publish(line("ws1", "machine" + m, "[INFO] Building line " + i));
+      }
+    }
+    coalescer.flush();
+
+    // then
+    final int lines = machines * linesPerMachine;
+    assertEquals(batches.stream().mapToInt(batch -> batch.getLogs().size()).sum(), lines);
+    assertTrue(batches.size() <= lines / BATCH_SIZE + machines);
+  }
+
+  private void publishLines(String workspaceId, String machineName, int count) {
+    for (int i = 0; i < count; i++) {
+      eventService.publish(line(workspaceId, machineName, Integer.toString(i)));
+    }
+  }
+
+  private static RuntimeLogEvent line(String workspaceId, String machineName, String text) {
+    return newDto(RuntimeLogEvent.class)
+        .withRuntimeId(newDto(RuntimeIdentityDto.class).withWorkspaceId(workspaceId))
+        .withMachineName(machineName)
+        .withText(text);
+  }
+
+  private static List<String> texts(List<RuntimeLogEvent> logs) {
+    return logs.stream().map(RuntimeLogEvent::getText).collect(toList());
+  }
+
+  private static List<String> texts(int from, int to) {
+    return IntStream.range(from, to).mapToObj(Integer::toString).collect(toList());
+  }
+}
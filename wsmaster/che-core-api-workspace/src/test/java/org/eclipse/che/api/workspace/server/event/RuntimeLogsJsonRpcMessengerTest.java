@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOGS_METHOD;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogsEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link RuntimeLogsJsonRpcMessenger}. */
+@Listeners(MockitoTestNGListener.class)
+public class RuntimeLogsJsonRpcMessengerTest {
+
+  private static final int REPLAY_SIZE = 5;
+
+  @Mock private EventService eventService;
+  @Mock private RemoteSubscriptionManager subscriptionManager;
+  @Mock private RemoteSubscriptionStorage subscriptionStorage;
+  @Mock private JsonRpcMarshaller marshaller;
+  @Mock private WebSocketMessageTransmitter transmitter;
+  @Mock private WorkspaceRuntimes runtimes;
+
+  @Captor private ArgumentCaptor<EventSubscriber<RuntimeLogsEvent>> logsSubscriber;
+  @Captor private ArgumentCaptor<EventSubscriber<WorkspaceStatusEvent>> statusSubscriber;
+  @Captor private ArgumentCaptor<BiConsumer<String, Map<String, String>>> subscriptionListener;
+
+  private int lines;
+
+  @BeforeMethod
+  public void setUp() {
+    lines = 0;
+    new RuntimeLogsJsonRpcMessenger(
+            eventService,
+            subscriptionManager,
+            subscriptionStorage,
+            marshaller,
+            transmitter,
+            runtimes,
+            REPLAY_SIZE)
+        .postConstruct();
+    verify(eventService).subscribe(logsSubscriber.capture(), eq(RuntimeLogsEvent.class), any());
+    verify(eventService)
+        .subscribe(statusSubscriber.capture(), eq(WorkspaceStatusEvent.class), any());
+    verify(subscriptionManager)
+        .registerSubscriptionListener(eq(RUNTIME_LOGS_METHOD), subscriptionListener.capture());
+  }
+
+  @Test
+  public void shouldSendBatchToSubscribersOfWorkspace() {
+    // given
+    givenBatchesAreMarshalledToTexts();
+    when(runtimes.getStatus("ws1")).thenReturn(WorkspaceStatus.RUNNING);
+    givenSubscribers("ws1", "endpoint1", "endpoint2");
+
+    // when
+    send("ws1", 2);
+
+    // then
+    verify(transmitter).transmit("endpoint1", "0,1");
+    verify(transmitter).transmit("endpoint2", "0,1");
+  }
+
+  @Test
+  public void shouldReplayOnlyBatchesWhichWereNotSentToSubscriber() {
+    // given
+    givenBatchesAreMarshalledToTexts();
+    when(runtimes.getStatus("ws1")).thenReturn(WorkspaceStatus.STARTING);
+    givenSubscribers("ws1");
+    send("ws1", 3);
+    // subscription is stored before the subscriber is notified, so the batches sent in between
+    // are delivered to the endpoint directly
+    givenSubscribers("ws1", "endpoint1");
+    send("ws1", 2);
+
+    // when
+    subscribe("endpoint1", "ws1");
+
+    // then
+    verify(transmitter).transmit("endpoint1", "3,4");
+    verify(transmitter).transmit("endpoint1", "0,1,2");
+  }
+
+  @Test
+  public void shouldNotReplayWhenNoBatchesWereSent() {
+    // when
+    subscribe("endpoint1", "ws1");
+
+    // then
+    verify(transmitter, never()).transmit(anyString(), anyString());
+  }
+
+  @Test
+  public void shouldReplayBoundedNumberOfRecentLines() {
+    // given
+    givenBatchesAreMarshalledToTexts();
+    when(runtimes.getStatus("ws1")).thenReturn(WorkspaceStatus.STARTING);
+    givenSubscribers("ws1");
+    send("ws1", 2);
+    send("ws1", 2);
+    send("ws1", 2);
+
+    // when
+    subscribe("endpoint1", "ws1");
+
+    // then
+    verify(transmitter).transmit("endpoint1", "2,3,4,5");
+  }
+
+  @Test
+  public void shouldDropRecentBatchesWhenWorkspaceIsStopped() {
+    // given
+    when(runtimes.getStatus("ws1")).thenReturn(WorkspaceStatus.STARTING);
+    givenSubscribers("ws1");
+    send("ws1", 2);
+
+    // when
+    when(runtimes.getStatus("ws1")).thenReturn(WorkspaceStatus.STOPPED);
+    statusSubscriber
+        .getValue()
+        .onEvent(
+            newDto(WorkspaceStatusEvent.class)
+                .withWorkspaceId("ws1")
+                .withStatus(WorkspaceStatus.STOPPED));
+    // late batch of the stopped runtime
+    send("ws1", 2);
+    subscribe("endpoint1", "ws1");
+
+    // then
+    verify(transmitter, never()).transmit(anyString(), anyString());
+  }
+
+  private void givenSubscribers(String workspaceId, String... endpoints) {
+    Set<RemoteSubscriptionContext> subscriptions =
+        Stream.of(endpoints).map(this::subscription).collect(toSet());
+    when(subscriptionStorage.getByScope(RUNTIME_LOGS_METHOD, "workspaceId", workspaceId))
+        .thenReturn(subscriptions);
+  }
+
+  private void givenBatchesAreMarshalledToTexts() {
+    when(marshaller.marshall(any(JsonRpcRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              JsonRpcRequest request = invocation.getArgument(0);
+              return texts((RuntimeLogsEvent) request.getParams().getOne());
+            });
+  }
+
+  private RemoteSubscriptionContext subscription(String endpointId) {
+    RemoteSubscriptionContext subscription = mock(RemoteSubscriptionContext.class);
+    when(subscription.getEndpointId()).thenReturn(endpointId);
+    return subscription;
+  }
+
+  private void subscribe(String endpointId, String workspaceId) {
+    subscriptionListener.getValue().accept(endpointId, singletonMap("workspaceId", workspaceId));
+  }
+
+  private void send(String workspaceId, int count) {
+    RuntimeLogsEvent batch =
+        newDto(RuntimeLogsEvent.class)
+            .withRuntimeId(newDto(RuntimeIdentityDto.class).withWorkspaceId(workspaceId))
+            .withLogs(
+                IntStream.range(lines, lines + count)
+                    .mapToObj(i -> newDto(RuntimeLogEvent.class).withText(Integer.toString(i)))
+                    .collect(toList()));
+    lines += count;
+    logsSubscriber.getValue().onEvent(batch);
+  }
+
+  private static String texts(RuntimeLogsEvent batch) {
+    return batch.getLogs().stream().map(RuntimeLogEvent::getText).collect(joining(","));
+  }
+}
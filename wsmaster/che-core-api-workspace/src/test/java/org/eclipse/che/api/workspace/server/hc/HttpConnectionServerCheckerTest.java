@@ -11,20 +11,25 @@
  */
 package org.eclipse.che.api.workspace.server.hc;
 
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.Timer;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.workspace.server.hc.probe.AsyncHttpProbeClient;
+import org.eclipse.che.api.workspace.server.hc.probe.TimerWheel;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -39,7 +44,8 @@ public class HttpConnectionServerCheckerTest {
   private String SERVER_REF = "ref1";
   private URL SERVER_URL;
 
-  @Mock private Timer timer;
+  @Mock private TimerWheel timer;
+  @Mock private AsyncHttpProbeClient httpClient;
   @Mock private HttpURLConnection conn;
 
   private HttpConnectionServerChecker checker;
@@ -51,7 +57,16 @@ public class HttpConnectionServerCheckerTest {
     checker =
         spy(
             new HttpConnectionServerChecker(
-                SERVER_URL, MACHINE_NAME, SERVER_REF, 1, 10, 1, TimeUnit.SECONDS, timer, null));
+                SERVER_URL,
+                MACHINE_NAME,
+                SERVER_REF,
+                1,
+                10,
+                1,
+                TimeUnit.SECONDS,
+                timer,
+                httpClient,
+                null));
 
     doReturn(conn).when(checker).createConnection(nullable(URL.class));
     when(conn.getResponseCode()).thenReturn(200);
@@ -131,4 +146,26 @@ public class HttpConnectionServerCheckerTest {
     assertFalse(checker.isAvailable());
     verify(conn).disconnect();
   }
+
+  @Test
+  public void shouldCheckAvailabilityWithAsyncClient() throws Exception {
+    Map<String, String> headers = singletonMap("Authorization", "Bearer token");
+    when(httpClient.get(SERVER_URL, headers, 3, TimeUnit.SECONDS))
+        .thenReturn(completedFuture(200), completedFuture(401));
+    checker =
+        new HttpConnectionServerChecker(
+            SERVER_URL,
+            MACHINE_NAME,
+            SERVER_REF,
+            1,
+            10,
+            1,
+            TimeUnit.SECONDS,
+            timer,
+            httpClient,
+            "token");
+
+    assertEquals(checker.checkAvailability().get(), Boolean.TRUE);
+    assertEquals(checker.checkAvailability().get(), Boolean.FALSE);
+  }
 }
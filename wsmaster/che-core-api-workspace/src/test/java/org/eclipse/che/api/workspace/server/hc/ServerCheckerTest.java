@@ -22,10 +22,10 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
-import java.util.Timer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.workspace.server.hc.probe.TimerWheel;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -39,12 +39,12 @@ public class ServerCheckerTest {
   private static final long TIMEOUT_MS = 500;
   private static final int SUCCESS_THRESHOLD = 1;
 
-  private Timer timer;
+  private TimerWheel timer;
   private TestServerChecker checker;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    timer = new Timer(true);
+    timer = new TimerWheel("ServerCheckerTest", 1, TimeUnit.MILLISECONDS, 64);
     checker =
         spy(
             new TestServerChecker(
@@ -59,7 +59,7 @@ public class ServerCheckerTest {
 
   @AfterMethod
   public void tearDown() throws Exception {
-    timer.cancel();
+    timer.stop();
   }
 
   @Test(timeOut = TIMEOUT_MS)
@@ -125,7 +125,7 @@ public class ServerCheckerTest {
         long timeout,
         int successThreshold,
         TimeUnit timeUnit,
-        Timer timer) {
+        TimerWheel timer) {
       super(machineName, serverRef, period, timeout, successThreshold, timeUnit, timer);
     }
 
@@ -17,8 +17,9 @@ import static org.testng.Assert.assertTrue;
 
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.Timer;
 import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.workspace.server.hc.probe.AsyncHttpProbeClient;
+import org.eclipse.che.api.workspace.server.hc.probe.TimerWheel;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -31,7 +32,8 @@ public class TerminalHttpConnectionServerCheckerTest {
   private String MACHINE_NAME = "mach1";
   private String SERVER_REF = "ref1";
 
-  @Mock private Timer timer;
+  @Mock private TimerWheel timer;
+  @Mock private AsyncHttpProbeClient httpClient;
   @Mock private HttpURLConnection conn;
 
   private TerminalHttpConnectionServerChecker checker;
@@ -48,6 +50,7 @@ public class TerminalHttpConnectionServerCheckerTest {
             1,
             TimeUnit.SECONDS,
             timer,
+            httpClient,
             null);
   }
 
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.che.api.workspace.server.hc.probe.AsyncHttpProbeClient.ResponseParser;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link AsyncHttpProbeClient} against a local stub server. */
+public class AsyncHttpProbeClientTest {
+
+  private ExecutorService serverExecutor;
+  private HttpServer server;
+  private TimerWheel timer;
+  private AsyncHttpProbeClient client;
+  private String baseUrl;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    serverExecutor = Executors.newFixedThreadPool(64);
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+    server.setExecutor(serverExecutor);
+    server.createContext("/", this::respond);
+    server.start();
+    baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+    timer = new TimerWheel("AsyncHttpProbeClientTest", 10, MILLISECONDS, 128);
+    client = new AsyncHttpProbeClient(timer, 4, 2);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    client.shutdown();
+    timer.stop();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldReturnResponseCode() throws Exception {
+    assertEquals(get("/status/200").get(), (Integer) 200);
+    assertEquals(get("/status/404").get(), (Integer) 404);
+    assertEquals(get("/status/503").get(), (Integer) 503);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldSendHeaders() throws Exception {
+    CompletableFuture<Integer> result =
+        client.get(
+            new URL(baseUrl + "/auth"), singletonMap("Authorization", "Bearer token"), 1, SECONDS);
+
+    assertEquals(result.get(), (Integer) 200);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldReuseConnectionAfterSkippingResponseBody() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      assertEquals(get("/body/fixed").get(), (Integer) 200);
+      assertEquals(get("/body/chunked").get(), (Integer) 200);
+      assertEquals(get("/status/404").get(), (Integer) 404);
+    }
+
+    assertEquals(client.getOpenedConnections(), 1);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldLimitConnectionsToSingleHost() throws Exception {
+    CompletableFuture<?>[] results = new CompletableFuture<?>[20];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = get("/sleep/20");
+    }
+    CompletableFuture.allOf(results).get();
+
+    assertEquals(client.getOpenedConnections(), 2);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldFailWhenResponseIsNotReceivedInTime() throws Exception {
+    try {
+      client.get(new URL(baseUrl + "/sleep/2000"), emptyMap(), 100, MILLISECONDS).get();
+      fail("Request is expected to time out");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof SocketTimeoutException, e.getCause().toString());
+    }
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldFailWhenConnectionIsRefused() throws Exception {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+
+    try {
+      client.get(new URL("http://127.0.0.1:" + port + "/"), emptyMap(), 1, SECONDS).get();
+      fail("Request is expected to fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof ConnectException, e.getCause().toString());
+    }
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldResolveHostName() throws Exception {
+    URL url = new URL("http://localhost:" + server.getAddress().getPort() + "/status/200");
+
+    assertEquals(client.get(url, emptyMap(), 5, SECONDS).get(), (Integer) 200);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldFailWhenHostIsUnknown() throws Exception {
+    try {
+      client.get(new URL("http://unknown-host.invalid/"), emptyMap(), 5, SECONDS).get();
+      fail("Request is expected to fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof UnknownHostException, e.getCause().toString());
+    }
+  }
+
+  @Test
+  public void shouldParseResponseReceivedByParts() throws Exception {
+    byte[] response =
+        ("HTTP/1.1 100 Continue\r\n\r\n"
+                + "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                + "5;name=value\r\nhello\r\n0\r\nTrailer: value\r\n\r\n")
+            .getBytes(ISO_8859_1);
+    ResponseParser parser = new ResponseParser();
+
+    for (int i = 0; i < response.length - 1; i++) {
+      assertFalse(parser.parse(ByteBuffer.wrap(response, i, 1)));
+    }
+
+    assertTrue(parser.parse(ByteBuffer.wrap(response, response.length - 1, 1)));
+    assertEquals(parser.getStatusCode(), 200);
+    assertTrue(parser.isKeepAlive());
+  }
+
+  @Test
+  public void shouldReadResponseWithoutLengthUntilConnectionIsClosed() throws Exception {
+    ResponseParser parser = new ResponseParser();
+
+    assertFalse(parser.parse(ByteBuffer.wrap("HTTP/1.0 302 Found\r\n\r\nbody".getBytes())));
+
+    assertTrue(parser.onEndOfStream());
+    assertEquals(parser.getStatusCode(), 302);
+    assertFalse(parser.isKeepAlive());
+  }
+
+  private CompletableFuture<Integer> get(String path) throws IOException {
+    return client.get(new URL(baseUrl + path), emptyMap(), 5, SECONDS);
+  }
+
+  private void respond(HttpExchange exchange) throws IOException {
+    String[] path = exchange.getRequestURI().getPath().split("/");
+    switch (path[1]) {
+      case "status":
+        send(exchange, Integer.parseInt(path[2]));
+        break;
+      case "auth":
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        send(exchange, "Bearer token".equals(authorization) ? 200 : 401);
+        break;
+      case "body":
+        byte[] body = new byte[1000];
+        exchange.sendResponseHeaders(200, "chunked".equals(path[2]) ? 0 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+          out.write(body);
+        }
+        break;
+      case "sleep":
+        try {
+          Thread.sleep(Long.parseLong(path[2]));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        send(exchange, 200);
+        break;
+      default:
+        send(exchange, 200);
+    }
+    exchange.close();
+  }
+
+  private static void send(HttpExchange exchange, int status) throws IOException {
+    // stub server closes the connection after a response without body
+    byte[] body = "{}".getBytes(ISO_8859_1);
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}